@@ -14,6 +14,7 @@ package org.eclipse.vorto.plugins.generator.lambda.executor;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.eclipse.vorto.codegen.bosch.BoschIoTSuiteGenerator;
 import org.eclipse.vorto.codegen.ditto.EclipseDittoGenerator;
@@ -28,10 +29,11 @@ import org.eclipse.vorto.plugin.generator.GeneratorException;
 import org.eclipse.vorto.plugin.generator.ICodeGenerator;
 import org.eclipse.vorto.plugin.generator.IGenerationResult;
 import org.eclipse.vorto.plugin.generator.InvocationContext;
-import org.eclipse.vorto.plugin.generator.adapter.ObjectMapperFactory;
+import org.eclipse.vorto.plugin.generator.adapter.ModelContentReader;
 import org.eclipse.vorto.plugin.utils.ApiGatewayRequest;
 import org.eclipse.vorto.plugin.utils.ApiGatewayResponse;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -55,12 +57,14 @@ public class GeneratorExecutionHandler implements RequestStreamHandler {
 
   private static final ObjectMapper objectMapper = new ObjectMapper();
 
+  private static final ModelContentReader modelContentReader = new ModelContentReader();
+
+  private static final ModelContentToEcoreConverter converter = new ModelContentToEcoreConverter();
+
   @Override
   public void handleRequest(InputStream input, OutputStream output, Context context)
       throws IOException {
 
-    ObjectMapper mapper = ObjectMapperFactory.getInstance();
-
     ApiGatewayRequest request = ApiGatewayRequest.createFromJson(input);
 
     Optional<ICodeGenerator> generator = generators.stream()
@@ -70,10 +74,14 @@ public class GeneratorExecutionHandler implements RequestStreamHandler {
       objectMapper.writeValue(output, createHttpReponse(404));
     }
 
-    ModelContent modelContent = mapper.readValue(request.getInput(), ModelContent.class);
-
+    ModelContent modelContent;
+    try {
+      modelContent = modelContentReader.read(new ByteArrayInputStream(request.getInput()));
+    } catch (JsonProcessingException e) {
+      objectMapper.writeValue(output, createHttpReponse(400));
+      return;
+    }
 
-    ModelContentToEcoreConverter converter = new ModelContentToEcoreConverter();
 
     Model converted = converter.convert(modelContent, Optional.empty());
 
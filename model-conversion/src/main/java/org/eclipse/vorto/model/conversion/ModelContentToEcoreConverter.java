@@ -13,7 +13,9 @@
 package org.eclipse.vorto.model.conversion;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.eclipse.vorto.core.api.model.BuilderUtils;
@@ -75,6 +77,10 @@ import org.eclipse.vorto.model.Stereotype;
 /**
  * Converts the Model Content (pojo) to Vorto ecore model
  *
+ * Models referenced several times are converted once per conversion. Converted models are not
+ * shared between conversions, as the model content carries neither the state nor a modification
+ * stamp of its models to tell released models apart, and callers are free to modify the models
+ * they get.
  */
 public class ModelContentToEcoreConverter implements IModelConverter<ModelContent, Model> {
 
@@ -88,10 +94,26 @@ public class ModelContentToEcoreConverter implements IModelConverter<ModelConten
   @Override
   public Model convert(ModelContent source, Optional<String> platformKey) {
     IModel model = source.getModels().get(source.getRoot());
-    return convert(model, source, platformKey);
+    return convert(model, new ConversionContext(source), platformKey);
   }
 
-  private Model convert(IModel model, ModelContent context, Optional<String> platformKey) {
+  /**
+   * Converts the given model once per conversion, so that models referenced several times are
+   * converted to the same ecore object.
+   */
+  private Model convert(IModel model, ConversionContext context, Optional<String> platformKey) {
+    if (model == null || platformKey.isPresent()) {
+      return doConvert(model, context, platformKey);
+    }
+    Model converted = context.getConverted(model.getId());
+    if (converted == null) {
+      converted = doConvert(model, context, platformKey);
+      context.putConverted(model.getId(), converted);
+    }
+    return converted;
+  }
+
+  private Model doConvert(IModel model, ConversionContext context, Optional<String> platformKey) {
     if (model instanceof EntityModel) {
       return convertEntity((EntityModel) model, context);
     } else if (model instanceof EnumModel) {
@@ -107,7 +129,7 @@ public class ModelContentToEcoreConverter implements IModelConverter<ModelConten
     }
   }
 
-  private Model convertFunctionblockMapping(FunctionblockModel model, ModelContent context,
+  private Model convertFunctionblockMapping(FunctionblockModel model, ConversionContext context,
       String platformKey) {
     MappingBuilder builder = BuilderUtils.newMapping(
         new ModelId(ModelType.InformationModel, model.getId().getName() + "Mapping",
@@ -119,7 +141,8 @@ public class ModelContentToEcoreConverter implements IModelConverter<ModelConten
         model.getId().getNamespace(), model.getId().getVersion(), model.getId().getVersion()));
 
     org.eclipse.vorto.core.api.model.functionblock.FunctionblockModel eFbm =
-        convertFunctionblock(model, context);
+        (org.eclipse.vorto.core.api.model.functionblock.FunctionblockModel) convert(model, context,
+            Optional.empty());
 
     for (Stereotype stereotype : model.getStereotypes()) {
       MappingRuleBuilder ruleBuilder = new MappingRuleBuilder();
@@ -161,7 +184,7 @@ public class ModelContentToEcoreConverter implements IModelConverter<ModelConten
     return builder.build();
   }
 
-  private InformationModel convertInformationModel(Infomodel model, ModelContent context) {
+  private InformationModel convertInformationModel(Infomodel model, ConversionContext context) {
     InformationModelBuilder builder =
         BuilderUtils.newInformationModel(new ModelId(ModelType.InformationModel,
             model.getId().getName(), model.getId().getNamespace(), model.getId().getVersion()));
@@ -175,8 +198,8 @@ public class ModelContentToEcoreConverter implements IModelConverter<ModelConten
       FunctionblockModel fbModel = (FunctionblockModel) context.getModels()
           .get((org.eclipse.vorto.model.ModelId) property.getType());
       org.eclipse.vorto.core.api.model.functionblock.FunctionblockModel convertedFb =
-          (org.eclipse.vorto.core.api.model.functionblock.FunctionblockModel) convertFunctionblock(
-              fbModel, context);
+          (org.eclipse.vorto.core.api.model.functionblock.FunctionblockModel) convert(fbModel,
+              context, Optional.empty());
       builder.withReference(ModelIdFactory.newInstance(convertedFb));
       builder.withFunctionBlock(convertedFb, property.getName(), property.getDescription(),
           property.isMandatory());
@@ -186,7 +209,7 @@ public class ModelContentToEcoreConverter implements IModelConverter<ModelConten
   }
 
   private Property createProperty(ModelProperty sourceProperty, ModelBuilder<?> builder,
-      ModelContent context) {
+      ConversionContext context) {
     Property property = DatatypeFactory.eINSTANCE.createProperty();
     property.setName(sourceProperty.getName());
     property.setType(createPropertyType(sourceProperty.getType(), builder, context));
@@ -212,7 +235,7 @@ public class ModelContentToEcoreConverter implements IModelConverter<ModelConten
   }
 
   private PropertyType createPropertyType(IReferenceType referenceType, ModelBuilder<?> builder,
-      ModelContent context) {
+      ConversionContext context) {
     if (referenceType instanceof PrimitiveType) {
       PrimitivePropertyType primitive = DatatypeFactory.eINSTANCE.createPrimitivePropertyType();
       primitive.setType(org.eclipse.vorto.core.api.model.datatype.PrimitiveType
@@ -243,7 +266,7 @@ public class ModelContentToEcoreConverter implements IModelConverter<ModelConten
   }
 
   private org.eclipse.vorto.core.api.model.functionblock.FunctionblockModel convertFunctionblock(
-      FunctionblockModel model, ModelContent context) {
+      FunctionblockModel model, ConversionContext context) {
     FunctionblockBuilder builder =
         BuilderUtils.newFunctionblock(new ModelId(ModelType.Functionblock, model.getId().getName(),
             model.getId().getNamespace(), model.getId().getVersion()));
@@ -285,14 +308,14 @@ public class ModelContentToEcoreConverter implements IModelConverter<ModelConten
     return builder.build();
   }
 
-  private org.eclipse.vorto.core.api.model.functionblock.FunctionblockModel convertSupertype(org.eclipse.vorto.model.ModelId superType, FunctionblockModel model, ModelContent context) {
+  private org.eclipse.vorto.core.api.model.functionblock.FunctionblockModel convertSupertype(org.eclipse.vorto.model.ModelId superType, FunctionblockModel model, ConversionContext context) {
     IModel superTypeModel = context.getModels().get(superType);
     return (org.eclipse.vorto.core.api.model.functionblock.FunctionblockModel) this.convert(superTypeModel, context, Optional.empty());
   }
 
 
   private Param[] createParams(List<org.eclipse.vorto.model.Param> params, ModelBuilder<?> builder,
-      ModelContent context) {
+      ConversionContext context) {
     List<Param> ecoreParams = new ArrayList<>();
     for (org.eclipse.vorto.model.Param param : params) {
       if (param.getType() instanceof PrimitiveType) {
@@ -326,7 +349,7 @@ public class ModelContentToEcoreConverter implements IModelConverter<ModelConten
   }
 
   private ReturnType createReturnTypeOrNull(org.eclipse.vorto.model.ReturnType result,
-      FunctionblockBuilder builder, ModelContent context) {
+      FunctionblockBuilder builder, ConversionContext context) {
     if (result == null) {
       return null;
     } else {
@@ -373,7 +396,7 @@ public class ModelContentToEcoreConverter implements IModelConverter<ModelConten
     return builder.build();
   }
 
-  private Entity convertEntity(EntityModel entity, ModelContent context) {
+  private Entity convertEntity(EntityModel entity, ConversionContext context) {
     EntityBuilder builder = BuilderUtils.newEntity(new ModelId(ModelType.Datatype,
         entity.getId().getName(), entity.getId().getNamespace(), entity.getId().getVersion()));
     builder.withCategory(entity.getCategory());
@@ -392,4 +415,25 @@ public class ModelContentToEcoreConverter implements IModelConverter<ModelConten
 
   }
 
+  private static class ConversionContext {
+    private ModelContent content;
+    private Map<org.eclipse.vorto.model.ModelId, Model> converted = new HashMap<>();
+
+    public ConversionContext(ModelContent content) {
+      this.content = content;
+    }
+
+    public Map<org.eclipse.vorto.model.ModelId, IModel> getModels() {
+      return content.getModels();
+    }
+
+    public Model getConverted(org.eclipse.vorto.model.ModelId modelId) {
+      return converted.get(modelId);
+    }
+
+    public void putConverted(org.eclipse.vorto.model.ModelId modelId, Model model) {
+      converted.put(modelId, model);
+    }
+  }
+
 }
@@ -14,6 +14,7 @@ package org.eclipse.vorto.model.conversion;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import java.util.Collections;
 import java.util.List;
@@ -135,6 +136,29 @@ public class ModelContentToEcoreConverterTest {
     assertNotNull(unit);
   }
 
+  @Test
+  public void testSharedTypeIsConvertedOnce() {
+    EnumModel enumModel =
+        EnumModel.Builder(ModelId.fromPrettyFormat("org.eclipse.vorto:Unit:1.0.0"))
+            .literal("celcius", null).literal("kg", null).build();
+
+    EntityModel entityModel =
+        EntityModel.Builder(ModelId.fromPrettyFormat("org.eclipse.vorto:Weight:1.0.0"))
+            .property(ModelProperty.Builder("unit", enumModel.getId()).build())
+            .property(ModelProperty.Builder("displayUnit", enumModel.getId()).build())
+            .reference(enumModel.getId()).build();
+
+    ModelContentToEcoreConverter converter = new ModelContentToEcoreConverter();
+
+    Entity model = (Entity) converter.convert(
+        ModelContent.Builder(entityModel).withDependency(enumModel).build(), Optional.empty());
+
+    Enum unit = (Enum) ((ObjectPropertyType) model.getProperties().get(0).getType()).getType();
+    Enum displayUnit =
+        (Enum) ((ObjectPropertyType) model.getProperties().get(1).getType()).getType();
+    assertSame(unit, displayUnit);
+  }
+
   @Test
   public void testConvertFunctionblockBasic() {
     FunctionblockModel fbModel = FunctionblockModel
@@ -14,17 +14,21 @@ package org.eclipse.vorto.model.refactor;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import org.eclipse.vorto.core.api.model.model.Model;
 import org.eclipse.vorto.core.api.model.model.ModelId;
 import org.eclipse.vorto.core.api.model.model.ModelIdFactory;
+import org.eclipse.vorto.core.api.model.model.ModelReference;
 import org.eclipse.vorto.utilities.reader.IModelWorkspace;
 
 public class RefactoringTask {
 
   private IModelWorkspace workspace;
   
-  private Set<Model> changedModels = new HashSet<Model>();
+  private ReferenceIndex index;
+  
+  private Set<Model> changedModels = new LinkedHashSet<Model>();
   
   private RefactoringTask(IModelWorkspace workspace) {
     this.workspace = workspace;
@@ -47,6 +51,7 @@ public class RefactoringTask {
       ignoreNamespaceList.addAll(Arrays.asList(ignoredNamespaces));
     }
     
+    final ReferenceIndex index = getIndex();
     workspace.get().forEach(model -> {
       final String oldNamespace = model.getNamespace();
       if(!ignoreNamespaceList.contains(oldNamespace) && !model.getNamespace().startsWith(targetNamespace)) {
@@ -54,6 +59,7 @@ public class RefactoringTask {
         model.setNamespace(newNamespace);
         ModelId newModelId = ModelIdFactory.newInstance(model);
         ModelId oldModelId = new ModelId(newModelId.getModelType(),newModelId.getName(),oldNamespace,newModelId.getVersion());
+        index.moveModel(model, oldModelId);
         updateReferences(oldModelId,newModelId);
         changedModels.add(model);
       }
@@ -63,33 +69,41 @@ public class RefactoringTask {
   }
   
   public RefactoringTask toModelId(ModelId oldModelId, ModelId newModelId) {
-    workspace.get().forEach(model -> {
-      ModelId currentModelId = ModelIdFactory.newInstance(model);
-      if (currentModelId.equals(oldModelId)) {
-        model.setName(newModelId.getName());
-        model.setVersion(newModelId.getVersion());
-        model.setNamespace(newModelId.getNamespace());
-        updateReferences(oldModelId, newModelId);
-        changedModels.add(model);
-      }
+    getIndex().getModels(oldModelId).forEach(model -> {
+      model.setName(newModelId.getName());
+      model.setVersion(newModelId.getVersion());
+      model.setNamespace(newModelId.getNamespace());
+      getIndex().moveModel(model, oldModelId);
+      updateReferences(oldModelId, newModelId);
+      changedModels.add(model);
     });
     return this;
   }
   
   private void updateReferences(ModelId oldId, ModelId newId ) {
-    workspace.get().forEach(model -> {
-      model.getReferences().stream().forEach(reference -> {
-        if (reference.getImportedNamespace().equals(oldId.getNamespace()+"."+oldId.getName()) && reference.getVersion().equals(oldId.getVersion())) {
-          reference.setImportedNamespace(newId.getNamespace()+"."+newId.getName());
-          reference.setVersion(newId.getVersion());
-          changedModels.add(model);
-        }
-      });
-    });
+    for (ModelReference reference : getIndex().getReferencesTo(oldId)) {
+      reference.setImportedNamespace(newId.getNamespace()+"."+newId.getName());
+      reference.setVersion(newId.getVersion());
+      getIndex().moveReference(reference, oldId);
+      changedModels.add(getIndex().getReferencingModel(reference));
+    }
+  }
+  
+  private ReferenceIndex getIndex() {
+    if (index == null) {
+      index = ReferenceIndex.build(workspace);
+    }
+    return index;
   }
   
+  /**
+   * Returns the models changed so far. Can be called after every refactoring step, each change set
+   * only contains the changes made up to the point it was created.
+   * 
+   * @return a change set of the workspace and the models changed by the refactoring steps so far
+   */
   public ChangeSet execute() {
-    return new ChangeSet(this.workspace,changedModels);
+    return new ChangeSet(this.workspace,new LinkedHashSet<>(changedModels));
   }
 
 }
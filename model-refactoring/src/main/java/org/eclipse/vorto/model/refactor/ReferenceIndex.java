@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.model.refactor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.vorto.core.api.model.model.Model;
+import org.eclipse.vorto.core.api.model.model.ModelId;
+import org.eclipse.vorto.core.api.model.model.ModelIdFactory;
+import org.eclipse.vorto.core.api.model.model.ModelReference;
+import org.eclipse.vorto.utilities.reader.IModelWorkspace;
+
+/**
+ * Index over the models of a workspace and the references between them, so that refactorings only
+ * visit the models affected by a change. The index has to be kept up to date by
+ * {@link #moveModel(Model, ModelId)} and {@link #moveReference(ModelReference, ModelId)} when
+ * model IDs or references are changed.
+ */
+class ReferenceIndex {
+
+  private Map<ModelId, List<Model>> modelsById = new HashMap<>();
+
+  private Map<String, List<ModelReference>> referencesByTarget = new HashMap<>();
+
+  private Map<ModelReference, Model> referencingModels = new HashMap<>();
+
+  static ReferenceIndex build(IModelWorkspace workspace) {
+    ReferenceIndex index = new ReferenceIndex();
+    for (Model model : workspace.get()) {
+      index.modelsById.computeIfAbsent(ModelIdFactory.newInstance(model), k -> new ArrayList<>())
+          .add(model);
+      for (ModelReference reference : model.getReferences()) {
+        index.referencesByTarget
+            .computeIfAbsent(toKey(reference.getImportedNamespace(), reference.getVersion()),
+                k -> new ArrayList<>())
+            .add(reference);
+        index.referencingModels.put(reference, model);
+      }
+    }
+    return index;
+  }
+
+  List<Model> getModels(ModelId modelId) {
+    return new ArrayList<>(modelsById.getOrDefault(modelId, Collections.emptyList()));
+  }
+
+  List<ModelReference> getReferencesTo(ModelId modelId) {
+    return new ArrayList<>(
+        referencesByTarget.getOrDefault(toKey(modelId), Collections.emptyList()));
+  }
+
+  Model getReferencingModel(ModelReference reference) {
+    return referencingModels.get(reference);
+  }
+
+  void moveModel(Model model, ModelId oldModelId) {
+    remove(modelsById, oldModelId, model);
+    modelsById.computeIfAbsent(ModelIdFactory.newInstance(model), k -> new ArrayList<>())
+        .add(model);
+  }
+
+  void moveReference(ModelReference reference, ModelId oldTarget) {
+    remove(referencesByTarget, toKey(oldTarget), reference);
+    referencesByTarget
+        .computeIfAbsent(toKey(reference.getImportedNamespace(), reference.getVersion()),
+            k -> new ArrayList<>())
+        .add(reference);
+  }
+
+  private static <K, V> void remove(Map<K, List<V>> map, K key, V value) {
+    List<V> values = map.get(key);
+    if (values != null) {
+      values.remove(value);
+      if (values.isEmpty()) {
+        map.remove(key);
+      }
+    }
+  }
+
+  private static String toKey(ModelId modelId) {
+    return toKey(modelId.getNamespace() + "." + modelId.getName(), modelId.getVersion());
+  }
+
+  private static String toKey(String importedNamespace, String version) {
+    return importedNamespace + ":" + version;
+  }
+}
@@ -19,6 +19,8 @@ import org.eclipse.vorto.core.api.model.datatype.Enum;
 import org.eclipse.vorto.core.api.model.datatype.ObjectPropertyType;
 import org.eclipse.vorto.core.api.model.functionblock.FunctionblockModel;
 import org.eclipse.vorto.core.api.model.model.Model;
+import org.eclipse.vorto.core.api.model.model.ModelId;
+import org.eclipse.vorto.core.api.model.model.ModelIdFactory;
 import org.eclipse.vorto.model.ModelType;
 import org.eclipse.vorto.utilities.reader.IModelWorkspace;
 import org.eclipse.vorto.utilities.reader.ModelWorkspaceReader;
@@ -146,4 +148,39 @@ public class RefactoringWorkspaceTest {
     assertEquals("org.eclipse.vorto", color.getNamespace());
 
   }
+
+  @Test
+  public void testChangeModelIdUpdatesReferencingModelsOnly() {
+    IModelWorkspace workspace = IModelWorkspace.newReader()
+        .addFile(getClass().getClassLoader().getResourceAsStream("dsls/Brightness.type"),
+            ModelType.Datatype)
+        .addFile(getClass().getClassLoader().getResourceAsStream("dsls/Dimmer.type"),
+            ModelType.Datatype)
+        .addFile(getClass().getClassLoader().getResourceAsStream("dsls/Color.fbmodel"),
+            ModelType.Functionblock)
+        .read();
+
+    Model brightness = workspace.get().stream().filter(m -> m.getName().equals("Brightness"))
+        .findFirst().get();
+    ModelId oldModelId = ModelIdFactory.newInstance(brightness);
+    ModelId newModelId = new ModelId(oldModelId.getModelType(), "Luminosity",
+        oldModelId.getNamespace(), "2.0.0");
+
+    RefactoringTask task = RefactoringTask.from(workspace).toModelId(oldModelId, newModelId);
+    ChangeSet changeSet = task.execute();
+
+    assertEquals(2, changeSet.getChanges().size());
+    assertEquals("Luminosity", brightness.getName());
+
+    Entity dimmer = (Entity) changeSet.get().stream().filter(m -> m.getName().equals("Dimmer"))
+        .findFirst().get();
+    assertTrue(changeSet.getChanges().contains(dimmer));
+    assertEquals("iot.Luminosity", dimmer.getReferences().get(0).getImportedNamespace());
+    assertEquals("2.0.0", dimmer.getReferences().get(0).getVersion());
+
+    // renaming back only touches the models referencing the new id
+    ChangeSet revertedChangeSet = task.toModelId(newModelId, oldModelId).execute();
+    assertEquals(2, revertedChangeSet.getChanges().size());
+    assertEquals("iot.Brightness", dimmer.getReferences().get(0).getImportedNamespace());
+  }
 }
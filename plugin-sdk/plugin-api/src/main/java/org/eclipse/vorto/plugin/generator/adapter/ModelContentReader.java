@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.plugin.generator.adapter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.eclipse.vorto.model.IModel;
+import org.eclipse.vorto.model.ModelContent;
+import org.eclipse.vorto.model.ModelId;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads {@link ModelContent} incrementally from a JSON stream. Unlike binding the content with
+ * {@link ObjectMapper#readValue(InputStream, Class)}, which builds a tree of all models before
+ * converting them, only a single model is held as JSON tree at a time.
+ */
+public class ModelContentReader {
+
+  private static final String ROOT = "root";
+
+  private static final String MODELS = "models";
+
+  private final ObjectMapper mapper;
+
+  public ModelContentReader() {
+    this(ObjectMapperFactory.getInstance());
+  }
+
+  public ModelContentReader(ObjectMapper mapper) {
+    this.mapper = mapper;
+  }
+
+  /**
+   * Reads the model content from the given stream. The stream is not closed.
+   *
+   * @throws JsonParseException if the stream is empty or does not contain a JSON object
+   */
+  public ModelContent read(InputStream in) throws IOException {
+    try (JsonParser parser = mapper.getFactory().createParser(in)) {
+      parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+      expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+
+      ModelContent content = new ModelContent();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        JsonToken value = parser.nextToken();
+        if (ROOT.equals(field)) {
+          content.setRoot(
+              value == JsonToken.VALUE_NULL ? null : mapper.readValue(parser, ModelId.class));
+        } else if (MODELS.equals(field) && value != JsonToken.VALUE_NULL) {
+          readModels(parser, content);
+        } else {
+          parser.skipChildren();
+        }
+      }
+      return content;
+    }
+  }
+
+  /**
+   * Reads the models up to the first entry that is not a model, like
+   * {@link ObjectMapperFactory.ModelMapDeserializer} does. The remaining entries are skipped.
+   */
+  private void readModels(JsonParser parser, ModelContent content) throws IOException {
+    expect(parser, parser.getCurrentToken(), JsonToken.START_OBJECT);
+    boolean endOfModels = false;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      parser.nextToken();
+      if (endOfModels) {
+        parser.skipChildren();
+        continue;
+      }
+      JsonNode node = mapper.readTree(parser);
+      if (node == null || !node.has("type")) {
+        endOfModels = true;
+        continue;
+      }
+      IModel model = ObjectMapperFactory.toModel(mapper, node);
+      content.getModels().put(ObjectMapperFactory.getModelId(node), model);
+    }
+  }
+
+  private static void expect(JsonParser parser, JsonToken actual, JsonToken expected)
+      throws JsonParseException {
+    if (actual != expected) {
+      throw new JsonParseException(parser,
+          String.format("Expected %s but was %s", expected, actual));
+    }
+  }
+}
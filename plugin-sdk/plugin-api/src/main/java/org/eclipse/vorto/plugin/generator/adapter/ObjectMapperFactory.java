@@ -71,6 +71,35 @@ public class ObjectMapperFactory {
   }
 
 
+  /**
+   * Binds the given JSON node to the model class matching its model type.
+   */
+  static IModel toModel(ObjectCodec oc, JsonNode node) throws JsonProcessingException {
+    JsonNode type = node.get("type");
+
+    if (ModelType.valueOf(type.asText()).equals(ModelType.InformationModel)) {
+      return oc.treeToValue(node, Infomodel.class);
+    } else if (ModelType.valueOf(type.asText()).equals(ModelType.Functionblock)) {
+      return oc.treeToValue(node, FunctionblockModel.class);
+    } else if (ModelType.valueOf(type.asText()).equals(ModelType.Datatype)
+        && node.has("literals")) {
+      return oc.treeToValue(node, EnumModel.class);
+    } else {
+      return oc.treeToValue(node, EntityModel.class);
+    }
+  }
+
+  static ModelId getModelId(JsonNode node) {
+    String modelId = node.get("id").get("prettyFormat").asText();
+    try {
+      return ModelId.fromPrettyFormat(modelId);
+    } catch (IllegalArgumentException ex) {
+      final int versionIndex = modelId.indexOf(":");
+      return ModelId.fromReference(modelId.substring(0, versionIndex),
+          modelId.substring(versionIndex + 1));
+    }
+  }
+
   @SuppressWarnings("serial")
   public static class ModelMapDeserializer extends StdDeserializer<Map<Object, Object>> {
 
@@ -97,21 +126,10 @@ public class ObjectMapperFactory {
           if (type == null) {
             break;
           }
-          IModel value = null;
-
-          if (ModelType.valueOf(type.asText()).equals(ModelType.InformationModel)) {
-            value = oc.treeToValue(childNode, Infomodel.class);
-          } else if (ModelType.valueOf(type.asText()).equals(ModelType.Functionblock)) {
-            value = oc.treeToValue(childNode, FunctionblockModel.class);
-          } else if (ModelType.valueOf(type.asText()).equals(ModelType.Datatype)
-              && childNode.has("literals")) {
-            value = oc.treeToValue(childNode, EnumModel.class);
-          } else {
-            value = oc.treeToValue(childNode, EntityModel.class);
-          }
+          IModel value = toModel(oc, childNode);
 
           if (value != null) {
-            deserialized.put(getModelId(childNode.get("id").get("prettyFormat").asText()), value);
+            deserialized.put(getModelId(childNode), value);
           }
         }
 
@@ -129,19 +147,8 @@ public class ObjectMapperFactory {
       }
     }
 
-    private ModelId getModelId(String modelId) {
-      try {
-        return ModelId.fromPrettyFormat(modelId);
-      } catch (IllegalArgumentException ex) {
-        final int versionIndex = modelId.indexOf(":");
-        return ModelId.fromReference(modelId.substring(0, versionIndex),
-            modelId.substring(versionIndex + 1));
-      }
-    }
-
   }
 
-
   @SuppressWarnings("serial")
   public static class PropertyAttributeDeserializer extends StdDeserializer<IPropertyAttribute> {
 
@@ -240,20 +247,7 @@ public class ObjectMapperFactory {
         ObjectCodec oc = parser.getCodec();
         JsonNode node = oc.readTree(parser);
 
-        JsonNode type = node.get("type");
-
-        if (ModelType.valueOf(type.asText()).equals(ModelType.InformationModel)) {
-          return oc.treeToValue(node, Infomodel.class);
-        } else if (ModelType.valueOf(type.asText()).equals(ModelType.Functionblock)) {
-          return oc.treeToValue(node, FunctionblockModel.class);
-        } else if (ModelType.valueOf(type.asText()).equals(ModelType.Datatype)
-            && node.has("literals")) {
-          return oc.treeToValue(node, EnumModel.class);
-        } else {
-          return oc.treeToValue(node, EntityModel.class);
-        }
-
-
+        return toModel(oc, node);
       } catch (IOException ioEx) {
         throw new RuntimeException(ioEx);
       }
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.plugin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import org.eclipse.vorto.model.EntityModel;
+import org.eclipse.vorto.model.EnumModel;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.Infomodel;
+import org.eclipse.vorto.model.ModelContent;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.eclipse.vorto.plugin.generator.adapter.ModelContentReader;
+import org.eclipse.vorto.plugin.generator.adapter.ObjectMapperFactory;
+import org.junit.Test;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class ModelContentReaderTest {
+
+  @Test
+  public void testReadModelContent() throws Exception {
+    ModelId infomodelId = ModelId.fromPrettyFormat("com.test:Device:1.0.0");
+    ModelId fbId = ModelId.fromPrettyFormat("com.test:Sensor:1.0.0");
+    ModelId entityId = ModelId.fromPrettyFormat("com.test:Value:1.0.0");
+    ModelId enumId = ModelId.fromPrettyFormat("com.test:Unit:1.0.0");
+
+    EntityModel entity = EntityModel.Builder(entityId)
+        .property(ModelProperty.Builder("value", PrimitiveType.FLOAT).build()).build();
+    EnumModel enumModel = EnumModel.Builder(enumId).build();
+    FunctionblockModel fb = FunctionblockModel.Builder(fbId)
+        .statusProperty(ModelProperty.Builder("value", entityId).build()).build();
+    Infomodel infomodel = Infomodel.Builder(infomodelId)
+        .withProperty(ModelProperty.Builder("sensor", fbId).build()).build();
+
+    ModelContent content = ModelContent.Builder(infomodel).withDependency(fb)
+        .withDependency(entity).withDependency(enumModel).build();
+
+    ObjectMapper mapper = ObjectMapperFactory.getInstance();
+    byte[] json = mapper.writeValueAsBytes(content);
+
+    ModelContent read = new ModelContentReader().read(new ByteArrayInputStream(json));
+    ModelContent bound = mapper.readValue(json, ModelContent.class);
+
+    assertEquals(infomodelId, read.getRoot());
+    assertEquals(bound.getModels().keySet(), read.getModels().keySet());
+    assertTrue(read.getModels().get(infomodelId) instanceof Infomodel);
+    assertTrue(read.getModels().get(fbId) instanceof FunctionblockModel);
+    assertTrue(read.getModels().get(entityId) instanceof EntityModel);
+    assertTrue(read.getModels().get(enumId) instanceof EnumModel);
+    assertEquals(1,
+        ((FunctionblockModel) read.getModels().get(fbId)).getStatusProperties().size());
+  }
+
+  @Test(expected = JsonParseException.class)
+  public void testReadEmptyStream() throws Exception {
+    new ModelContentReader().read(new ByteArrayInputStream(new byte[0]));
+  }
+
+  @Test
+  public void testReadModelsUpToFirstEntryWithoutType() throws Exception {
+    ModelId entityId = ModelId.fromPrettyFormat("com.test:Value:1.0.0");
+    ObjectMapper mapper = ObjectMapperFactory.getInstance();
+    String entity = mapper.writeValueAsString(EntityModel.Builder(entityId).build());
+    String other = mapper.writeValueAsString(
+        EntityModel.Builder(ModelId.fromPrettyFormat("com.test:Other:1.0.0")).build());
+
+    String json = "{\"root\":" + mapper.writeValueAsString(entityId) + ",\"models\":{"
+        + "\"com.test:Value:1.0.0\":" + entity + ",\"unknown\":{\"a\":[1,2]},"
+        + "\"com.test:Other:1.0.0\":" + other + "},\"trailing\":true}";
+
+    ModelContent read = new ModelContentReader().read(new ByteArrayInputStream(json.getBytes()));
+
+    assertEquals(entityId, read.getRoot());
+    assertEquals(1, read.getModels().size());
+    assertTrue(read.getModels().get(entityId) instanceof EntityModel);
+  }
+}
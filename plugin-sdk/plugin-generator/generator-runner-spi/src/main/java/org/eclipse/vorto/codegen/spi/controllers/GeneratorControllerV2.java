@@ -13,6 +13,8 @@
 package org.eclipse.vorto.codegen.spi.controllers;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import javax.annotation.PostConstruct;
 import javax.servlet.http.HttpServletRequest;
 import org.eclipse.vorto.codegen.api.GeneratorServiceInfo;
 import org.eclipse.vorto.codegen.api.IGenerationResult;
@@ -21,15 +23,18 @@ import org.eclipse.vorto.codegen.spi.repository.GeneratorRepository;
 import org.eclipse.vorto.codegen.spi.service.VortoService;
 import org.eclipse.vorto.codegen.spi.utils.GatewayUtils;
 import org.eclipse.vorto.model.ModelContent;
+import org.eclipse.vorto.plugin.generator.adapter.ModelContentReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/api/2/plugins/generators")
@@ -41,6 +46,16 @@ public class GeneratorControllerV2 {
   @Autowired
   private GeneratorRepository repo;
 
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private ModelContentReader modelContentReader;
+
+  @PostConstruct
+  public void init() {
+    this.modelContentReader = new ModelContentReader(objectMapper);
+  }
+
   @RequestMapping(value = "/{pluginkey}/info", method = RequestMethod.GET,
       produces = MediaType.APPLICATION_JSON_VALUE)
   public GeneratorServiceInfo info(final @PathVariable String pluginkey) {
@@ -52,7 +67,14 @@ public class GeneratorControllerV2 {
   @RequestMapping(value = "/{pluginkey}",
       method = {RequestMethod.POST, RequestMethod.PUT, RequestMethod.GET})
   public ResponseEntity<InputStreamResource> generate(final @PathVariable String pluginkey,
-      @RequestBody ModelContent model, final HttpServletRequest request) {
+      final HttpServletRequest request) throws IOException {
+    ModelContent model;
+    try {
+      model = modelContentReader.read(request.getInputStream());
+    } catch (JsonProcessingException e) {
+      // same response as for a request body that cannot be bound
+      throw new HttpMessageNotReadableException("Could not read model content", e);
+    }
     return responseFromResult(
         vorto.generate(model, pluginkey, GatewayUtils.mapFromRequest(request)));
   }
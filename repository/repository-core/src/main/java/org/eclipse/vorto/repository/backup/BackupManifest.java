@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.backup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Describes a backup, and links an incremental backup to the backup it is based on. <br/>
+ * A full backup contains all namespaces. An incremental backup only contains the namespaces that
+ * have been changed since the backup it is based on, and lists all namespaces that existed when it
+ * was created, so that namespaces deleted in between are not restored. <br/>
+ * The manifest is the first entry of the zip file of a backup.
+ */
+public class BackupManifest {
+
+  public static final String FILE_NAME = ".manifest.json";
+
+  public enum Type {
+    FULL, INCREMENTAL
+  }
+
+  private Type type;
+
+  private long createdOn;
+
+  private Long basedOn;
+
+  private List<String> namespaces = new ArrayList<>();
+
+  private List<String> included = new ArrayList<>();
+
+  /**
+   * @param createdOn the time the backup was started, which identifies the backup
+   * @param namespaces the names of all namespaces
+   * @return the manifest of a full backup of the given namespaces
+   */
+  public static BackupManifest full(long createdOn, Collection<String> namespaces) {
+    BackupManifest manifest = new BackupManifest();
+    manifest.type = Type.FULL;
+    manifest.createdOn = createdOn;
+    manifest.namespaces.addAll(namespaces);
+    manifest.included.addAll(namespaces);
+    return manifest;
+  }
+
+  /**
+   * @param createdOn the time the backup was started, which identifies the backup
+   * @param basedOn the time the previous backup was started
+   * @param namespaces the names of all namespaces
+   * @param included the names of the namespaces changed since the previous backup
+   * @return the manifest of an incremental backup
+   */
+  public static BackupManifest incremental(long createdOn, long basedOn,
+      Collection<String> namespaces, Collection<String> included) {
+    BackupManifest manifest = new BackupManifest();
+    manifest.type = Type.INCREMENTAL;
+    manifest.createdOn = createdOn;
+    manifest.basedOn = basedOn;
+    manifest.namespaces.addAll(namespaces);
+    manifest.included.addAll(included);
+    return manifest;
+  }
+
+  /**
+   * Orders the given manifests as they have to be restored, i.e. a full backup followed by the
+   * incremental backups based on it.
+   *
+   * @param manifests the manifests of the backups to restore, in any order
+   * @return the manifests ordered from the full backup to the latest incremental backup
+   * @throws IllegalArgumentException if the backups do not form a single chain
+   */
+  public static List<BackupManifest> chain(Collection<BackupManifest> manifests) {
+    List<BackupManifest> chain = new ArrayList<>(manifests);
+    chain.sort(Comparator.comparingLong(BackupManifest::getCreatedOn));
+    for (int i = 0; i < chain.size(); i++) {
+      BackupManifest manifest = chain.get(i);
+      if (i == 0 && manifest.getType() != Type.FULL) {
+        throw new IllegalArgumentException(String.format(
+            "The backup created on %d is incremental, but no full backup was given",
+            manifest.getCreatedOn()));
+      }
+      if (i > 0 && (manifest.getType() != Type.INCREMENTAL
+          || !Objects.equals(manifest.getBasedOn(), chain.get(i - 1).getCreatedOn()))) {
+        throw new IllegalArgumentException(String.format(
+            "The backup created on %d is not based on the backup created on %d",
+            manifest.getCreatedOn(), chain.get(i - 1).getCreatedOn()));
+      }
+    }
+    return chain;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public long getCreatedOn() {
+    return createdOn;
+  }
+
+  /**
+   * @return the time the previous backup was started, or null for a full backup
+   */
+  public Long getBasedOn() {
+    return basedOn;
+  }
+
+  public List<String> getNamespaces() {
+    return Collections.unmodifiableList(namespaces);
+  }
+
+  public List<String> getIncluded() {
+    return Collections.unmodifiableList(included);
+  }
+}
@@ -12,27 +12,62 @@
  */
 package org.eclipse.vorto.repository.backup;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Predicate;
 import org.eclipse.vorto.repository.domain.Namespace;
 
 public interface IBackupRestoreService {
 
   /**
-   * Creates a zipped backup for tenants who passed the tenantFilter
+   * Creates a zipped backup for tenants who passed the tenantFilter, and writes it to the given
+   * stream while the namespaces are backed up
    *
    * @param namespaceFilter a predicate that determines who among the namespaces are placed in the backup
-   * @return a byte array for a zip file that contains the backup
+   * @param out the stream to write the zip file to, which is not closed
    */
-  byte[] createBackup(Predicate<Namespace> namespaceFilter);
+  void createBackup(Predicate<Namespace> namespaceFilter, OutputStream out);
 
   /**
-   * Restores the given backup file to its tenants
+   * Creates a zipped backup of the namespaces that passed the namespaceFilter and have been changed
+   * since the given backup, and writes it to the given stream
    *
-   * @param backupFile      the zipped backup file
+   * @param namespaceFilter a predicate that determines who among the namespaces are placed in the backup
+   * @param since the creation time of the backup this backup is based on, as given by its
+   *        {@link BackupManifest#getCreatedOn()}
+   * @param out the stream to write the zip file to, which is not closed
+   */
+  void createIncrementalBackup(Predicate<Namespace> namespaceFilter, long since,
+      OutputStream out);
+
+  /**
+   * Restores the given backup file to its tenants. All models are reindexed afterwards; if that
+   * fails, e.g. because another reindex is running, the restoration is reported nevertheless.
+   *
+   * @param backupFile      the zipped backup file, which is not closed
+   * @param namespaceFilter a filter for which namespaces to restore. If you want to restore to all
+   *                        namespaces, pass a predicate that returns {@literal true}.
+   * @return collection of tenants restored
+   * @throws IncompleteRestoreException if some of the namespaces could not be restored
+   */
+  Collection<Namespace> restoreRepository(InputStream backupFile,
+      Predicate<Namespace> namespaceFilter);
+
+  /**
+   * Restores a full backup and the incremental backups based on it. Each namespace is restored from
+   * the latest backup that contains it, and namespaces that have been deleted before the latest
+   * backup are not restored.
+   *
+   * @param backupFiles     the zipped backup files, in any order, which are not closed
    * @param namespaceFilter a filter for which namespaces to restore. If you want to restore to all
    *                        namespaces, pass a predicate that returns {@literal true}.
    * @return collection of tenants restored
+   * @throws IllegalArgumentException if the backups do not form a chain of a full backup and the
+   *         incremental backups based on it
+   * @throws IncompleteRestoreException if some of the namespaces could not be restored
    */
-  Collection<Namespace> restoreRepository(byte[] backupFile, Predicate<Namespace> namespaceFilter);
+  Collection<Namespace> restoreRepository(List<InputStream> backupFiles,
+      Predicate<Namespace> namespaceFilter);
 }
@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.backup;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.repository.domain.Namespace;
+import org.eclipse.vorto.repository.web.GenericApplicationException;
+
+/**
+ * Thrown if some of the namespaces of a restoration could not be restored, because they failed or
+ * timed out. The other namespaces have been restored and reindexed nevertheless.
+ */
+public class IncompleteRestoreException extends GenericApplicationException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Collection<Namespace> restored;
+
+  private final Collection<Namespace> failed;
+
+  public IncompleteRestoreException(Collection<Namespace> restored, Collection<Namespace> failed,
+      Throwable cause) {
+    super(String.format("Could not restore the namespaces %s",
+        failed.stream().map(Namespace::getName).collect(Collectors.toList())), cause);
+    this.restored = Collections.unmodifiableCollection(restored);
+    this.failed = Collections.unmodifiableCollection(failed);
+  }
+
+  public Collection<Namespace> getRestored() {
+    return restored;
+  }
+
+  public Collection<Namespace> getFailed() {
+    return failed;
+  }
+}
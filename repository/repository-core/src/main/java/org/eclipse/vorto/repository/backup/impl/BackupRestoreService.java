@@ -13,159 +13,415 @@
 package org.eclipse.vorto.repository.backup.impl;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import com.google.gson.Gson;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
+import javax.annotation.PreDestroy;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.log4j.Logger;
+import org.eclipse.vorto.repository.backup.BackupManifest;
 import org.eclipse.vorto.repository.backup.IBackupRestoreService;
+import org.eclipse.vorto.repository.backup.IncompleteRestoreException;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.IRepositoryManager;
+import org.eclipse.vorto.repository.core.impl.WorkspaceChangeJournal;
+import org.eclipse.vorto.repository.core.impl.utils.WorkspaceFanOut;
 import org.eclipse.vorto.repository.domain.Namespace;
 import org.eclipse.vorto.repository.repositories.NamespaceRepository;
 import org.eclipse.vorto.repository.search.IIndexingService;
-import org.eclipse.vorto.repository.utils.ZipUtils;
+import org.eclipse.vorto.repository.search.IndexingException;
 import org.eclipse.vorto.repository.web.GenericApplicationException;
-import org.modeshape.common.collection.ImmutableMapEntry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Backs up and restores the workspaces of namespaces, as one zip entry per namespace, preceded by
+ * a {@link BackupManifest}. <br/>
+ * Incremental backups only contain the namespaces changed since a previous backup, according to
+ * the {@link WorkspaceChangeJournal}. A full backup and the incremental backups based on it are
+ * restored together, each namespace from the latest backup that contains it. <br/>
+ * Workspaces are exported and imported in parallel on a bounded pool. Neither the backups nor the
+ * zip file are held in memory: each workspace is exported to a temporary file, which is appended
+ * to the zip as soon as the export is done, and a restored zip is extracted to temporary files
+ * before the workspaces are imported.
+ */
 @Component
 public class BackupRestoreService implements IBackupRestoreService {
 
   private static final Logger LOGGER = Logger.getLogger(BackupRestoreService.class);
 
+  private static final Gson GSON = new Gson();
+
   private IModelRepositoryFactory modelRepositoryFactory;
 
   private IIndexingService indexingService;
 
   private NamespaceRepository namespaceRepository;
 
+  private WorkspaceChangeJournal workspaceChangeJournal;
+
+  private WorkspaceFanOut workspaceFanOut;
+
+  private long clockSkewInMillis;
+
+  /**
+   * @param parallelism maximum number of workspaces backed up or restored at the same time
+   * @param timeoutInSeconds time after which a backup or restoration is given up
+   * @param clockSkewInSeconds maximum difference between the clocks of the nodes of a cluster,
+   *        by which incremental backups look further back for changes
+   */
   public BackupRestoreService(@Autowired IModelRepositoryFactory modelRepositoryFactory,
       @Autowired IIndexingService indexingService,
-      @Autowired NamespaceRepository namespaceRepository) {
+      @Autowired NamespaceRepository namespaceRepository,
+      @Autowired WorkspaceChangeJournal workspaceChangeJournal,
+      @Value("${repo.backup.parallelism:#{4}}") int parallelism,
+      @Value("${repo.backup.timeoutInSeconds:#{21600}}") long timeoutInSeconds,
+      @Value("${repo.backup.clockSkewInSeconds:#{60}}") long clockSkewInSeconds) {
     this.modelRepositoryFactory = modelRepositoryFactory;
     this.indexingService = indexingService;
     this.namespaceRepository = namespaceRepository;
+    this.workspaceChangeJournal = workspaceChangeJournal;
+    this.workspaceFanOut = new WorkspaceFanOut(parallelism, timeoutInSeconds);
+    this.clockSkewInMillis = TimeUnit.SECONDS.toMillis(clockSkewInSeconds);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    workspaceFanOut.shutdown();
+  }
+
+  @Override
+  public void createBackup(Predicate<Namespace> namespaceFilter, OutputStream out) {
+    long createdOn = System.currentTimeMillis();
+    List<Namespace> namespaces = namespaces(namespaceFilter);
+    writeBackup(BackupManifest.full(createdOn, names(namespaces)), namespaces, out);
   }
 
   @Override
-  public byte[] createBackup(Predicate<Namespace> namespaceFilter) {
-    return createZippedInputStream(createBackups(namespaceFilter));
+  public void createIncrementalBackup(Predicate<Namespace> namespaceFilter, long since,
+      OutputStream out) {
+    long createdOn = System.currentTimeMillis();
+    List<Namespace> namespaces = namespaces(namespaceFilter);
+    // changes recorded by other nodes of a cluster carry the time of their clocks
+    Set<String> changed = workspaceChangeJournal.changedSince(since - clockSkewInMillis);
+    List<Namespace> included = namespaces.stream()
+        .filter(namespace -> changed.contains(namespace.getWorkspaceId()))
+        .collect(Collectors.toList());
+    LOGGER.info(String.format("Backing up %d of %d namespaces changed since %d",
+        included.size(), namespaces.size(), since));
+    writeBackup(
+        BackupManifest.incremental(createdOn, since, names(namespaces), names(included)),
+        included, out);
   }
 
-  private Map<String, byte[]> createBackups(Predicate<Namespace> namespaceFilter) {
-    return createBackups(namespaceRepository.findAll()
-        .stream()
+  private List<Namespace> namespaces(Predicate<Namespace> namespaceFilter) {
+    return namespaceRepository.findAll().stream()
         .filter(namespaceFilter)
-        .collect(Collectors.toList()));
+        .collect(Collectors.toList());
   }
 
-  private Map<String, byte[]> createBackups(Collection<Namespace> namespaces) {
-    return namespaces.stream()
-        .map(namespace ->
-            new ImmutableMapEntry<>(
-                namespace.getName(),
-                modelRepositoryFactory
-                    .getRepositoryManager(namespace.getWorkspaceId()).backup())
-        ).collect(Collectors.toMap(entry -> entry.getKey(), entry -> entry.getValue()));
+  private static List<String> names(Collection<Namespace> namespaces) {
+    return namespaces.stream().map(Namespace::getName).collect(Collectors.toList());
   }
 
-  private byte[] createZippedInputStream(Map<String, byte[]> backups) {
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    ZipOutputStream zos = new ZipOutputStream(baos);
+  private void writeBackup(BackupManifest manifest, Collection<Namespace> included,
+      OutputStream out) {
+    Map<String, Namespace> namespaces = new LinkedHashMap<>();
+    included.forEach(namespace -> namespaces.put(namespace.getWorkspaceId(), namespace));
 
+    ZipOutputStream zos = new ZipOutputStream(out);
     try {
-      for (Map.Entry<String, byte[]> entry : backups.entrySet()) {
-        ZipEntry zipEntry = new ZipEntry(entry.getKey() + ".xml");
-        zos.putNextEntry(zipEntry);
-        zos.write(entry.getValue());
-        zos.closeEntry();
-      }
-
-      zos.close();
-      baos.close();
+      zos.putNextEntry(new ZipEntry(BackupManifest.FILE_NAME));
+      zos.write(GSON.toJson(manifest).getBytes(StandardCharsets.UTF_8));
+      zos.closeEntry();
+    } catch (IOException ex) {
+      throw new GenericApplicationException("Error while generating zip file.", ex);
+    }
 
-      return baos.toByteArray();
+    WorkspaceFanOut.Result<String> result = workspaceFanOut.execute(namespaces.keySet(),
+        workspaceId -> backup(namespaces.get(workspaceId), zos));
+    if (!result.isComplete()) {
+      throw new GenericApplicationException(String.format(
+          "Error while generating zip file. Could not back up the workspaces %s",
+          failedWorkspaces(result)),
+          result.getFailures().values().stream().findFirst().orElse(null));
+    }
 
-    } catch (Exception ex) {
+    try {
+      zos.finish();
+    } catch (IOException ex) {
       throw new GenericApplicationException("Error while generating zip file.", ex);
     }
   }
 
+  private String backup(Namespace namespace, ZipOutputStream zos) {
+    IRepositoryManager repoMgr = repositoryManager(namespace.getWorkspaceId());
+    ZipEntry zipEntry = new ZipEntry(namespace.getName() + ".xml");
+    try {
+      if (!workspaceFanOut.isParallel()) {
+        zos.putNextEntry(zipEntry);
+        // the export must not close the zip, which is still written to
+        repoMgr.backup(new CloseShieldOutputStream(zos));
+        zos.closeEntry();
+        return namespace.getName();
+      }
+      Path file = Files.createTempFile("vorto-backup-", ".xml");
+      try {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+          repoMgr.backup(out);
+        }
+        synchronized (zos) {
+          zos.putNextEntry(zipEntry);
+          Files.copy(file, zos);
+          zos.closeEntry();
+        }
+      } finally {
+        FileUtils.deleteQuietly(file.toFile());
+      }
+      return namespace.getName();
+    } catch (IOException ex) {
+      throw new GenericApplicationException(
+          String.format("Error while backing up [%s]", namespace.getName()), ex);
+    }
+  }
+
   @Override
-  public Collection<Namespace> restoreRepository(byte[] backupFile,
+  public Collection<Namespace> restoreRepository(InputStream backupFile,
       Predicate<Namespace> namespaceFilter) {
     Preconditions.checkNotNull(backupFile, "Backup file must not be null");
+    return restoreRepository(Collections.singletonList(backupFile), namespaceFilter);
+  }
+
+  @Override
+  public Collection<Namespace> restoreRepository(List<InputStream> backupFiles,
+      Predicate<Namespace> namespaceFilter) {
+    Preconditions.checkArgument(!backupFiles.isEmpty(), "Backup files must not be empty");
+    Map<String, Namespace> namespaces = new LinkedHashMap<>();
+    Map<String, Path> backups = new LinkedHashMap<>();
     try {
-      Collection<Namespace> namespacesRestored = Lists.newArrayList();
-      Map<String, byte[]> backups = getBackups(backupFile);
-
-      backups.forEach((namespaceName, backup) -> {
-        LOGGER.info(String.format("Restoring backup for [%s]", namespaceName));
-        Namespace namespace = namespaceRepository.findByName(namespaceName);
-        if (null != namespace && namespaceFilter.test(namespace)) {
-          try {
-            String workspaceId = namespace.getWorkspaceId();
-            IRepositoryManager repoMgr = modelRepositoryFactory
-                .getRepositoryManager(workspaceId);
-
-            if (!repoMgr.exists(workspaceId)) {
-              repoMgr.createWorkspace(workspaceId);
-            } else {
-              repoMgr.removeWorkspace(workspaceId);
-              repoMgr.createWorkspace(workspaceId);
-            }
-
-            repoMgr.restore(backup);
-            this.modelRepositoryFactory.getPolicyManager(workspaceId)
-                .restorePolicyEntries();
-            namespacesRestored.add(namespace);
-          } catch (Exception e) {
-            LOGGER.error(String.format("Error while restoring [%s]", namespaceName), e);
-          }
-        } else {
-          LOGGER.info(String.format(
-              "Skipping restoration of [%s] either because the namespace could not be found, or was filtered out.",
-              namespaceName));
+      List<BackupFile> chain = chain(backupFiles);
+      // namespaces deleted before the latest backup are not restored
+      BackupManifest latest = chain.get(chain.size() - 1).manifest;
+      Predicate<Namespace> restored = latest == null ? namespaceFilter
+          : namespaceFilter.and(namespace -> latest.getNamespaces().contains(namespace.getName()));
+      // starting from the latest backup, so that only the latest backup of a namespace is extracted
+      for (int i = chain.size() - 1; i >= 0; i--) {
+        extractBackups(chain.get(i), restored, namespaces, backups);
+      }
+
+      WorkspaceFanOut.Result<Namespace> result = workspaceFanOut.execute(backups.keySet(),
+          workspaceId -> restore(namespaces.get(workspaceId), backups.get(workspaceId)));
+
+      Collection<Namespace> namespacesFailed = new ArrayList<>();
+      failedWorkspaces(result)
+          .forEach(workspaceId -> namespacesFailed.add(namespaces.get(workspaceId)));
+      Throwable failure = result.getFailures().values().stream().findFirst().orElse(null);
+
+      // policies are restored in the calling thread, as they are checked against the user roles
+      Collection<Namespace> namespacesRestored = new ArrayList<>();
+      for (Namespace namespace : result.getResults().values()) {
+        try {
+          this.modelRepositoryFactory.getPolicyManager(namespace.getWorkspaceId())
+              .restorePolicyEntries();
+          namespacesRestored.add(namespace);
+        } catch (Exception e) {
+          LOGGER.error(String.format("Error while restoring [%s]", namespace.getName()), e);
+          namespacesFailed.add(namespace);
+          failure = failure == null ? e : failure;
         }
-      });
+      }
 
       if (!namespacesRestored.isEmpty()) {
-        indexingService.reindexAllModels();
+        reindex(namespacesRestored);
       }
 
+      if (!namespacesFailed.isEmpty()) {
+        throw new IncompleteRestoreException(namespacesRestored, namespacesFailed, failure);
+      }
       return namespacesRestored;
 
     } catch (IOException e) {
       throw new GenericApplicationException("Problem while reading zip file during restore", e);
+    } finally {
+      backups.values().forEach(file -> FileUtils.deleteQuietly(file.toFile()));
     }
   }
 
-  private Map<String, byte[]> getBackups(byte[] file) throws IOException {
-    Map<String, byte[]> backups = new HashMap<>();
+  /**
+   * Reindexes all models, so that the restored namespaces are searchable. The restoration is not
+   * undone if the reindex fails, e.g. because another reindex is running, which may have read the
+   * workspaces before they were restored, so the failure is only logged.
+   */
+  private void reindex(Collection<Namespace> namespacesRestored) {
+    try {
+      indexingService.reindexAllModels();
+    } catch (IndexingException e) {
+      LOGGER.error(String.format("Cannot reindex the restored namespaces %s, all models must be "
+          + "reindexed once more to search them", namespacesRestored.stream()
+              .map(Namespace::getName).collect(Collectors.toList())), e);
+    }
+  }
 
-    ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(file));
+  /**
+   * Reads the manifests of the given backups, and orders them as they have been created.
+   *
+   * @param backupFiles a single backup, or a full backup and the incremental backups based on it
+   * @return the backups, starting with the full backup
+   * @throws IllegalArgumentException if the given backups do not form a single chain, e.g. an
+   *         incremental backup without the full backup it is based on
+   * @throws IOException
+   */
+  private List<BackupFile> chain(List<InputStream> backupFiles) throws IOException {
+    List<BackupFile> files = new ArrayList<>();
+    for (InputStream backupFile : backupFiles) {
+      files.add(new BackupFile(backupFile));
+    }
+    // backups created before manifests were introduced are full backups
+    if (files.size() == 1 && files.get(0).manifest == null) {
+      return files;
+    }
+    if (files.stream().anyMatch(file -> file.manifest == null)) {
+      throw new IllegalArgumentException(
+          "Backups without manifest can only be restored one at a time");
+    }
+    files.sort(Comparator.comparingLong(file -> file.manifest.getCreatedOn()));
+    BackupManifest.chain(files.stream().map(file -> file.manifest).collect(Collectors.toList()));
+    return files;
+  }
+
+  /**
+   * Extracts the backups of the namespaces to restore to temporary files, unless they have been
+   * extracted from a later backup already.
+   *
+   * @param file the zipped backup file
+   * @param namespaceFilter the namespaces to restore
+   * @param namespaces collects the namespaces to restore by workspace ID
+   * @param backups collects the temporary backup files by workspace ID
+   * @throws IOException
+   */
+  private void extractBackups(BackupFile file, Predicate<Namespace> namespaceFilter,
+      Map<String, Namespace> namespaces, Map<String, Path> backups) throws IOException {
+    ZipInputStream zis = file.zis;
     ZipEntry entry = null;
 
-    while ((entry = zis.getNextEntry()) != null) {
-      if (!entry.isDirectory()
-          && !entry.getName().substring(entry.getName().lastIndexOf("/") + 1).startsWith(".")) {
-        String namespace = entry.getName().substring(entry.getName().lastIndexOf("/") + 1)
-            .replace(".xml", "");
-        backups.put(namespace, ZipUtils.copyStream(zis, entry));
+    while ((entry = file.nextEntry()) != null) {
+      String fileName = entry.getName().substring(entry.getName().lastIndexOf("/") + 1);
+      if (entry.isDirectory() || fileName.startsWith(".")) {
+        continue;
+      }
+      String namespaceName = fileName.replace(".xml", "");
+      Namespace namespace = namespaceRepository.findByName(namespaceName);
+      if (null != namespace && backups.containsKey(namespace.getWorkspaceId())) {
+        LOGGER.info(String.format(
+            "Skipping restoration of [%s] from an older backup.", namespaceName));
+      } else if (null != namespace && namespaceFilter.test(namespace)) {
+        Path backup = Files.createTempFile("vorto-restore-", ".xml");
+        // registered before copying, so that the file is deleted even if copying fails
+        backups.put(namespace.getWorkspaceId(), backup);
+        namespaces.put(namespace.getWorkspaceId(), namespace);
+        Files.copy(zis, backup, StandardCopyOption.REPLACE_EXISTING);
+      } else {
+        LOGGER.info(String.format(
+            "Skipping restoration of [%s] either because the namespace could not be found, or was filtered out.",
+            namespaceName));
+      }
+    }
+  }
+
+  private Namespace restore(Namespace namespace, Path backup) {
+    LOGGER.info(String.format("Restoring backup for [%s]", namespace.getName()));
+    String workspaceId = namespace.getWorkspaceId();
+    IRepositoryManager repoMgr = repositoryManager(workspaceId);
+
+    try {
+      if (!repoMgr.exists(workspaceId)) {
+        repoMgr.createWorkspace(workspaceId);
+      } else {
+        repoMgr.removeWorkspace(workspaceId);
+        repoMgr.createWorkspace(workspaceId);
       }
+
+      try (InputStream in = new BufferedInputStream(Files.newInputStream(backup))) {
+        repoMgr.restore(in);
+      } catch (IOException e) {
+        throw new GenericApplicationException(
+            String.format("Error while restoring [%s]", namespace.getName()), e);
+      }
+    } finally {
+      // restorations publish no events, but the next incremental backup must contain the workspace
+      workspaceChangeJournal.record(workspaceId);
     }
+    return namespace;
+  }
 
-    return backups;
+  /**
+   * The request scoped session helper is not thread safe, so workspaces processed in parallel use
+   * repository managers with a session helper of their own.
+   */
+  private IRepositoryManager repositoryManager(String workspaceId) {
+    return workspaceFanOut.isParallel()
+        ? modelRepositoryFactory.getRepositoryManagerForBackgroundTask(workspaceId)
+        : modelRepositoryFactory.getRepositoryManager(workspaceId);
   }
 
+  /**
+   * A zipped backup, whose manifest has been read already.
+   */
+  private static class BackupFile {
+
+    private final ZipInputStream zis;
+
+    private BackupManifest manifest;
+
+    private ZipEntry pending;
+
+    private BackupFile(InputStream file) throws IOException {
+      this.zis = new ZipInputStream(new BufferedInputStream(file));
+      this.pending = zis.getNextEntry();
+      if (pending != null && BackupManifest.FILE_NAME.equals(pending.getName())) {
+        this.manifest = GSON.fromJson(new InputStreamReader(zis, StandardCharsets.UTF_8),
+            BackupManifest.class);
+        this.pending = null;
+      }
+    }
+
+    private ZipEntry nextEntry() throws IOException {
+      if (pending != null) {
+        ZipEntry entry = pending;
+        pending = null;
+        return entry;
+      }
+      return zis.getNextEntry();
+    }
+  }
+
+  private static Collection<String> failedWorkspaces(WorkspaceFanOut.Result<?> result) {
+    Collection<String> failed = new ArrayList<>(result.getFailures().keySet());
+    failed.addAll(result.getTimedOut());
+    return failed;
+  }
 }
@@ -0,0 +1,177 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.conversion;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.model.ModelContent;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.plugin.generator.adapter.ModelContentReader;
+import org.eclipse.vorto.plugin.generator.adapter.ObjectMapperFactory;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Cache of the {@link ModelContent} converted by {@link ModelIdToModelContentConverter}. <br/>
+ * Entries are keyed by the root model, the platform key and the modification stamps of all models
+ * the content has been built from, i.e. the dependencies and the mapping models. An entry is hence
+ * only found as long as none of these models has changed, and only by users that can access all of
+ * them. In addition, entries are evicted by model events, so that outdated content does not take
+ * up space. <br/>
+ * The content is stored serialized, as callers modify the returned {@link ModelContent}, and the
+ * cache is bounded by the size of the serialized content.
+ */
+@Component
+public class ModelContentCache implements ApplicationListener<AppEvent> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ModelContentCache.class);
+
+  private final ObjectMapper mapper = ObjectMapperFactory.getInstance();
+
+  private final ModelContentReader reader = new ModelContentReader(mapper);
+
+  private final Cache<Key, Entry> cache;
+
+  public ModelContentCache(
+      @Value("${repo.modelContentCache.maximumSizeInMb:#{64}}") long maximumSizeInMb) {
+    this.cache = CacheBuilder.newBuilder().maximumWeight(maximumSizeInMb * 1024 * 1024)
+        .weigher((Key key, Entry entry) -> entry.content.length).build();
+  }
+
+  /**
+   * @param rootId the model the content has been converted for
+   * @param platformKey the platform key the content has been converted for
+   * @param models the dependencies and mapping models the content is built from
+   * @return the key of the content
+   */
+  public static Key key(ModelId rootId, Optional<String> platformKey,
+      Collection<ModelInfo> models) {
+    return new Key(rootId.getPrettyFormat(), platformKey.orElse(null),
+        models.stream().map(ModelContentCache::stamp).sorted().collect(Collectors.joining(",")));
+  }
+
+  private static String stamp(ModelInfo model) {
+    Date modified = model.getModificationDate() != null ? model.getModificationDate()
+        : model.getCreationDate();
+    return model.getId().getPrettyFormat() + "@" + (modified != null ? modified.getTime() : "");
+  }
+
+  public Optional<ModelContent> get(Key key) {
+    Entry entry = cache.getIfPresent(key);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(reader.read(new ByteArrayInputStream(entry.content)));
+    } catch (IOException e) {
+      LOGGER.warn("Cannot read cached model content, converting again", e);
+      cache.invalidate(key);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * @param key the key returned by {@link #key(ModelId, Optional, Collection)}
+   * @param content the converted content
+   * @param models the dependencies and mapping models the content is built from
+   */
+  public void put(Key key, ModelContent content, Collection<ModelInfo> models) {
+    try {
+      Set<ModelId> modelIds = models.stream().map(ModelInfo::getId).collect(Collectors.toSet());
+      cache.put(key, new Entry(mapper.writeValueAsBytes(content), modelIds));
+    } catch (JsonProcessingException e) {
+      LOGGER.warn("Cannot cache model content of " + key.rootId, e);
+    }
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  @Override
+  public void onApplicationEvent(AppEvent event) {
+    if (event.getEventType() == EventType.MODEL_CREATED
+        || event.getEventType() == EventType.MODEL_UPDATED) {
+      ModelInfo modelInfo = (ModelInfo) event.getSubject();
+      if (modelInfo == null) {
+        return;
+      }
+      // a new or changed mapping might apply to any content converted for a platform
+      boolean mapping = modelInfo.getType() == ModelType.Mapping;
+      cache.asMap().entrySet().removeIf(entry -> entry.getValue().modelIds
+          .contains(modelInfo.getId()) || (mapping && entry.getKey().platformKey != null));
+    } else if (event.getEventType() == EventType.MODEL_DELETED) {
+      ModelId modelId = (ModelId) event.getSubject();
+      cache.asMap().entrySet().removeIf(entry -> entry.getValue().modelIds.contains(modelId));
+    } else if (event.getEventType() == EventType.NAMESPACE_DELETED) {
+      invalidateAll();
+    }
+  }
+
+  public static final class Key {
+    private final String rootId;
+    private final String platformKey;
+    private final String stamps;
+
+    private Key(String rootId, String platformKey, String stamps) {
+      this.rootId = rootId;
+      this.platformKey = platformKey;
+      this.stamps = stamps;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(rootId, platformKey, stamps);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return rootId.equals(other.rootId) && Objects.equals(platformKey, other.platformKey)
+          && stamps.equals(other.stamps);
+    }
+  }
+
+  private static final class Entry {
+    private final byte[] content;
+    private final Set<ModelId> modelIds;
+
+    private Entry(byte[] content, Set<ModelId> modelIds) {
+      this.content = content;
+      this.modelIds = modelIds;
+    }
+  }
+}
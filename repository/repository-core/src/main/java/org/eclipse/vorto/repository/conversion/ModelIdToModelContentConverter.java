@@ -14,12 +14,10 @@ package org.eclipse.vorto.repository.conversion;
 
 import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ForkJoinPool;
 import org.eclipse.vorto.core.api.model.ModelConversionUtils;
 import org.eclipse.vorto.core.api.model.datatype.Entity;
 import org.eclipse.vorto.core.api.model.functionblock.FunctionblockModel;
@@ -39,14 +37,12 @@ import org.eclipse.vorto.repository.core.IModelRepository;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.ModelNotFoundException;
-import org.eclipse.vorto.repository.core.impl.utils.DependencyManager;
+import org.eclipse.vorto.repository.core.impl.utils.DependencyGraphResolver;
 import org.eclipse.vorto.repository.web.core.ModelDtoFactory;
 import org.eclipse.vorto.utilities.reader.IModelWorkspace;
 import org.eclipse.vorto.utilities.reader.ModelWorkspaceReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.web.context.request.RequestContextHolder;
 
 public class ModelIdToModelContentConverter implements IModelConverter<ModelId, ModelContent> {
 
@@ -55,8 +51,19 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,
 
   private IModelRepositoryFactory repositoryFactory;
 
+  private ModelContentCache cache;
+
   public ModelIdToModelContentConverter(IModelRepositoryFactory repositoryFactory) {
+    this(repositoryFactory, null);
+  }
+
+  /**
+   * @param cache cache of converted content, may be null to convert the content on every call
+   */
+  public ModelIdToModelContentConverter(IModelRepositoryFactory repositoryFactory,
+      ModelContentCache cache) {
     this.repositoryFactory = repositoryFactory;
+    this.cache = cache;
   }
 
   @Override
@@ -73,14 +80,38 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,
           String.format("Model [%s] does not exist", modelId.getPrettyFormat()), null);
     }
 
-    ModelWorkspaceReader workspaceReader = getWorkspaceForModel(modelId);
+    List<ModelInfo> dependencies = new DependencyGraphResolver(repositoryFactory).resolve(modelId);
+    final List<ModelInfo> mappingResources = platformKey.isPresent()
+        ? repositoryFactory.getRepositoryByModel(modelId)
+            .getMappingModelsForTargetPlatform(modelId, platformKey.get(), Optional.empty())
+        : Collections.emptyList();
+
+    ModelContentCache.Key cacheKey = null;
+    List<ModelInfo> involvedModels = new ArrayList<>(dependencies);
+    involvedModels.addAll(mappingResources);
+    if (cache != null) {
+      cacheKey = ModelContentCache.key(modelId, platformKey, involvedModels);
+      Optional<ModelContent> cached = cache.get(cacheKey);
+      if (cached.isPresent()) {
+        return cached.get();
+      }
+    }
+
+    ModelContent result = convert(modelId, platformKey, dependencies, mappingResources);
+    if (cache != null) {
+      cache.put(cacheKey, result, involvedModels);
+    }
+    return result;
+  }
+
+  private ModelContent convert(ModelId modelId, Optional<String> platformKey,
+      List<ModelInfo> dependencies, List<ModelInfo> mappingResources) {
+    ModelWorkspaceReader workspaceReader = getWorkspaceForModel(dependencies);
 
     ModelContent result = new ModelContent();
     result.setRoot(modelId);
 
     if (platformKey.isPresent()) {
-      final List<ModelInfo> mappingResources = repositoryFactory.getRepositoryByModel(modelId)
-          .getMappingModelsForTargetPlatform(modelId, platformKey.get(), Optional.empty());
       if (!mappingResources.isEmpty()) {
         // adding to workspace reader in order to resolve cross linking between mapping models correctly
         mappingResources.forEach(mapping -> workspaceReader.addFile(new ByteArrayInputStream(
@@ -147,12 +178,8 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,
   }
 
 
-  private ModelWorkspaceReader getWorkspaceForModel(final ModelId modelId) {
-    Collection<ModelInfo> allModels = getModelWithAllDependencies(modelId);
-    DependencyManager dm = new DependencyManager(new HashSet<>(allModels));
-    allModels = dm.getSorted();
-
-    ModelWorkspaceReader workspaceReader = IModelWorkspace.newReader();
+  private ModelWorkspaceReader getWorkspaceForModel(final List<ModelInfo> allModels) {
+    ModelWorkspaceReader workspaceReader = IModelWorkspace.newReader().cached();
     for (ModelInfo model : allModels) {
       FileContent modelContent = repositoryFactory.getRepositoryByModel(model.getId())
           .getFileContent(model.getId(), Optional.of(model.getFileName())).get();
@@ -162,13 +189,6 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,
     return workspaceReader;
   }
 
-  private List<ModelInfo> getModelWithAllDependencies(ModelId modelId) {
-    return new ArrayList<>(ForkJoinPool.commonPool()
-        .invoke(
-        new ModelInfoRetrieverTask(RequestContextHolder.getRequestAttributes(),
-            SecurityContextHolder.getContext(), repositoryFactory, modelId)));
-  }
-
   private boolean isMappingForModel(MappingModel p, Model model) {
     final ModelId modelId = new ModelId(model.getName(), model.getNamespace(), model.getVersion());
     return matchesMappingForModel(p, model) && p.getReferences().stream().filter(
@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Consumes the content of a file stored in the repository, while it is read from the repository.
+ */
+@FunctionalInterface
+public interface FileContentConsumer {
+
+  /**
+   * @param fileName the name of the file
+   * @param size the size of the content in bytes
+   * @param content the content, which is only valid during this call and must not be closed
+   */
+  void accept(String fileName, long size, InputStream content) throws IOException;
+}
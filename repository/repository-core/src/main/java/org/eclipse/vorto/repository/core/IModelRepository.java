@@ -16,10 +16,12 @@ import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.web.api.v1.dto.ModelLink;
 import org.eclipse.vorto.repository.web.core.exceptions.NotAuthorizedException;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * @author Alexander Edelmann
@@ -37,6 +39,16 @@ public interface IModelRepository {
    */
   List<ModelInfo> search(String queryExpression);
 
+  /**
+   * Searches model resources for the given expression and hands each result to the given consumer
+   * while iterating the search result, without collecting all results in memory
+   *
+   * @param queryExpression
+   * @param consumer
+   * @return the number of results handed to the consumer
+   */
+  int streamSearch(String queryExpression, Consumer<ModelInfo> consumer);
+
   /**
    * Gets a very detailed model for the given model id, which includes resolving target platform mappings
    * If only basic meta - data is required, consider using {@link IModelRepository#getBasicInfo(ModelId)}
@@ -47,6 +59,17 @@ public interface IModelRepository {
    */
   ModelInfo getById(ModelId modelId) throws NotAuthorizedException;
 
+  /**
+   * Gets the models for the given model ids, like {@link IModelRepository#getById(ModelId)}, but
+   * resolves all of them in a single session. The models referencing them are not looked up, so
+   * {@link ModelInfo#getReferencedBy()} is empty.
+   *
+   * @param modelIds
+   * @return the models by the given model ids. Models that do not exist or which the current user
+   * is not allowed to access are not contained.
+   */
+  Map<ModelId, ModelInfo> getByIds(Collection<ModelId> modelIds);
+
   /**
    * Gets the model ID of the latest (highest and released) version for the given model.
    *
@@ -214,6 +237,18 @@ public interface IModelRepository {
   Optional<FileContent> getFileContent(ModelId modelId, Optional<String> fileName)
       throws NotAuthorizedException;
 
+  /**
+   * streams the file content for the given model id and file name to the given consumer, without
+   * loading the whole content into memory
+   *
+   * @param modelId
+   * @param fileName
+   * @param consumer
+   * @return false if the model file does not exist
+   */
+  boolean streamFileContent(ModelId modelId, Optional<String> fileName,
+      FileContentConsumer consumer) throws NotAuthorizedException;
+
   /**
    * Attaches the given file to the model
    *
@@ -12,6 +12,8 @@
  */
 package org.eclipse.vorto.repository.core;
 
+import java.util.Collection;
+import java.util.Map;
 import org.eclipse.vorto.model.ModelId;
 import org.springframework.security.core.Authentication;
 
@@ -40,10 +42,35 @@ public interface IModelRepositoryFactory {
 
   IModelRepository getRepositoryByModelWithoutSessionHelper(ModelId modelId);
 
+  /**
+   * Gets the models for the given model ids across all workspaces, using one session per
+   * workspace. See {@link IModelRepository#getByIds(Collection)}.
+   *
+   * @param modelIds
+   * @return the models by the given model ids. Models that do not exist, which the current user
+   * is not allowed to access, or whose workspace could not be read in time are not contained.
+   */
+  Map<ModelId, ModelInfo> getByIds(Collection<ModelId> modelIds);
+
   IModelRepository getRepository(String workspaceId, Authentication authentication);
 
   IModelRepository getRepository(String workspaceId, IUserContext context);
 
+  /**
+   * Same as {@link #getRepository(String, Authentication)}, but with an individual SessionHelper
+   * instead of the request scoped one, so that the repository can be used in a multi-threaded
+   * context of a single request.
+   */
+  IModelRepository getRepositoryWithoutSessionHelper(String workspaceId,
+      Authentication authentication);
+
+  /**
+   * Repository with system administrator privileges and an individual SessionHelper, for tasks that
+   * run outside of a request, such as indexing in the background. Unlike the other repositories,
+   * it does not look up the roles of a user, as the role caches are bound to a request.
+   */
+  IModelRepository getRepositoryForBackgroundTask(String workspaceId);
+
   @Deprecated
   IModelRepository getRepository(IUserContext userContext);
 
@@ -64,6 +91,12 @@ public interface IModelRepositoryFactory {
 
   IRepositoryManager getRepositoryManager(String workspaceID);
 
+  /**
+   * Same as {@link #getRepositoryForBackgroundTask(String)}, for backing up and restoring several
+   * workspaces in parallel.
+   */
+  IRepositoryManager getRepositoryManagerForBackgroundTask(String workspaceId);
+
   IModeshapeDoctor getModeshapeDoctor(String workspaceID);
 
 }
@@ -12,6 +12,9 @@
  */
 package org.eclipse.vorto.repository.core;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+
 public interface IRepositoryManager {
 
   /**
@@ -21,6 +24,13 @@ public interface IRepositoryManager {
    */
   byte[] backup();
 
+  /**
+   * Backs up the given repository to the given stream, without holding the backup in memory
+   *
+   * @param out the stream to write the backup to, which is not closed
+   */
+  void backup(OutputStream out);
+
   /**
    * Restores a repository with the given data
    *
@@ -28,6 +38,14 @@ public interface IRepositoryManager {
    */
   void restore(byte[] data);
 
+  /**
+   * Restores a repository with the data read from the given stream. The current content, which is
+   * restored if the restoration fails, is kept in a temporary file rather than in memory.
+   *
+   * @param data the stream to read the backup from, which is not closed
+   */
+  void restore(InputStream data);
+
   /**
    * Creates a workspace with the given workspaceId
    *
@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core;
+
+import java.util.Collection;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown if a lookup across workspaces could not read all workspaces, because some of them failed
+ * or timed out, and returning the results of the other workspaces would be misleading.
+ */
+@ResponseStatus(code = HttpStatus.SERVICE_UNAVAILABLE)
+public class IncompleteResultException extends ModelRepositoryException {
+
+  /**
+   * 
+   */
+  private static final long serialVersionUID = 1L;
+
+  public IncompleteResultException(Collection<String> workspaceIds, Throwable cause) {
+    super("Could not read workspaces " + workspaceIds, cause);
+  }
+
+}
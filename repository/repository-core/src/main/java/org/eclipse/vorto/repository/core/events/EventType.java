@@ -29,5 +29,7 @@ public enum EventType {
   NAMESPACE_UPDATED,
   NAMESPACE_DELETED,
   // when a user loses all roles on a namespace
-  USER_REMOVED_FROM_NAMESPACE
+  USER_REMOVED_FROM_NAMESPACE,
+  // when the roles of a user on a namespace are added, changed or removed
+  USER_NAMESPACE_ROLES_CHANGED
 }
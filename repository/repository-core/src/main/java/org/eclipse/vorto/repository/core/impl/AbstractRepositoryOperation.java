@@ -62,16 +62,22 @@ public class AbstractRepositoryOperation {
   public <T> T doInElevatedSession(SessionFunction<T> fn, IUserContext userContext, PrivilegeService privilegeService) {
     RequestRepositorySessionHelper helper = new RequestRepositorySessionHelper(false, privilegeService);
     IUserContext elevatedUserContext = getUserContextForCreatingAttachment(userContext);
+    Session session = null;
     try {
+      RequestRepositorySessionHelper userHelper = repositorySessionHelperSupplier.get();
       helper.setAuthentication(elevatedUserContext.getAuthentication());
-      helper.setRepository(repositorySessionHelperSupplier.get().getRepository());
+      helper.setRepository(userHelper.getRepository());
       helper.setUserRoles(Stream.of(RepositoryRole.SYS_ADMIN).collect(Collectors.toSet()));
-      helper.setWorkspaceId(repositorySessionHelperSupplier.get().getWorkspaceId());
-      return fn.apply(helper.getSession());
+      helper.setWorkspaceId(userHelper.getWorkspaceId());
+      helper.setSessionPool(userHelper.getSessionPool());
+      session = helper.getSession();
+      return fn.apply(session);
     } catch (Exception e) {
       throw new FatalModelRepositoryException("Unexpected exception", e);
     } finally {
-      helper.getSession().logout();
+      if (session != null) {
+        helper.logoutSessionIfNotReusable(session);
+      }
     }
   }
 
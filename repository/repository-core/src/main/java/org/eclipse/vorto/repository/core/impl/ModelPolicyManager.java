@@ -78,6 +78,8 @@ public class ModelPolicyManager extends AbstractRepositoryOperation implements I
 
   private IOAuthProviderRegistry registry;
 
+  private WorkspaceChangeJournal workspaceChangeJournal;
+
   public ModelPolicyManager(
       @Autowired UserNamespaceRoleService userNamespaceRoleService,
       @Autowired RoleUtil roleUtil,
@@ -93,6 +95,14 @@ public class ModelPolicyManager extends AbstractRepositoryOperation implements I
     this.registry = registry;
   }
 
+  /**
+   * @param workspaceChangeJournal records the workspaces of changed policies, which are not
+   *        published as events, for incremental backups. Null, if changes are not recorded.
+   */
+  public void setWorkspaceChangeJournal(WorkspaceChangeJournal workspaceChangeJournal) {
+    this.workspaceChangeJournal = workspaceChangeJournal;
+  }
+
   @Override
   public Collection<PolicyEntry> getPolicyEntries(ModelId modelId) {
     return doInSession(session -> {
@@ -149,6 +159,7 @@ public class ModelPolicyManager extends AbstractRepositoryOperation implements I
 
         acm.setPolicy(nodeToAddPolicy.getPath(), _acl);
         session.save();
+        recordChange(session);
         return null;
       } catch (AccessDeniedException ex) {
         throw new NotAuthorizedException(modelId);
@@ -171,6 +182,7 @@ public class ModelPolicyManager extends AbstractRepositoryOperation implements I
 
           acm.removePolicy(nodeToRemovePolicy.getPath(), acl);
           session.save();
+          recordChange(session);
 
           return null;
         } catch (AccessDeniedException ex) {
@@ -180,6 +192,12 @@ public class ModelPolicyManager extends AbstractRepositoryOperation implements I
     }
   }
 
+  private void recordChange(Session session) {
+    if (workspaceChangeJournal != null) {
+      workspaceChangeJournal.record(session.getWorkspace().getName());
+    }
+  }
+
   @Override
   public void makePolicyEntryReadOnly(ModelId modelId, PolicyEntry entryToChange) {
 
@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.eclipse.vorto.model.ModelId;
+
+/**
+ * Reverse index of model references, per workspace. It answers which models of a workspace
+ * reference a given model without querying the workspace.
+ *
+ * A workspace is indexed on its first lookup with the references read by the given loader, and is
+ * kept up to date by {@link #update(String, ModelId, List)} and
+ * {@link #remove(String, ModelId)} afterwards.
+ * The index contains the IDs of all referencing models, regardless of the permissions of the
+ * current user. Callers have to check access when reading the referencing models.
+ *
+ * The index only sees the changes made on this node. Other nodes of a cluster are notified of every
+ * change by the {@link #setRemoteInvalidation(Consumer) remote invalidation} with the ID of the
+ * changed workspace, and only drop the index of that workspace with
+ * {@link #invalidateLocally(String)}.
+ */
+public class ModelReferenceIndex {
+
+  /**
+   * The name the index is invalidated by on the other nodes of a cluster.
+   */
+  public static final String NAME = "modelReferenceIndex";
+
+  private final Map<String, WorkspaceReferences> workspaces = new ConcurrentHashMap<>();
+
+  private final AtomicLong modifications = new AtomicLong();
+
+  private Consumer<String> remoteInvalidation = workspaceId -> {
+  };
+
+  /**
+   * @param workspaceId the workspace to look up the referencing models in
+   * @param modelId the referenced model
+   * @param loader reads the references of all models of the workspace, used if the workspace has
+   *        not been indexed yet
+   * @return IDs of the models of the workspace that reference the given model
+   */
+  public Set<ModelId> getReferencingModels(String workspaceId, ModelId modelId,
+      Supplier<Map<ModelId, List<ModelId>>> loader) {
+    WorkspaceReferences references = workspaces.get(workspaceId);
+    if (references == null) {
+      long modificationsBeforeLoad = modifications.get();
+      references = new WorkspaceReferences(loader.get());
+      // modifications during the load might be missing in the loaded references
+      if (modifications.get() == modificationsBeforeLoad) {
+        WorkspaceReferences existing = workspaces.putIfAbsent(workspaceId, references);
+        references = existing != null ? existing : references;
+      }
+    }
+    return references.getReferencing(modelId);
+  }
+
+  /**
+   * @return the IDs of the models of the workspace that reference the given model, or empty if the
+   *         workspace has not been indexed yet
+   */
+  public Set<ModelId> getReferencingModels(String workspaceId, ModelId modelId) {
+    WorkspaceReferences references = workspaces.get(workspaceId);
+    return references != null ? references.getReferencing(modelId) : Collections.emptySet();
+  }
+
+  public boolean isIndexed(String workspaceId) {
+    return workspaces.containsKey(workspaceId);
+  }
+
+  /**
+   * Sets the references of a model that has been created or changed in the given workspace.
+   */
+  public void update(String workspaceId, ModelId modelId, List<ModelId> references) {
+    modifications.incrementAndGet();
+    WorkspaceReferences workspace = workspaces.get(workspaceId);
+    if (workspace != null) {
+      workspace.setReferences(modelId, references);
+    }
+    remoteInvalidation.accept(workspaceId);
+  }
+
+  /**
+   * Removes the references of a model that has been deleted from the given workspace.
+   */
+  public void remove(String workspaceId, ModelId modelId) {
+    modifications.incrementAndGet();
+    WorkspaceReferences workspace = workspaces.get(workspaceId);
+    if (workspace != null) {
+      workspace.removeModel(modelId);
+    }
+    remoteInvalidation.accept(workspaceId);
+  }
+
+  /**
+   * Drops the index of a workspace whose models have been replaced or removed as a whole.
+   */
+  public void invalidate(String workspaceId) {
+    invalidateLocally(workspaceId);
+    remoteInvalidation.accept(workspaceId);
+  }
+
+  /**
+   * Drops the index of a workspace on this node only, e.g. because its references have been
+   * changed on another node.
+   */
+  public void invalidateLocally(String workspaceId) {
+    modifications.incrementAndGet();
+    workspaces.remove(workspaceId);
+  }
+
+  /**
+   * Drops the index of all workspaces on this node, e.g. because another node has not sent which
+   * workspace has been changed.
+   */
+  public void invalidateAll() {
+    modifications.incrementAndGet();
+    workspaces.clear();
+  }
+
+  /**
+   * @param remoteInvalidation makes the other nodes of the cluster drop their index of the given
+   *        workspace, run after every change made on this node
+   */
+  public void setRemoteInvalidation(Consumer<String> remoteInvalidation) {
+    this.remoteInvalidation = remoteInvalidation;
+  }
+
+  private static class WorkspaceReferences {
+    private final Map<ModelId, List<ModelId>> references = new HashMap<>();
+    private final Map<ModelId, Set<ModelId>> referencedBy = new HashMap<>();
+
+    WorkspaceReferences(Map<ModelId, List<ModelId>> references) {
+      references.forEach(this::setReferences);
+    }
+
+    synchronized Set<ModelId> getReferencing(ModelId modelId) {
+      Set<ModelId> referencing = referencedBy.get(modelId);
+      return referencing != null ? new LinkedHashSet<>(referencing) : Collections.emptySet();
+    }
+
+    synchronized void setReferences(ModelId modelId, List<ModelId> newReferences) {
+      removeModel(modelId);
+      if (newReferences != null && !newReferences.isEmpty()) {
+        references.put(modelId, new ArrayList<>(newReferences));
+        for (ModelId reference : newReferences) {
+          referencedBy.computeIfAbsent(reference, k -> new LinkedHashSet<>()).add(modelId);
+        }
+      }
+    }
+
+    synchronized void removeModel(ModelId modelId) {
+      List<ModelId> oldReferences = references.remove(modelId);
+      if (oldReferences == null) {
+        return;
+      }
+      for (ModelId reference : oldReferences) {
+        Set<ModelId> referencing = referencedBy.get(reference);
+        if (referencing != null) {
+          referencing.remove(modelId);
+          if (referencing.isEmpty()) {
+            referencedBy.remove(reference);
+          }
+        }
+      }
+    }
+  }
+}
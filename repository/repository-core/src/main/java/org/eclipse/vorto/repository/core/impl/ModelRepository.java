@@ -26,6 +26,7 @@ import org.eclipse.vorto.plugin.generator.adapter.ObjectMapperFactory;
 import org.eclipse.vorto.repository.core.*;
 import org.eclipse.vorto.repository.core.events.AppEvent;
 import org.eclipse.vorto.repository.core.events.EventType;
+import org.eclipse.vorto.repository.core.impl.cache.ModelInfoCache;
 import org.eclipse.vorto.repository.core.impl.parser.IModelParser;
 import org.eclipse.vorto.repository.core.impl.parser.ModelParserFactory;
 import org.eclipse.vorto.repository.core.impl.utils.DependencyManager;
@@ -53,6 +54,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -65,6 +67,12 @@ public class ModelRepository extends AbstractRepositoryOperation
 
   public static final String VORTO_TAGS = "vorto:tags";
 
+  /**
+   * Summary of the tags of all attachments of a model, kept on the model file node so that listings
+   * do not have to read the attachments.
+   */
+  public static final String VORTO_ATTACHMENT_TAGS = "vorto:attachmentTags";
+
   public static final String VORTO_REFERENCES = "vorto:references";
 
   public static final String VORTO_META = "vorto:meta";
@@ -131,6 +139,9 @@ public class ModelRepository extends AbstractRepositoryOperation
 
   private PrivilegeService privilegeService;
 
+  private ModelReferenceIndex referenceIndex;
+
+  private ModelInfoCache modelInfoCache;
 
   public ModelRepository(ModelSearchUtil modelSearchUtil, AttachmentValidator attachmentValidator,
       ModelParserFactory modelParserFactory, IModelRetrievalService modelRetrievalService,
@@ -151,12 +162,33 @@ public class ModelRepository extends AbstractRepositoryOperation
     this.eventPublisher = applicationEventPublisher;
   }
 
+  public void setReferenceIndex(ModelReferenceIndex referenceIndex) {
+    this.referenceIndex = referenceIndex;
+  }
+
+  public void setModelInfoCache(ModelInfoCache modelInfoCache) {
+    this.modelInfoCache = modelInfoCache;
+  }
+
+  private void invalidateCachedModel(ModelId modelId) {
+    if (modelInfoCache != null) {
+      modelInfoCache.invalidate(modelId);
+    }
+  }
+
   @Override
   public List<ModelInfo> search(final String expression) {
+    List<ModelInfo> modelResources = new ArrayList<>();
+    streamSearch(expression, modelResources::add);
+    return modelResources;
+  }
+
+  @Override
+  public int streamSearch(final String expression, Consumer<ModelInfo> consumer) {
     return doInSession(session -> {
       String queryExpression = Optional.ofNullable(expression).orElse("");
 
-      List<ModelInfo> modelResources = new ArrayList<>();
+      int count = 0;
       Query query = ModelSearchUtil.createQueryFromExpression(session, queryExpression);
 
       LOGGER.debug("Searching repository with expression " + query.getStatement());
@@ -166,15 +198,19 @@ public class ModelRepository extends AbstractRepositoryOperation
         Row row = rowIterator.nextRow();
         Node currentNode = row.getNode();
         if (currentNode.hasProperty(VORTO_NODE_TYPE)) {
+          ModelInfo modelInfo;
           try {
-            modelResources.add(createMinimalModelInfo(currentNode));
+            modelInfo = createMinimalModelInfo(currentNode);
           } catch (Exception ex) {
             LOGGER.debug("Error while converting node to a ModelInfo", ex);
+            continue;
           }
+          consumer.accept(modelInfo);
+          count++;
         }
       }
 
-      return modelResources;
+      return count;
     });
   }
 
@@ -210,9 +246,8 @@ public class ModelRepository extends AbstractRepositoryOperation
     setReferencesOnResource(folderNode, resource);
 
     if (resource.getType() == ModelType.InformationModel) {
-      resource
-          .setHasImage(!this.getAttachmentsByTag(resource.getId(), TAG_IMAGE, doInElevatedSession, context)
-              .isEmpty());
+      resource.setHasImage(
+          hasAttachmentWithTag(fileNode, resource.getId(), TAG_IMAGE, doInElevatedSession, context));
     }
 
     return resource;
@@ -222,6 +257,48 @@ public class ModelRepository extends AbstractRepositoryOperation
     return createMinimalModelInfo(fileNode, false, null);
   }
 
+  private boolean hasAttachmentWithTag(Node fileNode, ModelId modelId, Tag tag,
+      boolean doInElevatedSession, IUserContext context) throws RepositoryException {
+    if (fileNode.hasProperty(VORTO_ATTACHMENT_TAGS)) {
+      for (Value value : fileNode.getProperty(VORTO_ATTACHMENT_TAGS).getValues()) {
+        if (tag.getId().equals(value.getString())) {
+          return true;
+        }
+      }
+      return false;
+    }
+    if (!fileNode.getParent().hasNode(ATTACHMENTS_NODE)) {
+      return false;
+    }
+    // attachments stored before the tag summary was introduced
+    return !getAttachmentsByTag(modelId, tag, doInElevatedSession, context).isEmpty();
+  }
+
+  /**
+   * Updates the attachment tag summary of the model file node. Has to be called whenever
+   * attachments or their tags change.
+   */
+  private void updateAttachmentTags(Node modelFolderNode) throws RepositoryException {
+    NodeIterator fileNodes = modelFolderNode.getNodes(FILE_NODES);
+    if (!fileNodes.hasNext()) {
+      return;
+    }
+    Set<String> tagIds = new LinkedHashSet<>();
+    if (modelFolderNode.hasNode(ATTACHMENTS_NODE)) {
+      NodeIterator attachments = modelFolderNode.getNode(ATTACHMENTS_NODE).getNodes();
+      while (attachments.hasNext()) {
+        Node attachment = attachments.nextNode();
+        if (attachment.hasProperty(VORTO_TAGS)) {
+          for (Value value : attachment.getProperty(VORTO_TAGS).getValues()) {
+            tagIds.add(value.getString());
+          }
+        }
+      }
+    }
+    fileNodes.nextNode().setProperty(VORTO_ATTACHMENT_TAGS, tagIds.toArray(new String[0]),
+        PropertyType.STRING);
+  }
+
   @Override
   public ModelFileContent getModelContent(ModelId modelId, boolean validate) {
     return doInSession(session -> {
@@ -337,10 +414,16 @@ public class ModelRepository extends AbstractRepositoryOperation
         }
 
         session.save();
+        invalidateCachedModel(modelInfo.getId());
         LOGGER.info("Model was saved successfully");
 
         ModelInfo createdModel = getById(modelInfo.getId());
 
+        if (referenceIndex != null) {
+          referenceIndex.update(session.getWorkspace().getName(), createdModel.getId(),
+              createdModel.getReferences());
+        }
+
         eventPublisher
             .publishEvent(new AppEvent(this, createdModel, userContext, EventType.MODEL_CREATED));
 
@@ -368,6 +451,40 @@ public class ModelRepository extends AbstractRepositoryOperation
     });
   }
 
+  @Override
+  public Map<ModelId, ModelInfo> getByIds(Collection<ModelId> modelIds) {
+    Map<ModelId, ModelId> resolvedIds = new LinkedHashMap<>();
+    for (ModelId modelId : modelIds) {
+      try {
+        // resolving the latest version resets the version of the given id
+        ModelId resolvedId = getLatestModelVersionIfLatestTagIsSet(
+            new ModelId(modelId.getName(), modelId.getNamespace(), modelId.getVersion()));
+        if (resolvedId != null) {
+          resolvedIds.put(modelId, resolvedId);
+        }
+      } catch (ModelNotFoundException | NotAuthorizedException e) {
+        LOGGER.debug(String.format("Model [%s] is not accessible", modelId.getPrettyFormat()));
+      }
+    }
+    if (resolvedIds.isEmpty()) {
+      return new LinkedHashMap<>();
+    }
+
+    return doInSession(session -> {
+      Map<ModelId, ModelInfo> models = new LinkedHashMap<>();
+      for (Map.Entry<ModelId, ModelId> entry : resolvedIds.entrySet()) {
+        try {
+          Node folderNode = session.getNode(new ModelIdHelper(entry.getValue()).getFullPath());
+          models.put(entry.getKey(), getModelResource(entry.getValue(), folderNode, false));
+        } catch (PathNotFoundException | AccessDeniedException | NotAuthorizedException e) {
+          LOGGER.debug(String.format("Model [%s] is not accessible",
+              entry.getValue().getPrettyFormat()));
+        }
+      }
+      return models;
+    });
+  }
+
   @Override
   public ModelId getLatestModelVersionIfLatestTagIsSet(ModelId modelId) {
     if (!"latest".equalsIgnoreCase(modelId.getVersion())) {
@@ -403,18 +520,35 @@ public class ModelRepository extends AbstractRepositoryOperation
   }
 
   private ModelInfo getModelResource(ModelId modelId, Node folderNode) throws RepositoryException {
+    return getModelResource(modelId, folderNode, true);
+  }
+
+  /**
+   * @param withReferencedBy whether to look up the models referencing the model, which takes a
+   *        lookup across all workspaces
+   */
+  private ModelInfo getModelResource(ModelId modelId, Node folderNode, boolean withReferencedBy)
+      throws RepositoryException {
     if (!folderNode.getNodes(FILE_NODES).hasNext()) {
       throw new NotAuthorizedException(modelId, null);
     }
 
-    ModelInfo modelResource = createModelResource(folderNode);
-
-    if (!getAttachmentsByTag(modelId, TAG_IMAGE).isEmpty()) {
-      modelResource.setHasImage(true);
+    ModelInfo modelResource = modelInfoCache != null
+        ? modelInfoCache.get(ModelIdHelper.fromPath(folderNode.getPath()),
+            () -> createModelResource(folderNode))
+        : createModelResource(folderNode);
+    if (!withReferencedBy) {
+      return modelResource;
     }
 
-    if (!getAttachmentsByTag(modelId, TAG_IMPORTED).isEmpty()) {
-      modelResource.setImported(true);
+    // depends on the permissions of the current user, hence not cached
+    Map<String, List<ModelInfo>> referencingModels = modelRetrievalService
+        .getModelsReferencing(modelResource.getId());
+
+    for (Map.Entry<String, List<ModelInfo>> entry : referencingModels.entrySet()) {
+      for (ModelInfo modelInfo : entry.getValue()) {
+        modelResource.getReferencedBy().add(modelInfo.getId());
+      }
     }
 
     return modelResource;
@@ -514,6 +648,30 @@ public class ModelRepository extends AbstractRepositoryOperation
 
   @Override
   public List<ModelInfo> getModelsReferencing(ModelId modelId) {
+    if (referenceIndex == null) {
+      return queryModelsReferencing(modelId);
+    }
+    return doInSession(session -> {
+      List<ModelInfo> referencingModels = Lists.newArrayList();
+      Set<ModelId> referencingModelIds = referenceIndex.getReferencingModels(
+          session.getWorkspace().getName(), modelId, this::loadReferencesOfAllModels);
+
+      for (ModelId referencingModelId : referencingModelIds) {
+        try {
+          Node folderNode = session.getNode(new ModelIdHelper(referencingModelId).getFullPath());
+          referencingModels.add(createMinimalModelInfo(folderNode.getNodes(FILE_NODES).nextNode()));
+        } catch (PathNotFoundException | AccessDeniedException ex) {
+          // the model has been removed meanwhile or the user must not see it
+        } catch (Exception ex) {
+          LOGGER.error("Error while converting node to a ModelId", ex);
+        }
+      }
+
+      return referencingModels;
+    });
+  }
+
+  private List<ModelInfo> queryModelsReferencing(ModelId modelId) {
     return doInSession(session -> {
       List<ModelInfo> referencingModels = Lists.newArrayList();
       QueryManager queryManager = session.getWorkspace().getQueryManager();
@@ -538,6 +696,32 @@ public class ModelRepository extends AbstractRepositoryOperation
     });
   }
 
+  /**
+   * Reads the references of all models of the workspace in an elevated session, so that the
+   * reference index is complete regardless of the permissions of the current user.
+   */
+  private Map<ModelId, List<ModelId>> loadReferencesOfAllModels() {
+    return doInElevatedSession(session -> {
+      Map<ModelId, List<ModelId>> references = new HashMap<>();
+      QueryManager queryManager = session.getWorkspace().getQueryManager();
+      Query query = queryManager.createQuery(
+          "SELECT * FROM [vorto:meta] WHERE [vorto:references] IS NOT NULL", Query.JCR_SQL2);
+
+      RowIterator rowIterator = query.execute().getRows();
+      while (rowIterator.hasNext()) {
+        Node folderNode = rowIterator.nextRow().getNode();
+        try {
+          ModelInfo modelInfo = new ModelInfo();
+          setReferencesOnResource(folderNode, modelInfo);
+          references.put(ModelIdHelper.fromPath(folderNode.getPath()), modelInfo.getReferences());
+        } catch (Exception ex) {
+          LOGGER.error("Error while reading the references of " + folderNode.getPath(), ex);
+        }
+      }
+      return references;
+    }, PrivilegedUserContextProvider.systemAdminContext(), privilegeService);
+  }
+
   @Override
   public List<ModelInfo> getMappingModelsForTargetPlatform(ModelId modelId, String targetPlatform,
       Optional<String> version) {
@@ -613,6 +797,11 @@ public class ModelRepository extends AbstractRepositoryOperation
         Item item = session.getItem(modelIdHelper.getFullPath());
         item.remove();
         session.save();
+        invalidateCachedModel(modelId);
+
+        if (referenceIndex != null) {
+          referenceIndex.remove(session.getWorkspace().getName(), modelId);
+        }
 
         eventPublisher.publishEvent(new AppEvent(this, modelId, null, EventType.MODEL_DELETED));
 
@@ -661,6 +850,7 @@ public class ModelRepository extends AbstractRepositoryOperation
             fileNode.addMixin(MIX_LAST_MODIFIED);
 
             session.save();
+            invalidateCachedModel(modelId);
 
             eventPublisher
                 .publishEvent(
@@ -689,6 +879,7 @@ public class ModelRepository extends AbstractRepositoryOperation
         fileNode.addMixin(MIX_LAST_MODIFIED);
 
         session.save();
+        invalidateCachedModel(modelId);
 
         eventPublisher
             .publishEvent(new AppEvent(this, getBasicInfo(modelId), null, EventType.MODEL_UPDATED));
@@ -735,12 +926,23 @@ public class ModelRepository extends AbstractRepositoryOperation
       contentNode.setProperty(JCR_DATA, binary);
       session.save();
 
+      eventPublisher
+          .publishEvent(new AppEvent(this, getBasicInfo(modelId), null, EventType.MODEL_UPDATED));
       return null;
     });
   }
 
   @Override
   public Optional<FileContent> getFileContent(ModelId modelId, Optional<String> fileName) {
+    FileContent[] result = new FileContent[1];
+    streamFileContent(modelId, fileName,
+        (name, size, content) -> result[0] = new FileContent(name, IOUtils.toByteArray(content)));
+    return Optional.ofNullable(result[0]);
+  }
+
+  @Override
+  public boolean streamFileContent(ModelId modelId, Optional<String> fileName,
+      FileContentConsumer consumer) {
     return doInSession(session -> {
       try {
         ModelId finalModelId = getLatestModelVersionIfLatestTagIsSet(modelId);
@@ -759,13 +961,16 @@ public class ModelRepository extends AbstractRepositoryOperation
         }
 
         Node fileItem = (Node) fileNode.getPrimaryItem();
-        InputStream is = fileItem.getProperty(JCR_DATA).getBinary().getStream();
-
-        final String fileContent = IOUtils.toString(is);
-        return Optional.of(new FileContent(fileNode.getName(), fileContent.getBytes()));
+        Binary binary = fileItem.getProperty(JCR_DATA).getBinary();
+        try (InputStream is = binary.getStream()) {
+          consumer.accept(fileNode.getName(), binary.getSize(), is);
+        } finally {
+          binary.dispose();
+        }
+        return true;
 
       } catch (PathNotFoundException e) {
-        return Optional.empty();
+        return false;
       } catch (IOException e) {
         throw new FatalModelRepositoryException("Something went wrong accessing the repository", e);
       } catch (AccessDeniedException e) {
@@ -865,7 +1070,9 @@ public class ModelRepository extends AbstractRepositoryOperation
       Binary binary = session.getValueFactory()
           .createBinary(new ByteArrayInputStream(fileContent.getContent()));
       contentNode.setProperty(JCR_DATA, binary);
+      updateAttachmentTags(modelFolderNode);
       session.save();
+      invalidateCachedModel(modelId);
 
       eventPublisher.publishEvent(
           new AppEvent(this, getById(modelId), userContext, EventType.MODEL_UPDATED));
@@ -1038,7 +1245,12 @@ public class ModelRepository extends AbstractRepositoryOperation
           if (attachmentFolderNode.hasNode(fileName)) {
             Node attachmentNode = attachmentFolderNode.getNode(fileName);
             attachmentNode.remove();
+            updateAttachmentTags(modelFolderNode);
             session.save();
+            invalidateCachedModel(modelId);
+
+            eventPublisher.publishEvent(
+                new AppEvent(this, getBasicInfo(modelId), null, EventType.MODEL_UPDATED));
             return true;
           }
         }
@@ -1172,7 +1384,7 @@ public class ModelRepository extends AbstractRepositoryOperation
   }
 
   private IModelWorkspace createWorkspaceFromModelAndReferences(ModelId modelId) {
-    ModelWorkspaceReader reader = IModelWorkspace.newReader();
+    ModelWorkspaceReader reader = IModelWorkspace.newReader().cached();
     ModelResource resource = getEMFResource(modelId);
     reader.addFile(new ByteArrayInputStream(resource.toDSL()), resource.getType());
 
@@ -1191,17 +1403,18 @@ public class ModelRepository extends AbstractRepositoryOperation
 
     setReferencesOnResource(folderNode, resource);
 
-    Map<String, List<ModelInfo>> referencingModels = modelRetrievalService
-        .getModelsReferencing(resource.getId());
+    if (hasAttachmentWithTag(fileNode, resource.getId(), TAG_IMAGE, false, null)) {
+      resource.setHasImage(true);
+    }
 
-    for (Map.Entry<String, List<ModelInfo>> entry : referencingModels.entrySet()) {
-      for (ModelInfo modelInfo : entry.getValue()) {
-        resource.getReferencedBy().add(modelInfo.getId());
-      }
+    if (hasAttachmentWithTag(fileNode, resource.getId(), TAG_IMPORTED, false, null)) {
+      resource.setImported(true);
     }
+
     return resource;
   }
 
+
   private void setReferencesOnResource(Node folderNode, ModelInfo resource)
       throws RepositoryException {
     if (folderNode.hasProperty(VORTO_REFERENCES)) {
@@ -1234,6 +1447,8 @@ public class ModelRepository extends AbstractRepositoryOperation
       fileNode.setProperty(VORTO_LINKS, new String[]{writeLinkObjectAsJson(url, objectMapper)}, PropertyType.STRING);
     }
     session.save();
+    eventPublisher
+        .publishEvent(new AppEvent(this, getBasicInfo(modelId), null, EventType.MODEL_UPDATED));
     return true;
   }
 
@@ -1288,6 +1503,8 @@ public class ModelRepository extends AbstractRepositoryOperation
       values.remove(writeLinkObjectAsJson(link, objectMapper));
       fileNode.setProperty(VORTO_LINKS, values.toArray(new String[0]), PropertyType.STRING);
       session.save();
+      eventPublisher
+          .publishEvent(new AppEvent(this, getBasicInfo(modelID), null, EventType.MODEL_UPDATED));
     }
     return true;
   }
@@ -39,6 +39,8 @@ public class ModelRepositoryEventListener implements ApplicationListener<AppEven
   public void onApplicationEvent(AppEvent event) {
     if (event.getEventType() == EventType.NAMESPACE_ADDED) {
       createWorkspace(event);
+    } else if (event.getEventType() == EventType.NAMESPACE_DELETED) {
+      repositoryFactory.getReferenceIndex().invalidate(event.getUserContext().getWorkspaceId());
     }
   }
 
@@ -12,11 +12,18 @@
  */
 package org.eclipse.vorto.repository.core.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -34,14 +41,19 @@ import org.eclipse.vorto.repository.core.IModelRetrievalService;
 import org.eclipse.vorto.repository.core.IModeshapeDoctor;
 import org.eclipse.vorto.repository.core.IRepositoryManager;
 import org.eclipse.vorto.repository.core.IUserContext;
+import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.ModelNotFoundException;
 import org.eclipse.vorto.repository.core.UserLoginException;
+import org.eclipse.vorto.repository.core.impl.cache.ClusterCacheInvalidation;
+import org.eclipse.vorto.repository.core.impl.cache.ModelInfoCache;
 import org.eclipse.vorto.repository.core.impl.cache.UserRolesRequestCache;
 import org.eclipse.vorto.repository.core.impl.parser.ModelParserFactory;
 import org.eclipse.vorto.repository.core.impl.utils.ModelSearchUtil;
+import org.eclipse.vorto.repository.core.impl.utils.WorkspaceFanOut;
 import org.eclipse.vorto.repository.core.impl.validation.AttachmentValidator;
 import org.eclipse.vorto.repository.diagnostics.ModeshapeDoctor;
 import org.eclipse.vorto.repository.domain.IRole;
+import org.eclipse.vorto.repository.domain.RepositoryRole;
 import org.eclipse.vorto.repository.oauth.IOAuthProviderRegistry;
 import org.eclipse.vorto.repository.services.NamespaceService;
 import org.eclipse.vorto.repository.services.PrivilegeService;
@@ -107,12 +119,29 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory,
   @Autowired
   private IOAuthProviderRegistry registry;
 
+  @Autowired(required = false)
+  private WorkspaceFanOut workspaceFanOut = WorkspaceFanOut.sequential();
+
+  @Autowired(required = false)
+  private ModelInfoCache modelInfoCache;
+
+  @Autowired(required = false)
+  private RepositorySessionPool sessionPool;
+
+  @Autowired(required = false)
+  private ClusterCacheInvalidation clusterCacheInvalidation;
+
+  @Autowired(required = false)
+  private WorkspaceChangeJournal workspaceChangeJournal;
+
   private ApplicationEventPublisher eventPublisher = null;
 
   private Repository repository;
 
   private static final ModeShapeEngine ENGINE = new ModeShapeEngine();
 
+  private final ModelReferenceIndex referenceIndex = new ModelReferenceIndex();
+
   private final Supplier<Collection<String>> allWorkspaceIdSupplier = () -> namespaceService
       .findAllWorkspaceIds();
 
@@ -167,6 +196,13 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory,
     repository = ENGINE.deploy(repositoryConfiguration);
     ENGINE.startRepository(repositoryConfiguration.getName()).get();
     LOGGER.info("Starting Vorto Modeshape Repository -finished-");
+
+    if (clusterCacheInvalidation != null) {
+      clusterCacheInvalidation.register(ModelReferenceIndex.NAME, referenceIndex::invalidateAll,
+          referenceIndex::invalidateLocally);
+      referenceIndex.setRemoteInvalidation(workspaceId -> clusterCacheInvalidation
+          .invalidateRemotely(ModelReferenceIndex.NAME, workspaceId));
+    }
   }
 
   @PreDestroy
@@ -178,11 +214,19 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory,
     }
   }
 
+  public ModelReferenceIndex getReferenceIndex() {
+    return referenceIndex;
+  }
+
   @Override
   public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
     this.eventPublisher = applicationEventPublisher;
   }
 
+  public void setWorkspaceChangeJournal(WorkspaceChangeJournal workspaceChangeJournal) {
+    this.workspaceChangeJournal = workspaceChangeJournal;
+  }
+
   @Override
   public IModelRetrievalService getModelRetrievalService() {
     return getModelRetrievalService((Authentication)null);
@@ -207,8 +251,14 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory,
         authentication.getName(),
         registry.getByAuthentication(authentication).getId()
     );
+    if (workspaceFanOut.isParallel()) {
+      return new ModelRetrievalService(getMatchingWorkspaceIdSupplier(user),
+          workspaceId -> getRepositoryWithoutSessionHelper(workspaceId, authentication),
+          referenceIndex, workspaceFanOut);
+    }
     return new ModelRetrievalService(getMatchingWorkspaceIdSupplier(user),
-        workspaceId -> getRepository(workspaceId, authentication));
+        workspaceId -> getRepository(workspaceId, authentication), referenceIndex,
+        workspaceFanOut);
   }
 
   @Override
@@ -219,7 +269,8 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory,
         registry.getByAuthentication(authentication).getId()
     );
     return new ModelRetrievalService(getMatchingWorkspaceIdSupplier(user),
-        workspaceId -> getRepositoryWithoutSessionHelper(workspaceId));
+        workspaceId -> getRepositoryWithoutSessionHelper(workspaceId), referenceIndex,
+        workspaceFanOut);
   }
 
   @Override
@@ -242,6 +293,18 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory,
     repoManager
         .setRepositorySessionHelperSupplier(namedWorkspaceSessionSupplier(workspaceId, null));
     repoManager.setDefaultSessionSupplier(defaultWorkspaceSessionSupplier());
+    repoManager.setReferenceIndex(referenceIndex);
+    repoManager.setModelInfoCache(modelInfoCache);
+    return repoManager;
+  }
+
+  @Override
+  public IRepositoryManager getRepositoryManagerForBackgroundTask(String workspaceId) {
+    RepositoryManager repoManager = new RepositoryManager();
+    repoManager.setRepositorySessionHelperSupplier(backgroundTaskSessionSupplier(workspaceId));
+    repoManager.setDefaultSessionSupplier(defaultWorkspaceSessionSupplier());
+    repoManager.setReferenceIndex(referenceIndex);
+    repoManager.setModelInfoCache(modelInfoCache);
     return repoManager;
   }
 
@@ -271,6 +334,7 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory,
     );
     policyManager
         .setRepositorySessionHelperSupplier(namedWorkspaceSessionSupplier(workspaceId, auth));
+    policyManager.setWorkspaceChangeJournal(workspaceChangeJournal);
     return policyManager;
   }
 
@@ -312,6 +376,8 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory,
     modelRepository
         .setRepositorySessionHelperSupplier(namedWorkspaceSessionSupplier(workspaceId, authentication));
     modelRepository.setApplicationEventPublisher(eventPublisher);
+    modelRepository.setReferenceIndex(referenceIndex);
+    modelRepository.setModelInfoCache(modelInfoCache);
     return modelRepository;
   }
 
@@ -340,6 +406,35 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory,
     }
   }
 
+  @Override
+  public Map<ModelId, ModelInfo> getByIds(Collection<ModelId> modelIds) {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+    Map<String, Optional<String>> workspaceIdsByNamespace = new HashMap<>();
+    Map<String, List<ModelId>> modelIdsByWorkspaceId = new LinkedHashMap<>();
+    for (ModelId modelId : modelIds) {
+      workspaceIdsByNamespace
+          .computeIfAbsent(modelId.getNamespace(), namespaceService::resolveWorkspaceIdForNamespace)
+          .ifPresent(workspaceId -> modelIdsByWorkspaceId
+              .computeIfAbsent(workspaceId, k -> new ArrayList<>()).add(modelId));
+    }
+
+    Function<String, IModelRepository> repositorySource = workspaceFanOut.isParallel()
+        ? workspaceId -> getRepositoryWithoutSessionHelper(workspaceId, authentication)
+        : workspaceId -> getRepository(workspaceId, authentication);
+
+    WorkspaceFanOut.Result<Map<ModelId, ModelInfo>> loaded = workspaceFanOut
+        .execute(modelIdsByWorkspaceId.keySet(), workspaceId -> repositorySource.apply(workspaceId)
+            .getByIds(modelIdsByWorkspaceId.get(workspaceId)));
+    if (!loaded.isComplete()) {
+      LOGGER.warn("Models of workspaces {} could not be loaded", loaded.getIncomplete());
+    }
+
+    Map<ModelId, ModelInfo> models = new LinkedHashMap<>();
+    loaded.getResults().values().forEach(models::putAll);
+    return models;
+  }
+
   @Override
   public IModelRepository getRepositoryByModelEscalated(ModelId modelId) {
     IModelRepository foundRepository = getRepositoryByNamespaceEscalated(modelId.getNamespace());
@@ -388,6 +483,7 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory,
           getUserRoles(workspaceId, user)
       );
       sessionHelper.setAuthentication(authentication);
+      sessionHelper.setSessionPool(sessionPool);
       return sessionHelper;
     };
   }
@@ -465,22 +561,24 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory,
   }
 
   protected IModelRepository getRepositoryWithoutSessionHelper(String workspaceId) {
-    ModelRepository modelRepository = new ModelRepository(
-        this.modelSearchUtil,
-        this.attachmentValidator,
-        this.modelParserFactory,
-        getModelRetrievalServiceWithoutSessionHelper(),
-        this,
-        getPolicyManager(workspaceId),
-        namespaceService,
-        privilegeService);
+    return getRepositoryWithoutSessionHelper(workspaceId, null);
+  }
 
-    modelRepository.setRepositorySessionHelperSupplier(() -> {
+  /**
+   * @param auth if {@code null}, will be inferred by querying the {@link SecurityContextHolder}
+   *        whenever a session is opened
+   */
+  @Override
+  public IModelRepository getRepositoryWithoutSessionHelper(String workspaceId,
+      Authentication auth) {
+    return createRepositoryWithoutSessionHelper(workspaceId, () -> {
       RequestRepositorySessionHelper s =
           new RequestRepositorySessionHelper(false, privilegeService);
       s.setRepository(repository);
       s.setWorkspaceId(workspaceId);
-      Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+      Authentication authentication = Objects.isNull(auth)
+          ? SecurityContextHolder.getContext().getAuthentication()
+          : auth;
       UserDto user = UserDto.of(
         authentication.getName(),
         registry.getByAuthentication(authentication).getId()
@@ -489,9 +587,50 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory,
           getUserRoles(workspaceId, user)
       );
       s.setAuthentication(authentication);
+      s.setSessionPool(sessionPool);
       return s;
     });
+  }
+
+  @Override
+  public IModelRepository getRepositoryForBackgroundTask(String workspaceId) {
+    return createRepositoryWithoutSessionHelper(workspaceId,
+        backgroundTaskSessionSupplier(workspaceId));
+  }
+
+  private Supplier<RequestRepositorySessionHelper> backgroundTaskSessionSupplier(
+      String workspaceId) {
+    Authentication authentication =
+        PrivilegedUserContextProvider.systemAdminContext().getAuthentication();
+    return () -> {
+      RequestRepositorySessionHelper s =
+          new RequestRepositorySessionHelper(false, privilegeService);
+      s.setRepository(repository);
+      s.setWorkspaceId(workspaceId);
+      // the roles are not looked up, as the role caches are only available within a request
+      s.setUserRoles(Collections.singleton(RepositoryRole.SYS_ADMIN));
+      s.setAuthentication(authentication);
+      s.setSessionPool(sessionPool);
+      return s;
+    };
+  }
+
+  private IModelRepository createRepositoryWithoutSessionHelper(String workspaceId,
+      Supplier<RequestRepositorySessionHelper> sessionHelperSupplier) {
+    ModelRepository modelRepository = new ModelRepository(
+        this.modelSearchUtil,
+        this.attachmentValidator,
+        this.modelParserFactory,
+        modelId -> getModelRetrievalServiceWithoutSessionHelper().getModelsReferencing(modelId),
+        this,
+        getPolicyManager(workspaceId),
+        namespaceService,
+        privilegeService);
+
+    modelRepository.setRepositorySessionHelperSupplier(sessionHelperSupplier);
     modelRepository.setApplicationEventPublisher(eventPublisher);
+    modelRepository.setReferenceIndex(referenceIndex);
+    modelRepository.setModelInfoCache(modelInfoCache);
     return modelRepository;
   }
 }
@@ -18,34 +18,64 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.IModelRepository;
 import org.eclipse.vorto.repository.core.IModelRetrievalService;
+import org.eclipse.vorto.repository.core.IncompleteResultException;
 import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.impl.utils.WorkspaceFanOut;
 
 public class ModelRetrievalService implements IModelRetrievalService {
 
   private Supplier<Collection<String>> tenantsSupplier;
   private Function<String, IModelRepository> modelRepoSource;
-  
+  private ModelReferenceIndex referenceIndex;
+  private WorkspaceFanOut workspaceFanOut;
+
   public ModelRetrievalService(Supplier<Collection<String>> tenantsSupplier,
       Function<String, IModelRepository> modelRepoSource) {
+    this(tenantsSupplier, modelRepoSource, null, WorkspaceFanOut.sequential());
+  }
+
+  /**
+   * @param referenceIndex used to skip workspaces that are already indexed and do not contain any
+   *        referencing models, may be null
+   * @param workspaceFanOut runs the lookups of the remaining workspaces. If it is parallel, the
+   *        repositories returned by modelRepoSource must not share a session helper.
+   */
+  public ModelRetrievalService(Supplier<Collection<String>> tenantsSupplier,
+      Function<String, IModelRepository> modelRepoSource, ModelReferenceIndex referenceIndex,
+      WorkspaceFanOut workspaceFanOut) {
     this.tenantsSupplier = tenantsSupplier;
     this.modelRepoSource = modelRepoSource;
+    this.referenceIndex = referenceIndex;
+    this.workspaceFanOut = workspaceFanOut;
   }
 
+  /**
+   * Unlike searches, this lookup does not return partial results: the referencing models make up
+   * the referenced-by list that guards the removal of a model, and a workspace missing in it would
+   * allow removing a model that is still referenced.
+   *
+   * @throws IncompleteResultException if a workspace fails or times out
+   */
   @Override
   public Map<String, List<ModelInfo>> getModelsReferencing(ModelId modelId) {
+    List<String> tenants = tenantsSupplier.get().stream()
+        .filter(tenant -> referenceIndex == null || !referenceIndex.isIndexed(tenant)
+            || !referenceIndex.getReferencingModels(tenant, modelId).isEmpty())
+        .collect(Collectors.toList());
+
     Map<String, List<ModelInfo>> modelReferencesMap = new HashMap<>();
-    
-    for (String tenant : tenantsSupplier.get()) {
-      IModelRepository modelRepo = modelRepoSource.apply(tenant);
-      List<ModelInfo> modelsReferencing = modelRepo.getModelsReferencing(modelId);
-      if (modelsReferencing != null && !modelsReferencing.isEmpty()) {
-        modelReferencesMap.put(tenant, modelsReferencing);
-      }
-    }
-    
+    workspaceFanOut
+        .execute(tenants, tenant -> modelRepoSource.apply(tenant).getModelsReferencing(modelId))
+        .getCompleteResults().forEach((tenant, modelsReferencing) -> {
+          if (modelsReferencing != null && !modelsReferencing.isEmpty()) {
+            modelReferencesMap.put(tenant, modelsReferencing);
+          }
+        });
+
     return modelReferencesMap;
   }
 
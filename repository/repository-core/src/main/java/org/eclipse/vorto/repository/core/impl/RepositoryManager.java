@@ -12,18 +12,26 @@
  */
 package org.eclipse.vorto.repository.core.impl;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.function.Supplier;
 import javax.jcr.ImportUUIDBehavior;
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 import javax.jcr.Workspace;
+import org.apache.commons.io.FileUtils;
 import org.apache.log4j.Logger;
 import org.eclipse.vorto.repository.core.FatalModelRepositoryException;
 import org.eclipse.vorto.repository.core.IRepositoryManager;
+import org.eclipse.vorto.repository.core.impl.cache.ModelInfoCache;
 
 public class RepositoryManager extends AbstractRepositoryOperation implements IRepositoryManager {
 
@@ -31,11 +39,23 @@ public class RepositoryManager extends AbstractRepositoryOperation implements IR
 
   private Supplier<Session> defaultSessionSupplier;
 
+  private ModelReferenceIndex referenceIndex;
+
+  private ModelInfoCache modelInfoCache;
+
   @Override
   public byte[] backup() {
-    return doInSession(session -> {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    backup(baos);
+    return baos.toByteArray();
+  }
+
+  @Override
+  public void backup(OutputStream out) {
+    doInSession(session -> {
       try {
-        return backupRepository(session);
+        session.exportSystemView("/", out, false, false);
+        return null;
       } catch (IOException e) {
         LOGGER.error("Exception while making a backup", e);
         throw new FatalModelRepositoryException(
@@ -44,36 +64,45 @@ public class RepositoryManager extends AbstractRepositoryOperation implements IR
     });
   }
 
-  private byte[] backupRepository(Session session) throws RepositoryException, IOException {
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    session.exportSystemView("/", baos, false, false);
-    baos.close();
-    return baos.toByteArray();
+  @Override
+  public void restore(byte[] data) {
+    restore(new ByteArrayInputStream(data));
   }
 
   @Override
-  public void restore(byte[] data) {
+  public void restore(InputStream data) {
     doInSession(session -> {
-      byte[] oldData = null;
+      Path oldData = null;
       try {
-        oldData = backupRepository(session);
+        // the current content is kept on disk, as it can be as large as the backup itself
+        oldData = Files.createTempFile("vorto-restore-", ".xml");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(oldData))) {
+          session.exportSystemView("/", out, false, false);
+        }
 
         LOGGER.info("Attempting to restore backup");
-        session.getWorkspace().importXML("/", new ByteArrayInputStream(data),
+        session.getWorkspace().importXML("/", data,
             ImportUUIDBehavior.IMPORT_UUID_COLLISION_REPLACE_EXISTING);
         LOGGER.info("Restored backup successfully");
 
       } catch (RepositoryException | IOException e) {
         LOGGER.error("Backup failed. Will try to revert the restoration with previous data.", e);
-        try {
-          LOGGER.info("Reverting to old data.");
-          session.getWorkspace().importXML("/", new ByteArrayInputStream(oldData),
-              ImportUUIDBehavior.IMPORT_UUID_COLLISION_REPLACE_EXISTING);
-          LOGGER.info("Reverted the restoration successfully");
-        } catch (RepositoryException | IOException ex) {
-          LOGGER.error("Revert of restoration unsuccessful", ex);
+        if (oldData != null) {
+          try (InputStream in = new BufferedInputStream(Files.newInputStream(oldData))) {
+            LOGGER.info("Reverting to old data.");
+            session.getWorkspace().importXML("/", in,
+                ImportUUIDBehavior.IMPORT_UUID_COLLISION_REPLACE_EXISTING);
+            LOGGER.info("Reverted the restoration successfully");
+          } catch (RepositoryException | IOException ex) {
+            LOGGER.error("Revert of restoration unsuccessful", ex);
+          }
         }
         throw e;
+      } finally {
+        if (oldData != null) {
+          FileUtils.deleteQuietly(oldData.toFile());
+        }
+        invalidateCaches(session.getWorkspace().getName());
       }
       return null;
     });
@@ -85,6 +114,7 @@ public class RepositoryManager extends AbstractRepositoryOperation implements IR
       Workspace workspace = defaultSessionSupplier.get().getWorkspace();
       if (!exists(workspace, workspaceId)) {
         workspace.createWorkspace(workspaceId);
+        invalidateCaches(workspaceId);
         return true;
       } else {
         LOGGER.info("Workspace with ID '" + workspaceId + "' already exists.");
@@ -117,10 +147,20 @@ public class RepositoryManager extends AbstractRepositoryOperation implements IR
     return doInSession(session -> {
       Workspace workspace = session.getWorkspace();
       workspace.deleteWorkspace(workspaceId);
+      invalidateCaches(workspaceId);
       return true;
     });
   }
 
+  private void invalidateCaches(String workspaceId) {
+    if (referenceIndex != null) {
+      referenceIndex.invalidate(workspaceId);
+    }
+    if (modelInfoCache != null) {
+      modelInfoCache.invalidateAll();
+    }
+  }
+
   public Supplier<Session> getDefaultSessionSupplier() {
     return defaultSessionSupplier;
   }
@@ -128,4 +168,12 @@ public class RepositoryManager extends AbstractRepositoryOperation implements IR
   public void setDefaultSessionSupplier(Supplier<Session> defaultSessionSupplier) {
     this.defaultSessionSupplier = defaultSessionSupplier;
   }
+
+  public void setReferenceIndex(ModelReferenceIndex referenceIndex) {
+    this.referenceIndex = referenceIndex;
+  }
+
+  public void setModelInfoCache(ModelInfoCache modelInfoCache) {
+    this.modelInfoCache = modelInfoCache;
+  }
 }
@@ -0,0 +1,271 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import org.apache.log4j.Logger;
+import org.eclipse.vorto.repository.domain.IRole;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pool of ModeShape sessions, so that repository access outside of the request scoped
+ * {@link RequestRepositorySessionHelper}, e.g. by asynchronous fetchers, batch jobs or indexing,
+ * does not log in for every single operation. <br/>
+ * Sessions are pooled per workspace, user and role set, as the permissions of a session are fixed
+ * at login. A session is used by one borrower at a time and is refreshed when borrowed, so that it
+ * sees the latest persisted state. Sessions that are returned with pending changes, or that have
+ * been idle for longer than the configured timeout, are logged out instead of being reused. <br/>
+ * Counts are published as actuator metrics with the prefix {@literal sessionpool.}.
+ */
+@Component
+public class RepositorySessionPool implements PublicMetrics {
+
+  private static final Logger LOGGER = Logger.getLogger(RepositorySessionPool.class);
+
+  private final Map<Key, Deque<IdleSession>> idleSessions = new ConcurrentHashMap<>();
+
+  private final Map<Session, Key> borrowedSessions = new ConcurrentHashMap<>();
+
+  private final int maxIdlePerKey;
+  private final int maxIdle;
+  private final long idleTimeoutInNanos;
+
+  private final AtomicInteger idle = new AtomicInteger();
+  private final AtomicLong lastEviction = new AtomicLong(System.nanoTime());
+  private final AtomicLong logins = new AtomicLong();
+  private final AtomicLong reused = new AtomicLong();
+  private final AtomicLong discarded = new AtomicLong();
+
+  /**
+   * @param maxIdlePerKey maximum number of idle sessions kept per workspace, user and role set
+   * @param maxIdle maximum number of idle sessions kept in total. With 0, sessions are not pooled.
+   * @param idleTimeoutInSeconds time after which idle sessions are logged out
+   */
+  public RepositorySessionPool(@Value("${repo.sessionPool.maxIdlePerKey:#{4}}") int maxIdlePerKey,
+      @Value("${repo.sessionPool.maxIdle:#{256}}") int maxIdle,
+      @Value("${repo.sessionPool.idleTimeoutInSeconds:#{300}}") long idleTimeoutInSeconds) {
+    this.maxIdlePerKey = maxIdlePerKey;
+    this.maxIdle = maxIdle;
+    this.idleTimeoutInNanos = TimeUnit.SECONDS.toNanos(idleTimeoutInSeconds);
+  }
+
+  /**
+   * @return the key of the sessions of the given user with the given roles in the workspace
+   */
+  public static Key key(String workspaceId, Authentication authentication,
+      Collection<IRole> roles) {
+    Set<String> roleNames = roles == null ? new TreeSet<>()
+        : roles.stream().map(IRole::getName).collect(Collectors.toCollection(TreeSet::new));
+    return new Key(workspaceId, authentication != null ? authentication.getName() : null,
+        roleNames);
+  }
+
+  /**
+   * @param key the workspace, user and roles of the session
+   * @param login logs in a new session, if there is no idle session for the key
+   * @return a live and refreshed session, which must be given back with {@link #release(Session)}
+   */
+  public Session borrow(Key key, Login login) throws RepositoryException {
+    evictExpired();
+    Deque<IdleSession> sessions = idleSessions.get(key);
+    IdleSession candidate;
+    while (sessions != null && (candidate = sessions.pollFirst()) != null) {
+      idle.decrementAndGet();
+      Session session = candidate.session;
+      if (!candidate.isExpired() && refresh(session)) {
+        reused.incrementAndGet();
+        borrowedSessions.put(session, key);
+        return session;
+      }
+      logout(session);
+    }
+    logins.incrementAndGet();
+    Session session = login.login();
+    borrowedSessions.put(session, key);
+    return session;
+  }
+
+  /**
+   * Gives back a session borrowed from this pool. Sessions that have not been borrowed from this
+   * pool are logged out.
+   */
+  public void release(Session session) {
+    Key key = borrowedSessions.remove(session);
+    if (key == null || !isReusable(session)) {
+      logout(session);
+      return;
+    }
+    Deque<IdleSession> sessions =
+        idleSessions.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+    if (sessions.size() >= maxIdlePerKey) {
+      logout(session);
+      return;
+    }
+    if (idle.incrementAndGet() > maxIdle) {
+      idle.decrementAndGet();
+      logout(session);
+      return;
+    }
+    // most recently used sessions are handed out first, so that surplus sessions time out
+    sessions.addFirst(new IdleSession(session, System.nanoTime() + idleTimeoutInNanos));
+  }
+
+  /**
+   * Logs out all idle sessions of the given workspace, e.g. because the workspace was removed.
+   */
+  public void invalidate(String workspaceId) {
+    idleSessions.keySet().stream().filter(key -> key.workspaceId.equals(workspaceId))
+        .collect(Collectors.toList()).forEach(this::logoutIdle);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    new ArrayList<>(idleSessions.keySet()).forEach(this::logoutIdle);
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    Collection<Metric<?>> metrics = new ArrayList<>();
+    metrics.add(new Metric<>("sessionpool.logins", logins.get()));
+    metrics.add(new Metric<>("sessionpool.reused", reused.get()));
+    metrics.add(new Metric<>("sessionpool.discarded", discarded.get()));
+    metrics.add(new Metric<>("sessionpool.idle", idle.get()));
+    metrics.add(new Metric<>("sessionpool.borrowed", borrowedSessions.size()));
+    return metrics;
+  }
+
+  private boolean isReusable(Session session) {
+    try {
+      return session.isLive() && !session.hasPendingChanges();
+    } catch (RepositoryException e) {
+      return false;
+    }
+  }
+
+  private boolean refresh(Session session) {
+    try {
+      if (!session.isLive()) {
+        return false;
+      }
+      session.refresh(false);
+      return true;
+    } catch (RepositoryException e) {
+      LOGGER.debug("Discarding pooled session that cannot be refreshed", e);
+      return false;
+    }
+  }
+
+  private void evictExpired() {
+    long now = System.nanoTime();
+    long last = lastEviction.get();
+    // checking all keys on every borrow would be wasteful, once per minute is enough
+    if (now - last < TimeUnit.MINUTES.toNanos(1) || !lastEviction.compareAndSet(last, now)) {
+      return;
+    }
+    idleSessions.values().forEach(sessions -> sessions.removeIf(candidate -> {
+      if (candidate.isExpired()) {
+        idle.decrementAndGet();
+        logout(candidate.session);
+        return true;
+      }
+      return false;
+    }));
+  }
+
+  private void logoutIdle(Key key) {
+    Deque<IdleSession> sessions = idleSessions.remove(key);
+    IdleSession candidate;
+    while (sessions != null && (candidate = sessions.pollFirst()) != null) {
+      idle.decrementAndGet();
+      logout(candidate.session);
+    }
+  }
+
+  private void logout(Session session) {
+    discarded.incrementAndGet();
+    try {
+      session.logout();
+    } catch (RuntimeException e) {
+      LOGGER.debug("Error while logging out pooled session", e);
+    }
+  }
+
+  @FunctionalInterface
+  public interface Login {
+
+    Session login() throws RepositoryException;
+  }
+
+  public static final class Key {
+    private final String workspaceId;
+    private final String username;
+    private final Set<String> roles;
+
+    private Key(String workspaceId, String username, Set<String> roles) {
+      this.workspaceId = workspaceId;
+      this.username = username;
+      this.roles = roles;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(workspaceId, username, roles);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return Objects.equals(workspaceId, other.workspaceId)
+          && Objects.equals(username, other.username) && roles.equals(other.roles);
+    }
+  }
+
+  private static final class IdleSession {
+    private final Session session;
+    private final long expiry;
+
+    private IdleSession(Session session, long expiry) {
+      this.session = session;
+      this.expiry = expiry;
+    }
+
+    private boolean isExpired() {
+      return System.nanoTime() - expiry > 0;
+    }
+  }
+}
@@ -44,6 +44,7 @@ public class RequestRepositorySessionHelper implements DisposableBean, Initializ
     private Repository repository;
     private Collection<IRole> roles;
     private Supplier<Session> internalSessionSupplier;
+    private RepositorySessionPool sessionPool;
 
     @Autowired
     private PrivilegeService privilegeService;
@@ -70,6 +71,11 @@ public class RequestRepositorySessionHelper implements DisposableBean, Initializ
         } else {
             internalSessionSupplier = () -> {
                 try {
+                    if (sessionPool != null) {
+                        return sessionPool.borrow(
+                                RepositorySessionPool.key(workspaceId, authentication, roles),
+                                () -> login(workspaceId, authentication));
+                    }
                     return login(workspaceId, authentication);
                 } catch (RepositoryException e) {
                     throw new FatalModelRepositoryException("Error while getting repository given workspace ID ["
@@ -125,6 +131,11 @@ public class RequestRepositorySessionHelper implements DisposableBean, Initializ
         //  after the request is finished.
         if (this.repositorySessionMap != null && this.repositorySessionMap.get(workspaceId) != null)
             return;
+        // sessions that are not bound to the request go back to the pool, if there is one
+        if (sessionPool != null) {
+            sessionPool.release(session);
+            return;
+        }
         session.logout();
     }
 
@@ -151,4 +162,16 @@ public class RequestRepositorySessionHelper implements DisposableBean, Initializ
     public void setUserRoles(Collection<IRole> userRoles) {
         this.roles = userRoles;
     }
+
+    /**
+     * Sets the pool to borrow sessions from, if the helper is not bound to a request. May be null
+     * to log in and out for every session.
+     */
+    public void setSessionPool(RepositorySessionPool sessionPool) {
+        this.sessionPool = sessionPool;
+    }
+
+    public RepositorySessionPool getSessionPool() {
+        return sessionPool;
+    }
 }
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl;
+
+import java.sql.Timestamp;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.log4j.Logger;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.IUserContext;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.eclipse.vorto.repository.core.impl.cache.NamespaceCache;
+import org.eclipse.vorto.repository.domain.Namespace;
+import org.eclipse.vorto.repository.domain.WorkspaceChange;
+import org.eclipse.vorto.repository.repositories.WorkspaceChangeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Records the time of the last change of each workspace, as published by the model and namespace
+ * events or recorded by restorations and by the {@link ModelPolicyManager}, so that incremental
+ * backups only export the workspaces changed since a previous backup, and a reindex of the search
+ * index can catch up with the changes made while it ran.<br/>
+ * The journal is kept in the database, so that it survives restarts and covers the changes made
+ * on all nodes of a cluster. Changes are recorded in transactions of their own, so that a conflict
+ * with another node recording the same workspace cannot roll back the change itself.
+ */
+@Component
+public class WorkspaceChangeJournal implements ApplicationListener<AppEvent> {
+
+  private static final Logger LOGGER = Logger.getLogger(WorkspaceChangeJournal.class);
+
+  private WorkspaceChangeRepository workspaceChangeRepository;
+
+  private NamespaceCache namespaceCache;
+
+  private TransactionTemplate transactionTemplate;
+
+  public WorkspaceChangeJournal(@Autowired WorkspaceChangeRepository workspaceChangeRepository,
+      @Autowired NamespaceCache namespaceCache,
+      @Autowired PlatformTransactionManager transactionManager) {
+    this.workspaceChangeRepository = workspaceChangeRepository;
+    this.namespaceCache = namespaceCache;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate
+        .setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  /**
+   * @param since time in milliseconds
+   * @return the IDs of the workspaces that have been changed after the given time
+   */
+  public Set<String> changedSince(long since) {
+    return workspaceChangeRepository.findByChangedOnAfter(new Timestamp(since)).stream()
+        .map(WorkspaceChange::getWorkspaceId)
+        .collect(Collectors.toSet());
+  }
+
+  @Override
+  public void onApplicationEvent(AppEvent event) {
+    EventType type = event.getEventType();
+    try {
+      if (type == EventType.MODEL_CREATED || type == EventType.MODEL_UPDATED
+          || type == EventType.MODEL_DELETED) {
+        workspaceOf(event).ifPresent(this::record);
+      } else if (type == EventType.NAMESPACE_ADDED) {
+        record(event.getUserContext().getWorkspaceId());
+      } else if (type == EventType.NAMESPACE_DELETED) {
+        // a deleted namespace is missing from the manifests of later backups
+        String workspaceId = event.getUserContext().getWorkspaceId();
+        transactionTemplate.execute(status -> {
+          if (workspaceChangeRepository.exists(workspaceId)) {
+            workspaceChangeRepository.delete(workspaceId);
+          }
+          return null;
+        });
+      }
+    } catch (RuntimeException e) {
+      // the change itself must not fail because of the journal
+      LOGGER.error(String.format("Cannot record change of type %s for incremental backups", type),
+          e);
+    }
+  }
+
+  private Optional<String> workspaceOf(AppEvent event) {
+    IUserContext userContext = event.getUserContext();
+    if (userContext != null && userContext.getWorkspaceId() != null) {
+      return Optional.of(userContext.getWorkspaceId());
+    }
+    ModelId modelId = event.getSubject() instanceof ModelInfo
+        ? ((ModelInfo) event.getSubject()).getId()
+        : (ModelId) event.getSubject();
+    return namespaceCache.snapshot().owning(modelId.getNamespace())
+        .map(Namespace::getWorkspaceId);
+  }
+
+  /**
+   * Records a change of the given workspace now, for changes that are not published as events.
+   *
+   * @param workspaceId the ID of the workspace changed
+   */
+  public void record(String workspaceId) {
+    WorkspaceChange change =
+        new WorkspaceChange(workspaceId, new Timestamp(System.currentTimeMillis()));
+    try {
+      try {
+        transactionTemplate.execute(status -> workspaceChangeRepository.save(change));
+      } catch (DataIntegrityViolationException e) {
+        // another node has inserted the workspace at the same time, so it is updated now
+        transactionTemplate.execute(status -> workspaceChangeRepository.save(change));
+      }
+    } catch (RuntimeException e) {
+      // the change itself must not fail because of the journal
+      LOGGER.error(String.format("Cannot record change of workspace [%s]", workspaceId), e);
+    }
+  }
+}
@@ -0,0 +1,266 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import javax.annotation.PreDestroy;
+import org.apache.log4j.Logger;
+import org.jgroups.JChannel;
+import org.jgroups.Message;
+import org.jgroups.ReceiverAdapter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.cache.Cache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalidates the caches of all repository nodes of a cluster. <br/>
+ * Spring caches are wrapped with {@link #clustered(Cache)}. Whenever entries of a wrapped cache
+ * are evicted, the name of the cache is sent over a JGroups channel, and the other nodes clear
+ * their cache of that name. As the keys of Spring caches are not necessarily serializable, and
+ * evictions are rare compared to lookups, remote nodes always clear the whole cache. <br/>
+ * Other caches {@link #register(String, Runnable)} how they are cleared, and send their changes
+ * with {@link #invalidateRemotely(String)}. Caches with string keys can also
+ * {@link #register(String, Runnable, Consumer) register} how a single key is invalidated, and send
+ * the changed key with {@link #invalidateRemotely(String, String)}, so that the other nodes keep
+ * their other entries. <br/>
+ * The channel uses the same JGroups stack configuration as the ModeShape cluster, but a cluster
+ * name of its own. Without a configuration, e.g. for a single node, caches are only evicted
+ * locally. <br/>
+ * Counts are published as actuator metrics with the prefix {@literal cachecluster.}.
+ */
+@Component
+public class ClusterCacheInvalidation implements PublicMetrics {
+
+  private static final Logger LOGGER = Logger.getLogger(ClusterCacheInvalidation.class);
+
+  private final Map<String, Runnable> invalidations = new ConcurrentHashMap<>();
+
+  private final Map<String, Consumer<String>> keyInvalidations = new ConcurrentHashMap<>();
+
+  private final JChannel channel;
+
+  private final AtomicLong sent = new AtomicLong();
+  private final AtomicLong received = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+
+  /**
+   * @param configuration the JGroups stack configuration, e.g. {@literal jgroups-config.xml}, or
+   *        null to evict caches locally only
+   * @param clusterName the name of the cluster the nodes join to exchange invalidations
+   */
+  public ClusterCacheInvalidation(
+      @Value("${repo.cache.cluster.configuration:#{null}}") String configuration,
+      @Value("${repo.cache.cluster.name:vorto-cache-cluster}") String clusterName) {
+    this.channel = configuration != null ? connect(configuration, clusterName) : null;
+  }
+
+  private JChannel connect(String configuration, String clusterName) {
+    try {
+      JChannel jChannel = new JChannel(configuration);
+      jChannel.setDiscardOwnMessages(true);
+      jChannel.setReceiver(new ReceiverAdapter() {
+        @Override
+        public void receive(Message message) {
+          Object invalidation = message.getObject();
+          if (invalidation instanceof String[]) {
+            String[] cacheNameAndKey = (String[]) invalidation;
+            invalidateLocally(cacheNameAndKey[0], cacheNameAndKey[1]);
+          } else {
+            invalidateLocally((String) invalidation);
+          }
+        }
+      });
+      jChannel.connect(clusterName);
+      LOGGER.info(String.format("Joined cache cluster '%s'", clusterName));
+      return jChannel;
+    } catch (Exception e) {
+      // caches still work on this node, only other nodes keep their entries until they expire
+      LOGGER.error(String.format("Cannot join cache cluster '%s', evicting caches locally only",
+          clusterName), e);
+      return null;
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (channel != null) {
+      channel.close();
+    }
+  }
+
+  /**
+   * @return true if evictions are sent to the other nodes of a cluster
+   */
+  public boolean isClustered() {
+    return channel != null && channel.isConnected();
+  }
+
+  /**
+   * @return the given cache, whose evictions are sent to the other nodes of the cluster
+   */
+  public Cache clustered(Cache cache) {
+    register(cache.getName(), cache::clear);
+    return new ClusteredCache(cache);
+  }
+
+  /**
+   * @param cacheName the name of the cache, unique within the application
+   * @param invalidation clears the cache of this node, when another node invalidates it
+   */
+  public void register(String cacheName, Runnable invalidation) {
+    invalidations.put(cacheName, invalidation);
+  }
+
+  /**
+   * @param cacheName the name of the cache, unique within the application
+   * @param invalidation clears the cache of this node, when another node invalidates it
+   * @param keyInvalidation invalidates the entry of the given key on this node, when another node
+   *        invalidates it
+   */
+  public void register(String cacheName, Runnable invalidation,
+      Consumer<String> keyInvalidation) {
+    register(cacheName, invalidation);
+    keyInvalidations.put(cacheName, keyInvalidation);
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    Collection<Metric<?>> metrics = new ArrayList<>();
+    metrics.add(new Metric<>("cachecluster.sent", sent.get()));
+    metrics.add(new Metric<>("cachecluster.received", received.get()));
+    metrics.add(new Metric<>("cachecluster.failed", failed.get()));
+    return metrics;
+  }
+
+  private void invalidateLocally(String cacheName) {
+    received.incrementAndGet();
+    Runnable invalidation = invalidations.get(cacheName);
+    if (invalidation != null) {
+      invalidation.run();
+    }
+  }
+
+  private void invalidateLocally(String cacheName, String key) {
+    Consumer<String> keyInvalidation = keyInvalidations.get(cacheName);
+    if (keyInvalidation == null) {
+      invalidateLocally(cacheName);
+      return;
+    }
+    received.incrementAndGet();
+    keyInvalidation.accept(key);
+  }
+
+  /**
+   * Makes the other nodes of the cluster clear their cache of the given name.
+   *
+   * @param cacheName the name of a {@link #register(String, Runnable) registered} cache
+   */
+  public void invalidateRemotely(String cacheName) {
+    if (!isClustered()) {
+      return;
+    }
+    try {
+      channel.send(new Message(null, cacheName));
+      sent.incrementAndGet();
+    } catch (Exception e) {
+      failed.incrementAndGet();
+      LOGGER.warn(String.format("Cannot send the invalidation of cache '%s' to the cluster",
+          cacheName), e);
+    }
+  }
+
+  /**
+   * Makes the other nodes of the cluster invalidate the entry of the given key in their cache of
+   * the given name.
+   *
+   * @param cacheName the name of a {@link #register(String, Runnable, Consumer) registered} cache
+   * @param key the key of the changed entry
+   */
+  public void invalidateRemotely(String cacheName, String key) {
+    if (!isClustered()) {
+      return;
+    }
+    try {
+      channel.send(new Message(null, new String[] {cacheName, key}));
+      sent.incrementAndGet();
+    } catch (Exception e) {
+      failed.incrementAndGet();
+      LOGGER.warn(String.format("Cannot send the invalidation of key '%s' of cache '%s' to the "
+          + "cluster", key, cacheName), e);
+    }
+  }
+
+  private class ClusteredCache implements Cache {
+
+    private final Cache delegate;
+
+    private ClusteredCache(Cache delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public String getName() {
+      return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+      return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+      return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+      return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+      return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+      delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+      return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+      delegate.evict(key);
+      invalidateRemotely(getName());
+    }
+
+    @Override
+    public void clear() {
+      delegate.clear();
+      invalidateRemotely(getName());
+    }
+  }
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.jcr.RepositoryException;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Application wide, size bounded cache of the model meta data read from the model nodes, keyed by
+ * model ID. <br/>
+ * Entries are invalidated by the {@link EventType#MODEL_CREATED}, {@link EventType#MODEL_UPDATED}
+ * and {@link EventType#MODEL_DELETED} events, and by the repository right after it changed a
+ * model. Other nodes of a cluster are notified through {@link ClusterCacheInvalidation}, and drop
+ * the entry of the changed model, or all entries if a whole namespace is gone. As a safety net for lost notifications, entries also expire after the configured
+ * time. <br/>
+ * The cache holds no user specific data: callers must read the model node with the user's session
+ * before using a cached entry, so that access control still applies, and must add user specific
+ * data such as the referencing models themselves. Entries are copied in and out, as callers
+ * modify the returned {@link ModelInfo}.
+ */
+@Component
+public class ModelInfoCache implements ApplicationListener<AppEvent> {
+
+  static final String NAME = "modelInfoCache";
+
+  private final Cache<String, ModelInfo> cache;
+
+  private final ClusterCacheInvalidation clusterCacheInvalidation;
+
+  private final AtomicLong invalidations = new AtomicLong();
+
+  public ModelInfoCache(@Value("${repo.modelInfoCache.maximumSize:#{10000}}") long maximumSize,
+      @Value("${repo.modelInfoCache.expireAfterWriteInSeconds:#{600}}")
+          long expireAfterWriteInSeconds,
+      @Autowired ClusterCacheInvalidation clusterCacheInvalidation) {
+    this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize)
+        .expireAfterWrite(expireAfterWriteInSeconds, TimeUnit.SECONDS).build();
+    this.clusterCacheInvalidation = clusterCacheInvalidation;
+    clusterCacheInvalidation.register(NAME, this::invalidateLocally, this::invalidateLocally);
+  }
+
+  /**
+   * @param modelId the model ID
+   * @param loader reads the model meta data, if it is not cached yet
+   * @return a copy of the cached model meta data
+   */
+  public ModelInfo get(ModelId modelId, Loader loader) throws RepositoryException {
+    String key = modelId.getPrettyFormat();
+    ModelInfo modelInfo = cache.getIfPresent(key);
+    if (modelInfo == null) {
+      long invalidationsBeforeLoad = invalidations.get();
+      modelInfo = loader.load();
+      // the loaded data might be outdated already if the model has been changed during the load
+      if (invalidations.get() == invalidationsBeforeLoad) {
+        cache.put(key, copy(modelInfo));
+      }
+      return modelInfo;
+    }
+    return copy(modelInfo);
+  }
+
+  /**
+   * Invalidates the entry of the given model, on this and the other nodes of the cluster.
+   */
+  public void invalidate(ModelId modelId) {
+    String key = modelId.getPrettyFormat();
+    invalidateLocally(key);
+    clusterCacheInvalidation.invalidateRemotely(NAME, key);
+  }
+
+  /**
+   * Invalidates all entries, on this and the other nodes of the cluster.
+   */
+  public void invalidateAll() {
+    invalidateLocally();
+    clusterCacheInvalidation.invalidateRemotely(NAME);
+  }
+
+  private void invalidateLocally() {
+    invalidations.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  private void invalidateLocally(String key) {
+    invalidations.incrementAndGet();
+    cache.invalidate(key);
+  }
+
+  @Override
+  public void onApplicationEvent(AppEvent event) {
+    if (event.getEventType() == EventType.MODEL_CREATED
+        || event.getEventType() == EventType.MODEL_UPDATED) {
+      ModelInfo modelInfo = (ModelInfo) event.getSubject();
+      if (modelInfo != null) {
+        invalidate(modelInfo.getId());
+      }
+    } else if (event.getEventType() == EventType.MODEL_DELETED) {
+      invalidate((ModelId) event.getSubject());
+    } else if (event.getEventType() == EventType.NAMESPACE_DELETED) {
+      invalidateAll();
+    }
+  }
+
+  private static ModelInfo copy(ModelInfo source) {
+    ModelId id = source.getId();
+    ModelInfo copy = new ModelInfo(new ModelId(id.getName(), id.getNamespace(), id.getVersion()),
+        source.getType());
+    copy.setVortolang(source.getVortolang());
+    copy.setFileName(source.getFileName());
+    copy.setDisplayName(source.getDisplayName());
+    copy.setDescription(source.getDescription());
+    copy.setCategory(source.getCategory());
+    copy.setReferences(new ArrayList<>(source.getReferences()));
+    copy.setTargetPlatformKey(source.getTargetPlatformKey());
+    copy.setStereotypes(new ArrayList<>(source.getStereotypes()));
+    copy.setMappingReference(source.getMappingReference());
+    copy.setAuthor(source.getAuthor());
+    copy.setCreationDate(source.getCreationDate());
+    copy.setModificationDate(source.getModificationDate());
+    copy.setLastModifiedBy(source.getLastModifiedBy());
+    copy.setHasImage(source.isHasImage());
+    copy.setState(source.getState());
+    copy.setImported(source.getImported());
+    copy.setVisibility(source.getVisibility());
+    copy.setReferencedBy(new ArrayList<>(source.getReferencedBy()));
+    copy.setPlatformMappings(new HashMap<>(source.getPlatformMappings()));
+    return copy;
+  }
+
+  @FunctionalInterface
+  public interface Loader {
+
+    ModelInfo load() throws RepositoryException;
+  }
+}
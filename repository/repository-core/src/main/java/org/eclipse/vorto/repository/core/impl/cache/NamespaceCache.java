@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl.cache;
+
+import static org.eclipse.vorto.repository.services.NamespaceService.NAMESPACE_SEPARATOR;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.eclipse.vorto.repository.core.IUserContext;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.eclipse.vorto.repository.domain.Namespace;
+import org.eclipse.vorto.repository.repositories.NamespaceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Application wide cache of all {@link Namespace}s, indexed by lowercased name and by workspace
+ * ID. <br/>
+ * The namespaces are loaded once, and kept up to date by the namespace events: after the change
+ * has been committed, only the namespace of the event's workspace is read again, by the next
+ * lookup. Other nodes of a cluster are notified through {@link ClusterCacheInvalidation}, and
+ * reload all namespaces. <br/>
+ * Lookups use an immutable {@link Snapshot}, so that the namespaces seen within a request are
+ * consistent. The cached {@link Namespace} entities are shared and must not be modified.
+ *
+ * @see NamespaceRequestCache
+ */
+@Component
+public class NamespaceCache implements ApplicationListener<AppEvent> {
+
+  static final String NAME = "namespaceCache";
+
+  private final NamespaceRepository namespaceRepository;
+
+  private final ClusterCacheInvalidation clusterCacheInvalidation;
+
+  private volatile Snapshot snapshot;
+
+  private final Set<String> staleWorkspaceIds = ConcurrentHashMap.newKeySet();
+
+  private final AtomicLong invalidations = new AtomicLong();
+
+  public NamespaceCache(@Autowired NamespaceRepository namespaceRepository,
+      @Autowired ClusterCacheInvalidation clusterCacheInvalidation) {
+    this.namespaceRepository = namespaceRepository;
+    this.clusterCacheInvalidation = clusterCacheInvalidation;
+    clusterCacheInvalidation.register(NAME, this::invalidateAll);
+  }
+
+  /**
+   * @return the current snapshot of all namespaces, loaded or refreshed if needed
+   */
+  public Snapshot snapshot() {
+    Snapshot current = this.snapshot;
+    if (current != null && staleWorkspaceIds.isEmpty()) {
+      return current;
+    }
+    synchronized (this) {
+      long invalidationsBeforeLoad = invalidations.get();
+      Set<String> refreshed = new HashSet<>(staleWorkspaceIds);
+      Snapshot loaded = this.snapshot == null ? load()
+          : this.snapshot.refresh(refreshed, namespaceRepository::findByWorkspaceId);
+      // the loaded namespaces might be outdated already if they have been changed during the load
+      if (invalidations.get() == invalidationsBeforeLoad) {
+        this.snapshot = loaded;
+        staleWorkspaceIds.removeAll(refreshed);
+      }
+      return loaded;
+    }
+  }
+
+  /**
+   * Reads all namespaces from the repository, without caching them. <br/>
+   * Used by requests that have changed namespaces, and need to see their own changes before they
+   * are committed.
+   *
+   * @return a new snapshot of all namespaces
+   */
+  public Snapshot load() {
+    return new Snapshot(namespaceRepository.findAll());
+  }
+
+  /**
+   * Reads the namespace of the given workspace again by the next lookup.
+   *
+   * @param workspaceId
+   */
+  public void invalidate(String workspaceId) {
+    staleWorkspaceIds.add(workspaceId);
+    invalidations.incrementAndGet();
+  }
+
+  public void invalidateAll() {
+    invalidations.incrementAndGet();
+    this.snapshot = null;
+  }
+
+  @Override
+  public void onApplicationEvent(AppEvent event) {
+    EventType type = event.getEventType();
+    if (type == EventType.NAMESPACE_ADDED || type == EventType.NAMESPACE_UPDATED
+        || type == EventType.NAMESPACE_DELETED) {
+      IUserContext userContext = event.getUserContext();
+      String workspaceId = userContext != null ? userContext.getWorkspaceId() : null;
+      AfterCommit.run(() -> {
+        if (workspaceId != null) {
+          invalidate(workspaceId);
+        } else {
+          invalidateAll();
+        }
+        clusterCacheInvalidation.invalidateRemotely(NAME);
+      });
+    }
+  }
+
+  /**
+   * Immutable view on all namespaces at a point in time.
+   */
+  public static final class Snapshot {
+
+    private final Collection<Namespace> namespaces;
+
+    private final Map<String, Namespace> byName = new HashMap<>();
+
+    private final Map<String, Namespace> byWorkspaceId = new LinkedHashMap<>();
+
+    private Snapshot(Collection<Namespace> namespaces) {
+      for (Namespace namespace : namespaces) {
+        if (namespace.getName() != null) {
+          byName.put(namespace.getName().toLowerCase(), namespace);
+        }
+        byWorkspaceId.put(namespace.getWorkspaceId(), namespace);
+      }
+      this.namespaces = Collections.unmodifiableList(new ArrayList<>(namespaces));
+    }
+
+    /**
+     * @return all namespaces
+     */
+    public Collection<Namespace> namespaces() {
+      return namespaces;
+    }
+
+    /**
+     * @param name the namespace name, in any case
+     * @return the namespace of exactly the given name, i.e. without resolving virtual namespaces
+     */
+    public Optional<Namespace> byName(String name) {
+      return Objects.isNull(name) ? Optional.empty()
+          : Optional.ofNullable(byName.get(name.toLowerCase()));
+    }
+
+    /**
+     * @param name a namespace name, possibly followed by virtual sub-namespaces, as in a model ID
+     * @return the namespace of the given name, or of its closest parent namespace
+     */
+    public Optional<Namespace> owning(String name) {
+      String current = name;
+      while (!Objects.isNull(current)) {
+        Optional<Namespace> namespace = byName(current);
+        if (namespace.isPresent()) {
+          return namespace;
+        }
+        int lastSeparator = current.lastIndexOf(NAMESPACE_SEPARATOR);
+        current = lastSeparator > 0 ? current.substring(0, lastSeparator) : null;
+      }
+      return Optional.empty();
+    }
+
+    public Optional<Namespace> byWorkspaceId(String workspaceId) {
+      return Optional.ofNullable(byWorkspaceId.get(workspaceId));
+    }
+
+    /**
+     * @param workspaceIds the workspaces whose namespaces have been added, changed or deleted
+     * @param loader reads the current namespace of a workspace, or null if it has been deleted
+     * @return a new snapshot with the current namespaces of the given workspaces
+     */
+    private Snapshot refresh(Collection<String> workspaceIds,
+        Function<String, Namespace> loader) {
+      Map<String, Namespace> refreshed = new LinkedHashMap<>(byWorkspaceId);
+      for (String workspaceId : workspaceIds) {
+        Namespace namespace = loader.apply(workspaceId);
+        if (namespace == null) {
+          refreshed.remove(workspaceId);
+        } else {
+          refreshed.put(workspaceId, namespace);
+        }
+      }
+      return new Snapshot(refreshed.values());
+    }
+  }
+}
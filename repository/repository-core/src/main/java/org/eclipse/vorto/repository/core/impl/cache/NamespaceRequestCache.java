@@ -25,8 +25,8 @@ import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.apache.log4j.Logger;
 import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.impl.cache.NamespaceCache.Snapshot;
 import org.eclipse.vorto.repository.domain.Namespace;
-import org.eclipse.vorto.repository.repositories.NamespaceRepository;
 import org.eclipse.vorto.repository.services.NamespaceService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -35,7 +35,10 @@ import org.springframework.web.context.annotation.RequestScope;
 /**
  * Caches namespace and virtual namespace resolution within the scope of a single request. <br/>
  * <b>All namespaces are lowercased for comparison</b>. <br/>
- * All virtual namespace mappings are also lowercased.
+ * All virtual namespace mappings are also lowercased. <br/>
+ * The namespaces are taken from the application wide {@link NamespaceCache}, and the same
+ * snapshot is used for the whole request. Once a request has changed namespaces, it reads them
+ * from the repository instead, in order to see its own changes before they are committed.
  */
 @Service
 @RequestScope
@@ -46,19 +49,21 @@ public class NamespaceRequestCache {
   public static final Predicate<Namespace> PUBLIC = n -> !n.getName()
       .startsWith(PRIVATE_NAMESPACE_PREFIX);
 
-  private Collection<Namespace> namespaces = ConcurrentHashMap.newKeySet();
+  private volatile Snapshot snapshot;
+  private volatile boolean stale;
   private Map<String, Namespace> virtualNamespaces = new ConcurrentHashMap<>();
 
-  private NamespaceRepository namespaceRepository;
+  private NamespaceCache namespaceCache;
 
-  public NamespaceRequestCache(@Autowired NamespaceRepository namespaceRepository) {
-    this.namespaceRepository = namespaceRepository;
+  public NamespaceRequestCache(@Autowired NamespaceCache namespaceCache) {
+    this.namespaceCache = namespaceCache;
   }
 
-  private void populateIfEmpty() {
-    if (this.namespaces.isEmpty()) {
-      this.namespaces = namespaceRepository.findAll();
+  private Snapshot populateIfEmpty() {
+    if (Objects.isNull(this.snapshot)) {
+      this.snapshot = stale ? namespaceCache.load() : namespaceCache.snapshot();
     }
+    return this.snapshot;
   }
 
   /**
@@ -69,7 +74,9 @@ public class NamespaceRequestCache {
    * @return
    */
   public NamespaceRequestCache stale() {
-    this.namespaces.clear();
+    this.stale = true;
+    this.snapshot = null;
+    this.virtualNamespaces.clear();
     return this;
   }
 
@@ -77,8 +84,7 @@ public class NamespaceRequestCache {
    * @return all cached {@link Namespace}s.
    */
   public Collection<Namespace> namespaces() {
-    populateIfEmpty();
-    return Collections.unmodifiableCollection(this.namespaces);
+    return populateIfEmpty().namespaces();
   }
 
   /**
@@ -92,9 +98,8 @@ public class NamespaceRequestCache {
     if (Objects.isNull(filter)) {
       return Collections.emptyList();
     }
-    populateIfEmpty();
-    return Collections.unmodifiableCollection(this.namespaces.stream().filter(filter).collect(
-        Collectors.toList()));
+    return Collections.unmodifiableCollection(populateIfEmpty().namespaces().stream()
+        .filter(filter).collect(Collectors.toList()));
   }
 
   /**
@@ -131,7 +136,7 @@ public class NamespaceRequestCache {
       return Optional.empty();
     }
     // lazy population
-    populateIfEmpty();
+    Snapshot namespaces = populateIfEmpty();
 
     // lookup into virtual namespace map first
     if (virtualNamespaces.containsKey(name)) {
@@ -144,8 +149,7 @@ public class NamespaceRequestCache {
       return Optional.of(result);
     }
     // resolving by name equality
-    Optional<Namespace> result = this.namespaces.stream().filter(n -> n.getName().equalsIgnoreCase(name))
-        .findAny();
+    Optional<Namespace> result = namespaces.byName(name);
     if (result.isPresent()) {
       LOGGER.debug(
           String.format(
@@ -154,7 +158,8 @@ public class NamespaceRequestCache {
       );
       return result;
     } else {
-      return resolveVirtualNamespaceRecursively(name.toLowerCase(), name.toLowerCase());
+      return resolveVirtualNamespaceRecursively(namespaces, name.toLowerCase(),
+          name.toLowerCase());
     }
   }
 
@@ -163,12 +168,13 @@ public class NamespaceRequestCache {
    * Keeps the root namespace name identical along deep invocations in order to both log and
    * cache in the virtual namespaces map, if found.
    *
+   * @param namespaces
    * @param rootNamespaceName
    * @param currentName
    * @return
    */
-  private Optional<Namespace> resolveVirtualNamespaceRecursively(String rootNamespaceName,
-      String currentName) {
+  private Optional<Namespace> resolveVirtualNamespaceRecursively(Snapshot namespaces,
+      String rootNamespaceName, String currentName) {
     int lastSeparator = currentName.lastIndexOf(NAMESPACE_SEPARATOR);
     if (lastSeparator > 0) {
       String trimmed = currentName.substring(0, lastSeparator);
@@ -178,8 +184,7 @@ public class NamespaceRequestCache {
               rootNamespaceName, currentName, trimmed
           )
       );
-      Optional<Namespace> result = namespaces.stream().filter(n -> n.getName().equals(trimmed))
-          .findAny();
+      Optional<Namespace> result = namespaces.byName(trimmed);
       if (result.isPresent()) {
         // updating virtual namespace cache
         virtualNamespaces.put(rootNamespaceName, result.get());
@@ -191,7 +196,7 @@ public class NamespaceRequestCache {
         return result;
         // recursing
       } else {
-        return resolveVirtualNamespaceRecursively(rootNamespaceName, trimmed);
+        return resolveVirtualNamespaceRecursively(namespaces, rootNamespaceName, trimmed);
       }
       // no further namespace chunk available to recurse through - giving up
     } else {
@@ -216,8 +221,20 @@ public class NamespaceRequestCache {
     if (Objects.isNull(filter)) {
       return Optional.empty();
     }
-    populateIfEmpty();
-    return this.namespaces.stream().filter(filter).findAny();
+    return populateIfEmpty().namespaces().stream().filter(filter).findAny();
+  }
+
+  /**
+   * Resolves a cached {@link Namespace} by its workspace ID if applicable.
+   *
+   * @param workspaceId
+   * @return
+   */
+  public Optional<Namespace> namespaceByWorkspaceId(String workspaceId) {
+    if (Objects.isNull(workspaceId)) {
+      return Optional.empty();
+    }
+    return populateIfEmpty().byWorkspaceId(workspaceId);
   }
 
 }
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.eclipse.vorto.repository.domain.User;
+import org.eclipse.vorto.repository.domain.UserNamespaceID;
+import org.eclipse.vorto.repository.domain.UserNamespaceRoles;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Application wide cache of the {@link UserNamespaceRoles} of a user, keyed by user ID. <br/>
+ * Entries of a user are invalidated by {@link EventType#USER_NAMESPACE_ROLES_CHANGED} and
+ * {@link EventType#USER_REMOVED_FROM_NAMESPACE}, and all entries by the user and namespace events,
+ * once the change has been committed. Other nodes of a cluster are notified through
+ * {@link ClusterCacheInvalidation}, and drop all entries. As a safety net for changes that are not
+ * published as events, entries also expire after the configured time. <br/>
+ * Callers modify and save the roles they get, so the cache only holds and returns copies.
+ *
+ * @see UserRequestCache
+ */
+@Component
+public class UserNamespaceRolesCache implements ApplicationListener<AppEvent> {
+
+  static final String NAME = "userNamespaceRolesCache";
+
+  private final Cache<Long, Set<UserNamespaceRoles>> cache;
+
+  private final ClusterCacheInvalidation clusterCacheInvalidation;
+
+  private final AtomicLong invalidations = new AtomicLong();
+
+  public UserNamespaceRolesCache(
+      @Value("${repo.userNamespaceRolesCache.maximumSize:#{10000}}") long maximumSize,
+      @Value("${repo.userNamespaceRolesCache.expireAfterWriteInSeconds:#{600}}")
+          long expireAfterWriteInSeconds,
+      @Autowired ClusterCacheInvalidation clusterCacheInvalidation) {
+    this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize)
+        .expireAfterWrite(expireAfterWriteInSeconds, TimeUnit.SECONDS).build();
+    this.clusterCacheInvalidation = clusterCacheInvalidation;
+    clusterCacheInvalidation.register(NAME, this::invalidateAll);
+  }
+
+  /**
+   * @param user the user, whose roles are returned bound to this very instance
+   * @param loader reads the roles of the user, if they are not cached yet
+   * @return new copies of the cached roles
+   */
+  public Set<UserNamespaceRoles> get(User user, Loader loader) {
+    if (user.getId() == null) {
+      return copy(loader.load(), user);
+    }
+    Set<UserNamespaceRoles> roles = cache.getIfPresent(user.getId());
+    if (roles == null) {
+      long invalidationsBeforeLoad = invalidations.get();
+      roles = Collections.unmodifiableSet(copy(loader.load(), user));
+      // the loaded roles might be outdated already if they have been changed during the load
+      if (invalidations.get() == invalidationsBeforeLoad) {
+        cache.put(user.getId(), roles);
+      }
+    }
+    return copy(roles, user);
+  }
+
+  public void invalidate(Long userId) {
+    invalidations.incrementAndGet();
+    if (userId != null) {
+      cache.invalidate(userId);
+    }
+  }
+
+  public void invalidateAll() {
+    invalidations.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  @Override
+  public void onApplicationEvent(AppEvent event) {
+    EventType type = event.getEventType();
+    if (type == EventType.USER_NAMESPACE_ROLES_CHANGED
+        || type == EventType.USER_REMOVED_FROM_NAMESPACE) {
+      Long userId = ((UserNamespaceRoles) event.getSubject()).getUser().getId();
+      AfterCommit.run(() -> {
+        invalidate(userId);
+        clusterCacheInvalidation.invalidateRemotely(NAME);
+      });
+    } else if (type == EventType.USER_ADDED || type == EventType.USER_MODIFIED
+        || type == EventType.USER_DELETED || type == EventType.NAMESPACE_ADDED
+        || type == EventType.NAMESPACE_UPDATED || type == EventType.NAMESPACE_DELETED) {
+      // these events carry different kinds of subjects, and are rare enough to drop everything
+      AfterCommit.run(() -> {
+        invalidateAll();
+        clusterCacheInvalidation.invalidateRemotely(NAME);
+      });
+    }
+  }
+
+  private static Set<UserNamespaceRoles> copy(Collection<UserNamespaceRoles> roles, User user) {
+    return roles.stream().map(role -> {
+      UserNamespaceRoles copy = new UserNamespaceRoles();
+      copy.setID(new UserNamespaceID(user, role.getNamespace()));
+      copy.setRoles(role.getRoles());
+      return copy;
+    }).collect(Collectors.toCollection(HashSet::new));
+  }
+
+  @FunctionalInterface
+  public interface Loader {
+
+    Collection<UserNamespaceRoles> load();
+  }
+}
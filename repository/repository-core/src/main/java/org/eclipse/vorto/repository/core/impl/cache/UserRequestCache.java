@@ -27,12 +27,16 @@ import org.eclipse.vorto.repository.repositories.UserRepositoryRoleRepository;
  * Initial invocations of {@link IUserRequestCache#getUserNamespaceRoles()} and
  * {@link IUserRequestCache#getUserRepositoryRoles()} on this object will retrieve the
  * {@link UserNamespaceRoles} and {@link UserRepositoryRoles} respectively and cache them.<br/>
- * Subsequent invocations of those methods on this object will use the cached data.
+ * Subsequent invocations of those methods on this object will use the cached data.<br/>
+ * The {@link UserNamespaceRoles} are retrieved through the application wide
+ * {@link UserNamespaceRolesCache}.
  */
 public class UserRequestCache implements IUserRequestCache {
 
   private UserNamespaceRoleRepository userNamespaceRoleRepository;
 
+  private UserNamespaceRolesCache userNamespaceRolesCache;
+
   private UserRepositoryRoleRepository userRepositoryRoleRepository;
 
   private Collection<UserNamespaceRoles> userNamespaceRoles = new HashSet<>();
@@ -44,15 +48,18 @@ public class UserRequestCache implements IUserRequestCache {
    * {@link UserRolesRequestCache#withUser(org.eclipse.vorto.repository.web.account.dto.UserDto)}
    *
    * @param userNamespaceRoleRepository
+   * @param userNamespaceRolesCache
    * @param userRepositoryRoleRepository
    * @param user
    */
   protected UserRequestCache(UserNamespaceRoleRepository userNamespaceRoleRepository,
+      UserNamespaceRolesCache userNamespaceRolesCache,
       UserRepositoryRoleRepository userRepositoryRoleRepository, User user) {
     if (null == user) {
       throw new IllegalArgumentException("Given user is null.");
     }
     this.userNamespaceRoleRepository = userNamespaceRoleRepository;
+    this.userNamespaceRolesCache = userNamespaceRolesCache;
     this.userRepositoryRoleRepository = userRepositoryRoleRepository;
     this.user = user;
   }
@@ -68,7 +75,8 @@ public class UserRequestCache implements IUserRequestCache {
   public Collection<UserNamespaceRoles> getUserNamespaceRoles() {
     // setting UNR if not already set
     if (this.userNamespaceRoles.isEmpty()) {
-      this.userNamespaceRoles.addAll(userNamespaceRoleRepository.findAllByUser(this.user));
+      this.userNamespaceRoles.addAll(userNamespaceRolesCache
+          .get(this.user, () -> userNamespaceRoleRepository.findAllByUser(this.user)));
     }
     return Collections.unmodifiableCollection(this.userNamespaceRoles);
   }
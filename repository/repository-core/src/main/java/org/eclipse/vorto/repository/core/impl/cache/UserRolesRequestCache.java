@@ -140,6 +140,8 @@ public class UserRolesRequestCache {
 
   private UserNamespaceRoleRepository userNamespaceRoleRepository;
 
+  private UserNamespaceRolesCache userNamespaceRolesCache;
+
   private UserRepositoryRoleRepository userRepositoryRoleRepository;
 
   private UserRepository userRepository;
@@ -149,13 +151,16 @@ public class UserRolesRequestCache {
    * as {@link UserNamespaceRoles} and {@link UserRepositoryRoles} fetching by {@link User}.
    *
    * @param userNamespaceRoleRepository
+   * @param userNamespaceRolesCache
    * @param userRepositoryRoleRepository
    * @param userRepository
    */
   public UserRolesRequestCache(@Autowired UserNamespaceRoleRepository userNamespaceRoleRepository,
+      @Autowired UserNamespaceRolesCache userNamespaceRolesCache,
       @Autowired UserRepositoryRoleRepository userRepositoryRoleRepository,
       @Autowired UserRepository userRepository, @Autowired IOAuthProviderRegistry registry) {
     this.userNamespaceRoleRepository = userNamespaceRoleRepository;
+    this.userNamespaceRolesCache = userNamespaceRolesCache;
     this.userRepositoryRoleRepository = userRepositoryRoleRepository;
     this.userRepository = userRepository;
     this.registry = registry;
@@ -172,7 +177,8 @@ public class UserRolesRequestCache {
       return NULL_USER_REQUEST_CACHE;
     }
     cache.putIfAbsent(user,
-        new UserRequestCache(userNamespaceRoleRepository, userRepositoryRoleRepository, user));
+        new UserRequestCache(userNamespaceRoleRepository, userNamespaceRolesCache,
+            userRepositoryRoleRepository, user));
     return cache.get(user);
   }
 
@@ -222,6 +228,7 @@ public class UserRolesRequestCache {
           );
       IUserRequestCache userCache = new UserRequestCache(
           userNamespaceRoleRepository,
+          userNamespaceRolesCache,
           userRepositoryRoleRepository,
           user
       );
@@ -274,6 +281,7 @@ public class UserRolesRequestCache {
       // builds new cache
       IUserRequestCache userCache = new UserRequestCache(
           userNamespaceRoleRepository,
+          userNamespaceRolesCache,
           userRepositoryRoleRepository,
           user
       );
@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.eclipse.vorto.repository.domain.User;
+import org.eclipse.vorto.repository.domain.UserNamespaceRoles;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Application wide cache of the workspace IDs of the namespaces a user has any role on, i.e. the
+ * workspaces whose private models the user can find by search, keyed by user name and
+ * authentication provider. <br/>
+ * Entries of a user are invalidated by {@link EventType#USER_NAMESPACE_ROLES_CHANGED} and the user
+ * events, and all entries by namespace events, once the change has been committed. Other nodes of a
+ * cluster are notified through {@link ClusterCacheInvalidation}, and drop all entries. As a safety
+ * net for changes that are not published as events, entries also expire after the configured time.
+ * <br/>
+ * The cached sets are immutable and the same instance is returned until the entry is invalidated,
+ * so that callers can cache data derived from a set by its identity.
+ */
+@Component
+public class VisibleWorkspaceCache implements ApplicationListener<AppEvent> {
+
+  static final String NAME = "visibleWorkspaceCache";
+
+  private final Cache<Key, Set<String>> cache;
+
+  private final ClusterCacheInvalidation clusterCacheInvalidation;
+
+  private final AtomicLong invalidations = new AtomicLong();
+
+  public VisibleWorkspaceCache(
+      @Value("${repo.visibleWorkspaceCache.maximumSize:#{10000}}") long maximumSize,
+      @Value("${repo.visibleWorkspaceCache.expireAfterWriteInSeconds:#{600}}")
+          long expireAfterWriteInSeconds,
+      @Autowired ClusterCacheInvalidation clusterCacheInvalidation) {
+    this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize)
+        .expireAfterWrite(expireAfterWriteInSeconds, TimeUnit.SECONDS).build();
+    this.clusterCacheInvalidation = clusterCacheInvalidation;
+    clusterCacheInvalidation.register(NAME, this::invalidateAll);
+  }
+
+  /**
+   * @param username the user name
+   * @param authenticationProviderId the authentication provider of the user
+   * @param loader reads the workspace IDs, if they are not cached yet
+   * @return the immutable set of workspace IDs
+   */
+  public Set<String> get(String username, String authenticationProviderId, Loader loader) {
+    Key key = new Key(username, authenticationProviderId);
+    Set<String> workspaceIds = cache.getIfPresent(key);
+    if (workspaceIds == null) {
+      long invalidationsBeforeLoad = invalidations.get();
+      workspaceIds = Collections.unmodifiableSet(new LinkedHashSet<>(loader.load()));
+      // the loaded roles might be outdated already if they have been changed during the load
+      if (invalidations.get() == invalidationsBeforeLoad) {
+        cache.put(key, workspaceIds);
+      }
+    }
+    return workspaceIds;
+  }
+
+  public void invalidate(String username) {
+    invalidations.incrementAndGet();
+    cache.asMap().keySet().removeIf(key -> Objects.equals(key.username, username));
+  }
+
+  public void invalidateAll() {
+    invalidations.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  @Override
+  public void onApplicationEvent(AppEvent event) {
+    EventType type = event.getEventType();
+    if (type == EventType.USER_NAMESPACE_ROLES_CHANGED
+        || type == EventType.USER_REMOVED_FROM_NAMESPACE) {
+      User user = ((UserNamespaceRoles) event.getSubject()).getUser();
+      AfterCommit.run(() -> {
+        invalidate(user.getUsername());
+        clusterCacheInvalidation.invalidateRemotely(NAME);
+      });
+    } else if (type == EventType.USER_ADDED || type == EventType.USER_MODIFIED
+        || type == EventType.USER_DELETED || type == EventType.NAMESPACE_ADDED
+        || type == EventType.NAMESPACE_UPDATED || type == EventType.NAMESPACE_DELETED) {
+      // these events carry different kinds of subjects, and are rare enough to drop everything
+      AfterCommit.run(() -> {
+        invalidateAll();
+        clusterCacheInvalidation.invalidateRemotely(NAME);
+      });
+    }
+  }
+
+  @FunctionalInterface
+  public interface Loader {
+
+    Collection<String> load();
+  }
+
+  private static final class Key {
+    private final String username;
+    private final String authenticationProviderId;
+
+    private Key(String username, String authenticationProviderId) {
+      this.username = username;
+      this.authenticationProviderId = authenticationProviderId;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(username, authenticationProviderId);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return Objects.equals(username, other.username)
+          && Objects.equals(authenticationProviderId, other.authenticationProviderId);
+    }
+  }
+}
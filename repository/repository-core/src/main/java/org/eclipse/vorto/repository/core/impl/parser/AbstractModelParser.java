@@ -17,12 +17,20 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import org.apache.commons.io.IOUtils;
@@ -32,16 +40,20 @@ import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.vorto.core.api.model.model.Model;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.FileContent;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.ModelResource;
 import org.eclipse.vorto.repository.core.impl.validation.CouldNotResolveReferenceException;
 import org.eclipse.vorto.repository.core.impl.validation.ValidationException;
+import org.eclipse.vorto.utilities.reader.ParsedModelCache;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.validation.CheckMode;
 import org.eclipse.xtext.validation.IResourceValidator;
 import org.eclipse.xtext.validation.Issue;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.inject.Injector;
 
 /**
@@ -51,11 +63,21 @@ public abstract class AbstractModelParser implements IModelParser {
 
   private String fileName;
   private LocalModelWorkspace workspace;
+  private IModelRepositoryFactory repositoryFactory;
   private ErrorMessageProvider errorMessageProvider;
   private boolean isValidationEnabled = false;
+  private ParsedModelCache cache = ParsedModelCache.getInstance();
+
+  /**
+   * References of a model only depend on its DSL content, so they are remembered per content digest
+   * in order to look up the cache before parsing, for parsed models as well as their dependencies.
+   */
+  private static final Cache<String, List<ModelId>> REFERENCES_BY_CONTENT =
+      CacheBuilder.newBuilder().maximumSize(10000).build();
 
   public AbstractModelParser(String fileName, IModelRepositoryFactory repositoryFactory) {
     this.fileName = fileName;
+    this.repositoryFactory = repositoryFactory;
     this.workspace = new LocalModelWorkspace(repositoryFactory);
   }
 
@@ -65,7 +87,20 @@ public abstract class AbstractModelParser implements IModelParser {
 
     XtextResourceSet resourceSet = workspace.getResourceSet();
 
-    Resource resource = createResource(fileName, getContent(is), resourceSet)
+    byte[] content = getContent(is);
+
+    // only models parsed into an empty workspace are cached, as other models might link against
+    // resources that are not part of the repository
+    String contentKey = null;
+    if (resourceSet.getResources().isEmpty()) {
+      contentKey = createContentKey(content);
+      Optional<ModelInfo> cachedModel = getFromCache(contentKey, content);
+      if (cachedModel.isPresent()) {
+        return cachedModel.get();
+      }
+    }
+
+    Resource resource = createResource(fileName, content, resourceSet)
         .orElseThrow(() -> new ValidationException(
             "Xtext is not able to create a resource for this model. Check if you are using the correct parser.",
             getModelInfoFromFilename(fileName)));
@@ -111,9 +146,152 @@ public abstract class AbstractModelParser implements IModelParser {
     // validating model properties after other validations
     validateModel(model, fileName);
 
+    if (contentKey != null) {
+      putIntoCache(contentKey, model, content);
+    }
+
     return new ModelResource(model);
   }
 
+  private String createContentKey(byte[] content) {
+    return ParsedModelCache.newKey().add(getClass().getName())
+        .add(Boolean.toString(isValidationEnabled)).add(content).build();
+  }
+
+  private static String digest(byte[] content) {
+    return ParsedModelCache.newKey().add(content).build();
+  }
+
+  /**
+   * Creates the cache key of a model out of its content key and the content digests of all of its
+   * direct and transitive references. The DSL content of the references is read from the
+   * repository, so that a change of any dependency leads to another key, while the references of
+   * each dependency are looked up by its digest instead of parsing it.
+   *
+   * @return the key, or empty if a dependency cannot be found or has not been parsed before
+   */
+  private Optional<CacheKey> createCacheKey(String contentKey, Collection<ModelId> references) {
+    Map<String, String> digests = new TreeMap<>();
+    Set<ModelId> dependencies = new LinkedHashSet<>();
+    Deque<ModelId> pending = new ArrayDeque<>(references);
+    while (!pending.isEmpty()) {
+      ModelId dependency = pending.poll();
+      if (!dependencies.add(dependency)) {
+        continue;
+      }
+      Optional<FileContent> file = workspace.fetchFromRepository(dependency);
+      if (!file.isPresent()) {
+        return Optional.empty();
+      }
+      String digest = digest(file.get().getContent());
+      List<ModelId> dependencyReferences = REFERENCES_BY_CONTENT.getIfPresent(digest);
+      if (dependencyReferences == null) {
+        return Optional.empty();
+      }
+      digests.put(dependency.getPrettyFormat(), digest);
+      pending.addAll(dependencyReferences);
+    }
+    ParsedModelCache.KeyBuilder key = ParsedModelCache.newKey().add(contentKey);
+    digests.forEach((dependency, digest) -> key.add(dependency).add(digest));
+    return Optional.of(new CacheKey(key.build(), dependencies));
+  }
+
+  private Optional<ModelInfo> getFromCache(String contentKey, byte[] content) {
+    List<ModelId> references = REFERENCES_BY_CONTENT.getIfPresent(digest(content));
+    if (references == null) {
+      return Optional.empty();
+    }
+    try {
+      return createCacheKey(contentKey, references)
+          .flatMap(key -> cache.get(key.key, workspace.getResourceSet()).map(resources -> {
+            workspace.markAsLoaded(key.dependencies);
+            return new ModelResource((Model) resources.get(0).getContents().get(0));
+          }));
+    } catch (RuntimeException e) {
+      // references cannot be read, so parse the model to report the actual problem
+      return Optional.empty();
+    }
+  }
+
+  private void putIntoCache(String contentKey, Model model, byte[] content) {
+    List<ModelId> references = new ArrayList<>(getReferences(model));
+    try {
+      if (!loadDependencies(references)) {
+        return;
+      }
+      createCacheKey(contentKey, references).ifPresent(key -> {
+        long contentSize = content.length + key.dependencies.stream()
+            .map(dependency -> workspace.fetchFromRepository(dependency))
+            .mapToLong(file -> file.map(f -> f.getContent().length).orElse(0)).sum();
+        cache.put(key.key, workspace.getResourceSet(), contentSize);
+        REFERENCES_BY_CONTENT.put(digest(content), references);
+      });
+    } catch (RuntimeException e) {
+      // the model has been parsed already, it is just not cached
+    }
+  }
+
+  /**
+   * Loads the transitive references of a parsed model into its workspace, and remembers the
+   * references of each of them by the digest of its content.
+   *
+   * @return false if a dependency cannot be loaded
+   */
+  private boolean loadDependencies(Collection<ModelId> references) {
+    Map<ModelId, Model> loaded = getLoadedModels();
+    Set<ModelId> visited = new HashSet<>();
+    Deque<ModelId> pending = new ArrayDeque<>(references);
+    while (!pending.isEmpty()) {
+      ModelId dependency = pending.poll();
+      if (!visited.add(dependency)) {
+        continue;
+      }
+      if (!loaded.containsKey(dependency)) {
+        workspace.loadFromRepository(new ArrayList<>(Collections.singletonList(dependency)));
+        loaded = getLoadedModels();
+      }
+      Model dependencyModel = loaded.get(dependency);
+      Optional<FileContent> file = workspace.fetchFromRepository(dependency);
+      if (dependencyModel == null || !file.isPresent()) {
+        return false;
+      }
+      List<ModelId> dependencyReferences = new ArrayList<>(getReferences(dependencyModel));
+      REFERENCES_BY_CONTENT.put(digest(file.get().getContent()), dependencyReferences);
+      pending.addAll(dependencyReferences);
+    }
+    return true;
+  }
+
+  private Map<ModelId, Model> getLoadedModels() {
+    Map<ModelId, Model> models = new HashMap<>();
+    for (Resource resource : workspace.getResourceSet().getResources()) {
+      if (!resource.getContents().isEmpty() && resource.getContents().get(0) instanceof Model) {
+        Model model = (Model) resource.getContents().get(0);
+        if (model.getName() != null && model.getNamespace() != null
+            && model.getVersion() != null) {
+          models.put(new ModelId(model.getName(), model.getNamespace(), model.getVersion()),
+              model);
+        }
+      }
+    }
+    return models;
+  }
+
+  /**
+   * The key of a cached model, and the models it depends on.
+   */
+  private static class CacheKey {
+
+    private final String key;
+
+    private final Set<ModelId> dependencies;
+
+    private CacheKey(String key, Set<ModelId> dependencies) {
+      this.key = key;
+      this.dependencies = dependencies;
+    }
+  }
+
   /**
    * Checks that crucial model fields have a value. <br/>
    * If any doesn't, throws {@link ValidationException}.<br/>
@@ -16,7 +16,9 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -41,6 +43,8 @@ public class LocalModelWorkspace {
 
   private Set<ModelId> modelIds = new HashSet<ModelId>();
 
+  private Map<ModelId, FileContent> fetchedFiles = new HashMap<>();
+
   private IModelRepositoryFactory repoFactory;
 
   static {
@@ -118,10 +122,9 @@ public class LocalModelWorkspace {
     allReferences.removeAll(this.modelIds);
     allReferences.forEach(refModelId -> {
       try {
-        repoFactory.getRepositoryByModel(refModelId)
-            .getFileContent(refModelId, Optional.empty()).ifPresent(refFile -> {
-              createResource(refFile.getFileName(), refFile.getContent(), resourceSet);
-            });
+        fetchFromRepository(refModelId).ifPresent(refFile -> {
+          createResource(refFile.getFileName(), refFile.getContent(), resourceSet);
+        });
       } catch (ModelNotFoundException notFoundException) {
         throw new ValidationException("Could not find reference "+refModelId.getPrettyFormat(), null);
       }
@@ -130,6 +133,34 @@ public class LocalModelWorkspace {
     this.modelIds.addAll(allReferences);
   }
 
+  /**
+   * Fetches the DSL file of the given model from the repository without adding it to the
+   * workspace. Fetched files are kept, so that a subsequent {@link #loadFromRepository(Collection)}
+   * does not read them again.
+   *
+   * @param modelId the model to fetch
+   * @return the DSL file of the model, if it exists
+   */
+  public Optional<FileContent> fetchFromRepository(ModelId modelId) {
+    if (fetchedFiles.containsKey(modelId)) {
+      return Optional.of(fetchedFiles.get(modelId));
+    }
+    Optional<FileContent> file =
+        repoFactory.getRepositoryByModel(modelId).getFileContent(modelId, Optional.empty());
+    file.ifPresent(content -> fetchedFiles.put(modelId, content));
+    return file;
+  }
+
+  /**
+   * Marks the given models as loaded, e.g. because their resources were added to the resource set
+   * from a cache.
+   *
+   * @param modelIds the models that are part of the workspace
+   */
+  public void markAsLoaded(Collection<ModelId> modelIds) {
+    this.modelIds.addAll(modelIds);
+  }
+
   public XtextResourceSet getResourceSet() {
     return this.resourceSet;
   }
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.ModelNotFoundException;
+
+/**
+ * Resolves a model together with all of its direct and transitive dependencies.
+ *
+ * Every model of the dependency graph is loaded exactly once, no matter how many models reference
+ * it. The graph is loaded level by level: all references of a level that have not been loaded yet
+ * are fetched with one batch call, see {@link IModelRepositoryFactory#getByIds(Collection)}.
+ */
+public class DependencyGraphResolver {
+
+  private final Function<Collection<ModelId>, Map<ModelId, ModelInfo>> loader;
+
+  public DependencyGraphResolver(IModelRepositoryFactory repositoryFactory) {
+    this(repositoryFactory::getByIds);
+  }
+
+  /**
+   * @param loader loads the model infos for the given model IDs. Models that do not exist or
+   *        cannot be accessed are not contained in the result.
+   */
+  public DependencyGraphResolver(Function<Collection<ModelId>, Map<ModelId, ModelInfo>> loader) {
+    this.loader = loader;
+  }
+
+  /**
+   * @param modelId the root of the dependency graph
+   * @return the root and all its dependencies, sorted such that each model comes after all models
+   *         it references
+   * @throws ModelNotFoundException if the root or any of its dependencies cannot be loaded
+   */
+  public List<ModelInfo> resolve(ModelId modelId) {
+    Map<ModelId, ModelInfo> loaded = new HashMap<>();
+    Set<ModelId> unresolved = new LinkedHashSet<>();
+    Set<ModelId> visited = new HashSet<>();
+    visited.add(modelId);
+
+    Set<ModelId> level = new LinkedHashSet<>();
+    level.add(modelId);
+    while (!level.isEmpty()) {
+      Map<ModelId, ModelInfo> loadedLevel = loader.apply(level);
+      Set<ModelId> nextLevel = new LinkedHashSet<>();
+      for (ModelId id : level) {
+        ModelInfo modelInfo = loadedLevel.get(id);
+        if (modelInfo == null) {
+          unresolved.add(id);
+          continue;
+        }
+        loaded.put(id, modelInfo);
+        modelInfo.getReferences().stream().filter(visited::add).forEach(nextLevel::add);
+      }
+      level = nextLevel;
+    }
+
+    if (!unresolved.isEmpty()) {
+      throw new ModelNotFoundException(String.format("Could not resolve %s of model %s",
+          unresolved.stream().map(ModelId::getPrettyFormat).collect(Collectors.joining(", ")),
+          modelId.getPrettyFormat()));
+    }
+
+    List<ModelInfo> sorted = new ArrayList<>(loaded.size());
+    addSorted(modelId, loaded, new HashSet<>(), sorted);
+    return sorted;
+  }
+
+  private static void addSorted(ModelId modelId, Map<ModelId, ModelInfo> loaded,
+      Set<ModelId> added, List<ModelInfo> sorted) {
+    ModelInfo modelInfo = loaded.get(modelId);
+    if (modelInfo == null || !added.add(modelId)) {
+      return;
+    }
+    for (ModelId reference : modelInfo.getReferences()) {
+      addSorted(reference, loaded, added, sorted);
+    }
+    sorted.add(modelInfo);
+  }
+}
@@ -13,8 +13,10 @@
 package org.eclipse.vorto.repository.core.impl.utils;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.ModelInfo;
@@ -37,32 +39,32 @@ public class DependencyManager {
   }
 
   public List<ModelInfo> getSorted() {
-    List<ModelInfo> sorted = new ArrayList<>();
+    Map<ModelId, ModelInfo> resourcesById = new HashMap<>();
+    for (ModelInfo resource : resources) {
+      resourcesById.putIfAbsent(resource.getId(), resource);
+    }
 
+    List<ModelInfo> sorted = new ArrayList<>();
+    Set<ModelInfo> added = new HashSet<>();
     for (ModelInfo resource : resources) {
-      addResourceRecursive(resource, sorted);
+      addResourceRecursive(resource, resourcesById, added, sorted);
     }
     return sorted;
   }
 
-  private void addResourceRecursive(ModelInfo resource, List<ModelInfo> sorted) {
+  private void addResourceRecursive(ModelInfo resource, Map<ModelId, ModelInfo> resourcesById,
+      Set<ModelInfo> added, List<ModelInfo> sorted) {
+    if (added.contains(resource)) {
+      return;
+    }
     for (ModelId reference : resource.getReferences()) {
-      ModelInfo referencedResource = findResource(reference);
+      ModelInfo referencedResource = resourcesById.get(reference);
       if (referencedResource != null) {
-        addResourceRecursive(referencedResource, sorted);
+        addResourceRecursive(referencedResource, resourcesById, added, sorted);
       }
     }
-    if (!sorted.contains(resource)) {
+    if (added.add(resource)) {
       sorted.add(resource);
     }
   }
-
-  private ModelInfo findResource(final ModelId modelId) {
-    for (ModelInfo resource : this.resources) {
-      if (resource.getId().equals(modelId)) {
-        return resource;
-      }
-    }
-    return null;
-  }
 }
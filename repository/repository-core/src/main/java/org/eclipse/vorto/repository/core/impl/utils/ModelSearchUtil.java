@@ -63,6 +63,13 @@ public class ModelSearchUtil {
 
   public static final String VORTO_TYPE_FIELD = "[vorto:type]";
 
+  /**
+   * The content, target platform and references of models are not indexed by the repository, so
+   * searches by them are rejected.
+   */
+  public static final String MODEL_CONTENT_NOT_SUPPORTED =
+      "Searching by model content, target platform or references is not supported by this search";
+
   /**
    * Used to convert search query wildcards to SQL-compatible wildcards with {@code LIKE} operator.
    */
@@ -468,6 +475,9 @@ public class ModelSearchUtil {
    *   <li>
    *     {@literal searchableName}
    *   </li>
+   *   <li>
+   *     the model content, target platform and references - searches by them are rejected
+   *   </li>
    * </ul>
    * Finally, empty queries (resulting in empty {@link SearchParameters}) will build a static
    * catch-all query with no constraints.
@@ -476,9 +486,15 @@ public class ModelSearchUtil {
    * @see ModelSearchUtil#buildOrConstraint(String, Collection, String...) 
    * @param params
    * @return
+   * @throws IllegalArgumentException if the parameters contain model content criteria
    */
   public static String toJCRQuery(SearchParameters params) {
 
+    // model content is not indexed here
+    if (params.hasModelContentCriteria()) {
+      throw new IllegalArgumentException(MODEL_CONTENT_NOT_SUPPORTED);
+    }
+
     StringBuilder result = new StringBuilder();
 
     // empty search, returning query for all models
@@ -0,0 +1,245 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl.utils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import javax.annotation.PreDestroy;
+import org.apache.log4j.Logger;
+import org.eclipse.vorto.repository.core.IncompleteResultException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Runs a task for each of a number of workspaces on a bounded thread pool. The security context
+ * and request attributes of the calling thread are carried over to the pool threads.
+ *
+ * Workspaces that fail, or do not finish within the configured timeout, are reported in the
+ * {@link Result} instead of failing the whole call. Callers should use the partial results and
+ * report the missing workspaces, and only use {@link Result#getCompleteResults()} to fail where a
+ * partial answer would be wrong. The timeout applies to every workspace on its own, measured from
+ * the moment its task starts, so workspaces queued behind others for a free thread get the same
+ * time and are never given up while waiting.
+ *
+ * Tasks must not use the request scoped {@code RequestRepositorySessionHelper}, as it is not
+ * thread safe. Use repositories without session helper instead.
+ */
+@Component
+public class WorkspaceFanOut {
+
+  private static final Logger LOGGER = Logger.getLogger(WorkspaceFanOut.class);
+
+  private static final WorkspaceFanOut SEQUENTIAL = new WorkspaceFanOut(1, 0);
+
+  private final ExecutorService executor;
+
+  private final long timeoutInMillis;
+
+  /**
+   * @param parallelism maximum number of workspaces processed at the same time. With 1, all
+   *        workspaces are processed sequentially in the calling thread.
+   * @param timeoutInSeconds time after which a workspace is given up, measured from the start of
+   *        its task
+   */
+  public WorkspaceFanOut(@Value("${repo.workspaceFanOut.parallelism:#{8}}") int parallelism,
+      @Value("${repo.workspaceFanOut.timeoutInSeconds:#{30}}") long timeoutInSeconds) {
+    this.executor = parallelism > 1 ? Executors.newFixedThreadPool(parallelism,
+        new ThreadFactoryBuilder().setNameFormat("workspace-fan-out-%d").setDaemon(true).build())
+        : null;
+    this.timeoutInMillis = TimeUnit.SECONDS.toMillis(timeoutInSeconds);
+  }
+
+  /**
+   * @return a fan out that processes all workspaces sequentially in the calling thread
+   */
+  public static WorkspaceFanOut sequential() {
+    return SEQUENTIAL;
+  }
+
+  /**
+   * @return true if workspaces are processed in parallel, in which case tasks must not share
+   *         state that is not thread safe, such as a request scoped session helper
+   */
+  public boolean isParallel() {
+    return executor != null;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * @param workspaceIds the workspaces to run the task for
+   * @param task the task to run for a workspace ID
+   * @return the results of all workspaces that have been processed successfully, in the order of
+   *         the given workspaces, and the workspaces that failed or timed out
+   */
+  public <T> Result<T> execute(Collection<String> workspaceIds, Function<String, T> task) {
+    Result<T> result = new Result<>();
+    if (executor == null || workspaceIds.size() <= 1) {
+      for (String workspaceId : workspaceIds) {
+        try {
+          result.results.put(workspaceId, task.apply(workspaceId));
+        } catch (RuntimeException e) {
+          result.failures.put(workspaceId, e);
+        }
+      }
+      return result.log();
+    }
+
+    SecurityContext securityContext = SecurityContextHolder.getContext();
+    RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+
+    Map<String, Future<T>> futures = new LinkedHashMap<>();
+    Map<String, AtomicLong> startTimes = new LinkedHashMap<>();
+    for (String workspaceId : workspaceIds) {
+      AtomicLong startTime = new AtomicLong();
+      startTimes.put(workspaceId, startTime);
+      futures.put(workspaceId, executor.submit(() -> {
+        startTime.set(System.currentTimeMillis());
+        SecurityContextHolder.setContext(securityContext);
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        try {
+          return task.apply(workspaceId);
+        } finally {
+          SecurityContextHolder.clearContext();
+          RequestContextHolder.resetRequestAttributes();
+        }
+      }));
+    }
+
+    boolean interrupted = false;
+    for (Map.Entry<String, Future<T>> entry : futures.entrySet()) {
+      Future<T> future = entry.getValue();
+      try {
+        if (interrupted) {
+          throw new TimeoutException();
+        }
+        result.results.put(entry.getKey(),
+            await(future, startTimes.get(entry.getKey())));
+      } catch (ExecutionException e) {
+        result.failures.put(entry.getKey(), e.getCause());
+      } catch (TimeoutException e) {
+        future.cancel(true);
+        result.timedOut.add(entry.getKey());
+      } catch (InterruptedException e) {
+        future.cancel(true);
+        result.timedOut.add(entry.getKey());
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    return result.log();
+  }
+
+  /**
+   * Waits for a task to start, however long it is queued, and then until it has run for the
+   * timeout.
+   */
+  private <T> T await(Future<T> future, AtomicLong startTime)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    while (true) {
+      long started = startTime.get();
+      if (started != 0) {
+        return future.get(Math.max(0, started + timeoutInMillis - System.currentTimeMillis()),
+            TimeUnit.MILLISECONDS);
+      }
+      if (executor.isShutdown()) {
+        // queued tasks are never started after a shutdown
+        throw new TimeoutException();
+      }
+      try {
+        return future.get(Math.max(1, timeoutInMillis), TimeUnit.MILLISECONDS);
+      } catch (TimeoutException e) {
+        // still queued, or started while waiting and has time left
+      }
+    }
+  }
+
+  public static class Result<T> {
+    private final Map<String, T> results = new LinkedHashMap<>();
+    private final Map<String, Throwable> failures = new LinkedHashMap<>();
+    private final Set<String> timedOut = new LinkedHashSet<>();
+
+    public Map<String, T> getResults() {
+      return Collections.unmodifiableMap(results);
+    }
+
+    public Map<String, Throwable> getFailures() {
+      return Collections.unmodifiableMap(failures);
+    }
+
+    public Set<String> getTimedOut() {
+      return Collections.unmodifiableSet(timedOut);
+    }
+
+    /**
+     * @return the workspaces that failed or timed out, and are missing in the results
+     */
+    public Set<String> getIncomplete() {
+      Set<String> incomplete = new LinkedHashSet<>(failures.keySet());
+      incomplete.addAll(timedOut);
+      return Collections.unmodifiableSet(incomplete);
+    }
+
+    /**
+     * @return the results of all workspaces, in the order of the given workspaces
+     * @throws IncompleteResultException if a workspace failed or timed out
+     */
+    public Map<String, T> getCompleteResults() {
+      if (!isComplete()) {
+        throw new IncompleteResultException(getIncomplete(),
+            failures.isEmpty() ? null : failures.values().iterator().next());
+      }
+      return getResults();
+    }
+
+    /**
+     * @return true if all workspaces have been processed successfully
+     */
+    public boolean isComplete() {
+      return failures.isEmpty() && timedOut.isEmpty();
+    }
+
+    private Result<T> log() {
+      failures.forEach((workspaceId, e) -> LOGGER
+          .warn(String.format("Workspace [%s] failed", workspaceId), e));
+      if (!timedOut.isEmpty()) {
+        LOGGER.warn(String.format("Workspaces %s timed out", timedOut));
+      }
+      return this;
+    }
+  }
+}
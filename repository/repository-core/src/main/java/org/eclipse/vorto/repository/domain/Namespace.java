@@ -17,6 +17,7 @@ import org.eclipse.vorto.repository.utils.NamespaceUtils;
 import org.hibernate.annotations.NaturalId;
 
 import javax.persistence.*;
+import java.util.Objects;
 
 @Entity
 @Table(name = "namespace", indexes = {
@@ -73,4 +74,30 @@ public class Namespace {
     return NamespaceUtils.in(namespace, NamespaceUtils.components(getName())) || NamespaceUtils.in(getName(), NamespaceUtils.components(namespace));
   }
 
+  /**
+   * Equality only inferred by the natural ID, i.e. the name, so that namespaces loaded by different
+   * sessions or cached across requests are equal.
+   * @param o
+   * @return
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    Namespace that = (Namespace) o;
+    return Objects.equals(name, that.name);
+  }
+
+  /**
+   * Hash only inferred by the natural ID, i.e. the name.
+   * @return
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(name);
+  }
 }
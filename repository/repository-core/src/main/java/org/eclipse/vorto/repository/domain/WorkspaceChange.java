@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.domain;
+
+import java.sql.Timestamp;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+/**
+ * The time of the last change of the models of a workspace, used to find the namespaces an
+ * incremental backup has to contain.
+ */
+@Entity
+@Table(name = "workspace_change", indexes = {
+    @Index(name = "idx_workspace_change_changed_on", columnList = "changed_on")
+})
+public class WorkspaceChange {
+
+  @Id
+  @Column(name = "workspace_id")
+  private String workspaceId;
+
+  @Column(name = "changed_on", nullable = false)
+  private Timestamp changedOn;
+
+  /**
+   * Required for JPA
+   */
+  public WorkspaceChange() {
+
+  }
+
+  public WorkspaceChange(String workspaceId, Timestamp changedOn) {
+    this.workspaceId = workspaceId;
+    this.changedOn = changedOn;
+  }
+
+  public String getWorkspaceId() {
+    return workspaceId;
+  }
+
+  public void setWorkspaceId(String workspaceId) {
+    this.workspaceId = workspaceId;
+  }
+
+  public Timestamp getChangedOn() {
+    return changedOn;
+  }
+
+  public void setChangedOn(Timestamp changedOn) {
+    this.changedOn = changedOn;
+  }
+}
@@ -13,9 +13,7 @@
 package org.eclipse.vorto.repository.mapping.impl;
 
 import java.io.ByteArrayInputStream;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -39,6 +37,7 @@ import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.model.ModelProperty;
 import org.eclipse.vorto.model.Stereotype;
 import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.repository.conversion.ModelContentCache;
 import org.eclipse.vorto.repository.conversion.ModelIdToModelContentConverter;
 import org.eclipse.vorto.repository.core.FileContent;
 import org.eclipse.vorto.repository.core.IModelRepository;
@@ -46,7 +45,7 @@ import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.ModelNotFoundException;
-import org.eclipse.vorto.repository.core.impl.utils.DependencyManager;
+import org.eclipse.vorto.repository.core.impl.utils.DependencyGraphResolver;
 import org.eclipse.vorto.repository.mapping.IPayloadMappingService;
 import org.eclipse.vorto.repository.utils.ModelUtils;
 import org.eclipse.vorto.repository.web.core.ModelDtoFactory;
@@ -75,6 +74,9 @@ public class DefaultPayloadMappingService implements IPayloadMappingService {
   @Autowired
   private IWorkflowService workflowService;
 
+  @Autowired(required = false)
+  private ModelContentCache modelContentCache;
+
   private static final Logger LOGGER = Logger.getLogger(DefaultPayloadMappingService.class);
 
   public DefaultPayloadMappingService() {
@@ -108,7 +110,7 @@ public class DefaultPayloadMappingService implements IPayloadMappingService {
 
   private ModelContent getModelContent(ModelId modelId, String targetPlatformKey) {
     ModelIdToModelContentConverter converter = new ModelIdToModelContentConverter(
-        this.modelRepositoryFactory);
+        this.modelRepositoryFactory, modelContentCache);
     return converter.convert(modelId, Optional.of(targetPlatformKey));
   }
 
@@ -223,11 +225,10 @@ public class DefaultPayloadMappingService implements IPayloadMappingService {
   }
 
   private IModelWorkspace getWorkspaceForModel(final ModelId modelId) {
-    List<ModelInfo> allModels = getModelWithAllDependencies(modelId);
-    DependencyManager dm = new DependencyManager(new HashSet<>(allModels));
-    allModels = dm.getSorted();
+    List<ModelInfo> allModels =
+        new DependencyGraphResolver(this.modelRepositoryFactory).resolve(modelId);
 
-    ModelWorkspaceReader workspaceReader = IModelWorkspace.newReader();
+    ModelWorkspaceReader workspaceReader = IModelWorkspace.newReader().cached();
     for (ModelInfo model : allModels) {
       FileContent modelContent = this.modelRepositoryFactory.getRepositoryByModel(model.getId())
           .getFileContent(model.getId(), Optional.of(model.getFileName())).get();
@@ -237,21 +238,6 @@ public class DefaultPayloadMappingService implements IPayloadMappingService {
     return workspaceReader.read();
   }
 
-
-  private List<ModelInfo> getModelWithAllDependencies(ModelId modelId) {
-    List<ModelInfo> modelInfos = new ArrayList<>();
-
-    ModelInfo modelResource = this.modelRepositoryFactory.getRepositoryByModel(modelId)
-        .getById(modelId);
-    modelInfos.add(modelResource);
-
-    for (ModelId reference : modelResource.getReferences()) {
-      modelInfos.addAll(getModelWithAllDependencies(reference));
-    }
-
-    return modelInfos;
-  }
-
   private boolean mappingMatchesModelId(MappingModel mappingModel, ModelInfo modelToMatchAgainst) {
     return mappingModel.getReferences().stream().filter(
         reference -> ModelId.fromReference(reference.getImportedNamespace(), reference.getVersion())
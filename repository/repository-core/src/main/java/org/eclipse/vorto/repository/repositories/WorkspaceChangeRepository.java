@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.repositories;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import org.eclipse.vorto.repository.domain.WorkspaceChange;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Holds the time of the last change of each workspace, see {@link WorkspaceChange}.
+ */
+@Repository
+public interface WorkspaceChangeRepository extends CrudRepository<WorkspaceChange, String> {
+
+  Collection<WorkspaceChange> findByChangedOnAfter(Timestamp changedOn);
+}
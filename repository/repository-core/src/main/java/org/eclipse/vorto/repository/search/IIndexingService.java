@@ -12,6 +12,7 @@
  */
 package org.eclipse.vorto.repository.search;
 
+import java.util.List;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.ModelInfo;
 
@@ -26,13 +27,18 @@ public interface IIndexingService {
 
   /**
    * Forces re-indexing all models including new mappings.<br/>
-   * Only implemented for Elastic Search - <b>warning</b>: destructive operation. <br/>
-   * When simple search is in use, this is equivalent to {@link IIndexingService#reindexAllModels()}
-   * (which does nothing with simple search either, at the time of writing).
+   * As Elastic Search reindexes into a new index created with the current mappings, this is
+   * equivalent to {@link IIndexingService#reindexAllModels()} for all implementations (which does
+   * nothing with simple search, at the time of writing).
    * @return a result of how many tenants, and how many models per tenant were indexed
    */
   IndexingResult forceReindexAllModels();
 
+  /**
+   * @return the progress of the running or the last reindex
+   */
+  IndexingProgress getReindexProgress();
+
   /**
    * Indexes the given model with the given workspaceId
    * 
@@ -61,5 +67,17 @@ public interface IIndexingService {
    * @param workspaceId the owning tenant
    */
   void deleteIndexForWorkspace(String workspaceId);
+
+  /**
+   * Applies the given index changes in a single request, without waiting for them to become
+   * searchable
+   * 
+   * @param operations the changes, at most one per model
+   * @return the operations that failed temporarily, e.g. because the index is overloaded, and
+   *         can be retried
+   * @throws IndexingException if the index cannot be reached, in which case all operations can
+   *         be retried
+   */
+  List<IndexingOperation> bulkIndex(List<IndexingOperation> operations);
   
 }
@@ -13,6 +13,7 @@
 package org.eclipse.vorto.repository.search;
 
 import java.util.List;
+import java.util.Set;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.springframework.security.core.Authentication;
@@ -45,4 +46,18 @@ public interface ISearchService {
    * @return
    */
   List<ModelInfo> search(String searchExpression, Authentication auth);
+
+  /**
+   * Searches all public models or models for which the calling user is member/collaborator of,
+   * returning a single page of the results, newest models first.
+   *
+   * @param searchExpression The search expression
+   * @param pageSize The maximum number of models of the page, up to
+   *        {@link SearchPaging#MAX_PAGE_SIZE}
+   * @param cursor The cursor of the previous page, or null for the first page
+   * @param fields The model properties to return, see {@link SearchPaging#PROJECTABLE_FIELDS}, or
+   *        empty for all
+   * @return the page of models matching the search expression
+   */
+  SearchPage search(String searchExpression, int pageSize, String cursor, Set<String> fields);
 }
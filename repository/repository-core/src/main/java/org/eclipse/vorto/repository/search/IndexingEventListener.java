@@ -20,17 +20,32 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationListener;
 import org.springframework.stereotype.Component;
 
+/**
+ * Keeps the index in line with the model changes. When an {@link IndexingQueue} is available, the
+ * changes are queued and applied asynchronously in bulk, otherwise they are applied right away.
+ */
 @Component
 public class IndexingEventListener implements ApplicationListener<AppEvent>  {
   
   private IIndexingService indexingService;
+
+  private IndexingQueue indexingQueue;
   
   public IndexingEventListener(@Autowired IIndexingService indexingService) {
     this.indexingService = indexingService;
   }
 
+  @Autowired(required = false)
+  public void setIndexingQueue(IndexingQueue indexingQueue) {
+    this.indexingQueue = indexingQueue;
+  }
+
   @Override
   public void onApplicationEvent(AppEvent event) {
+    if (indexingQueue != null) {
+      enqueue(event);
+      return;
+    }
     if (event.getEventType() == EventType.MODEL_CREATED) {
       ModelInfo modelInfo = (ModelInfo) event.getSubject();
       indexingService.indexModel(modelInfo, event.getUserContext().getWorkspaceId());
@@ -45,4 +60,18 @@ public class IndexingEventListener implements ApplicationListener<AppEvent>  {
     }
   }
 
+  private void enqueue(AppEvent event) {
+    if (event.getEventType() == EventType.MODEL_CREATED) {
+      ModelInfo modelInfo = (ModelInfo) event.getSubject();
+      indexingQueue.enqueue(
+          IndexingOperation.index(modelInfo, event.getUserContext().getWorkspaceId()));
+    } else if (event.getEventType() == EventType.MODEL_UPDATED) {
+      indexingQueue.enqueue(IndexingOperation.update((ModelInfo) event.getSubject()));
+    } else if (event.getEventType() == EventType.MODEL_DELETED) {
+      indexingQueue.enqueue(IndexingOperation.delete((ModelId) event.getSubject()));
+    } else if (event.getEventType() == EventType.NAMESPACE_DELETED) {
+      indexingQueue.enqueueWorkspaceDeletion(event.getUserContext().getWorkspaceId());
+    }
+  }
+
 }
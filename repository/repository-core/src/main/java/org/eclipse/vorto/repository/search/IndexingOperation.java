@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.ModelInfo;
+
+/**
+ * A pending change of the index for a single model.
+ */
+public class IndexingOperation {
+
+  public enum Type {
+    /**
+     * Indexes the whole model, see {@link IIndexingService#indexModel(ModelInfo, String)}
+     */
+    INDEX,
+    /**
+     * Updates the indexed fields of the model, see {@link IIndexingService#updateIndex(ModelInfo)}
+     */
+    UPDATE,
+    /**
+     * Removes the model from the index, see {@link IIndexingService#deleteIndex(ModelId)}
+     */
+    DELETE
+  }
+
+  private final Type type;
+  private final ModelId modelId;
+  private final ModelInfo modelInfo;
+  private final String workspaceId;
+
+  private IndexingOperation(Type type, ModelId modelId, ModelInfo modelInfo, String workspaceId) {
+    this.type = type;
+    this.modelId = modelId;
+    this.modelInfo = modelInfo;
+    this.workspaceId = workspaceId;
+  }
+
+  public static IndexingOperation index(ModelInfo modelInfo, String workspaceId) {
+    return new IndexingOperation(Type.INDEX, modelInfo.getId(), modelInfo, workspaceId);
+  }
+
+  public static IndexingOperation update(ModelInfo modelInfo) {
+    return new IndexingOperation(Type.UPDATE, modelInfo.getId(), modelInfo, null);
+  }
+
+  public static IndexingOperation delete(ModelId modelId) {
+    return new IndexingOperation(Type.DELETE, modelId, null, null);
+  }
+
+  /**
+   * @param next an operation for the same model that happened after this one
+   * @return a single operation with the same outcome as this operation followed by the next one
+   */
+  public IndexingOperation merge(IndexingOperation next) {
+    // an update of a model that is yet to be indexed still has to index the whole model
+    if (next.type == Type.UPDATE && type == Type.INDEX) {
+      return new IndexingOperation(Type.INDEX, modelId, next.modelInfo, workspaceId);
+    }
+    return next;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public ModelId getModelId() {
+    return modelId;
+  }
+
+  /**
+   * @return the model to index or update, null for {@link Type#DELETE}
+   */
+  public ModelInfo getModelInfo() {
+    return modelInfo;
+  }
+
+  /**
+   * @return the workspace of the model to index, null for other types
+   */
+  public String getWorkspaceId() {
+    return workspaceId;
+  }
+
+  @Override
+  public String toString() {
+    return type + " " + modelId.getPrettyFormat();
+  }
+}
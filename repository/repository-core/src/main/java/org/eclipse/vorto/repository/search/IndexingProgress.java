@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a reindex of all models, which is updated while the reindex runs.
+ */
+public class IndexingProgress {
+
+  private volatile boolean running;
+  private final Date startedAt;
+  private volatile Date finishedAt;
+  private final int numberOfNamespaces;
+  private final AtomicInteger indexedNamespaces = new AtomicInteger();
+  private volatile String currentNamespace;
+  private final AtomicLong readModels = new AtomicLong();
+  private final AtomicLong indexedModels = new AtomicLong();
+  private final AtomicLong failedModels = new AtomicLong();
+  private volatile String error;
+
+  /**
+   * Creates the progress of a reindex that has not been started
+   */
+  public IndexingProgress() {
+    this.startedAt = null;
+    this.numberOfNamespaces = 0;
+  }
+
+  /**
+   * Creates the progress of a reindex that starts now
+   *
+   * @param numberOfNamespaces the number of namespaces to be reindexed
+   */
+  public IndexingProgress(int numberOfNamespaces) {
+    this.running = true;
+    this.startedAt = new Date();
+    this.numberOfNamespaces = numberOfNamespaces;
+  }
+
+  public void startNamespace(String namespace) {
+    this.currentNamespace = namespace;
+  }
+
+  public void finishNamespace() {
+    this.currentNamespace = null;
+    this.indexedNamespaces.incrementAndGet();
+  }
+
+  public void addReadModels(long count) {
+    readModels.addAndGet(count);
+  }
+
+  public void addIndexedModels(long count) {
+    indexedModels.addAndGet(count);
+  }
+
+  public void addFailedModels(long count) {
+    failedModels.addAndGet(count);
+  }
+
+  /**
+   * @param error the reason the reindex has failed, null if it has completed
+   */
+  public void finish(String error) {
+    this.error = error;
+    this.finishedAt = new Date();
+    this.currentNamespace = null;
+    this.running = false;
+  }
+
+  public boolean isRunning() {
+    return running;
+  }
+
+  public Date getStartedAt() {
+    return startedAt;
+  }
+
+  public Date getFinishedAt() {
+    return finishedAt;
+  }
+
+  public int getNumberOfNamespaces() {
+    return numberOfNamespaces;
+  }
+
+  public int getNumberOfIndexedNamespaces() {
+    return indexedNamespaces.get();
+  }
+
+  public String getCurrentNamespace() {
+    return currentNamespace;
+  }
+
+  /**
+   * @return the number of models read from the repository and sent to the index so far
+   */
+  public long getNumberOfReadModels() {
+    return readModels.get();
+  }
+
+  /**
+   * @return the number of models the index has confirmed so far
+   */
+  public long getNumberOfIndexedModels() {
+    return indexedModels.get();
+  }
+
+  public long getNumberOfFailedModels() {
+    return failedModels.get();
+  }
+
+  public String getError() {
+    return error;
+  }
+}
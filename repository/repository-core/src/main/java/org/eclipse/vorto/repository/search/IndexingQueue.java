@@ -0,0 +1,359 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import org.apache.log4j.Logger;
+import org.eclipse.vorto.model.ModelId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Queue of index changes, which are applied asynchronously in bulk, so that changing a model does
+ * not wait for the index. <br/>
+ * Changes of the same model are coalesced while they wait in the queue. The queue is flushed by a
+ * single background thread, as soon as a batch is full or the flush interval has passed. Batches
+ * that fail are retried with an exponential backoff, and given up after the configured number of
+ * retries. Workspaces are removed from the index only after the changes queued before that might
+ * belong to the workspace have been applied, and removals that fail are retried the same way. As
+ * only new models carry their workspace, updates and deletions queued before are awaited whatever
+ * their workspace. <br/>
+ * Counts and the lag of the oldest queued change are published as actuator metrics with the prefix
+ * {@literal indexing.}.
+ */
+@Component
+public class IndexingQueue implements PublicMetrics {
+
+  private static final Logger LOGGER = Logger.getLogger(IndexingQueue.class);
+
+  private static final long MAX_BACKOFF_IN_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  private static final long SHUTDOWN_TIMEOUT_IN_SECONDS = 30;
+
+  private final IIndexingService indexingService;
+
+  private final int batchSize;
+  private final int maxRetries;
+  private final long retryBackoffInMillis;
+
+  private final Object lock = new Object();
+  private final Map<ModelId, QueuedOperation> pending = new LinkedHashMap<>();
+  // the sequence number at which each workspace has been deleted
+  private final Map<String, Long> deletedWorkspaces = new LinkedHashMap<>();
+  private long sequence = 0;
+
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder().setNameFormat("indexing-queue-%d").setDaemon(true).build());
+  private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+  private int failedAttempts = 0;
+  private long retryNotBefore = 0;
+
+  private final AtomicLong queued = new AtomicLong();
+  private final AtomicLong coalesced = new AtomicLong();
+  private final AtomicLong flushed = new AtomicLong();
+  private final AtomicLong retried = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+
+  @Autowired
+  public IndexingQueue(IIndexingService indexingService,
+      @Value("${repo.indexingQueue.batchSize:#{500}}") int batchSize,
+      @Value("${repo.indexingQueue.flushIntervalInMillis:#{1000}}") long flushIntervalInMillis,
+      @Value("${repo.indexingQueue.maxRetries:#{5}}") int maxRetries,
+      @Value("${repo.indexingQueue.retryBackoffInMillis:#{1000}}") long retryBackoffInMillis) {
+    this.indexingService = indexingService;
+    this.batchSize = batchSize;
+    this.maxRetries = maxRetries;
+    this.retryBackoffInMillis = retryBackoffInMillis;
+    this.executor.scheduleWithFixedDelay(this::flushSafely, flushIntervalInMillis,
+        flushIntervalInMillis, TimeUnit.MILLISECONDS);
+  }
+
+  public void enqueue(IndexingOperation operation) {
+    int size;
+    synchronized (lock) {
+      queued.incrementAndGet();
+      QueuedOperation existing = pending.get(operation.getModelId());
+      if (existing != null) {
+        coalesced.incrementAndGet();
+        existing.operation = existing.operation.merge(operation);
+      } else {
+        pending.put(operation.getModelId(), new QueuedOperation(operation, ++sequence));
+      }
+      size = pending.size();
+    }
+    if (size >= batchSize) {
+      requestFlush();
+    }
+  }
+
+  /**
+   * Removes all models of the workspace from the index, once the changes queued so far that might
+   * belong to the workspace have been applied.
+   */
+  public void enqueueWorkspaceDeletion(String workspaceId) {
+    synchronized (lock) {
+      deletedWorkspaces.remove(workspaceId);
+      deletedWorkspaces.put(workspaceId, ++sequence);
+    }
+    requestFlush();
+  }
+
+  /**
+   * Applies all queued changes in the calling thread, e.g. before shutting down. A flush still
+   * running in the background is awaited first, so that changes are not applied concurrently.
+   */
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+    try {
+      if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)) {
+        LOGGER.warn("Background flush of the indexing queue did not stop, skipping final flush");
+        return;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    synchronized (lock) {
+      retryNotBefore = 0;
+    }
+    while (flushSafely()) {
+      // flushing until the queue is empty or a batch fails
+    }
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    Collection<Metric<?>> metrics = new ArrayList<>();
+    synchronized (lock) {
+      long now = System.currentTimeMillis();
+      Iterator<QueuedOperation> oldest = pending.values().iterator();
+      metrics.add(new Metric<>("indexing.pending", pending.size()));
+      metrics.add(
+          new Metric<>("indexing.lagInMillis", oldest.hasNext() ? now - oldest.next().queuedAt : 0));
+    }
+    metrics.add(new Metric<>("indexing.queued", queued.get()));
+    metrics.add(new Metric<>("indexing.coalesced", coalesced.get()));
+    metrics.add(new Metric<>("indexing.flushed", flushed.get()));
+    metrics.add(new Metric<>("indexing.retried", retried.get()));
+    metrics.add(new Metric<>("indexing.dropped", dropped.get()));
+    return metrics;
+  }
+
+  private void requestFlush() {
+    if (flushRequested.compareAndSet(false, true)) {
+      try {
+        executor.execute(() -> {
+          flushRequested.set(false);
+          while (flushSafely()) {
+            // flushing full batches until the queue has caught up
+          }
+        });
+      } catch (RuntimeException e) {
+        // rejected on shutdown, which flushes anyway
+        flushRequested.set(false);
+      }
+    }
+  }
+
+  /**
+   * @return true if a batch has been applied successfully and there might be more to flush
+   */
+  private boolean flushSafely() {
+    try {
+      return flush();
+    } catch (RuntimeException e) {
+      LOGGER.error("Unexpected error while flushing the indexing queue", e);
+      return false;
+    }
+  }
+
+  private boolean flush() {
+    List<QueuedOperation> batch = new ArrayList<>();
+    Map<String, Long> workspaces = new LinkedHashMap<>();
+    synchronized (lock) {
+      if (System.currentTimeMillis() < retryNotBefore) {
+        return false;
+      }
+      Iterator<QueuedOperation> iterator = pending.values().iterator();
+      while (iterator.hasNext() && batch.size() < batchSize) {
+        batch.add(iterator.next());
+        iterator.remove();
+      }
+      // workspaces are only removed once the changes queued before have been applied, the ones
+      // in the batch are applied right before
+      Iterator<Map.Entry<String, Long>> deleted = deletedWorkspaces.entrySet().iterator();
+      while (deleted.hasNext()) {
+        Map.Entry<String, Long> workspace = deleted.next();
+        if (!hasPendingBefore(workspace.getKey(), workspace.getValue())) {
+          workspaces.put(workspace.getKey(), workspace.getValue());
+          deleted.remove();
+        }
+      }
+    }
+    if (batch.isEmpty() && workspaces.isEmpty()) {
+      return false;
+    }
+
+    List<IndexingOperation> failed = apply(batch);
+    List<QueuedOperation> failedBatch = new ArrayList<>();
+    batch.stream().filter(queuedOperation -> failed.stream().anyMatch(operation -> operation
+        .getModelId().equals(queuedOperation.operation.getModelId()))).forEach(failedBatch::add);
+    Map<String, Long> blockedWorkspaces = new LinkedHashMap<>();
+    Map<String, Long> failedWorkspaces = new LinkedHashMap<>();
+    workspaces.forEach((workspaceId, deletedAt) -> {
+      // the failed changes are applied again later, and might add models of the workspace
+      if (failedBatch.stream().anyMatch(queuedOperation -> queuedOperation
+          .mightPrecede(workspaceId, deletedAt))) {
+        blockedWorkspaces.put(workspaceId, deletedAt);
+        return;
+      }
+      try {
+        indexingService.deleteIndexForWorkspace(workspaceId);
+      } catch (RuntimeException e) {
+        LOGGER.warn(String.format("Cannot remove workspace [%s] from the index", workspaceId), e);
+        failedWorkspaces.put(workspaceId, deletedAt);
+      }
+    });
+
+    synchronized (lock) {
+      requeueWorkspaces(blockedWorkspaces);
+      if (failed.isEmpty() && failedWorkspaces.isEmpty()) {
+        failedAttempts = 0;
+        return hasPending();
+      }
+      failedAttempts++;
+      if (failedAttempts > maxRetries) {
+        LOGGER.error(String.format("Giving up indexing %s and removing workspaces %s after %d "
+            + "attempts", failed, failedWorkspaces.keySet(), failedAttempts));
+        dropped.addAndGet(failed.size() + failedWorkspaces.size());
+        failedAttempts = 0;
+        return hasPending();
+      }
+      retried.addAndGet(failed.size() + failedWorkspaces.size());
+      requeue(batch, failed);
+      requeueWorkspaces(failedWorkspaces);
+      long backoff = Math.min(retryBackoffInMillis << Math.min(failedAttempts - 1, 16),
+          MAX_BACKOFF_IN_MILLIS);
+      retryNotBefore = System.currentTimeMillis() + backoff;
+      LOGGER.warn(String.format("Indexing of %d models or removing of %d workspaces failed, "
+          + "retrying in %d ms", failed.size(), failedWorkspaces.size(), backoff));
+      return false;
+    }
+  }
+
+  /**
+   * Must be called while holding the lock.
+   */
+  private boolean hasPending() {
+    return !pending.isEmpty() || !deletedWorkspaces.isEmpty();
+  }
+
+  /**
+   * Must be called while holding the lock.
+   *
+   * @return true if a change queued before the given sequence number might belong to the workspace
+   */
+  private boolean hasPendingBefore(String workspaceId, long deletedAt) {
+    return pending.values().stream()
+        .anyMatch(queuedOperation -> queuedOperation.mightPrecede(workspaceId, deletedAt));
+  }
+
+  /**
+   * Puts the workspaces back in front of the workspaces to delete, unless they have been deleted
+   * again in the meantime. Must be called while holding the lock.
+   */
+  private void requeueWorkspaces(Map<String, Long> workspaces) {
+    if (workspaces.isEmpty()) {
+      return;
+    }
+    Map<String, Long> requeued = new LinkedHashMap<>(workspaces);
+    requeued.putAll(deletedWorkspaces);
+    deletedWorkspaces.clear();
+    deletedWorkspaces.putAll(requeued);
+  }
+
+  private List<IndexingOperation> apply(List<QueuedOperation> batch) {
+    if (batch.isEmpty()) {
+      return new ArrayList<>();
+    }
+    List<IndexingOperation> operations = new ArrayList<>();
+    batch.forEach(queuedOperation -> operations.add(queuedOperation.operation));
+    try {
+      List<IndexingOperation> failed = indexingService.bulkIndex(operations);
+      flushed.addAndGet(operations.size() - failed.size());
+      return failed;
+    } catch (RuntimeException e) {
+      LOGGER.warn("Cannot apply batch of index changes", e);
+      return operations;
+    }
+  }
+
+  /**
+   * Puts the failed operations back in front of the queue, merged with the changes of the same
+   * models that have been queued in the meantime. Must be called while holding the lock.
+   */
+  private void requeue(List<QueuedOperation> batch, List<IndexingOperation> failed) {
+    Map<ModelId, QueuedOperation> requeued = new LinkedHashMap<>();
+    for (QueuedOperation queuedOperation : batch) {
+      for (IndexingOperation operation : failed) {
+        if (operation.getModelId().equals(queuedOperation.operation.getModelId())) {
+          QueuedOperation newer = pending.remove(operation.getModelId());
+          queuedOperation.operation =
+              newer != null ? operation.merge(newer.operation) : operation;
+          requeued.put(operation.getModelId(), queuedOperation);
+        }
+      }
+    }
+    requeued.putAll(pending);
+    pending.clear();
+    pending.putAll(requeued);
+  }
+
+  private static class QueuedOperation {
+    private IndexingOperation operation;
+    private final long queuedAt = System.currentTimeMillis();
+    // the sequence number at which the first of the coalesced changes has been queued
+    private final long sequence;
+
+    private QueuedOperation(IndexingOperation operation, long sequence) {
+      this.operation = operation;
+      this.sequence = sequence;
+    }
+
+    /**
+     * @return true if the change has been queued before the given sequence number, and might
+     *         belong to the workspace
+     */
+    private boolean mightPrecede(String workspaceId, long deletedAt) {
+      return sequence < deletedAt && (operation.getWorkspaceId() == null
+          || operation.getWorkspaceId().equals(workspaceId));
+    }
+  }
+}
@@ -12,12 +12,16 @@
  */
 package org.eclipse.vorto.repository.search;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class IndexingResult {
   private Map<String, Integer> indexedNamespaces = new HashMap<>();
 
+  private List<String> failedModels = new ArrayList<>();
+
   public Map<String, Integer> getIndexedNamespaces() {
     return indexedNamespaces;
   }
@@ -37,4 +41,23 @@ public class IndexingResult {
   public void addIndexedNamespace(String namespace, int numModels) {
     indexedNamespaces.put(namespace, numModels);
   }
+
+  /**
+   * @return the IDs of the models that could not be indexed, and are not counted as indexed
+   */
+  public List<String> getFailedModels() {
+    return failedModels;
+  }
+
+  public int getNumberOfFailedModels() {
+    return failedModels.size();
+  }
+
+  public void setFailedModels(List<String> failedModels) {
+    this.failedModels = failedModels;
+  }
+
+  public void addFailedModel(String modelId) {
+    failedModels.add(modelId);
+  }
 }
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.vorto.repository.core.ModelInfo;
+
+/**
+ * A page of search results, newest models first.
+ */
+public class SearchPage {
+
+  private List<ModelInfo> models = new ArrayList<>();
+
+  private String nextCursor;
+
+  public SearchPage() {
+  }
+
+  public SearchPage(List<ModelInfo> models, String nextCursor) {
+    this.models = models;
+    this.nextCursor = nextCursor;
+  }
+
+  public List<ModelInfo> getModels() {
+    return models;
+  }
+
+  public void setModels(List<ModelInfo> models) {
+    this.models = models;
+  }
+
+  /**
+   * @return the cursor to pass in order to get the next page, or null if this is the last page
+   */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+}
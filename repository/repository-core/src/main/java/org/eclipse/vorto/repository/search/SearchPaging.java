@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.ModelInfo;
+
+/**
+ * Paging and projection of search results, shared by the {@link ISearchService} implementations.
+ * <br/>
+ * Results are sorted by creation date, newest first, and by model ID. A cursor holds the creation
+ * date and model ID of the last model of a page, so that the next page starts right after it,
+ * regardless of models created in the meantime.
+ */
+public final class SearchPaging {
+
+  public static final int MAX_PAGE_SIZE = 1000;
+
+  public static final String ID = "id";
+  public static final String TYPE = "type";
+  public static final String STATE = "state";
+  public static final String VISIBILITY = "visibility";
+  public static final String AUTHOR = "author";
+  public static final String DESCRIPTION = "description";
+  public static final String DISPLAY_NAME = "displayName";
+  public static final String HAS_IMAGE = "hasImage";
+  public static final String CREATION_DATE = "creationDate";
+
+  /**
+   * The model properties that can be selected for the results. The ID and creation date are always
+   * included.
+   */
+  public static final Set<String> PROJECTABLE_FIELDS = Collections.unmodifiableSet(
+      new HashSet<>(Arrays.asList(ID, TYPE, STATE, VISIBILITY, AUTHOR, DESCRIPTION, DISPLAY_NAME,
+          HAS_IMAGE, CREATION_DATE)));
+
+  public static final Comparator<ModelInfo> NEWEST_FIRST =
+      Comparator.comparingLong(SearchPaging::creationTime).reversed()
+          .thenComparing(model -> model.getId().getPrettyFormat());
+
+  private SearchPaging() {
+  }
+
+  /**
+   * Pages through a complete list of results, for implementations that cannot page natively.
+   */
+  public static SearchPage page(List<ModelInfo> results, int pageSize, String cursor,
+      Set<String> fields) {
+    checkPageSize(pageSize);
+    checkFields(fields);
+    Cursor after = cursor != null ? Cursor.decode(cursor) : null;
+    List<ModelInfo> page = results.stream().sorted(NEWEST_FIRST)
+        .filter(model -> after == null || after.isBefore(model)).limit(pageSize + 1L)
+        .collect(Collectors.toList());
+    return toPage(page, pageSize, fields);
+  }
+
+  /**
+   * @param results the results of the page, plus the first result of the next page if there is
+   *        one
+   */
+  public static SearchPage toPage(List<ModelInfo> results, int pageSize, Set<String> fields) {
+    boolean hasNext = results.size() > pageSize;
+    List<ModelInfo> models = results.stream().limit(pageSize)
+        .map(model -> project(model, fields)).collect(Collectors.toList());
+    return new SearchPage(models,
+        hasNext ? Cursor.of(models.get(models.size() - 1)).encode() : null);
+  }
+
+  public static void checkPageSize(int pageSize) {
+    if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException(
+          String.format("Page size must be between 1 and %d", MAX_PAGE_SIZE));
+    }
+  }
+
+  public static void checkFields(Set<String> fields) {
+    if (fields != null && !PROJECTABLE_FIELDS.containsAll(fields)) {
+      throw new IllegalArgumentException(
+          String.format("Fields must be any of %s", PROJECTABLE_FIELDS));
+    }
+  }
+
+  /**
+   * @return a copy of the model with the given fields only, or the model itself if no fields are
+   *         given
+   */
+  public static ModelInfo project(ModelInfo model, Set<String> fields) {
+    if (fields == null || fields.isEmpty()) {
+      return model;
+    }
+    ModelInfo projection = new ModelInfo();
+    projection.setId(model.getId());
+    projection.setCreationDate(model.getCreationDate());
+    if (fields.contains(TYPE)) {
+      projection.setType(model.getType());
+    }
+    if (fields.contains(STATE)) {
+      projection.setState(model.getState());
+    }
+    // not defaulting to private if the visibility has not been selected
+    projection.setVisibility(fields.contains(VISIBILITY) ? model.getVisibility() : null);
+    if (fields.contains(AUTHOR)) {
+      projection.setAuthor(model.getAuthor());
+    }
+    if (fields.contains(DESCRIPTION)) {
+      projection.setDescription(model.getDescription());
+    }
+    if (fields.contains(DISPLAY_NAME)) {
+      projection.setDisplayName(model.getDisplayName());
+    }
+    if (fields.contains(HAS_IMAGE)) {
+      projection.setHasImage(model.isHasImage());
+    }
+    return projection;
+  }
+
+  private static long creationTime(ModelInfo model) {
+    Date creationDate = model.getCreationDate();
+    return creationDate != null ? creationDate.getTime() : 0;
+  }
+
+  /**
+   * Position after the last model of a page.
+   */
+  public static final class Cursor {
+    private final long creationTime;
+    private final String modelId;
+
+    private Cursor(long creationTime, String modelId) {
+      this.creationTime = creationTime;
+      this.modelId = modelId;
+    }
+
+    public static Cursor of(ModelInfo model) {
+      return new Cursor(creationTime(model), model.getId().getPrettyFormat());
+    }
+
+    public static Cursor decode(String cursor) {
+      try {
+        String[] values = new String(Base64.getUrlDecoder().decode(cursor),
+            StandardCharsets.UTF_8).split("\\|", 2);
+        ModelId.fromPrettyFormat(values[1]);
+        return new Cursor(Long.parseLong(values[0]), values[1]);
+      } catch (RuntimeException e) {
+        throw new IllegalArgumentException("Invalid cursor", e);
+      }
+    }
+
+    public String encode() {
+      return Base64.getUrlEncoder().withoutPadding()
+          .encodeToString((creationTime + "|" + modelId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long getCreationTime() {
+      return creationTime;
+    }
+
+    public String getModelId() {
+      return modelId;
+    }
+
+    /**
+     * @return true if the given model comes after this cursor
+     */
+    boolean isBefore(ModelInfo model) {
+      long time = creationTime(model);
+      return time < creationTime
+          || (time == creationTime && model.getId().getPrettyFormat().compareTo(modelId) > 0);
+    }
+  }
+}
@@ -44,6 +44,11 @@ public class SearchParameters {
   Set<String> visibilities = new HashSet<>();
   Set<String> namespaces = new HashSet<>();
   Set<String> versions = new HashSet<>();
+  Set<String> properties = new HashSet<>();
+  Set<String> propertyTypes = new HashSet<>();
+  Set<String> literals = new HashSet<>();
+  Set<String> platforms = new HashSet<>();
+  Set<String> references = new HashSet<>();
 
   /**
    * Builds an instance of {@link SearchParameters} with the given collection of tenant IDs and
@@ -366,12 +371,152 @@ public class SearchParameters {
     return !versions.isEmpty();
   }
 
+  /**
+   *
+   * @param property
+   * @return
+   */
+  public SearchParameters withProperty(String property) {
+    properties.add(property);
+    return this;
+  }
+
+  /**
+   *
+   * @return
+   */
+  public Set<String> getProperties() {
+    return Collections.unmodifiableSet(properties);
+  }
+
+  /**
+   *
+   * @return
+   */
+  public boolean hasProperties() {
+    return !properties.isEmpty();
+  }
+
+  /**
+   *
+   * @param propertyType
+   * @return
+   */
+  public SearchParameters withPropertyType(String propertyType) {
+    propertyTypes.add(propertyType);
+    return this;
+  }
+
+  /**
+   *
+   * @return
+   */
+  public Set<String> getPropertyTypes() {
+    return Collections.unmodifiableSet(propertyTypes);
+  }
+
+  /**
+   *
+   * @return
+   */
+  public boolean hasPropertyTypes() {
+    return !propertyTypes.isEmpty();
+  }
+
+  /**
+   *
+   * @param literal
+   * @return
+   */
+  public SearchParameters withLiteral(String literal) {
+    literals.add(literal);
+    return this;
+  }
+
+  /**
+   *
+   * @return
+   */
+  public Set<String> getLiterals() {
+    return Collections.unmodifiableSet(literals);
+  }
+
+  /**
+   *
+   * @return
+   */
+  public boolean hasLiterals() {
+    return !literals.isEmpty();
+  }
+
+  /**
+   *
+   * @param platform
+   * @return
+   */
+  public SearchParameters withPlatform(String platform) {
+    platforms.add(platform);
+    return this;
+  }
+
+  /**
+   *
+   * @return
+   */
+  public Set<String> getPlatforms() {
+    return Collections.unmodifiableSet(platforms);
+  }
+
+  /**
+   *
+   * @return
+   */
+  public boolean hasPlatforms() {
+    return !platforms.isEmpty();
+  }
+
+  /**
+   *
+   * @param reference
+   * @return
+   */
+  public SearchParameters withReference(String reference) {
+    references.add(reference);
+    return this;
+  }
+
+  /**
+   *
+   * @return
+   */
+  public Set<String> getReferences() {
+    return Collections.unmodifiableSet(references);
+  }
+
+  /**
+   *
+   * @return
+   */
+  public boolean hasReferences() {
+    return !references.isEmpty();
+  }
+
+  /**
+   * @return whether any criteria on the model content, target platform or references are given,
+   *         which can only be searched by the ElasticSearch and Lucene services
+   */
+  public boolean hasModelContentCriteria() {
+    return hasProperties() || hasPropertyTypes() || hasLiterals() || hasPlatforms()
+        || hasReferences();
+  }
+
   /**
    * @return whether no fields were populated (empty query).
    */
   public boolean isEmpty() {
     return !hasAuthors() && !hasTaggedNames() && !hasUntaggedNames() && !hasNamespaces() && !hasStates() && !hasStates() &&
-        !hasWorkspaceIds() && !hasTypes() && !hasUserReferences() && !hasVersions() && !hasVisibilities();
+        !hasWorkspaceIds() && !hasTypes() && !hasUserReferences() && !hasVersions() && !hasVisibilities() &&
+        !hasModelContentCriteria();
   }
 
   @Override
@@ -392,13 +537,19 @@ public class SearchParameters {
         userReferences.equals(that.userReferences) &&
         visibilities.equals(that.visibilities) &&
         namespaces.equals(that.namespaces) &&
-        versions.equals(that.versions);
+        versions.equals(that.versions) &&
+        properties.equals(that.properties) &&
+        propertyTypes.equals(that.propertyTypes) &&
+        literals.equals(that.literals) &&
+        platforms.equals(that.platforms) &&
+        references.equals(that.references);
   }
 
   @Override
   public int hashCode() {
     return Objects
         .hash(workspaceIds, taggedNames, unTaggedNames, states, types, authors, userReferences,
-            visibilities, namespaces, versions);
+            visibilities, namespaces, versions, properties, propertyTypes, literals, platforms,
+            references);
   }
 }
@@ -100,6 +100,48 @@ public enum SearchTags {
       "version",
       SearchTags::normalizeParsedValue,
       (s, sp) -> sp.withVersion(s)
+  ),
+
+  /**
+   * Tagged model content queries, i.e. names and types of properties, and enum literals. They are
+   * only supported by the ElasticSearch and Lucene services, which index the content of the models.
+   * The simple search of the model repository rejects them.
+   */
+  PROPERTY(
+      "property",
+      SearchTags::normalizeParsedValue,
+      (s, sp) -> sp.withProperty(s)
+  ),
+  PROPERTY_TYPE(
+      "propertyType",
+      SearchTags::normalizeParsedValue,
+      (s, sp) -> sp.withPropertyType(s)
+  ),
+  LITERAL(
+      "literal",
+      SearchTags::normalizeParsedValue,
+      (s, sp) -> sp.withLiteral(s)
+  ),
+
+  /**
+   * Tagged target platform query, matching mapping models. Only supported by the ElasticSearch and
+   * Lucene services.
+   */
+  PLATFORM(
+      "platform",
+      SearchTags::normalizeParsedValue,
+      (s, sp) -> sp.withPlatform(s)
+  ),
+
+  /**
+   * Tagged referenced model query. The value is a model ID, optionally with wildcards, e.g.
+   * {@literal reference:org.eclipse.vorto:Color:1.0.0}. Only supported by the ElasticSearch and
+   * Lucene services.
+   */
+  REFERENCE(
+      "reference",
+      SearchTags::normalizeParsedValue,
+      (s, sp) -> sp.withReference(s)
   );
 
   private static final Logger LOGGER = Logger.getLogger(SearchTags.class);
@@ -111,9 +153,11 @@ public enum SearchTags {
   public static final String GROUP_ANYTHING_BEFORE_NEXT_WHITESPACE_OR_END = "(.+?)(?=\\s|$)";
   /**
    * This simple string format represents the [tag]:[search value] format to be parsed in the
-   * search expression.
+   * search expression. The tag must not be preceded by other characters than whitespace, so that
+   * tags ending with the name of another tag (e.g. {@literal propertyType:} and {@literal type:})
+   * are not mistaken for one another.
    */
-  public static final String SEARCH_TAG_PATTERN_FORMAT = "%s:%s";
+  public static final String SEARCH_TAG_PATTERN_FORMAT = "(?<!\\S)%s:%s";
 
   /**
    * Supported wildcards: {@literal *} and {@literal ?}.
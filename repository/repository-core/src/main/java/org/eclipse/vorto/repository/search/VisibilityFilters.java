@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.log4j.Logger;
+import org.eclipse.vorto.repository.core.impl.UserContext;
+import org.eclipse.vorto.repository.core.impl.cache.VisibleWorkspaceCache;
+import org.eclipse.vorto.repository.domain.Namespace;
+import org.eclipse.vorto.repository.oauth.IOAuthProviderRegistry;
+import org.eclipse.vorto.repository.services.UserNamespaceRoleService;
+import org.eclipse.vorto.repository.services.exceptions.DoesNotExistException;
+import org.eclipse.vorto.repository.services.exceptions.OperationForbiddenException;
+import org.eclipse.vorto.repository.web.account.dto.UserDto;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Resolves the models a user can find by search, shared by the {@link ISearchService}
+ * implementations, which provide the filters in terms of their query types. <br/>
+ * Anonymous users only see public models, and sysadmins see all models. Other users also see the
+ * models of the workspaces of the namespaces they have any role on, as cached by
+ * {@link VisibleWorkspaceCache} if available. The filter built for a cached set of workspaces is
+ * reused by identity of the set, so that it is dropped together with the set.
+ *
+ * @param <F> the type of the filters
+ */
+public class VisibilityFilters<F> {
+
+  private static final Logger LOGGER = Logger.getLogger(VisibilityFilters.class);
+
+  private final UserNamespaceRoleService userNamespaceRoleService;
+
+  private final IOAuthProviderRegistry registry;
+
+  private final F publicModels;
+
+  private final Function<Collection<String>, F> publicOrInWorkspaces;
+
+  private final Cache<Set<String>, F> filters = CacheBuilder.newBuilder().weakKeys().build();
+
+  private volatile VisibleWorkspaceCache visibleWorkspaceCache;
+
+  /**
+   * @param publicModels the filter for the public models
+   * @param publicOrInWorkspaces builds the filter for the public models and the models of the
+   *        given workspaces, of which there is at least one
+   */
+  public VisibilityFilters(UserNamespaceRoleService userNamespaceRoleService,
+      IOAuthProviderRegistry registry, F publicModels,
+      Function<Collection<String>, F> publicOrInWorkspaces) {
+    this.userNamespaceRoleService = userNamespaceRoleService;
+    this.registry = registry;
+    this.publicModels = publicModels;
+    this.publicOrInWorkspaces = publicOrInWorkspaces;
+  }
+
+  public void setVisibleWorkspaceCache(VisibleWorkspaceCache visibleWorkspaceCache) {
+    this.visibleWorkspaceCache = visibleWorkspaceCache;
+  }
+
+  /**
+   * @return the filter for the models the user can see, or null if the user can see all models
+   */
+  public F filterFor(Authentication auth) {
+    String authenticationProviderId = registry.getByAuthentication(auth).getId();
+    if (UserDto.isAnonymous(UserDto.of(auth.getName(), authenticationProviderId))) {
+      return publicModels;
+    }
+    // models of deleted namespaces are removed from the index, so sysadmins can see all of them
+    if (UserContext.isSysAdmin(auth)) {
+      return null;
+    }
+    VisibleWorkspaceCache cache = visibleWorkspaceCache;
+    if (cache == null) {
+      return filter(findWorkspaceIdsForUser(auth, authenticationProviderId));
+    }
+    Set<String> workspaceIds = cache.get(auth.getName(), authenticationProviderId,
+        () -> findWorkspaceIdsForUser(auth, authenticationProviderId));
+    F filter = filters.getIfPresent(workspaceIds);
+    if (filter == null) {
+      filter = filter(workspaceIds);
+      filters.put(workspaceIds, filter);
+    }
+    return filter;
+  }
+
+  private F filter(Collection<String> workspaceIds) {
+    if (workspaceIds.isEmpty()) {
+      return publicModels;
+    }
+    return publicOrInWorkspaces.apply(workspaceIds);
+  }
+
+  private Collection<String> findWorkspaceIdsForUser(Authentication auth,
+      String authenticationProviderId) {
+    try {
+      return userNamespaceRoleService
+          .getNamespaces(UserDto.of(auth.getName(), authenticationProviderId))
+          .stream()
+          .map(Namespace::getWorkspaceId)
+          .collect(Collectors.toList());
+    } catch (OperationForbiddenException | DoesNotExistException e) {
+      LOGGER.warn(String.format("Cannot find the namespaces of '%s'", auth.getName()), e);
+      return Collections.emptyList();
+    }
+  }
+}
@@ -0,0 +1,225 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search.extractor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.vorto.core.api.model.datatype.DictionaryPropertyType;
+import org.eclipse.vorto.core.api.model.datatype.Entity;
+import org.eclipse.vorto.core.api.model.datatype.Enum;
+import org.eclipse.vorto.core.api.model.datatype.EnumLiteral;
+import org.eclipse.vorto.core.api.model.datatype.ObjectPropertyType;
+import org.eclipse.vorto.core.api.model.datatype.PrimitivePropertyType;
+import org.eclipse.vorto.core.api.model.datatype.Property;
+import org.eclipse.vorto.core.api.model.datatype.PropertyType;
+import org.eclipse.vorto.core.api.model.datatype.Type;
+import org.eclipse.vorto.core.api.model.functionblock.Event;
+import org.eclipse.vorto.core.api.model.functionblock.FunctionBlock;
+import org.eclipse.vorto.core.api.model.functionblock.FunctionblockModel;
+import org.eclipse.vorto.core.api.model.informationmodel.FunctionblockProperty;
+import org.eclipse.vorto.core.api.model.informationmodel.InformationModel;
+import org.eclipse.vorto.repository.core.FileContent;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.impl.parser.ModelParserFactory;
+import org.eclipse.vorto.repository.domain.Namespace;
+import org.eclipse.vorto.repository.repositories.NamespaceRepository;
+import org.eclipse.vorto.repository.services.NamespaceService;
+import org.eclipse.xtext.resource.XtextResourceSet;
+
+/**
+ * Extracts the property names and types of function blocks, entities and information models, and
+ * the literals of enums, from the DSL content of a model. <br/>
+ * The content is read with system administrator privileges, as extraction runs in the background
+ * when index changes are applied, and is parsed without resolving the referenced models. Types of
+ * properties are hence only extracted if they are primitive or defined in the same model; the
+ * referenced models themselves are covered by {@link ReferenceIndexFieldExtractor}. <br/>
+ * Models that cannot be read or parsed are indexed without these fields.
+ */
+public class ModelContentIndexFieldExtractor implements IIndexFieldExtractor {
+
+  private static final Logger LOGGER = Logger.getLogger(ModelContentIndexFieldExtractor.class);
+
+  public static final String PROPERTIES = "properties";
+
+  public static final String PROPERTY_TYPES = "propertyTypes";
+
+  public static final String LITERALS = "literals";
+
+  private static final String DICTIONARY = "dictionary";
+
+  private final IModelRepositoryFactory repositoryFactory;
+
+  private final NamespaceRepository namespaceRepository;
+
+  public ModelContentIndexFieldExtractor(IModelRepositoryFactory repositoryFactory,
+      NamespaceRepository namespaceRepository) {
+    this.repositoryFactory = repositoryFactory;
+    this.namespaceRepository = namespaceRepository;
+  }
+
+  @Override
+  public Map<String, String> extractFields(ModelInfo modelInfo) {
+    Map<String, String> fields = new HashMap<>();
+    try {
+      readModel(modelInfo).ifPresent(model -> {
+        Content content = new Content();
+        content.add(model);
+        fields.put(ModelContentIndexFieldExtractor.PROPERTIES, String.join(" ", content.properties));
+        fields.put(ModelContentIndexFieldExtractor.PROPERTY_TYPES,
+            String.join(" ", content.propertyTypes));
+        fields.put(ModelContentIndexFieldExtractor.LITERALS, String.join(" ", content.literals));
+      });
+    } catch (RuntimeException | IOException e) {
+      LOGGER.warn(String.format("Cannot extract the content of '%s' for indexing",
+          modelInfo.getId().getPrettyFormat()), e);
+    }
+    return fields;
+  }
+
+  @Override
+  public Map<String, FieldType> getFields() {
+    Map<String, FieldType> fields = new HashMap<>();
+
+    fields.put(ModelContentIndexFieldExtractor.PROPERTIES, FieldType.TEXT);
+    fields.put(ModelContentIndexFieldExtractor.PROPERTY_TYPES, FieldType.TEXT);
+    fields.put(ModelContentIndexFieldExtractor.LITERALS, FieldType.TEXT);
+
+    return fields;
+  }
+
+  private Optional<EObject> readModel(ModelInfo modelInfo) throws IOException {
+    Optional<String> workspaceId = resolveWorkspaceId(modelInfo.getId().getNamespace());
+    if (!workspaceId.isPresent()) {
+      return Optional.empty();
+    }
+    Optional<FileContent> file = repositoryFactory.getRepositoryForBackgroundTask(workspaceId.get())
+        .getFileContent(modelInfo.getId(), Optional.empty());
+    if (!file.isPresent() || !ModelParserFactory.hasParserFor(file.get().getFileName())) {
+      return Optional.empty();
+    }
+
+    // references are left unresolved, as only the content of the model itself is extracted
+    XtextResourceSet resourceSet = new XtextResourceSet();
+    Resource resource = resourceSet.createResource(URI.createURI("dummy:/file-"
+        + UUID.randomUUID().toString().replace("-", "") + "-" + file.get().getFileName()));
+    if (resource == null) {
+      return Optional.empty();
+    }
+    resource.load(new ByteArrayInputStream(file.get().getContent()),
+        resourceSet.getLoadOptions());
+    return resource.getContents().stream().findFirst();
+  }
+
+  /**
+   * Resolves the workspace by the longest namespace the model namespace starts with, like
+   * {@link NamespaceService#resolveWorkspaceIdForNamespace(String)}, which cannot be used here as
+   * it relies on a request scoped cache.
+   */
+  private Optional<String> resolveWorkspaceId(String namespace) {
+    String candidate = namespace;
+    while (candidate != null) {
+      Namespace found = namespaceRepository.findByName(candidate);
+      if (found != null) {
+        return Optional.of(found.getWorkspaceId());
+      }
+      int lastSeparator = candidate.lastIndexOf(NamespaceService.NAMESPACE_SEPARATOR);
+      candidate = lastSeparator > 0 ? candidate.substring(0, lastSeparator) : null;
+    }
+    return Optional.empty();
+  }
+
+  private static final class Content {
+    private final Set<String> properties = new TreeSet<>();
+    private final Set<String> propertyTypes = new TreeSet<>();
+    private final Set<String> literals = new TreeSet<>();
+
+    private void add(EObject model) {
+      if (model instanceof FunctionblockModel) {
+        add(((FunctionblockModel) model).getFunctionblock());
+      } else if (model instanceof Entity) {
+        addProperties(((Entity) model).getProperties());
+      } else if (model instanceof Enum) {
+        ((Enum) model).getEnums().stream().map(EnumLiteral::getName).filter(Objects::nonNull)
+            .forEach(literals::add);
+      } else if (model instanceof InformationModel) {
+        for (FunctionblockProperty property : ((InformationModel) model).getProperties()) {
+          addName(properties, property.getName());
+          if (property.getType() != null && !property.getType().eIsProxy()) {
+            addName(propertyTypes, property.getType().getName());
+          }
+        }
+      }
+    }
+
+    private void add(FunctionBlock functionBlock) {
+      if (functionBlock == null) {
+        return;
+      }
+      if (functionBlock.getConfiguration() != null) {
+        addProperties(functionBlock.getConfiguration().getProperties());
+      }
+      if (functionBlock.getStatus() != null) {
+        addProperties(functionBlock.getStatus().getProperties());
+      }
+      if (functionBlock.getFault() != null) {
+        addProperties(functionBlock.getFault().getProperties());
+      }
+      for (Event event : functionBlock.getEvents()) {
+        addProperties(event.getProperties());
+      }
+    }
+
+    private void addProperties(Collection<Property> modelProperties) {
+      for (Property property : modelProperties) {
+        addName(properties, property.getName());
+        addType(property.getType());
+      }
+    }
+
+    private void addType(PropertyType type) {
+      if (type instanceof PrimitivePropertyType) {
+        PrimitivePropertyType primitiveType = (PrimitivePropertyType) type;
+        if (primitiveType.getType() != null) {
+          propertyTypes.add(primitiveType.getType().getLiteral());
+        }
+      } else if (type instanceof ObjectPropertyType) {
+        Type objectType = ((ObjectPropertyType) type).getType();
+        // types of other models are proxies, as references are not resolved
+        if (objectType != null && !objectType.eIsProxy()) {
+          addName(propertyTypes, objectType.getName());
+        }
+      } else if (type instanceof DictionaryPropertyType) {
+        propertyTypes.add(DICTIONARY);
+      }
+    }
+
+    private static void addName(Set<String> names, String name) {
+      if (name != null && !name.isEmpty()) {
+        names.add(name);
+      }
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search.extractor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.ModelInfo;
+
+/**
+ * Extracts the models a model references, and the target platform of mapping models. Both are part
+ * of the model meta data, so the model content does not have to be read.
+ */
+public class ReferenceIndexFieldExtractor implements IIndexFieldExtractor {
+
+  public static final String REFERENCES = "references";
+
+  public static final String TARGET_PLATFORM = "targetPlatform";
+
+  @Override
+  public Map<String, String> extractFields(ModelInfo modelInfo) {
+    Map<String, String> fields = new HashMap<>();
+
+    if (modelInfo.getReferences() != null) {
+      fields.put(ReferenceIndexFieldExtractor.REFERENCES, modelInfo.getReferences().stream()
+          .map(ModelId::getPrettyFormat).collect(Collectors.joining(" ")));
+    }
+    if (modelInfo.getTargetPlatformKey() != null) {
+      fields.put(ReferenceIndexFieldExtractor.TARGET_PLATFORM, modelInfo.getTargetPlatformKey());
+    }
+
+    return fields;
+  }
+
+  @Override
+  public Map<String, FieldType> getFields() {
+    Map<String, FieldType> fields = new HashMap<>();
+
+    fields.put(ReferenceIndexFieldExtractor.REFERENCES, FieldType.TEXT);
+    fields.put(ReferenceIndexFieldExtractor.TARGET_PLATFORM, FieldType.TEXT);
+
+    return fields;
+  }
+}
@@ -12,20 +12,32 @@
  */
 package org.eclipse.vorto.repository.search.impl;
 
+import org.apache.log4j.Logger;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.IModelRepository;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.impl.utils.ModelSearchUtil;
+import org.eclipse.vorto.repository.core.impl.utils.WorkspaceFanOut;
+import org.eclipse.vorto.repository.domain.Namespace;
 import org.eclipse.vorto.repository.repositories.NamespaceRepository;
 import org.eclipse.vorto.repository.search.IIndexingService;
 import org.eclipse.vorto.repository.search.ISearchService;
+import org.eclipse.vorto.repository.search.IndexingOperation;
+import org.eclipse.vorto.repository.search.IndexingProgress;
 import org.eclipse.vorto.repository.search.IndexingResult;
+import org.eclipse.vorto.repository.search.SearchPage;
+import org.eclipse.vorto.repository.search.SearchPaging;
+import org.eclipse.vorto.repository.search.SearchParameters;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Simple search which merely delegates the search to the model repository
@@ -33,14 +45,24 @@ import java.util.List;
  */
 public class SimpleSearchService implements ISearchService, IIndexingService {
 
+  private static final Logger LOGGER = Logger.getLogger(SimpleSearchService.class);
+
   private NamespaceRepository namespaceRepository;
 
   private IModelRepositoryFactory repositoryFactory;
 
+  private WorkspaceFanOut workspaceFanOut;
+
   public SimpleSearchService(NamespaceRepository namespaceRepository,
       IModelRepositoryFactory repositoryFactory) {
+    this(namespaceRepository, repositoryFactory, WorkspaceFanOut.sequential());
+  }
+
+  public SimpleSearchService(NamespaceRepository namespaceRepository,
+      IModelRepositoryFactory repositoryFactory, WorkspaceFanOut workspaceFanOut) {
     this.namespaceRepository = namespaceRepository;
     this.repositoryFactory = repositoryFactory;
+    this.workspaceFanOut = workspaceFanOut;
   }
 
   @Override
@@ -50,6 +72,13 @@ public class SimpleSearchService implements ISearchService, IIndexingService {
   
   /**
    * Searches all namespaces existing in the system. Use modeshape ACLs to get result back which matches user rights.
+   * If a workspace fails or times out, the results of the other workspaces are returned and the
+   * missing workspaces are logged.<br/>
+   * The model content, target platform and references are not indexed by the model repository, so
+   * the tags searching them are rejected.
+   *
+   * @throws IllegalArgumentException if the expression searches by model content, target platform
+   *         or references
    */
   @Override
   public List<ModelInfo> search(String expression) {
@@ -58,17 +87,40 @@ public class SimpleSearchService implements ISearchService, IIndexingService {
 
   @Override
   public List<ModelInfo> search(String expression, Authentication authentication) {
-    List<ModelInfo> result = new ArrayList<>();
-    namespaceRepository.findAll().forEach(namespace -> {
-      IModelRepository repository = this.repositoryFactory.getRepository(
-          namespace.getWorkspaceId(), authentication
-      );
-      result.addAll(repository.search(expression));
-    });
+    // rejected here, as the failures of single workspaces only make the result partial
+    if (SearchParameters.build(expression).hasModelContentCriteria()) {
+      throw new IllegalArgumentException(ModelSearchUtil.MODEL_CONTENT_NOT_SUPPORTED);
+    }
+
+    List<String> workspaceIds = namespaceRepository.findAll().stream()
+        .map(Namespace::getWorkspaceId).collect(Collectors.toList());
+
+    Function<String, IModelRepository> repositorySource = workspaceFanOut.isParallel()
+        ? workspaceId -> repositoryFactory.getRepositoryWithoutSessionHelper(workspaceId,
+            authentication)
+        : workspaceId -> repositoryFactory.getRepository(workspaceId, authentication);
+
+    WorkspaceFanOut.Result<List<ModelInfo>> searched = workspaceFanOut
+        .execute(workspaceIds, workspaceId -> repositorySource.apply(workspaceId).search(expression));
+    if (!searched.isComplete()) {
+      LOGGER.warn(String.format("Search results for '%s' are missing workspaces %s", expression,
+          searched.getIncomplete()));
+    }
 
+    List<ModelInfo> result = new ArrayList<>();
+    searched.getResults().values().forEach(result::addAll);
     return result;
   }
 
+  /**
+   * Pages through the complete search result, as the model repository cannot page by itself.
+   */
+  @Override
+  public SearchPage search(String expression, int pageSize, String cursor, Set<String> fields) {
+    SearchPaging.checkPageSize(pageSize);
+    return SearchPaging.page(search(expression), pageSize, cursor, fields);
+  }
+
   @Override
   public IndexingResult reindexAllModels() {
     return new IndexingResult();
@@ -79,6 +131,11 @@ public class SimpleSearchService implements ISearchService, IIndexingService {
     return new IndexingResult();
   }
 
+  @Override
+  public IndexingProgress getReindexProgress() {
+    return new IndexingProgress();
+  }
+
   @Override
   public void indexModel(ModelInfo modelInfo, String workspaceId) {
     // NOOP
@@ -99,4 +156,10 @@ public class SimpleSearchService implements ISearchService, IIndexingService {
     // NOOP
   }
 
+  @Override
+  public List<IndexingOperation> bulkIndex(List<IndexingOperation> operations) {
+    // NOOP
+    return new ArrayList<>();
+  }
+
 }
@@ -446,7 +446,7 @@ public class NamespaceService implements ApplicationEventPublisherAware {
   }
 
   public Namespace findNamespaceByWorkspaceId(String workspaceId) {
-    return cache.namespace(n -> n.getWorkspaceId().equals(workspaceId)).orElse(null);
+    return cache.namespaceByWorkspaceId(workspaceId).orElse(null);
   }
 
   private void searchForPublicModelsAndFailIfAnyExist(Namespace currentNamespace)
@@ -381,6 +381,7 @@ public class UserNamespaceRoleService implements ApplicationEventPublisherAware
     roles.setRoles(roles.getRoles() + role.getRole());
     boolean result = userNamespaceRoleRepository.save(roles) != null;
     if (result) {
+      publishRolesChanged(roles);
       notificationService.sendNotificationAsync(
           new AddedToNamespaceMessage(
               target,
@@ -464,6 +465,7 @@ public class UserNamespaceRoleService implements ApplicationEventPublisherAware
       roles.setRoles(roles.getRoles() - role.getRole());
       boolean result = userNamespaceRoleRepository.save(roles) != null;
       if (result) {
+        publishRolesChanged(roles);
         notificationService.sendNotificationAsync(
             new RolesChangedInNamespaceMessage(
                 target,
@@ -663,6 +665,7 @@ public class UserNamespaceRoleService implements ApplicationEventPublisherAware
 
     userNamespaceRoleRepository.delete(rolesToDelete.get().getID());
     LOGGER.info("Deleted user-namespace role association.");
+    publishRolesChanged(rolesToDelete.get());
     notificationService.sendNotificationAsync(
         new RemovedFromNamespaceMessage(
             target,
@@ -1381,6 +1384,9 @@ public class UserNamespaceRoleService implements ApplicationEventPublisherAware
       // assigning given roles to user and returning true if persisting successful
       roles.setRoles(rolesValue);
       boolean result = userNamespaceRoleRepository.save(roles) != null;
+      if (result) {
+        publishRolesChanged(roles);
+      }
       // if saved successfully, notify the target user they have been added as collaborator to the
       // namespace - only triggers when namespace has not just been created
       if (result && !newNamespace) {
@@ -1405,6 +1411,17 @@ public class UserNamespaceRoleService implements ApplicationEventPublisherAware
     }
   }
 
+  /**
+   * Sends an event for caches of data derived from the user's namespace roles
+   *
+   * @param roles the changed or deleted roles of a user on a namespace
+   */
+  private void publishRolesChanged(UserNamespaceRoles roles) {
+    eventPublisher.publishEvent(
+        new AppEvent(this, roles, EventType.USER_NAMESPACE_ROLES_CHANGED)
+    );
+  }
+
   /**
    *
    * @param user
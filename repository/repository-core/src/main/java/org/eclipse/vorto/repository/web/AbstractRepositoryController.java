@@ -13,14 +13,15 @@
 package org.eclipse.vorto.repository.web;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import javax.servlet.http.HttpServletResponse;
@@ -33,7 +34,7 @@ import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.ModelAlreadyExistsException;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.ModelNotFoundException;
-import org.eclipse.vorto.repository.core.impl.utils.DependencyManager;
+import org.eclipse.vorto.repository.core.impl.utils.DependencyGraphResolver;
 import org.eclipse.vorto.repository.core.impl.validation.ValidationException;
 import org.eclipse.vorto.repository.plugin.generator.GenerationException;
 import org.eclipse.vorto.repository.tenant.NewNamespacesNotSupersetException;
@@ -119,82 +120,101 @@ public abstract class AbstractRepositoryController extends ResponseEntityExcepti
   }
 
   protected void createSingleModelContent(ModelId modelId, HttpServletResponse response) {
-    Optional<FileContent> fileContent = getModelRepository(modelId)
-        .getFileContent(modelId, Optional.empty());
-
-    final byte[] modelContent = fileContent.get().getContent();
-    if (modelContent != null && modelContent.length > 0) {
-      response.setHeader(CONTENT_DISPOSITION,
-          ATTACHMENT_FILENAME + fileContent.get().getFileName());
-      response.setContentType(APPLICATION_OCTET_STREAM);
-      try {
-        IOUtils.copy(new ByteArrayInputStream(modelContent), response.getOutputStream());
-        response.flushBuffer();
-      } catch (IOException e) {
-        throw new RuntimeException("Error copying file.", e);
-      }
-    } else {
+    AtomicBoolean written = new AtomicBoolean(false);
+    getModelRepository(modelId).streamFileContent(modelId, Optional.empty(),
+        (fileName, size, content) -> {
+          if (size > 0) {
+            response.setHeader(CONTENT_DISPOSITION, ATTACHMENT_FILENAME + fileName);
+            response.setContentType(APPLICATION_OCTET_STREAM);
+            response.setContentLengthLong(size);
+            IOUtils.copy(content, response.getOutputStream());
+            response.flushBuffer();
+            written.set(true);
+          }
+        });
+
+    if (!written.get()) {
       throw new RuntimeException("File not found.");
     }
   }
 
   protected void addModelToZip(ZipOutputStream zipOutputStream, ModelId modelId) throws Exception {
+    addModelToZip(zipOutputStream, modelId, new HashSet<>());
+  }
+
+  private void addModelToZip(ZipOutputStream zipOutputStream, ModelId modelId,
+      Set<ModelId> addedModels) throws Exception {
+    if (!addedModels.add(modelId)) {
+      return;
+    }
     try {
-      FileContent modelFile = getModelRepository(modelId).getFileContent(modelId, Optional.empty())
-          .get();
-      ModelInfo modelResource = getModelRepository(modelId).getById(modelId);
-
-      try {
-        ZipEntry zipEntry = new ZipEntry(
-            modelResource.getId().getPrettyFormat() + modelResource.getType().getExtension());
-        zipOutputStream.putNextEntry(zipEntry);
-        zipOutputStream.write(modelFile.getContent());
-        zipOutputStream.closeEntry();
-      } catch (Exception ex) {
-        // entry possible exists already, so skipping TODO: ugly hack!!
+      IModelRepository repository = getModelRepository(modelId);
+      ModelInfo modelResource = repository.getById(modelId);
+      if (modelResource == null) {
+        // the zip file is already being written, so a missing model cannot fail the response
+        logger.warn(String.format("Skipping model [%s] in zip file, as it does not exist",
+            modelId.getPrettyFormat()));
+        return;
+      }
+      // the model might have been requested by another ID before, e.g. with the latest tag
+      if (!modelResource.getId().equals(modelId) && !addedModels.add(modelResource.getId())) {
+        return;
       }
 
+      // the content is copied into the zip while it is read from the repository
+      repository.streamFileContent(modelResource.getId(), Optional.empty(),
+          (fileName, size, content) -> {
+            zipOutputStream.putNextEntry(new ZipEntry(
+                modelResource.getId().getPrettyFormat() + modelResource.getType().getExtension()));
+            IOUtils.copy(content, zipOutputStream);
+            zipOutputStream.closeEntry();
+          });
+
       for (ModelId reference : modelResource.getReferences()) {
-        addModelToZip(zipOutputStream, reference);
+        addModelToZip(zipOutputStream, reference, addedModels);
       }
     } catch (NotAuthorizedException notAuthorized) {
       return;
+    } catch (ModelNotFoundException notFound) {
+      logger.warn(String.format("Skipping model [%s] in zip file, as it does not exist",
+          modelId.getPrettyFormat()));
     }
 
   }
 
   protected void sendAsZipFile(final HttpServletResponse response, final String fileName,
       List<ModelInfo> modelInfos) {
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    ZipOutputStream zos = new ZipOutputStream(baos);
-
-    try {
-      for (ModelInfo modelInfo : modelInfos) {
-        addModelToZip(zos, modelInfo.getId());
-      }
-
-      zos.close();
-      baos.close();
-    } catch (Exception ex) {
-      throw new RuntimeException(ex);
-    }
+    sendModelsAsZipFile(response, fileName,
+        modelInfos.stream().map(ModelInfo::getId).collect(Collectors.toList()));
+  }
 
+  /**
+   * Streams the given models and all their dependencies as zip file to the response, without
+   * buffering the zip file.
+   */
+  protected void sendModelsAsZipFile(final HttpServletResponse response, final String fileName,
+      Collection<ModelId> modelIds) {
     response.setHeader(CONTENT_DISPOSITION, ATTACHMENT_FILENAME + fileName);
     response.setContentType(APPLICATION_OCTET_STREAM);
     try {
-      IOUtils.copy(new ByteArrayInputStream(baos.toByteArray()), response.getOutputStream());
+      ZipOutputStream zos = new ZipOutputStream(response.getOutputStream());
+      Set<ModelId> addedModels = new HashSet<>();
+      for (ModelId modelId : modelIds) {
+        addModelToZip(zos, modelId, addedModels);
+      }
+      // finishing instead of closing, as the container takes care of the response stream
+      zos.finish();
       response.flushBuffer();
-    } catch (IOException e) {
-      throw new RuntimeException("Error copying file.", e);
+    } catch (Exception ex) {
+      throw new GenericApplicationException("Error while generating zip file.", ex);
     }
   }
 
   protected IModelWorkspace getWorkspaceForModel(final ModelId modelId) {
-    List<ModelInfo> allModels = getModelWithAllDependencies(modelId);
-    DependencyManager dm = new DependencyManager(new HashSet<>(allModels));
-    allModels = dm.getSorted();
+    List<ModelInfo> allModels =
+        new DependencyGraphResolver(getModelRepositoryFactory()).resolve(modelId);
 
-    ModelWorkspaceReader workspaceReader = IModelWorkspace.newReader();
+    ModelWorkspaceReader workspaceReader = IModelWorkspace.newReader().cached();
     for (ModelInfo model : allModels) {
       FileContent modelContent = getModelRepository(model.getId())
           .getFileContent(model.getId(), Optional.of(model.getFileName())).get();
@@ -204,20 +224,6 @@ public abstract class AbstractRepositoryController extends ResponseEntityExcepti
     return workspaceReader.read();
   }
 
-
-  private List<ModelInfo> getModelWithAllDependencies(ModelId modelId) {
-    List<ModelInfo> modelInfos = new ArrayList<>();
-
-    ModelInfo modelResource = getModelRepository(modelId).getById(modelId);
-    modelInfos.add(modelResource);
-
-    for (ModelId reference : modelResource.getReferences()) {
-      modelInfos.addAll(getModelWithAllDependencies(reference));
-    }
-
-    return modelInfos;
-  }
-
   protected IModelRepository getModelRepository(ModelId modelId) {
     return modelRepositoryFactory.getRepositoryByModel(modelId);
   }
@@ -13,6 +13,7 @@
 package org.eclipse.vorto.repository.web.admin;
 
 import org.eclipse.vorto.repository.search.IIndexingService;
+import org.eclipse.vorto.repository.search.IndexingProgress;
 import org.eclipse.vorto.repository.search.IndexingResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -35,4 +36,14 @@ public class IndexingController {
     return new ResponseEntity<>(result, HttpStatus.OK);
   }
 
+  /**
+   * @return the progress of the running or the last reindex, which can be polled while a reindex
+   *         started with {@link #reindexModels()} runs
+   */
+  @RequestMapping(value = "/rest/reindex/progress", method = RequestMethod.GET)
+  @PreAuthorize("hasAuthority('sysadmin')")
+  public ResponseEntity<IndexingProgress> getReindexProgress() {
+    return new ResponseEntity<>(indexingServices.getReindexProgress(), HttpStatus.OK);
+  }
+
 }
@@ -13,23 +13,20 @@
 package org.eclipse.vorto.repository.web.api.v1;
 
 import io.swagger.annotations.ApiParam;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.util.Collections;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.zip.ZipOutputStream;
 import javax.servlet.http.HttpServletResponse;
-import org.apache.commons.io.IOUtils;
 import org.apache.log4j.Logger;
 import org.eclipse.vorto.model.ModelContent;
 import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.conversion.ModelContentCache;
 import org.eclipse.vorto.repository.conversion.ModelIdToModelContentConverter;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.ModelNotFoundException;
 import org.eclipse.vorto.repository.web.AbstractRepositoryController;
-import org.eclipse.vorto.repository.web.GenericApplicationException;
 import org.eclipse.vorto.repository.web.core.ModelDtoFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -46,6 +43,9 @@ public class ModelController extends AbstractRepositoryController {
 
   private static final Logger LOGGER = Logger.getLogger(ModelController.class);
 
+  @Autowired(required = false)
+  private ModelContentCache modelContentCache;
+
   @PreAuthorize("isAuthenticated() or hasAuthority('model_viewer')")
   @GetMapping("/{modelId:.+}")
   public ModelInfo getModelInfo(
@@ -75,7 +75,7 @@ public class ModelController extends AbstractRepositoryController {
     final ModelId modelID = ModelId.fromPrettyFormat(modelId);
 
     ModelIdToModelContentConverter converter = new ModelIdToModelContentConverter(
-        this.modelRepositoryFactory);
+        this.modelRepositoryFactory, modelContentCache);
 
     return converter.convert(modelID, Optional.empty());
   }
@@ -90,7 +90,7 @@ public class ModelController extends AbstractRepositoryController {
 
     final ModelId modelID = ModelId.fromPrettyFormat(modelId);
     ModelIdToModelContentConverter converter = new ModelIdToModelContentConverter(
-        this.modelRepositoryFactory);
+        this.modelRepositoryFactory, modelContentCache);
 
     return converter.convert(modelID, Optional.of(targetplatformKey));
   }
@@ -112,32 +112,10 @@ public class ModelController extends AbstractRepositoryController {
     LOGGER.info("Download of Model file : [" + modelID.toString() + "]");
 
     if (includeDependencies) {
-      byte[] zipContent = createZipWithAllDependencies(modelID);
-      response.setHeader(CONTENT_DISPOSITION, ATTACHMENT_FILENAME + modelID.getNamespace() + "_"
-          + modelID.getName() + "_" + modelID.getVersion() + ".zip");
-      response.setContentType(APPLICATION_OCTET_STREAM);
-      try {
-        IOUtils.copy(new ByteArrayInputStream(zipContent), response.getOutputStream());
-        response.flushBuffer();
-      } catch (IOException e) {
-        throw new GenericApplicationException("Error copying file.", e);
-      }
+      sendModelsAsZipFile(response, modelID.getNamespace() + "_" + modelID.getName() + "_"
+          + modelID.getVersion() + ".zip", Collections.singleton(modelID));
     } else {
       createSingleModelContent(modelID, response);
     }
   }
-
-  private byte[] createZipWithAllDependencies(ModelId modelId) {
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    ZipOutputStream zos = new ZipOutputStream(baos);
-
-    try {
-      addModelToZip(zos, modelId);
-      zos.close();
-      baos.close();
-      return baos.toByteArray();
-    } catch (Exception ex) {
-      throw new GenericApplicationException("Error while generating zip file.", ex);
-    }
-  }
 }
@@ -16,9 +16,12 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.search.ISearchService;
+import org.eclipse.vorto.repository.search.SearchPage;
+import org.eclipse.vorto.repository.search.SearchPaging;
 import org.eclipse.vorto.repository.web.AbstractRepositoryController;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -56,6 +59,23 @@ public class ModelSearchController extends AbstractRepositoryController {
     }).collect(Collectors.toList());
   }
    
+  @RequestMapping(value = "/models", method = RequestMethod.GET, params = "size",
+      produces = "application/json")
+  @CrossOrigin(origins = "https://www.eclipse.org")
+  public SearchPage searchPageByExpression(
+      @ApiParam(value = "a free-text search expression",
+          required = true) @RequestParam("expression") String expression,
+      @ApiParam(value = "the maximum number of models to return, up to "
+          + SearchPaging.MAX_PAGE_SIZE, required = true) @RequestParam("size") int size,
+      @ApiParam(value = "the next cursor of the previous page, to get the next page",
+          required = false) @RequestParam(value = "cursor", required = false) String cursor,
+      @ApiParam(value = "comma-separated model properties to return, e.g. displayName,state",
+          required = false) @RequestParam(value = "fields", required = false) Set<String> fields)
+      throws UnsupportedEncodingException {
+
+    return searchService.search(URLDecoder.decode(expression, "utf-8"), size, cursor, fields);
+  }
+
   public ISearchService getSearchService() {
     return searchService;
   }
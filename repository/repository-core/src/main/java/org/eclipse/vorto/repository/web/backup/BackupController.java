@@ -13,18 +13,23 @@
 package org.eclipse.vorto.repository.web.backup;
 
 import io.swagger.annotations.ApiParam;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletResponse;
 import org.apache.commons.io.IOUtils;
 import org.eclipse.vorto.repository.backup.IBackupRestoreService;
+import org.eclipse.vorto.repository.backup.IncompleteRestoreException;
 import org.eclipse.vorto.repository.domain.Namespace;
 import org.eclipse.vorto.repository.web.AbstractRepositoryController;
 import org.eclipse.vorto.repository.web.ControllerUtils;
@@ -35,6 +40,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -64,19 +70,26 @@ public class BackupController extends AbstractRepositoryController {
   /**
    * Backs up the whole repository.
    *
+   * @param since if given, only backs up the namespaces changed since the backup created at that
+   *        time, as found in the manifest of that backup
    * @param response
    */
   @RequestMapping(method = RequestMethod.GET, value = "/rest/namespaces/backup")
   @PreAuthorize("hasAuthority('sysadmin')")
-  public void backupRepository(final HttpServletResponse response) {
+  public void backupRepository(
+      @ApiParam(value = "The creation time of the backup an incremental backup is based on")
+      @RequestParam(value = "since", required = false) final Long since,
+      final HttpServletResponse response) {
 
-    backupRepository(response, n -> true, Optional.empty());
+    backupRepository(response, n -> true, since, Optional.empty());
   }
 
   /**
    * Backs up models for a given namespace
    *
    * @param namespace
+   * @param since if given, only backs up the namespace if it has been changed since the backup
+   *        created at that time
    * @param response
    */
   @RequestMapping(method = RequestMethod.GET, value = "/rest/namespaces/{namespace}/backup")
@@ -84,21 +97,28 @@ public class BackupController extends AbstractRepositoryController {
   public void backupRepositoryOfNamespace(
       @ApiParam(value = "The namespace to be restored",
           required = true) final @PathVariable String namespace,
+      @ApiParam(value = "The creation time of the backup an incremental backup is based on")
+      @RequestParam(value = "since", required = false) final Long since,
       final HttpServletResponse response) {
 
-    backupRepository(response, namespaceFilter(namespace),
+    backupRepository(response, namespaceFilter(namespace), since,
         Optional.of(String.format("-%s", ControllerUtils.sanitize(namespace))));
   }
 
   private void backupRepository(final HttpServletResponse response,
-      Predicate<Namespace> namespaceFilter, Optional<String> ext) {
+      Predicate<Namespace> namespaceFilter, Long since, Optional<String> ext) {
     response.setHeader(CONTENT_DISPOSITION, ATTACHMENT_FILENAME +
-        String.format("backup-%s%s.zip", SIMPLEDATEFORMAT.format(new Date()), ext.orElse("")));
+        String.format("backup-%s%s%s.zip", SIMPLEDATEFORMAT.format(new Date()),
+            since != null ? "-incremental" : "", ext.orElse("")));
     response.setContentType(APPLICATION_OCTET_STREAM);
 
     try {
-      IOUtils.copy(new ByteArrayInputStream(backupRestoreService.createBackup(namespaceFilter)),
-          response.getOutputStream());
+      if (since != null) {
+        backupRestoreService
+            .createIncrementalBackup(namespaceFilter, since, response.getOutputStream());
+      } else {
+        backupRestoreService.createBackup(namespaceFilter, response.getOutputStream());
+      }
       response.flushBuffer();
     } catch (IOException e) {
       throw new GenericApplicationException("Error copying file.", e);
@@ -108,16 +128,16 @@ public class BackupController extends AbstractRepositoryController {
   /**
    * Restores a whole repository
    *
-   * @param file
+   * @param file a backup, or a full backup and the incremental backups based on it
    * @return
    */
   @RequestMapping(method = RequestMethod.POST, value = "/rest/namespaces/restore")
   @PreAuthorize("hasAuthority('sysadmin')")
   public ResponseEntity<Collection<String>> restoreRepository(
-      @RequestParam("file") MultipartFile file) {
+      @RequestParam("file") MultipartFile[] file) {
     try {
       return new ResponseEntity<>(restoreRepository(file, x -> true), HttpStatus.OK);
-    } catch (IOException | UploadTooLargeException e) {
+    } catch (IOException | UploadTooLargeException | IllegalArgumentException e) {
       return new ResponseEntity<>(Collections.emptyList(), HttpStatus.BAD_REQUEST);
     }
   }
@@ -126,7 +146,7 @@ public class BackupController extends AbstractRepositoryController {
    * Restores models for a given namespace.
    *
    * @param namespace
-   * @param file
+   * @param file a backup, or a full backup and the incremental backups based on it
    * @return
    */
   @RequestMapping(method = RequestMethod.POST, value = "/rest/namespaces/{namespace}/restore")
@@ -134,25 +154,49 @@ public class BackupController extends AbstractRepositoryController {
   public ResponseEntity<Collection<String>> restoreRepositoryForNamespace(
       @ApiParam(value = "The namespace to be restored",
           required = true) final @PathVariable String namespace,
-      @RequestParam("file") MultipartFile file) {
+      @RequestParam("file") MultipartFile[] file) {
     try {
       return new ResponseEntity<>(restoreRepository(file, namespaceFilter(namespace)),
           HttpStatus.OK);
-    } catch (IOException | UploadTooLargeException e) {
+    } catch (IOException | UploadTooLargeException | IllegalArgumentException e) {
       return new ResponseEntity(Collections.emptyList(), HttpStatus.BAD_REQUEST);
     }
   }
 
-  public Collection<String> restoreRepository(MultipartFile file,
+  public Collection<String> restoreRepository(MultipartFile[] files,
       Predicate<Namespace> namespaceFilter)
       throws UploadTooLargeException, IOException {
-    if (file.getSize() > maxBackupSize) {
-      throw new UploadTooLargeException("backup", maxBackupSize);
+    for (MultipartFile file : files) {
+      if (file.getSize() > maxBackupSize) {
+        throw new UploadTooLargeException("backup", maxBackupSize);
+      }
     }
 
-    return backupRestoreService.restoreRepository(file.getBytes(), namespaceFilter)
-        .stream().map(Namespace::getName)
-        .collect(Collectors.toList());
+    List<InputStream> backupFiles = new ArrayList<>();
+    try {
+      for (MultipartFile file : files) {
+        backupFiles.add(file.getInputStream());
+      }
+      return names(backupRestoreService.restoreRepository(backupFiles, namespaceFilter));
+    } finally {
+      backupFiles.forEach(IOUtils::closeQuietly);
+    }
+  }
+
+  /**
+   * Reports the namespaces that have been restored, and those that could not be restored.
+   */
+  @ExceptionHandler(IncompleteRestoreException.class)
+  public ResponseEntity<Object> incompleteRestore(final IncompleteRestoreException ex) {
+    Map<String, Object> error = new HashMap<>();
+    error.put("message", ex.getMessage());
+    error.put("restored", names(ex.getRestored()));
+    error.put("failed", names(ex.getFailed()));
+    return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+  }
+
+  private static List<String> names(Collection<Namespace> namespaces) {
+    return namespaces.stream().map(Namespace::getName).collect(Collectors.toList());
   }
 
 }
@@ -18,7 +18,6 @@ import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.security.Principal;
 import java.util.Collection;
@@ -29,13 +28,10 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 import javax.servlet.http.HttpServletResponse;
 import org.apache.commons.io.IOUtils;
 import org.apache.log4j.Logger;
@@ -88,6 +84,7 @@ import org.eclipse.vorto.repository.web.core.async.AsyncModelLinksFetcher;
 import org.eclipse.vorto.repository.web.core.async.AsyncModelMappingsFetcher;
 import org.eclipse.vorto.repository.web.core.async.AsyncModelReferenceFetcher;
 import org.eclipse.vorto.repository.web.core.async.AsyncModelSyntaxFetcher;
+import org.eclipse.vorto.repository.web.core.async.AsyncModelTaskExecutor;
 import org.eclipse.vorto.repository.web.core.async.AsyncWorkflowActionsFetcher;
 import org.eclipse.vorto.repository.web.core.dto.ModelContent;
 import org.eclipse.vorto.repository.web.core.exceptions.NotAuthorizedException;
@@ -151,6 +148,9 @@ public class ModelRepositoryController extends AbstractRepositoryController {
   @Autowired
   private IOAuthProviderRegistry registry;
 
+  @Autowired
+  private AsyncModelTaskExecutor asyncModelTaskExecutor;
+
   @Value("${config.requestTimeoutInSeconds:#{300}}")
   private int requestTimeoutInSeconds;
 
@@ -215,74 +215,58 @@ public class ModelRepositoryController extends AbstractRepositoryController {
         return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
       }
 
-      // starts spawning threads to retrieve models etc.
-      final ExecutorService executor = Executors.newCachedThreadPool();
+      // submits the tasks retrieving models etc. to the shared executor, all of which have to
+      // complete within the configured timeout
+      AsyncModelTaskExecutor.Batch batch =
+          asyncModelTaskExecutor.newBatch(requestTimeoutInSeconds, TimeUnit.SECONDS);
       // fetches mappings
       Collection<ModelMinimalInfoDTO> mappings = ConcurrentHashMap.newKeySet();
       modelInfo.getPlatformMappings().entrySet().stream()
           .forEach(
               e -> {
-                executor.submit(
+                batch.submit(
                     new AsyncModelMappingsFetcher(mappings, e)
-                        .with(SecurityContextHolder.getContext())
-                        .with(RequestContextHolder.getRequestAttributes())
                         .with(getModelRepositoryFactory())
                 );
               }
           );
       // fetches references from model ids built with the root ModelInfo
       Collection<ModelMinimalInfoDTO> references = ConcurrentHashMap.newKeySet();
-      modelInfo.getReferences().stream().forEach(
-          id ->
-              executor.submit(
-                  new AsyncModelReferenceFetcher(references, id)
-                      .with(SecurityContextHolder.getContext())
-                      .with(RequestContextHolder.getRequestAttributes())
-                      .with(getModelRepositoryFactory())
-              )
+      batch.submit(
+          new AsyncModelReferenceFetcher(references, modelInfo.getReferences())
+              .with(getModelRepositoryFactory())
       );
       // fetches referenced by
       Collection<ModelMinimalInfoDTO> referencedBy = ConcurrentHashMap.newKeySet();
-      modelInfo.getReferencedBy().stream().forEach(
-          id ->
-              executor.submit(
-                  new AsyncModelReferenceFetcher(referencedBy, id)
-                      .with(SecurityContextHolder.getContext())
-                      .with(RequestContextHolder.getRequestAttributes())
-                      .with(getModelRepositoryFactory())
-              )
+      batch.submit(
+          new AsyncModelReferenceFetcher(referencedBy, modelInfo.getReferencedBy())
+              .with(getModelRepositoryFactory())
       );
       // fetches attachments
       Collection<Attachment> attachments = ConcurrentHashMap.newKeySet();
-      executor.submit(
+      batch.submit(
           new AsyncModelAttachmentsFetcher(attachments, modelID,
               userRepositoryRoleService.isSysadmin(user))
-              .with(SecurityContextHolder.getContext())
-              .with(RequestContextHolder.getRequestAttributes())
               .with(getModelRepositoryFactory())
       );
 
       // fetches links
       Collection<ModelLink> links = ConcurrentHashMap.newKeySet();
-      executor.submit(
+      batch.submit(
           new AsyncModelLinksFetcher(modelID, links)
-              .with(SecurityContextHolder.getContext())
-              .with(RequestContextHolder.getRequestAttributes())
               .with(getModelRepositoryFactory())
       );
 
       // fetches available workflow actions
       Collection<String> actions = ConcurrentHashMap.newKeySet();
-      executor.submit(
+      batch.submit(
           new AsyncWorkflowActionsFetcher(
               workflowService, actions, modelID, UserContext.user(authentication, workspaceId)
           )
-              .with(SecurityContextHolder.getContext())
-              .with(RequestContextHolder.getRequestAttributes())
       );
 
       // fetches model syntax
-      Future<String> encodedSyntaxFuture = executor.submit(
+      Future<String> encodedSyntaxFuture = batch.submit(
           new AsyncModelSyntaxFetcher(
               modelID,
               SecurityContextHolder.getContext(),
@@ -291,10 +275,6 @@ public class ModelRepositoryController extends AbstractRepositoryController {
           )
       );
 
-      // shuts down executor and waits for completion of tasks until configured timeout
-      // also retrieves callable content
-      executor.shutdown();
-
       // single-threaded calls
       // fetches policies in this thread
       Collection<PolicyEntry> policies = getPolicyManager(workspaceId)
@@ -303,23 +283,26 @@ public class ModelRepositoryController extends AbstractRepositoryController {
           .filter(p -> userHasPolicyEntry(p, user, workspaceId))
           .collect(Collectors.toList());
 
-      // getting callables and setting executor timeout
+      // getting callables and waiting for the remaining tasks until the deadline
       String encodedSyntax = null;
       try {
         // callable content
-        encodedSyntax = encodedSyntaxFuture.get();
+        encodedSyntax = batch.get(encodedSyntaxFuture);
         // timeout
-        if (!executor.awaitTermination(requestTimeoutInSeconds, TimeUnit.SECONDS)) {
-          LOGGER.warn(
-              String.format(
-                  "Requesting UI data for model ID [%s] took over [%d] seconds and programmatically timed out.",
-                  modelID, requestTimeoutInSeconds
-              )
-          );
-          return new ResponseEntity<>(null, HttpStatus.GATEWAY_TIMEOUT);
+        if (!batch.await()) {
+          throw new TimeoutException();
         }
+      } catch (TimeoutException te) {
+        LOGGER.warn(
+            String.format(
+                "Requesting UI data for model ID [%s] took over [%d] seconds and programmatically timed out.",
+                modelID, requestTimeoutInSeconds
+            )
+        );
+        return new ResponseEntity<>(null, HttpStatus.GATEWAY_TIMEOUT);
       } catch (InterruptedException ie) {
         LOGGER.error("Awaiting executor termination was interrupted.");
+        Thread.currentThread().interrupt();
         return new ResponseEntity<>(null, HttpStatus.SERVICE_UNAVAILABLE);
       } catch (ExecutionException ee) {
         LOGGER.error("Failed to retrieve and encode model syntax asynchronously");
@@ -650,8 +633,7 @@ public class ModelRepositoryController extends AbstractRepositoryController {
     LOGGER.info("Exporting information models for user - results: "
         + userModels.size());
 
-    sendAsZipFile(response, user.getUsername() + "-models.zip",
-        getModelsAndDependencies(userModels));
+    sendModelsAsZipFile(response, user.getUsername() + "-models.zip", userModels);
   }
 
   @ApiOperation(value = "Getting all mapping resources for the given model")
@@ -683,7 +665,7 @@ public class ModelRepositoryController extends AbstractRepositoryController {
       final String fileName =
           modelID.getNamespace() + "_" + modelID.getName() + "_" + modelID.getVersion() + ".zip";
 
-      sendAsZipFile(response, fileName, getModelsAndDependencies(mappingModelIds));
+      sendModelsAsZipFile(response, fileName, mappingModelIds);
       return new ResponseEntity<>(true, HttpStatus.OK);
     } catch (FatalModelRepositoryException ex) {
       return new ResponseEntity<>(false, HttpStatus.NOT_FOUND);
@@ -908,55 +890,7 @@ public class ModelRepositoryController extends AbstractRepositoryController {
         .equals(entry.getPrincipalId());
   }
 
-  private void sendAsZipFile(final HttpServletResponse response, final String fileName,
-      Map<ModelInfo, FileContent> models) {
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    ZipOutputStream zos = new ZipOutputStream(baos);
-
-    try {
-      for (Map.Entry<ModelInfo, FileContent> model : models.entrySet()) {
-        ModelInfo modelResource = model.getKey();
-        ZipEntry zipEntry = new ZipEntry(
-            modelResource.getId().getPrettyFormat() + modelResource.getType().getExtension());
-        zos.putNextEntry(zipEntry);
-        zos.write(model.getValue().getContent());
-        zos.closeEntry();
-      }
-
-      zos.close();
-      baos.close();
-    } catch (Exception ex) {
-      throw new GenericApplicationException("error in creating zip file.", ex);
-    }
-
-    response.setHeader(CONTENT_DISPOSITION, ATTACHMENT_FILENAME + fileName);
-    response.setContentType(APPLICATION_OCTET_STREAM);
-    try {
-      IOUtils.copy(new ByteArrayInputStream(baos.toByteArray()), response.getOutputStream());
-      response.flushBuffer();
-    } catch (IOException e) {
-      throw new GenericApplicationException("Error copying file.", e);
-    }
-  }
-
   private IModelRepository getModelRepository(String workspaceID) {
     return this.modelRepositoryFactory.getRepository(workspaceID);
   }
-
-  private Map<ModelInfo, FileContent> getModelsAndDependencies(Collection<ModelId> modelIds) {
-    Map<ModelInfo, FileContent> modelsMap = new HashMap<>();
-    if (modelIds != null && !modelIds.isEmpty()) {
-      for (ModelId modelId : modelIds) {
-        IModelRepository modelRepo = getModelRepository(modelId);
-        ModelInfo modelInfo = modelRepo.getById(modelId);
-        Optional<FileContent> modelContent = modelRepo.getFileContent(modelId, Optional.empty());
-        if (modelContent.isPresent()) {
-          modelsMap.put(modelInfo, modelContent.get());
-          modelsMap.putAll(getModelsAndDependencies(modelInfo.getReferences()));
-        }
-      }
-    }
-
-    return modelsMap;
-  }
 }
@@ -13,36 +13,39 @@
 package org.eclipse.vorto.repository.web.core.async;
 
 import java.util.Collection;
+import java.util.Map;
 import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.web.api.v1.dto.ModelMinimalInfoDTO;
 import org.eclipse.vorto.repository.web.api.v1.dto.ModelReferenceDTO;
-import org.eclipse.vorto.repository.web.core.exceptions.NotAuthorizedException;
 
 /**
  * Fetches the given model's references or "referenced by" models asynchronously, and populates the
- * target {@link Collection}.
+ * target {@link Collection}. <br/>
+ * All models are loaded in one batch. Models that cannot be loaded are added as inaccessible
+ * references.
  */
 public class AsyncModelReferenceFetcher extends AsyncModelTaskRunner {
 
-  private final ModelId id;
+  private final Collection<ModelId> ids;
   private final Collection<ModelMinimalInfoDTO> target;
 
-  public AsyncModelReferenceFetcher(Collection<ModelMinimalInfoDTO> target, ModelId id) {
+  public AsyncModelReferenceFetcher(Collection<ModelMinimalInfoDTO> target,
+      Collection<ModelId> ids) {
     this.target = target;
-    this.id = id;
+    this.ids = ids;
   }
 
   @Override
   public void run() {
     super.run();
-    try {
+    Map<ModelId, ModelInfo> models = factory.getByIds(ids);
+    for (ModelId id : ids) {
+      ModelInfo model = models.get(id);
       target.add(
-          ModelReferenceDTO
-              .fromModelInfo(factory.getRepositoryByModelWithoutSessionHelper(id).getById(id))
-      );
-    } catch (NotAuthorizedException nae) {
-      target.add(
-          ModelReferenceDTO.inaccessibleModelReference(id.getPrettyFormat())
+          model != null
+              ? ModelReferenceDTO.fromModelInfo(model)
+              : ModelReferenceDTO.inaccessibleModelReference(id.getPrettyFormat())
       );
     }
   }
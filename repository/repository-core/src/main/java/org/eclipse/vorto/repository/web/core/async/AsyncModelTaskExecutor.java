@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.web.core.async;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Shared, bounded executor for the asynchronous tasks that fetch model details. <br/>
+ * The {@link SecurityContext} and {@link RequestAttributes} of the submitting thread are
+ * propagated to the task, and reset once the task is done. <br/>
+ * When all threads are busy and the queue is full, tasks run in the submitting thread instead of
+ * spawning more threads. Once the executor is shut down, tasks are rejected. <br/>
+ * Task counts are published as actuator metrics with the prefix {@literal modeltasks.}.
+ */
+@Component
+public class AsyncModelTaskExecutor implements PublicMetrics {
+
+  private final ThreadPoolExecutor executor;
+
+  private final AtomicLong submitted = new AtomicLong();
+  private final AtomicLong callerRuns = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong timedOut = new AtomicLong();
+
+  public AsyncModelTaskExecutor(@Value("${repo.modelTasks.poolSize:#{16}}") int poolSize,
+      @Value("${repo.modelTasks.queueCapacity:#{1000}}") int queueCapacity) {
+    this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        new ThreadFactoryBuilder().setNameFormat("model-task-%d").setDaemon(true).build(),
+        (task, pool) -> {
+          if (pool.isShutdown()) {
+            throw new RejectedExecutionException("Model task executor has been shut down");
+          }
+          callerRuns.incrementAndGet();
+          task.run();
+        });
+    this.executor.allowCoreThreadTimeOut(true);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * @param timeout the time all tasks of the batch must complete in, starting now
+   * @return a new batch of tasks sharing the given deadline
+   */
+  public Batch newBatch(long timeout, TimeUnit unit) {
+    return new Batch(System.nanoTime() + unit.toNanos(timeout));
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    Collection<Metric<?>> metrics = new ArrayList<>();
+    metrics.add(new Metric<>("modeltasks.submitted", submitted.get()));
+    metrics.add(new Metric<>("modeltasks.completed", executor.getCompletedTaskCount()));
+    metrics.add(new Metric<>("modeltasks.callerRuns", callerRuns.get()));
+    metrics.add(new Metric<>("modeltasks.failed", failed.get()));
+    metrics.add(new Metric<>("modeltasks.timedOut", timedOut.get()));
+    metrics.add(new Metric<>("modeltasks.active", executor.getActiveCount()));
+    metrics.add(new Metric<>("modeltasks.queued", executor.getQueue().size()));
+    metrics.add(new Metric<>("modeltasks.poolSize", executor.getPoolSize()));
+    return metrics;
+  }
+
+  private <T> Callable<T> withContext(Callable<T> task) {
+    SecurityContext context = SecurityContextHolder.getContext();
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    return () -> {
+      SecurityContext previousContext = SecurityContextHolder.getContext();
+      RequestAttributes previousAttributes = RequestContextHolder.getRequestAttributes();
+      SecurityContextHolder.setContext(context);
+      RequestContextHolder.setRequestAttributes(attributes, true);
+      try {
+        return task.call();
+      } catch (Exception | Error e) {
+        failed.incrementAndGet();
+        throw e;
+      } finally {
+        SecurityContextHolder.setContext(previousContext);
+        RequestContextHolder.setRequestAttributes(previousAttributes, true);
+      }
+    };
+  }
+
+  /**
+   * Tasks submitted for a single request, which have to complete before a common deadline.
+   */
+  public class Batch {
+
+    private final long deadline;
+    private final List<Future<?>> futures = new ArrayList<>();
+
+    private Batch(long deadline) {
+      this.deadline = deadline;
+    }
+
+    public Future<?> submit(Runnable task) {
+      return submit(() -> {
+        task.run();
+        return null;
+      });
+    }
+
+    /**
+     * @throws RejectedExecutionException if the executor has been shut down
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+      Future<T> future = executor.submit(withContext(task));
+      submitted.incrementAndGet();
+      futures.add(future);
+      return future;
+    }
+
+    /**
+     * @return the result of the given task of this batch, waiting until the deadline at most
+     * @throws TimeoutException if the deadline has passed, in which case all pending tasks of the
+     *         batch are cancelled
+     */
+    public <T> T get(Future<T> future)
+        throws InterruptedException, ExecutionException, TimeoutException {
+      try {
+        return future.get(remainingNanos(), TimeUnit.NANOSECONDS);
+      } catch (TimeoutException | InterruptedException e) {
+        cancel();
+        throw e;
+      }
+    }
+
+    /**
+     * Waits for all tasks of the batch until the deadline.
+     *
+     * @return true if all tasks are done, false if the deadline has passed, in which case all
+     *         pending tasks of the batch are cancelled
+     */
+    public boolean await() throws InterruptedException {
+      for (Future<?> future : futures) {
+        try {
+          future.get(remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+          // failures are left to the individual tasks, only completion is awaited
+        } catch (TimeoutException e) {
+          cancel();
+          return false;
+        } catch (InterruptedException e) {
+          cancel();
+          throw e;
+        }
+      }
+      return true;
+    }
+
+    private long remainingNanos() {
+      return Math.max(0, deadline - System.nanoTime());
+    }
+
+    private void cancel() {
+      futures.stream().filter(future -> !future.isDone()).forEach(future -> {
+        timedOut.incrementAndGet();
+        future.cancel(true);
+      });
+    }
+  }
+}
@@ -25,17 +25,18 @@ import org.springframework.web.context.request.RequestContextHolder;
  * <ul>
  *   <li>
  *     Implementors <b>must</b> invoke {@code super.run()} in their {@code run} implementation, in
- *     order to propagate the {@link SecurityContext}, {@link RequestAttributes} and
- *     {@link IModelRepositoryFactory} to the running thread.
+ *     order to propagate the {@link SecurityContext} and {@link RequestAttributes}, if set, to the
+ *     running thread.
  *   </li>
  *   <li>
- *     Initialization of this or all inheriting classes <b>must</b> populate all 3 fields as
- *     non-{@code null} values, i.e. all {@code with...} methods must be chain-invoked with valid
- *     values.
+ *     Initialization of this or all inheriting classes <b>must</b> populate the
+ *     {@link IModelRepositoryFactory} if the task uses it. The {@link SecurityContext} and
+ *     {@link RequestAttributes} can be omitted when the task is run by the
+ *     {@link AsyncModelTaskExecutor}, which propagates them already.
  *   </li>
  * </ul>
  */
-public abstract class AsyncModelTaskRunner extends Thread {
+public abstract class AsyncModelTaskRunner implements Runnable {
 
   protected SecurityContext context;
   protected RequestAttributes attributes;
@@ -57,8 +58,12 @@ public abstract class AsyncModelTaskRunner extends Thread {
   }
 
   protected void setContextAndAttributes() {
-    SecurityContextHolder.setContext(context);
-    RequestContextHolder.setRequestAttributes(attributes, true);
+    if (context != null) {
+      SecurityContextHolder.setContext(context);
+    }
+    if (attributes != null) {
+      RequestContextHolder.setRequestAttributes(attributes, true);
+    }
   }
 
   @Override
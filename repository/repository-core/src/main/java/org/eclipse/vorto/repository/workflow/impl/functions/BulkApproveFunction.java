@@ -13,7 +13,6 @@
 package org.eclipse.vorto.repository.workflow.impl.functions;
 
 import org.eclipse.vorto.model.ModelId;
-import org.eclipse.vorto.repository.core.IModelRepository;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
@@ -47,10 +46,10 @@ public class BulkApproveFunction implements IWorkflowFunction {
     @Deprecated
     @Override
     public void execute(ModelInfo model, IUserContext user, Map<String, Object> context) {
+        Map<ModelId, ModelInfo> referenceModels = repositoryFactory.getByIds(model.getReferences());
         for (ModelId referenceId : model.getReferences()) {
-            IModelRepository repository = repositoryFactory.getRepositoryByModel(referenceId);
-            ModelInfo referenceModel = repository.getById(referenceId);
-            if (ModelState.InReview.getName().equals(referenceModel.getState())) {
+            ModelInfo referenceModel = referenceModels.get(referenceId);
+            if (referenceModel != null && ModelState.InReview.getName().equals(referenceModel.getState())) {
                 try {
                     workflowService.doAction(referenceId, user, SimpleWorkflowModel.ACTION_APPROVE.getName());
                 } catch (WorkflowException e) {
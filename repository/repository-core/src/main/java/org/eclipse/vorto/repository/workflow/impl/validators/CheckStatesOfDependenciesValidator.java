@@ -14,6 +14,7 @@ package org.eclipse.vorto.repository.workflow.impl.validators;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
@@ -38,9 +39,10 @@ public class CheckStatesOfDependenciesValidator implements IWorkflowValidator {
 
   @Override
   public void validate(ModelInfo model, IAction currentAction, IUserContext user) throws InvalidInputException {
+    Map<ModelId, ModelInfo> referencedModels =
+        modelRepositoryFactory.getByIds(model.getReferences());
     for (ModelId referencedModelId : model.getReferences()) {
-      ModelInfo referencedModel = modelRepositoryFactory.getRepositoryByModel(referencedModelId)
-          .getById(referencedModelId);
+      ModelInfo referencedModel = referencedModels.get(referencedModelId);
       if (referencedModel == null) {
         throw new InvalidInputException(
             "Referenced Model with ID '" + referencedModelId + "' does not exist in repository.",
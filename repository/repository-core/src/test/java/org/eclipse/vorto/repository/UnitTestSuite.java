@@ -13,6 +13,8 @@
 package org.eclipse.vorto.repository;
 
 import org.eclipse.vorto.repository.account.UserAccountServiceTest;
+import org.eclipse.vorto.repository.backup.BackupManifestTest;
+import org.eclipse.vorto.repository.backup.BackupRestoreServiceTest;
 import org.eclipse.vorto.repository.backup.RepositoryAdminTest;
 import org.eclipse.vorto.repository.core.RepositoryUnitTestSuite;
 import org.eclipse.vorto.repository.importer.ImporterUnitTestSuite;
@@ -20,6 +22,7 @@ import org.eclipse.vorto.repository.indexing.IndexingTest;
 import org.eclipse.vorto.repository.mapping.PayloadMappingSpecificationTest;
 import org.eclipse.vorto.repository.model.BulkOperationServiceTest;
 import org.eclipse.vorto.repository.services.ValidationTest;
+import org.eclipse.vorto.repository.web.core.async.AsyncModelTaskExecutorTest;
 import org.eclipse.vorto.repository.workflow.WorkflowTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -28,12 +31,15 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({UserAccountServiceTest.class,
               RepositoryAdminTest.class,
+              BackupManifestTest.class,
+              BackupRestoreServiceTest.class,
               RepositoryUnitTestSuite.class,
               ImporterUnitTestSuite.class,
               IndexingTest.class,
               BulkOperationServiceTest.class,
               PayloadMappingSpecificationTest.class,
-              WorkflowTest.class, ValidationTest.class})
+              WorkflowTest.class, ValidationTest.class,
+              AsyncModelTaskExecutorTest.class})
 public class UnitTestSuite {
 
 }
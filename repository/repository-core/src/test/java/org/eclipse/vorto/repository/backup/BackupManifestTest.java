@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.backup;
+
+import static org.junit.Assert.assertEquals;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class BackupManifestTest {
+
+  private final BackupManifest full =
+      BackupManifest.full(1000, Arrays.asList("com.alex", "com.erle"));
+
+  private final BackupManifest first = BackupManifest
+      .incremental(2000, 1000, Arrays.asList("com.alex", "com.erle"), Arrays.asList("com.alex"));
+
+  private final BackupManifest second = BackupManifest
+      .incremental(3000, 2000, Arrays.asList("com.alex"), Arrays.asList());
+
+  @Test
+  public void testChainOrdersFromFullToLatest() {
+    List<Long> chain = BackupManifest.chain(Arrays.asList(second, full, first)).stream()
+        .map(BackupManifest::getCreatedOn).collect(Collectors.toList());
+    assertEquals(Arrays.asList(1000L, 2000L, 3000L), chain);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testChainOfSingleIncrementalBackup() {
+    BackupManifest.chain(Arrays.asList(first));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testChainWithoutFullBackup() {
+    BackupManifest.chain(Arrays.asList(first, second));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testChainWithMissingIncrementalBackup() {
+    BackupManifest.chain(Arrays.asList(full, second));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testChainWithTwoFullBackups() {
+    BackupManifest.chain(Arrays.asList(full, BackupManifest.full(2000, Arrays.asList("com.alex"))));
+  }
+}
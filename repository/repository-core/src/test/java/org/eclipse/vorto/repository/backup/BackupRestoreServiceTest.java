@@ -0,0 +1,307 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.backup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.gson.Gson;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.UnitTestBase;
+import org.eclipse.vorto.repository.backup.impl.BackupRestoreService;
+import org.eclipse.vorto.repository.core.impl.WorkspaceChangeJournal;
+import org.eclipse.vorto.repository.core.FatalModelRepositoryException;
+import org.eclipse.vorto.repository.core.IModelPolicyManager;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.repository.core.IRepositoryManager;
+import org.eclipse.vorto.repository.core.PolicyEntry;
+import org.eclipse.vorto.repository.core.PolicyEntry.Permission;
+import org.eclipse.vorto.repository.core.PolicyEntry.PrincipalType;
+import org.eclipse.vorto.repository.domain.Namespace;
+import org.eclipse.vorto.repository.search.IndexingException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * Backs up and restores the workspaces of two namespaces, other than the default workspace,
+ * which cannot be removed on restoration.
+ */
+public class BackupRestoreServiceTest extends UnitTestBase {
+
+  private WorkspaceChangeJournal workspaceChangeJournal = mock(WorkspaceChangeJournal.class);
+
+  private List<BackupRestoreService> services = new ArrayList<>();
+
+  @Before
+  public void setUpWorkspaces() throws Exception {
+    createUserContext("admin");
+
+    Namespace alex = namespace("com.alex", "alex");
+    Namespace erle = namespace("com.erle", "erle");
+    when(namespaceRepository.findAll()).thenReturn(Arrays.asList(alex, erle));
+    when(namespaceRepository.findByName("com.alex")).thenReturn(alex);
+    when(namespaceRepository.findByName("com.erle")).thenReturn(erle);
+
+    IRepositoryManager repoMgr = repositoryFactory.getRepositoryManager("alex");
+    repoMgr.createWorkspace("alex");
+    repoMgr.createWorkspace("erle");
+    repoMgr.restore(
+        IOUtils.toByteArray(new ClassPathResource("sample_models/backup1.xml").getInputStream()));
+  }
+
+  @After
+  public void shutdownServices() {
+    services.forEach(BackupRestoreService::shutdown);
+  }
+
+  @Test
+  public void testBackupAndRestoreInParallel() throws Exception {
+    backupAndRestore(4);
+  }
+
+  @Test
+  public void testBackupAndRestoreSequentially() throws Exception {
+    backupAndRestore(1);
+  }
+
+  @Test
+  public void testParallelAndSequentialBackupsHaveSameEntries() throws Exception {
+    ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+    service(4).createBackup(namespace -> true, parallel);
+    ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+    service(1).createBackup(namespace -> true, sequential);
+
+    assertEquals(new HashSet<>(entryNames(sequential.toByteArray())),
+        new HashSet<>(entryNames(parallel.toByteArray())));
+  }
+
+  @Test
+  public void testIncrementalBackupContainsChangedNamespaces() throws Exception {
+    when(workspaceChangeJournal.changedSince(anyLong())).thenReturn(Collections.singleton("erle"));
+
+    ByteArrayOutputStream backup = new ByteArrayOutputStream();
+    service(4).createIncrementalBackup(namespace -> true, 100_000, backup);
+
+    // looks further back by the clock skew between the nodes of a cluster
+    verify(workspaceChangeJournal).changedSince(40_000);
+    assertEquals(Arrays.asList(BackupManifest.FILE_NAME, "com.erle.xml"),
+        entryNames(backup.toByteArray()));
+    BackupManifest manifest = manifest(backup.toByteArray());
+    assertEquals(BackupManifest.Type.INCREMENTAL, manifest.getType());
+    assertEquals(Long.valueOf(100_000), manifest.getBasedOn());
+    assertEquals(Arrays.asList("com.alex", "com.erle"), manifest.getNamespaces());
+    assertEquals(Collections.singletonList("com.erle"), manifest.getIncluded());
+  }
+
+  @Test
+  public void testRestoreTakesLatestBackupOfEachNamespace() throws Exception {
+    BackupRestoreService service = service(4);
+    ByteArrayOutputStream full = new ByteArrayOutputStream();
+    service.createBackup(namespace -> true, full);
+
+    repositoryFactory.getRepositoryManager("erle").restore(
+        IOUtils.toByteArray(new ClassPathResource("sample_models/backup1.xml").getInputStream()));
+    when(workspaceChangeJournal.changedSince(anyLong())).thenReturn(Collections.singleton("erle"));
+    // the incremental backup is identified by a later time than the full backup
+    Thread.sleep(10);
+    ByteArrayOutputStream incremental = new ByteArrayOutputStream();
+    service.createIncrementalBackup(namespace -> true,
+        manifest(full.toByteArray()).getCreatedOn(), incremental);
+
+    IRepositoryManager repoMgr = repositoryFactory.getRepositoryManager("alex");
+    for (String workspaceId : Arrays.asList("alex", "erle")) {
+      repoMgr.removeWorkspace(workspaceId);
+      repoMgr.createWorkspace(workspaceId);
+    }
+
+    service.restoreRepository(Arrays.asList(
+        new ByteArrayInputStream(incremental.toByteArray()),
+        new ByteArrayInputStream(full.toByteArray())), namespace -> true);
+
+    // com.alex is restored from the full backup, and com.erle from the incremental backup
+    assertEquals(4, repositoryFactory.getRepository("alex").search("*").size());
+    assertEquals(4, repositoryFactory.getRepository("erle").search("*").size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRestoreRejectsSingleIncrementalBackup() throws Exception {
+    when(workspaceChangeJournal.changedSince(anyLong())).thenReturn(Collections.singleton("erle"));
+    BackupRestoreService service = service(4);
+    ByteArrayOutputStream incremental = new ByteArrayOutputStream();
+    service.createIncrementalBackup(namespace -> true, 100_000, incremental);
+
+    service.restoreRepository(new ByteArrayInputStream(incremental.toByteArray()),
+        namespace -> true);
+  }
+
+  @Test
+  public void testRestoreReportsFailedNamespaces() throws Exception {
+    IRepositoryManager working = mock(IRepositoryManager.class);
+    IRepositoryManager failing = mock(IRepositoryManager.class);
+    doThrow(new FatalModelRepositoryException("Corrupt backup", null)).when(failing)
+        .restore(any(InputStream.class));
+    IModelRepositoryFactory factory = mock(IModelRepositoryFactory.class);
+    when(factory.getRepositoryManagerForBackgroundTask("alex")).thenReturn(working);
+    when(factory.getRepositoryManagerForBackgroundTask("erle")).thenReturn(failing);
+    when(factory.getPolicyManager(anyString())).thenReturn(mock(IModelPolicyManager.class));
+
+    BackupRestoreService service = new BackupRestoreService(factory, indexingService,
+        namespaceRepository, workspaceChangeJournal, 2, 60, 60);
+    services.add(service);
+
+    ByteArrayOutputStream backup = new ByteArrayOutputStream();
+    ZipOutputStream zos = new ZipOutputStream(backup);
+    for (String namespace : Arrays.asList("com.alex", "com.erle")) {
+      zos.putNextEntry(new ZipEntry(namespace + ".xml"));
+      zos.write("<backup/>".getBytes());
+      zos.closeEntry();
+    }
+    zos.close();
+
+    try {
+      service.restoreRepository(new ByteArrayInputStream(backup.toByteArray()),
+          namespace -> true);
+      fail("Restoration of the failing namespace must be reported");
+    } catch (IncompleteRestoreException e) {
+      assertEquals(Collections.singletonList("com.alex"), names(e.getRestored()));
+      assertEquals(Collections.singletonList("com.erle"), names(e.getFailed()));
+    }
+    // the namespaces restored are searchable nevertheless
+    verify(indexingService).reindexAllModels();
+  }
+
+  @Test
+  public void testRestoreSucceedsWhileAnotherReindexRuns() throws Exception {
+    BackupRestoreService service = service(4);
+    ByteArrayOutputStream backup = new ByteArrayOutputStream();
+    service.createBackup(namespace -> true, backup);
+    doThrow(new IndexingException("A reindex of all models is already running.", null))
+        .when(indexingService).reindexAllModels();
+
+    Collection<Namespace> restored = service
+        .restoreRepository(new ByteArrayInputStream(backup.toByteArray()), namespace -> true);
+
+    assertEquals(new HashSet<>(Arrays.asList("com.alex", "com.erle")),
+        new HashSet<>(names(restored)));
+    assertEquals(4, repositoryFactory.getRepository("alex").search("*").size());
+  }
+
+  @Test
+  public void testPolicyChangesAreRecordedForIncrementalBackups() throws Exception {
+    repositoryFactory.setWorkspaceChangeJournal(workspaceChangeJournal);
+    ModelId modelId = repositoryFactory.getRepository("alex").search("*").get(0).getId();
+    IModelPolicyManager policyManager = repositoryFactory.getPolicyManager("alex");
+
+    policyManager.addPolicyEntry(modelId,
+        PolicyEntry.of("erle", PrincipalType.User, Permission.READ));
+    verify(workspaceChangeJournal).record("alex");
+
+    policyManager.removePolicyEntry(modelId,
+        PolicyEntry.of("erle", PrincipalType.User, Permission.READ));
+    verify(workspaceChangeJournal, atLeast(2)).record("alex");
+  }
+
+  private void backupAndRestore(int parallelism) throws Exception {
+    BackupRestoreService service = service(parallelism);
+    assertEquals(4, repositoryFactory.getRepository("alex").search("*").size());
+
+    ByteArrayOutputStream backup = new ByteArrayOutputStream();
+    service.createBackup(namespace -> true, backup);
+
+    List<String> entries = entryNames(backup.toByteArray());
+    assertEquals(BackupManifest.FILE_NAME, entries.get(0));
+    assertEquals(new HashSet<>(Arrays.asList("com.alex.xml", "com.erle.xml")),
+        new HashSet<>(entries.subList(1, entries.size())));
+
+    IRepositoryManager repoMgr = repositoryFactory.getRepositoryManager("alex");
+    repoMgr.removeWorkspace("alex");
+    repoMgr.createWorkspace("alex");
+    assertEquals(0, repositoryFactory.getRepository("alex").search("*").size());
+
+    Collection<Namespace> restored = service
+        .restoreRepository(new ByteArrayInputStream(backup.toByteArray()), namespace -> true);
+
+    assertEquals(new HashSet<>(Arrays.asList("com.alex", "com.erle")),
+        new HashSet<>(names(restored)));
+    assertEquals(4, repositoryFactory.getRepository("alex").search("*").size());
+    assertEquals(0, repositoryFactory.getRepository("erle").search("*").size());
+    verify(indexingService).reindexAllModels();
+    // restorations are recorded for the next incremental backup
+    verify(workspaceChangeJournal).record("alex");
+    verify(workspaceChangeJournal).record("erle");
+  }
+
+  private BackupRestoreService service(int parallelism) {
+    BackupRestoreService service = new BackupRestoreService(repositoryFactory, indexingService,
+        namespaceRepository, workspaceChangeJournal, parallelism, 60, 60);
+    services.add(service);
+    return service;
+  }
+
+  private static List<String> entryNames(byte[] backup) throws IOException {
+    List<String> entries = new ArrayList<>();
+    try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(backup))) {
+      ZipEntry entry;
+      while ((entry = zis.getNextEntry()) != null) {
+        entries.add(entry.getName());
+      }
+    }
+    return entries;
+  }
+
+  private static BackupManifest manifest(byte[] backup) throws IOException {
+    try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(backup))) {
+      assertEquals(BackupManifest.FILE_NAME, zis.getNextEntry().getName());
+      return new Gson().fromJson(new InputStreamReader(zis, StandardCharsets.UTF_8),
+          BackupManifest.class);
+    }
+  }
+
+  private static List<String> names(Collection<Namespace> namespaces) {
+    return namespaces.stream().map(Namespace::getName).collect(Collectors.toList());
+  }
+
+  private static Namespace namespace(String name, String workspaceId) {
+    Namespace namespace = new Namespace();
+    namespace.setName(name);
+    namespace.setWorkspaceId(workspaceId);
+    return namespace;
+  }
+}
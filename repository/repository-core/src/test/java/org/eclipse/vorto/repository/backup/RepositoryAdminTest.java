@@ -12,8 +12,10 @@
  */
 package org.eclipse.vorto.repository.backup;
 
+import java.io.InputStream;
 import org.apache.commons.io.IOUtils;
 import org.eclipse.vorto.repository.UnitTestBase;
+import org.eclipse.vorto.repository.core.FatalModelRepositoryException;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.junit.Test;
 import org.springframework.core.io.ClassPathResource;
@@ -88,4 +90,23 @@ public class RepositoryAdminTest extends UnitTestBase {
     assertEquals(4, getModelRepository(admin).search("*").size());
   }
 
+  @Test
+  public void testRestoreCorruptBackupFromStream() throws Exception {
+    IUserContext admin = createUserContext("admin");
+    getRepoManager(admin)
+        .restore(new ClassPathResource("sample_models/backup1.xml").getInputStream());
+    assertEquals(4, getModelRepository(admin).search("*").size());
+
+    // the data replaced is reverted from the temporary file it has been saved to
+    try (InputStream corrupt =
+        new ClassPathResource("sample_models/vortobackup_corrupt.xml").getInputStream()) {
+      getRepoManager(admin).restore(corrupt);
+      fail("Exception that vorto backup could not be restored expected");
+    } catch (FatalModelRepositoryException e) {
+      // expected
+    }
+
+    assertEquals(4, getModelRepository(admin).search("*").size());
+  }
+
 }
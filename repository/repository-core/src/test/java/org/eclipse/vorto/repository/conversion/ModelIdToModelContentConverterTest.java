@@ -68,6 +68,23 @@ public class ModelIdToModelContentConverterTest extends UnitTestBase {
     assertEquals(0,((EntityModel)content.getModels().get(content.getRoot())).getStereotypes().size());
   }
 
+  @Test
+  public void testConvertWithTargetPlatformCached() throws Exception {
+    importModel("Color.type");
+    importModel("sample.mapping");
+
+    ModelIdToModelContentConverter converter = new ModelIdToModelContentConverter(this.repositoryFactory, new ModelContentCache(64));
+    ModelId colorId = ModelId.fromPrettyFormat("org.eclipse.vorto.examples.type:Color:1.0.0");
+
+    ModelContent content = converter.convert(colorId, Optional.of("ios"));
+    ((EntityModel)content.getModels().get(content.getRoot())).getStereotypes().clear();
+
+    ModelContent cached = converter.convert(colorId, Optional.of("ios"));
+    assertNotSame(content, cached);
+    assertEquals(colorId,cached.getModels().get(cached.getRoot()).getId());
+    assertEquals("colortype",((EntityModel)cached.getModels().get(cached.getRoot())).getStereotypes().get(0).getName());
+  }
+
   @Test
   public void testConvertWithoutTargetPlatformLatestTag() throws Exception {
     setupTestDataForLatestTag();
@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import org.eclipse.vorto.repository.core.impl.cache.ClusterCacheInvalidation;
+import org.junit.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+public class ClusterCacheInvalidationTest {
+
+  private ClusterCacheInvalidation invalidation =
+      new ClusterCacheInvalidation(null, "vorto-cache-cluster");
+
+  @Test
+  public void testClusteredCacheDelegatesWithoutCluster() {
+    Cache cache = invalidation.clustered(new ConcurrentMapCache("privilegesCache"));
+    assertFalse(invalidation.isClustered());
+    assertEquals("privilegesCache", cache.getName());
+
+    cache.put("alex", "sysadmin");
+    cache.put("erle", "user");
+    assertEquals("sysadmin", cache.get("alex", String.class));
+
+    cache.evict("alex");
+    assertNull(cache.get("alex"));
+    assertEquals("user", cache.get("erle", String.class));
+
+    cache.clear();
+    assertNull(cache.get("erle"));
+    assertEquals(0L, invalidation.metrics().stream()
+        .filter(metric -> metric.getName().equals("cachecluster.sent")).findFirst().get()
+        .getValue().longValue());
+  }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.eclipse.vorto.repository.core.impl.cache.ClusterCacheInvalidation;
+import org.eclipse.vorto.repository.core.impl.cache.ModelInfoCache;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ModelInfoCacheTest {
+
+  private ModelId modelId = ModelId.fromPrettyFormat("org.eclipse.vorto:Sensor:1.0.0");
+
+  private ModelInfoCache cache = new ModelInfoCache(100, 600,
+      new ClusterCacheInvalidation(null, "vorto-cache-cluster"));
+
+  private AtomicInteger loads = new AtomicInteger();
+
+  private ModelInfo load() {
+    loads.incrementAndGet();
+    ModelInfo modelInfo = new ModelInfo(modelId, ModelType.Functionblock);
+    modelInfo.setState("Released");
+    return modelInfo;
+  }
+
+  @Test
+  public void testReturnsCopies() throws Exception {
+    ModelInfo first = cache.get(modelId, this::load);
+    first.addReferencedBy(ModelId.fromPrettyFormat("org.eclipse.vorto:Device:1.0.0"));
+
+    ModelInfo second = cache.get(modelId, this::load);
+
+    assertEquals(1, loads.get());
+    assertEquals("Released", second.getState());
+    assertTrue(second.getReferencedBy().isEmpty());
+  }
+
+  @Test
+  public void testInvalidatedByModelEvents() throws Exception {
+    ModelInfo modelInfo = cache.get(modelId, this::load);
+    cache.onApplicationEvent(new AppEvent(this, modelInfo, null, EventType.MODEL_UPDATED));
+    cache.get(modelId, this::load);
+    assertEquals(2, loads.get());
+
+    cache.onApplicationEvent(new AppEvent(this, modelId, null, EventType.MODEL_DELETED));
+    cache.get(modelId, this::load);
+    assertEquals(3, loads.get());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testOtherNodesInvalidateChangedModelOnly() throws Exception {
+    ClusterCacheInvalidation cluster = mock(ClusterCacheInvalidation.class);
+    ArgumentCaptor<Consumer> keyInvalidation = ArgumentCaptor.forClass(Consumer.class);
+    ModelInfoCache otherNode = new ModelInfoCache(100, 600, cluster);
+    verify(cluster).register(anyString(), any(Runnable.class), keyInvalidation.capture());
+    ModelId otherModelId = ModelId.fromPrettyFormat("org.eclipse.vorto:Device:1.0.0");
+    otherNode.get(modelId, this::load);
+    otherNode.get(otherModelId, this::load);
+
+    // sends the key of the changed model only
+    ModelInfoCache thisNode = new ModelInfoCache(100, 600, cluster);
+    thisNode.invalidate(modelId);
+    verify(cluster).invalidateRemotely(anyString(), eq(modelId.getPrettyFormat()));
+    verify(cluster, never()).invalidateRemotely(anyString());
+
+    keyInvalidation.getValue().accept(modelId.getPrettyFormat());
+    otherNode.get(modelId, this::load);
+    otherNode.get(otherModelId, this::load);
+    assertEquals(3, loads.get());
+  }
+}
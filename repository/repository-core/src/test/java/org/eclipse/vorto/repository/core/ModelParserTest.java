@@ -13,6 +13,12 @@
 package org.eclipse.vorto.repository.core;
 
 import org.apache.commons.io.IOUtils;
+import org.eclipse.vorto.core.api.model.datatype.Entity;
+import org.eclipse.vorto.core.api.model.datatype.Property;
+import org.eclipse.vorto.core.api.model.functionblock.FunctionblockModel;
+import org.eclipse.vorto.core.api.model.functionblock.RefParam;
+import org.eclipse.vorto.core.api.model.informationmodel.InformationModel;
+import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.UnitTestBase;
 import org.eclipse.vorto.repository.core.impl.parser.IModelParser;
 import org.eclipse.vorto.repository.core.impl.parser.LocalModelWorkspace;
@@ -23,7 +29,9 @@ import org.springframework.core.io.ClassPathResource;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 
@@ -121,6 +129,35 @@ public class ModelParserTest extends UnitTestBase {
     }
   }
 
+  @Test
+  public void testCachedModelWithChangedTransitiveDependency() throws Exception {
+    importModel("Color.type");
+    importModel("Colorlight.fbmodel");
+    assertEquals(Arrays.asList("color"), getColorPropertiesOfColorLightIM());
+    // parsed from the cache
+    assertEquals(Arrays.asList("color"), getColorPropertiesOfColorLightIM());
+
+    // the information model only references the function block, which references the entity
+    IUserContext admin = createUserContext("admin");
+    getModelRepository(admin).save(
+        new ModelId("Color", "org.eclipse.vorto.examples.type", "1.0.0"),
+        IOUtils.toByteArray(new ClassPathResource("sample_models/Color2.type").getInputStream()),
+        "Color.type", admin);
+
+    assertEquals(Arrays.asList("r", "g", "b"), getColorPropertiesOfColorLightIM());
+  }
+
+  private List<String> getColorPropertiesOfColorLightIM() throws IOException {
+    ModelResource resource = (ModelResource) modelParserFactory
+        .getParser("ColorLightIM.infomodel").enableValidation()
+        .parse(new ClassPathResource("sample_models/ColorLightIM.infomodel").getInputStream());
+    FunctionblockModel colorLight =
+        ((InformationModel) resource.getModel()).getProperties().get(0).getType();
+    Entity color = (Entity) ((RefParam) colorLight.getFunctionblock().getOperations().get(0)
+        .getParams().get(0)).getType();
+    return color.getProperties().stream().map(Property::getName).collect(Collectors.toList());
+  }
+
   @Test(expected = ValidationException.class)
   public void testModelWithInvalidReference() throws IOException {
     IModelParser parser = modelParserFactory.getParser("InfoModelWithoutNamespace.infomodel");
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.impl.ModelReferenceIndex;
+import org.junit.Test;
+
+public class ModelReferenceIndexTest {
+
+  private static final String WORKSPACE = "workspace";
+
+  private static final String OTHER_WORKSPACE = "otherWorkspace";
+
+  private ModelId datatype = ModelId.fromPrettyFormat("org.eclipse.vorto:Unit:1.0.0");
+  private ModelId fb = ModelId.fromPrettyFormat("org.eclipse.vorto:Sensor:1.0.0");
+  private ModelId otherFb = ModelId.fromPrettyFormat("org.eclipse.vorto:Switch:1.0.0");
+
+  private ModelReferenceIndex index = new ModelReferenceIndex();
+
+  private AtomicInteger loads = new AtomicInteger();
+
+  private Map<ModelId, List<ModelId>> load() {
+    loads.incrementAndGet();
+    Map<ModelId, List<ModelId>> references = new HashMap<>();
+    references.put(fb, Arrays.asList(datatype));
+    return references;
+  }
+
+  @Test
+  public void testWorkspaceIsLoadedOnce() {
+    assertEquals(Collections.singleton(fb),
+        index.getReferencingModels(WORKSPACE, datatype, this::load));
+    assertTrue(index.getReferencingModels(WORKSPACE, fb, this::load).isEmpty());
+    assertEquals(1, loads.get());
+    assertTrue(index.isIndexed(WORKSPACE));
+  }
+
+  @Test
+  public void testUpdateAndRemove() {
+    index.getReferencingModels(WORKSPACE, datatype, this::load);
+
+    index.update(WORKSPACE, otherFb, Arrays.asList(datatype));
+    assertEquals(2, index.getReferencingModels(WORKSPACE, datatype).size());
+
+    index.update(WORKSPACE, fb, Collections.emptyList());
+    assertEquals(Collections.singleton(otherFb), index.getReferencingModels(WORKSPACE, datatype));
+
+    index.remove(WORKSPACE, otherFb);
+    assertTrue(index.getReferencingModels(WORKSPACE, datatype).isEmpty());
+  }
+
+  @Test
+  public void testInvalidateReloadsWorkspace() {
+    index.getReferencingModels(WORKSPACE, datatype, this::load);
+    index.invalidate(WORKSPACE);
+    assertFalse(index.isIndexed(WORKSPACE));
+
+    index.getReferencingModels(WORKSPACE, datatype, this::load);
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  public void testChangesInvalidateOtherNodes() {
+    List<String> remoteInvalidations = new ArrayList<>();
+    index.setRemoteInvalidation(remoteInvalidations::add);
+    index.getReferencingModels(WORKSPACE, datatype, this::load);
+
+    index.update(WORKSPACE, otherFb, Arrays.asList(datatype));
+    index.remove(WORKSPACE, otherFb);
+    index.invalidate(WORKSPACE);
+    assertEquals(Arrays.asList(WORKSPACE, WORKSPACE, WORKSPACE), remoteInvalidations);
+
+    // invalidations received from other nodes are not sent again
+    index.invalidateLocally(WORKSPACE);
+    index.invalidateAll();
+    assertEquals(3, remoteInvalidations.size());
+    assertFalse(index.isIndexed(WORKSPACE));
+  }
+
+  @Test
+  public void testOtherNodesKeepOtherWorkspaces() {
+    ModelReferenceIndex otherNode = new ModelReferenceIndex();
+    index.setRemoteInvalidation(otherNode::invalidateLocally);
+    otherNode.getReferencingModels(WORKSPACE, datatype, this::load);
+    otherNode.getReferencingModels(OTHER_WORKSPACE, datatype, this::load);
+
+    index.update(WORKSPACE, otherFb, Arrays.asList(datatype));
+
+    assertFalse(otherNode.isIndexed(WORKSPACE));
+    assertTrue(otherNode.isIndexed(OTHER_WORKSPACE));
+    assertEquals(Collections.singleton(fb),
+        otherNode.getReferencingModels(OTHER_WORKSPACE, datatype, this::load));
+    assertEquals(2, loads.get());
+  }
+}
@@ -460,6 +460,25 @@ public class ModelRepositoryAttachmentTest extends UnitTestBase {
     }
   }
 
+  @Test
+  public void testHasImageFollowsImageAttachments() throws Exception {
+    IUserContext erle = createUserContext("erle", "playground");
+    importModel("Color.type", erle);
+    ModelId modelId = new ModelId("Color", "org.eclipse.vorto.examples.type", "1.0.0");
+
+    assertFalse(repositoryFactory.getRepository(erle).getById(modelId).isHasImage());
+
+    repositoryFactory.getRepository(erle).attachFile(modelId, new FileContent("sample.png",
+        IOUtils.toByteArray(new ClassPathResource("sample_models/sample.png").getInputStream())),
+        erle, Attachment.TAG_IMAGE);
+
+    assertTrue(repositoryFactory.getRepository(erle).getById(modelId).isHasImage());
+
+    repositoryFactory.getRepository(erle).deleteAttachment(modelId, "sample.png");
+
+    assertFalse(repositoryFactory.getRepository(erle).getById(modelId).isHasImage());
+  }
+
   @Test
   public void testOverwriteImageWithSameTag() {
     IUserContext erle = createUserContext("erle", "playground");
@@ -22,7 +22,10 @@ import org.eclipse.vorto.repository.workflow.ModelState;
 import org.junit.Test;
 import org.springframework.core.io.ClassPathResource;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.Assert.*;
@@ -42,6 +45,22 @@ public class ModelRepositoryTest extends UnitTestBase {
     assertNotNull(result);
   }
 
+  @Test
+  public void testGetModelsByIds() throws Exception {
+    importModel("Color.type");
+    importModel("Colorlight.fbmodel");
+    ModelId color = ModelId.fromReference("org.eclipse.vorto.examples.type.Color", "1.0.0");
+    ModelId missing = ModelId.fromReference("org.eclipse.vorto.examples.type.Missing", "1.0.0");
+
+    Map<ModelId, ModelInfo> result = repositoryFactory.getRepository(createUserContext("admin"))
+        .getByIds(Arrays.asList(color, missing));
+
+    assertEquals(1, result.size());
+    assertEquals("Color.type", result.get(color).getFileName());
+    // the referencing models are not looked up for a batch
+    assertTrue(result.get(color).getReferencedBy().isEmpty());
+  }
+
   @Test
   public void testGetDSLEncoding() throws Exception {
     importModel("Color_encoding.type");
@@ -91,6 +110,27 @@ public class ModelRepositoryTest extends UnitTestBase {
     assertEquals("Color.type", fileContent.get().getFileName());
   }
 
+  @Test
+  public void testStreamDSLContentForModel() throws Exception {
+    importModel("Color.type");
+    ModelId modelId = ModelId.fromReference("org.eclipse.vorto.examples.type.Color", "1.0.0");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    boolean found = repositoryFactory.getRepository(createUserContext("admin"))
+        .streamFileContent(modelId, Optional.empty(), (fileName, size, content) -> {
+          assertEquals("Color.type", fileName);
+          IOUtils.copy(content, out);
+          assertEquals(size, out.size());
+        });
+    String expectedContent =
+        IOUtils.toString(new ClassPathResource("sample_models/Color.type").getInputStream());
+    assertTrue(found);
+    assertEquals(expectedContent, new String(out.toByteArray(), "utf-8"));
+    assertFalse(repositoryFactory.getRepository(createUserContext("admin")).streamFileContent(
+        ModelId.fromReference("org.eclipse.vorto.examples.type.Color", "9.9.9"), Optional.empty(),
+        (fileName, size, content) -> fail("Content of a missing model must not be streamed")));
+  }
+
   @Test
   public void testGetDSLContentForModelWithoutFileName() throws Exception {
     importModel("Color.type");
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import java.util.Arrays;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.eclipse.vorto.repository.core.impl.UserContext;
+import org.eclipse.vorto.repository.core.impl.cache.ClusterCacheInvalidation;
+import org.eclipse.vorto.repository.core.impl.cache.NamespaceCache;
+import org.eclipse.vorto.repository.core.impl.cache.NamespaceRequestCache;
+import org.eclipse.vorto.repository.domain.Namespace;
+import org.eclipse.vorto.repository.repositories.NamespaceRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class NamespaceCacheTest {
+
+  private NamespaceRepository namespaceRepository = Mockito.mock(NamespaceRepository.class);
+
+  private NamespaceCache cache;
+
+  private Namespace vorto = namespace("org.eclipse.vorto", "workspaceVorto");
+
+  private Namespace alex = namespace("com.alex", "workspaceAlex");
+
+  @Before
+  public void setUp() {
+    Mockito.when(namespaceRepository.findAll()).thenReturn(Arrays.asList(vorto, alex));
+    cache = new NamespaceCache(namespaceRepository,
+        new ClusterCacheInvalidation(null, "vorto-cache-cluster"));
+  }
+
+  @Test
+  public void testLoadsOnceAndIndexes() {
+    NamespaceCache.Snapshot snapshot = cache.snapshot();
+    assertSame(snapshot, cache.snapshot());
+    Mockito.verify(namespaceRepository, Mockito.times(1)).findAll();
+
+    assertEquals(2, snapshot.namespaces().size());
+    assertSame(vorto, snapshot.byName("ORG.eclipse.vorto").get());
+    assertSame(alex, snapshot.byWorkspaceId("workspaceAlex").get());
+    assertFalse(snapshot.byName("org.eclipse").isPresent());
+  }
+
+  @Test
+  public void testRefreshesOnlyChangedNamespace() {
+    cache.snapshot();
+    Namespace erle = namespace("com.erle", "workspaceErle");
+    Mockito.when(namespaceRepository.findByWorkspaceId("workspaceErle")).thenReturn(erle);
+
+    cache.onApplicationEvent(new AppEvent(this, "erle",
+        UserContext.user("erle", "workspaceErle"), EventType.NAMESPACE_ADDED));
+    assertSame(erle, cache.snapshot().byName("com.erle").get());
+
+    cache.onApplicationEvent(new AppEvent(this, "alex",
+        UserContext.user("alex", "workspaceAlex"), EventType.NAMESPACE_DELETED));
+    assertFalse(cache.snapshot().byName("com.alex").isPresent());
+    assertEquals(2, cache.snapshot().namespaces().size());
+
+    Mockito.verify(namespaceRepository, Mockito.times(1)).findAll();
+  }
+
+  @Test
+  public void testRequestCacheResolvesVirtualNamespaces() {
+    NamespaceRequestCache requestCache = new NamespaceRequestCache(cache);
+    assertSame(vorto, requestCache.namespace("org.eclipse.vorto.example.lamps").get());
+    assertSame(alex, requestCache.namespaceByWorkspaceId("workspaceAlex").get());
+    assertFalse(requestCache.namespace("com").isPresent());
+
+    // a request that has changed namespaces reads them from the repository
+    requestCache.stale().namespaces();
+    Mockito.verify(namespaceRepository, Mockito.times(2)).findAll();
+  }
+
+  private static Namespace namespace(String name, String workspaceId) {
+    Namespace namespace = new Namespace();
+    namespace.setName(name);
+    namespace.setWorkspaceId(workspaceId);
+    return namespace;
+  }
+}
@@ -21,11 +21,13 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({AttachmentValidatorTest.class, ErrorMessageProviderTest.class, MappingTest.class,
-    ModelDtoFactoryTest.class, ModelIdTest.class, ModelParserTest.class,
+    ModelDtoFactoryTest.class, ModelIdTest.class, ModelInfoCacheTest.class, ModelParserTest.class,
+    VisibleWorkspaceCacheTest.class, ClusterCacheInvalidationTest.class, NamespaceCacheTest.class,
+    UserNamespaceRolesCacheTest.class,
     ModelRepositoryAttachmentTest.class, ModelRepositoryDiagnosticsTest.class,
-    ModelRepositoryTest.class, ModelRepositoryTest2.class,
+    ModelReferenceIndexTest.class, ModelRepositoryTest.class, ModelRepositoryTest2.class,
     BlueToothDeviceInfoProfileResolverTest.class,
-    Lwm2mObjectIdResolverTest.class, AllSearchTests.class})
+    Lwm2mObjectIdResolverTest.class, WorkspaceFanOutTest.class, AllSearchTests.class})
 public class RepositoryUnitTestSuite {
 
 }
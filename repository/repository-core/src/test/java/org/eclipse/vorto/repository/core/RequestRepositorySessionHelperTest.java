@@ -13,6 +13,7 @@
 package org.eclipse.vorto.repository.core;
 
 import org.eclipse.vorto.repository.UnitTestBase;
+import org.eclipse.vorto.repository.core.impl.RepositorySessionPool;
 import org.eclipse.vorto.repository.core.impl.RequestRepositorySessionHelper;
 import org.junit.Assert;
 import org.junit.Test;
@@ -72,6 +73,29 @@ public class RequestRepositorySessionHelperTest extends UnitTestBase {
 
     }
 
+    @Test
+    public void testInternalSessionSupplierPooled() throws RepositoryException {
+        // create a session helper without autowiring, borrowing sessions from a pool
+        RequestRepositorySessionHelper helper = new RequestRepositorySessionHelper(false, null);
+        helper.setWorkspaceId(TEST_TENANT_ID);
+        helper.setRepository(createMockRepository());
+        helper.setSessionPool(new RepositorySessionPool(4, 256, 300));
+        Session mySession = helper.getSession();
+        Assert.assertTrue(mySession.isLive());
+        // session should be returned to the pool
+        helper.logoutSessionIfNotReusable(mySession);
+        Assert.assertTrue(mySession.isLive());
+        // same session should be borrowed again, refreshed
+        Session sessionForReuse = helper.getSession();
+        Assert.assertTrue(mySession.equals(sessionForReuse));
+        Mockito.verify(sessionForReuse).refresh(false);
+        // session with pending changes should not go back to the pool
+        when(sessionForReuse.hasPendingChanges()).thenReturn(true);
+        helper.logoutSessionIfNotReusable(sessionForReuse);
+        Assert.assertFalse(sessionForReuse.isLive());
+        Assert.assertFalse(mySession.equals(helper.getSession()));
+    }
+
     private Repository createMockRepository() throws RepositoryException {
         Repository myRepository = Mockito.mock(Repository.class);
         when(myRepository.login(anyObject(), anyString())).thenAnswer(inv -> createNewMockSession());
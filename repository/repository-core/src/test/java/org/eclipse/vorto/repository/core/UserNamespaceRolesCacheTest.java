@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.eclipse.vorto.repository.core.impl.cache.ClusterCacheInvalidation;
+import org.eclipse.vorto.repository.core.impl.cache.UserNamespaceRolesCache;
+import org.eclipse.vorto.repository.domain.Namespace;
+import org.eclipse.vorto.repository.domain.User;
+import org.eclipse.vorto.repository.domain.UserNamespaceID;
+import org.eclipse.vorto.repository.domain.UserNamespaceRoles;
+import org.junit.Test;
+
+public class UserNamespaceRolesCacheTest {
+
+  private UserNamespaceRolesCache cache = new UserNamespaceRolesCache(100, 600,
+      new ClusterCacheInvalidation(null, "vorto-cache-cluster"));
+
+  private AtomicInteger loads = new AtomicInteger();
+
+  private User alex = user(1L, "alex");
+
+  private Collection<UserNamespaceRoles> load() {
+    loads.incrementAndGet();
+    return Collections.singletonList(roles(alex, 3L));
+  }
+
+  @Test
+  public void testReturnsCopiesOfCachedRoles() {
+    UserNamespaceRoles first = cache.get(alex, this::load).iterator().next();
+    first.setRoles(0L);
+    UserNamespaceRoles second = cache.get(alex, this::load).iterator().next();
+
+    assertEquals(1, loads.get());
+    assertNotSame(first, second);
+    assertEquals(3L, second.getRoles());
+    assertSame(alex, second.getUser());
+  }
+
+  @Test
+  public void testInvalidatedByRoleChangesOfUser() {
+    cache.get(alex, this::load);
+    cache.onApplicationEvent(
+        new AppEvent(this, roles(alex, 1L), EventType.USER_NAMESPACE_ROLES_CHANGED));
+    cache.get(alex, this::load);
+    assertEquals(2, loads.get());
+
+    cache.onApplicationEvent(new AppEvent(this, "vorto", EventType.NAMESPACE_DELETED));
+    cache.get(alex, this::load);
+    assertEquals(3, loads.get());
+  }
+
+  private static User user(Long id, String username) {
+    User user = new User();
+    user.setId(id);
+    user.setUsername(username);
+    return user;
+  }
+
+  private static UserNamespaceRoles roles(User user, long roles) {
+    Namespace namespace = new Namespace();
+    namespace.setName("org.eclipse.vorto");
+    UserNamespaceRoles result = new UserNamespaceRoles();
+    result.setID(new UserNamespaceID(user, namespace));
+    result.setRoles(roles);
+    return result;
+  }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.eclipse.vorto.repository.core.impl.cache.ClusterCacheInvalidation;
+import org.eclipse.vorto.repository.core.impl.cache.VisibleWorkspaceCache;
+import org.eclipse.vorto.repository.domain.Namespace;
+import org.eclipse.vorto.repository.domain.User;
+import org.eclipse.vorto.repository.domain.UserNamespaceID;
+import org.eclipse.vorto.repository.domain.UserNamespaceRoles;
+import org.junit.Test;
+
+public class VisibleWorkspaceCacheTest {
+
+  private VisibleWorkspaceCache cache = new VisibleWorkspaceCache(100, 600,
+      new ClusterCacheInvalidation(null, "vorto-cache-cluster"));
+
+  private AtomicInteger loads = new AtomicInteger();
+
+  private Collection<String> load() {
+    loads.incrementAndGet();
+    return Arrays.asList("workspace1", "workspace2");
+  }
+
+  @Test
+  public void testReturnsSameSetUntilInvalidated() {
+    Set<String> first = cache.get("alex", "GITHUB", this::load);
+    Set<String> second = cache.get("alex", "GITHUB", this::load);
+
+    assertEquals(1, loads.get());
+    assertSame(first, second);
+    assertEquals(2, second.size());
+
+    cache.get("alex", "BOSCH-IOT-SUITE-AUTH", this::load);
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  public void testInvalidatedByRoleChangesOfUser() {
+    cache.get("alex", "GITHUB", this::load);
+    cache.get("erle", "GITHUB", this::load);
+
+    cache.onApplicationEvent(
+        new AppEvent(this, roles("alex"), EventType.USER_NAMESPACE_ROLES_CHANGED));
+    cache.get("alex", "GITHUB", this::load);
+    cache.get("erle", "GITHUB", this::load);
+    assertEquals(3, loads.get());
+
+    cache.onApplicationEvent(new AppEvent(this, "vorto", EventType.NAMESPACE_DELETED));
+    cache.get("erle", "GITHUB", this::load);
+    assertEquals(4, loads.get());
+  }
+
+  private static UserNamespaceRoles roles(String username) {
+    User user = new User();
+    user.setUsername(username);
+    UserNamespaceRoles roles = new UserNamespaceRoles();
+    roles.setID(new UserNamespaceID(user, new Namespace()));
+    return roles;
+  }
+}
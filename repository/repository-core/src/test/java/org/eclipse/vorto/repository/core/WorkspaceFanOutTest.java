@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import org.eclipse.vorto.repository.core.impl.utils.WorkspaceFanOut;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class WorkspaceFanOutTest {
+
+  private WorkspaceFanOut fanOut = new WorkspaceFanOut(4, 1);
+
+  @After
+  public void tearDown() {
+    fanOut.shutdown();
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  public void testSecurityContextIsPropagated() {
+    SecurityContextHolder.getContext()
+        .setAuthentication(new TestingAuthenticationToken("alex", "alex"));
+
+    WorkspaceFanOut.Result<String> result = fanOut.execute(Arrays.asList("ws1", "ws2", "ws3"),
+        workspaceId -> workspaceId + ":"
+            + SecurityContextHolder.getContext().getAuthentication().getName());
+
+    assertTrue(result.isComplete());
+    assertEquals(Arrays.asList("ws1:alex", "ws2:alex", "ws3:alex"),
+        Arrays.asList(result.getResults().values().toArray()));
+  }
+
+  @Test
+  public void testPartialResults() {
+    WorkspaceFanOut.Result<String> result =
+        fanOut.execute(Arrays.asList("ok", "failing", "slow"), workspaceId -> {
+          if (workspaceId.equals("failing")) {
+            throw new IllegalStateException();
+          } else if (workspaceId.equals("slow")) {
+            try {
+              Thread.sleep(5000);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+          return workspaceId;
+        });
+
+    assertFalse(result.isComplete());
+    assertEquals(1, result.getResults().size());
+    assertTrue(result.getResults().containsKey("ok"));
+    assertTrue(result.getFailures().get("failing") instanceof IllegalStateException);
+    assertTrue(result.getTimedOut().contains("slow"));
+    assertEquals(new HashSet<>(Arrays.asList("failing", "slow")), result.getIncomplete());
+  }
+
+  @Test(expected = IncompleteResultException.class)
+  public void testCompleteResultsFailForFailedWorkspace() {
+    fanOut.execute(Arrays.asList("ok", "failing"), workspaceId -> {
+      if (workspaceId.equals("failing")) {
+        throw new IllegalStateException();
+      }
+      return workspaceId;
+    }).getCompleteResults();
+  }
+
+  @Test
+  public void testTimeoutIsMeasuredPerWorkspace() {
+    WorkspaceFanOut twoThreads = new WorkspaceFanOut(2, 1);
+    try {
+      // with two threads, the last workspaces are queued until the first ones are done, and
+      // together take longer than the timeout
+      WorkspaceFanOut.Result<String> result = twoThreads
+          .execute(Arrays.asList("ws1", "ws2", "ws3", "ws4"), workspaceId -> {
+            try {
+              Thread.sleep(600);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            return workspaceId;
+          });
+
+      assertTrue(result.isComplete());
+      assertEquals(4, result.getCompleteResults().size());
+    } finally {
+      twoThreads.shutdown();
+    }
+  }
+
+  @Test
+  public void testQueuedWorkspacesAreNotGivenUp() {
+    WorkspaceFanOut twoThreads = new WorkspaceFanOut(2, 1);
+    try {
+      // the last workspace waits for a thread beyond the timeout, as the slow workspace holds one
+      // until it is given up
+      WorkspaceFanOut.Result<String> result = twoThreads
+          .execute(Arrays.asList("slow", "ws2", "ws3", "ws4"), workspaceId -> {
+            try {
+              Thread.sleep(workspaceId.equals("slow") ? 5000 : 600);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            return workspaceId;
+          });
+
+      assertEquals(Collections.singleton("slow"), result.getIncomplete());
+      assertEquals(Arrays.asList("ws2", "ws3", "ws4"),
+          Arrays.asList(result.getResults().keySet().toArray()));
+    } finally {
+      twoThreads.shutdown();
+    }
+  }
+}
@@ -17,7 +17,7 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({SearchUnitTest.class, GeneralSearchTest.class, MixedSearchTest.class,
+@SuiteClasses({SearchUnitTest.class, SearchPagingTest.class, VisibilityFiltersTest.class, IndexingQueueTest.class, GeneralSearchTest.class, MixedSearchTest.class,
     NameSearchSimpleTest.class,
     AuthorSearchSimpleTest.class,
     UserReferenceSearchSimpleTest.class, TypeSearchSimpleTest.class, StateSearchSimpleTest.class,
@@ -13,7 +13,9 @@
 package org.eclipse.vorto.repository.core.search;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
+import java.util.Arrays;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.junit.AfterClass;
@@ -52,4 +54,21 @@ public class GeneralSearchTest {
   public void testSearchWithSpecialCharacter() {
     assertEquals(0, testInfrastructure.getSearchService().search("!$@").size());
   }
+
+  /**
+   * The model content is not indexed by the model repository, so searches by it must not silently
+   * return nothing.
+   */
+  @Test
+  public void testSearchByModelContentIsRejected() {
+    for (String expression : Arrays.asList("property:color", "propertyType:string", "literal:ON",
+        "platform:ios", "reference:org.eclipse.vorto:Color:1.0.0", "Color property:color")) {
+      try {
+        testInfrastructure.getSearchService().search(expression);
+        fail(String.format("'%s' must be rejected", expression));
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    }
+  }
 }
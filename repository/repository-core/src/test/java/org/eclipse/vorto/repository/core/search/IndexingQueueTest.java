@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.search.IIndexingService;
+import org.eclipse.vorto.repository.search.IndexingOperation;
+import org.eclipse.vorto.repository.search.IndexingOperation.Type;
+import org.eclipse.vorto.repository.search.IndexingQueue;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+/**
+ * Unit tests for the coalescing and ordering of queued index changes. The flush interval is long
+ * enough for the changes to be applied only when the queue is shut down.
+ */
+public class IndexingQueueTest {
+
+  private final IIndexingService indexingService = mock(IIndexingService.class);
+
+  private final IndexingQueue queue = new IndexingQueue(indexingService, 100, 3600000, 5, 1000);
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testCoalescesChangesOfSameModel() {
+    when(indexingService.bulkIndex(anyListOf(IndexingOperation.class))).thenReturn(new ArrayList<>());
+    ModelInfo created = model("A");
+    ModelInfo updated = model("A");
+    ModelInfo other = model("B");
+
+    queue.enqueue(IndexingOperation.index(created, "workspace"));
+    queue.enqueue(IndexingOperation.update(other));
+    queue.enqueue(IndexingOperation.update(updated));
+    queue.enqueue(IndexingOperation.delete(other.getId()));
+    queue.shutdown();
+
+    ArgumentCaptor<List> batch = ArgumentCaptor.forClass(List.class);
+    verify(indexingService).bulkIndex(batch.capture());
+    List<IndexingOperation> operations = batch.getValue();
+    assertEquals(2, operations.size());
+
+    assertEquals(Type.INDEX, operations.get(0).getType());
+    assertSame(updated, operations.get(0).getModelInfo());
+    assertEquals("workspace", operations.get(0).getWorkspaceId());
+
+    assertEquals(Type.DELETE, operations.get(1).getType());
+    assertEquals(other.getId(), operations.get(1).getModelId());
+  }
+
+  @Test
+  public void testDeletesWorkspaceAfterQueuedChanges() {
+    when(indexingService.bulkIndex(anyListOf(IndexingOperation.class))).thenReturn(new ArrayList<>());
+
+    queue.enqueue(IndexingOperation.update(model("A")));
+    queue.enqueueWorkspaceDeletion("workspace");
+    queue.shutdown();
+
+    InOrder order = inOrder(indexingService);
+    order.verify(indexingService).bulkIndex(anyListOf(IndexingOperation.class));
+    order.verify(indexingService).deleteIndexForWorkspace("workspace");
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testKeepsWorkspaceDeletionWhileQueuedChangesFail() {
+    ModelInfo model = model("A");
+    when(indexingService.bulkIndex(anyListOf(IndexingOperation.class)))
+        .thenAnswer(invocation -> new ArrayList<>((List<IndexingOperation>) invocation
+            .getArguments()[0]));
+
+    queue.enqueue(IndexingOperation.update(model));
+    queue.enqueueWorkspaceDeletion("workspace");
+    queue.shutdown();
+
+    verify(indexingService, never()).deleteIndexForWorkspace("workspace");
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testDeletesWorkspaceWhileLaterOrOtherChangesFail() {
+    when(indexingService.bulkIndex(anyListOf(IndexingOperation.class)))
+        .thenAnswer(invocation -> new ArrayList<>((List<IndexingOperation>) invocation
+            .getArguments()[0]));
+
+    queue.enqueue(IndexingOperation.index(model("A"), "other"));
+    queue.enqueueWorkspaceDeletion("workspace");
+    queue.enqueue(IndexingOperation.update(model("B")));
+    queue.shutdown();
+
+    verify(indexingService).deleteIndexForWorkspace("workspace");
+  }
+
+  @Test
+  public void testRetriesFailedWorkspaceDeletion() {
+    IndexingQueue fastQueue = new IndexingQueue(indexingService, 100, 10, 5, 1);
+    doThrow(new IllegalStateException()).doNothing().when(indexingService)
+        .deleteIndexForWorkspace("workspace");
+
+    fastQueue.enqueueWorkspaceDeletion("workspace");
+
+    verify(indexingService, timeout(5000).times(2)).deleteIndexForWorkspace("workspace");
+    fastQueue.shutdown();
+  }
+
+  private static ModelInfo model(String name) {
+    return new ModelInfo(new ModelId(name, "org.eclipse.vorto", "1.0.0"), ModelType.Functionblock);
+  }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.search.SearchPage;
+import org.eclipse.vorto.repository.search.SearchPaging;
+import org.junit.Test;
+
+/**
+ * Unit tests for the paging and projection of search results, independent from the search
+ * services.
+ */
+public class SearchPagingTest {
+
+  private final List<ModelInfo> results = Arrays.asList(model("A", 1000), model("B", 3000),
+      model("C", 2000), model("D", 2000), model("E", 500));
+
+  @Test
+  public void testPagesNewestFirst() {
+    SearchPage first = SearchPaging.page(results, 2, null, Collections.emptySet());
+    assertEquals(Arrays.asList("B", "C"), names(first));
+    assertNotNull(first.getNextCursor());
+
+    SearchPage second = SearchPaging.page(results, 2, first.getNextCursor(), null);
+    assertEquals(Arrays.asList("D", "A"), names(second));
+
+    SearchPage last = SearchPaging.page(results, 2, second.getNextCursor(), null);
+    assertEquals(Arrays.asList("E"), names(last));
+    assertNull(last.getNextCursor());
+  }
+
+  @Test
+  public void testProjection() {
+    SearchPage page = SearchPaging.page(results, 1, null,
+        new HashSet<>(Arrays.asList(SearchPaging.DISPLAY_NAME)));
+    ModelInfo model = page.getModels().get(0);
+    assertEquals("B", model.getId().getName());
+    assertEquals("B", model.getDisplayName());
+    assertNull(model.getAuthor());
+    assertNull(model.getType());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidCursor() {
+    SearchPaging.page(results, 2, "not a cursor", null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidPageSize() {
+    SearchPaging.page(results, SearchPaging.MAX_PAGE_SIZE + 1, null, null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidField() {
+    SearchPaging.page(results, 2, null, new HashSet<>(Arrays.asList("fileName")));
+  }
+
+  private static ModelInfo model(String name, long creationTime) {
+    ModelInfo model = new ModelInfo(new ModelId(name, "org.eclipse.vorto", "1.0.0"),
+        ModelType.Datatype);
+    model.setDisplayName(name);
+    model.setAuthor("alex");
+    model.setCreationDate(new Date(creationTime));
+    return model;
+  }
+
+  private static List<String> names(SearchPage page) {
+    return page.getModels().stream().map(model -> model.getId().getName())
+        .collect(Collectors.toList());
+  }
+}
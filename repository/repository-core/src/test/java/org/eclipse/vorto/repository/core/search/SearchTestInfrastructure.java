@@ -27,6 +27,8 @@ import org.eclipse.vorto.repository.core.impl.InMemoryTemporaryStorage;
 import org.eclipse.vorto.repository.core.impl.ModelRepositoryEventListener;
 import org.eclipse.vorto.repository.core.impl.ModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.impl.UserContext;
+import org.eclipse.vorto.repository.core.impl.cache.ClusterCacheInvalidation;
+import org.eclipse.vorto.repository.core.impl.cache.UserNamespaceRolesCache;
 import org.eclipse.vorto.repository.core.impl.cache.UserRolesRequestCache;
 import org.eclipse.vorto.repository.core.impl.parser.ModelParserFactory;
 import org.eclipse.vorto.repository.core.impl.utils.ModelSearchUtil;
@@ -166,7 +168,9 @@ public final class SearchTestInfrastructure {
   protected UserRepository userRepository = Mockito.mock(UserRepository.class);
 
   protected UserRolesRequestCache userRolesRequestCache = new UserRolesRequestCache(
-      userNamespaceRoleRepository, userRepositoryRoleRepository, userRepository, registry);
+      userNamespaceRoleRepository,
+      new UserNamespaceRolesCache(0, 0, new ClusterCacheInvalidation(null, "vorto-cache-cluster")),
+      userRepositoryRoleRepository, userRepository, registry);
 
   @Mock
   protected AttachmentValidator attachmentValidator = Mockito
@@ -67,6 +67,30 @@ public class SearchUnitTest {
     assertEquals(expected, SearchParameters.build(query));
   }
 
+  @Test
+  public void testModelContentSearch() {
+    String query = "property:temperature propertyType:float literal:ON platform:lwm2m reference:org.eclipse.vorto:Color:1.0.0";
+    SearchParameters expected = new SearchParameters()
+        .withProperty("temperature")
+        .withPropertyType("float")
+        .withLiteral("ON")
+        .withPlatform("lwm2m")
+        .withReference("org.eclipse.vorto:Color:1.0.0");
+    assertEquals(expected, SearchParameters.build(query));
+  }
+
+  /**
+   * Tags ending with the name of another tag must not be parsed as the latter.
+   */
+  @Test
+  public void testTagsEndingWithOtherTag() {
+    String query = "propertyType:string userReference:mena";
+    SearchParameters expected = new SearchParameters()
+        .withPropertyType("string")
+        .withUserReference("mena");
+    assertEquals(expected, SearchParameters.build(query));
+  }
+
   /**
    * This tests the uniqueness of values per same tag. <br/> While all values are searched by the
    * services as case-insensitive, they are not pre-processed or altered save for some wildcard
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.eclipse.vorto.repository.core.impl.cache.ClusterCacheInvalidation;
+import org.eclipse.vorto.repository.core.impl.cache.VisibleWorkspaceCache;
+import org.eclipse.vorto.repository.domain.Namespace;
+import org.eclipse.vorto.repository.domain.RepositoryRole;
+import org.eclipse.vorto.repository.oauth.IOAuthProvider;
+import org.eclipse.vorto.repository.oauth.IOAuthProviderRegistry;
+import org.eclipse.vorto.repository.search.VisibilityFilters;
+import org.eclipse.vorto.repository.services.UserNamespaceRoleService;
+import org.eclipse.vorto.repository.web.account.dto.UserDto;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Unit tests for the resolution of the models a user can find, independent from the search
+ * services, with strings as filters.
+ */
+public class VisibilityFiltersTest {
+
+  private UserNamespaceRoleService userNamespaceRoleService = mock(UserNamespaceRoleService.class);
+
+  private VisibilityFilters<String> filters;
+
+  @Before
+  public void setUp() throws Exception {
+    IOAuthProvider provider = mock(IOAuthProvider.class);
+    when(provider.getId()).thenReturn("GITHUB");
+    IOAuthProviderRegistry registry = mock(IOAuthProviderRegistry.class);
+    when(registry.getByAuthentication(any())).thenReturn(provider);
+
+    when(userNamespaceRoleService.getNamespaces(any(UserDto.class)))
+        .thenReturn(Arrays.asList(namespace("workspace1"), namespace("workspace2")));
+
+    filters = new VisibilityFilters<>(userNamespaceRoleService, registry, "public",
+        workspaceIds -> "public or " + workspaceIds);
+  }
+
+  @Test
+  public void testSysAdminSeesAllModels() {
+    assertNull(filters.filterFor(
+        new TestingAuthenticationToken("admin", "admin", RepositoryRole.SYS_ADMIN.getName())));
+  }
+
+  @Test
+  public void testUserSeesModelsOfOwnWorkspaces() {
+    assertEquals("public or [workspace1, workspace2]", filters.filterFor(user("alex")));
+  }
+
+  @Test
+  public void testUserWithoutNamespacesSeesPublicModels() throws Exception {
+    when(userNamespaceRoleService.getNamespaces(any(UserDto.class)))
+        .thenReturn(Collections.emptyList());
+    assertEquals("public", filters.filterFor(user("alex")));
+  }
+
+  @Test
+  public void testReusesFilterOfCachedWorkspaces() throws Exception {
+    filters.setVisibleWorkspaceCache(new VisibleWorkspaceCache(100, 600,
+        new ClusterCacheInvalidation(null, "vorto-cache-cluster")));
+
+    String first = filters.filterFor(user("alex"));
+    String second = filters.filterFor(user("alex"));
+
+    assertSame(first, second);
+    verify(userNamespaceRoleService, times(1)).getNamespaces(any(UserDto.class));
+  }
+
+  private static Authentication user(String username) {
+    return new TestingAuthenticationToken(username, username, "USER");
+  }
+
+  private static Namespace namespace(String workspaceId) {
+    Namespace namespace = new Namespace();
+    namespace.setName("org." + workspaceId);
+    namespace.setWorkspaceId(workspaceId);
+    return namespace;
+  }
+}
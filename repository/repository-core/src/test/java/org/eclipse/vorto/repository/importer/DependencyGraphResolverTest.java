@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.importer;
+
+import static org.junit.Assert.assertEquals;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.ModelNotFoundException;
+import org.eclipse.vorto.repository.core.impl.utils.DependencyGraphResolver;
+import org.junit.Test;
+
+public class DependencyGraphResolverTest {
+
+  private Map<ModelId, ModelInfo> models = new ConcurrentHashMap<>();
+
+  private Map<ModelId, AtomicInteger> loadCount = new ConcurrentHashMap<>();
+
+  private AtomicInteger batchCount = new AtomicInteger();
+
+  private DependencyGraphResolver resolver = new DependencyGraphResolver(modelIds -> {
+    batchCount.incrementAndGet();
+    Map<ModelId, ModelInfo> result = new HashMap<>();
+    for (ModelId modelId : modelIds) {
+      loadCount.computeIfAbsent(modelId, k -> new AtomicInteger()).incrementAndGet();
+      if (models.containsKey(modelId)) {
+        result.put(modelId, models.get(modelId));
+      }
+    }
+    return result;
+  });
+
+  @Test
+  public void testSharedDependencyIsLoadedOnce() {
+    ModelInfo unit = create("Unit", ModelType.Datatype);
+    ModelInfo temp = create("Temperature", ModelType.Datatype, unit);
+    ModelInfo fridge = create("Fridge", ModelType.Functionblock, temp, unit);
+    ModelInfo oven = create("Oven", ModelType.Functionblock, temp, unit);
+    ModelInfo kitchen = create("Kitchen", ModelType.InformationModel, fridge, oven);
+
+    List<ModelInfo> sorted = resolver.resolve(kitchen.getId());
+
+    assertEquals(5, sorted.size());
+    assertEquals(unit.getId(), sorted.get(0).getId());
+    assertEquals(temp.getId(), sorted.get(1).getId());
+    assertEquals(kitchen.getId(), sorted.get(4).getId());
+    assertEquals(1, loadCount.get(unit.getId()).get());
+    assertEquals(1, loadCount.get(temp.getId()).get());
+    assertEquals(3, batchCount.get());
+  }
+
+  @Test(expected = ModelNotFoundException.class)
+  public void testMissingDependencyIsReported() {
+    ModelInfo unit = create("Unit", ModelType.Datatype);
+    ModelInfo temp = create("Temperature", ModelType.Datatype, unit);
+    models.remove(unit.getId());
+
+    resolver.resolve(temp.getId());
+  }
+
+  protected ModelInfo create(String name, ModelType type, ModelInfo... references) {
+    final ModelId id = new ModelId(name, "org.eclipse.vorto", "1.0.0");
+    ModelInfo resource = new ModelInfo(id, type);
+    resource.setReferences(Arrays.asList(references).stream().map(reference -> reference.getId())
+        .collect(Collectors.toList()));
+    models.put(id, resource);
+    return resource;
+  }
+}
@@ -17,7 +17,8 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({DependencyManagerTest.class, ModelBulkImportTest.class, ModelImporterTest.class})
+@SuiteClasses({DependencyManagerTest.class, DependencyGraphResolverTest.class,
+    ModelBulkImportTest.class, ModelImporterTest.class})
 public class ImporterUnitTestSuite {
 
 }
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.web.core.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class AsyncModelTaskExecutorTest {
+
+  private AsyncModelTaskExecutor executor = new AsyncModelTaskExecutor(1, 1);
+
+  private CountDownLatch release = new CountDownLatch(1);
+
+  @After
+  public void tearDown() {
+    release.countDown();
+    executor.shutdown();
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  public void testSecurityContextIsPropagated() throws Exception {
+    SecurityContextHolder.getContext()
+        .setAuthentication(new TestingAuthenticationToken("alex", "alex"));
+    AsyncModelTaskExecutor.Batch batch = executor.newBatch(5, TimeUnit.SECONDS);
+
+    Future<String> future =
+        batch.submit(() -> SecurityContextHolder.getContext().getAuthentication().getName());
+
+    assertEquals("alex", batch.get(future));
+    assertTrue(batch.await());
+  }
+
+  @Test
+  public void testPendingTasksAreInterruptedAtDeadline() throws Exception {
+    CountDownLatch interrupted = new CountDownLatch(1);
+    AsyncModelTaskExecutor.Batch batch = executor.newBatch(200, TimeUnit.MILLISECONDS);
+    Future<?> future = batch.submit(() -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+      }
+    });
+
+    assertFalse(batch.await());
+    assertTrue(future.isCancelled());
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    assertEquals(1L, metric("modeltasks.timedOut"));
+  }
+
+  @Test
+  public void testGetCancelsBatchAtDeadline() throws Exception {
+    AsyncModelTaskExecutor.Batch batch = executor.newBatch(200, TimeUnit.MILLISECONDS);
+    Future<?> blocking = batch.submit(() -> {
+      release.await();
+      return null;
+    });
+    Future<?> queued = batch.submit(() -> null);
+
+    try {
+      batch.get(blocking);
+      fail("The deadline has passed");
+    } catch (TimeoutException e) {
+      assertTrue(blocking.isCancelled());
+      assertTrue(queued.isCancelled());
+    }
+  }
+
+  @Test
+  public void testTaskRunsInCallerWhenSaturated() throws Exception {
+    AsyncModelTaskExecutor.Batch batch = executor.newBatch(5, TimeUnit.SECONDS);
+    // occupies the only thread, and then the only place in the queue
+    batch.submit(() -> {
+      release.await();
+      return null;
+    });
+    batch.submit(() -> null);
+
+    Thread caller = Thread.currentThread();
+    Future<Thread> future = batch.submit(Thread::currentThread);
+
+    assertTrue(future.isDone());
+    assertSame(caller, future.get());
+    assertEquals(1L, metric("modeltasks.callerRuns"));
+    release.countDown();
+    assertTrue(batch.await());
+  }
+
+  @Test
+  public void testTasksAreRejectedAfterShutdown() throws Exception {
+    AsyncModelTaskExecutor.Batch batch = executor.newBatch(5, TimeUnit.SECONDS);
+    executor.shutdown();
+
+    try {
+      batch.submit(() -> null);
+      fail("Tasks must not be accepted after shutdown");
+    } catch (RejectedExecutionException e) {
+      assertEquals(0L, metric("modeltasks.callerRuns"));
+      assertEquals(0L, metric("modeltasks.submitted"));
+    }
+    // no task is left behind that could never complete
+    assertTrue(batch.await());
+  }
+
+  private long metric(String name) {
+    return executor.metrics().stream().filter(metric -> metric.getName().equals(name))
+        .findFirst().get().getValue().longValue();
+  }
+}
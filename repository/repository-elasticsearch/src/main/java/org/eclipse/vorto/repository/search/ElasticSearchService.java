@@ -19,10 +19,15 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.log4j.Logger;
@@ -34,20 +39,30 @@ import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.impl.UserContext;
+import org.eclipse.vorto.repository.core.impl.WorkspaceChangeJournal;
 import org.eclipse.vorto.repository.core.impl.cache.NamespaceRequestCache;
+import org.eclipse.vorto.repository.core.impl.cache.VisibleWorkspaceCache;
 import org.eclipse.vorto.repository.domain.Namespace;
 import org.eclipse.vorto.repository.oauth.IOAuthProviderRegistry;
 import org.eclipse.vorto.repository.search.extractor.BasicIndexFieldExtractor;
 import org.eclipse.vorto.repository.search.extractor.IIndexFieldExtractor;
 import org.eclipse.vorto.repository.search.extractor.IIndexFieldExtractor.FieldType;
+import org.eclipse.vorto.repository.search.extractor.ModelContentIndexFieldExtractor;
+import org.eclipse.vorto.repository.search.extractor.ReferenceIndexFieldExtractor;
 import org.eclipse.vorto.repository.services.UserNamespaceRoleService;
-import org.eclipse.vorto.repository.services.exceptions.DoesNotExistException;
-import org.eclipse.vorto.repository.services.exceptions.OperationForbiddenException;
 import org.eclipse.vorto.repository.utils.PreConditions;
-import org.eclipse.vorto.repository.web.account.dto.UserDto;
 import org.eclipse.vorto.repository.workflow.ModelState;
+import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.DocWriteResponse;
+import org.elasticsearch.action.admin.indices.alias.Alias;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.bulk.BackoffPolicy;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
@@ -59,6 +74,7 @@ import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.action.update.UpdateResponse;
+import org.elasticsearch.client.GetAliasesResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.client.indices.CreateIndexRequest;
@@ -70,11 +86,12 @@ import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.reindex.BulkByScrollResponse;
 import org.elasticsearch.index.reindex.DeleteByQueryRequest;
-import org.elasticsearch.index.reindex.ReindexRequest;
+import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
+import org.elasticsearch.search.sort.SortOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -103,10 +120,11 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
 
   private static final String DOC = "_doc";
 
+  /**
+   * Alias of the index that is searched and written to
+   */
   private static final String VORTO_INDEX = "vorto";
 
-  private static final String VORTO_INDEX_TEMP = "vorto_temp";
-
   private static final Logger LOGGER = Logger.getLogger(ElasticSearchService.class);
 
   private Collection<IIndexFieldExtractor> fieldExtractors = new ArrayList<>();
@@ -119,9 +137,30 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
   @Autowired
   private NamespaceRequestCache namespaceRequestCache;
 
-  private UserNamespaceRoleService userNamespaceRoleService;
+  private WorkspaceChangeJournal workspaceChangeJournal;
+
+  private final VisibilityFilters<QueryBuilder> visibilityFilters;
+
+  private int reindexBulkSize = 500;
+
+  private int reindexConcurrentRequests = 2;
+
+  private final AtomicBoolean reindexing = new AtomicBoolean();
 
-  private IOAuthProviderRegistry registry;
+  private volatile IndexingProgress reindexProgress = new IndexingProgress();
+
+  /**
+   * The index being built by a running reindex, which receives all changes made meanwhile as well
+   */
+  private volatile String reindexTarget;
+
+  private final Set<String> deletedWhileReindexing = ConcurrentHashMap.newKeySet();
+
+  /**
+   * How much earlier than the start of a reindex the changes of other nodes are replayed, to allow
+   * for clocks that are not in sync
+   */
+  private static final long REPLAY_TOLERANCE_MILLIS = 60_000;
 
   /**
    * An un-tagged name token in a search will search into the following fields:
@@ -177,6 +216,24 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
 
   private static final String ANALYZER = "standard";
 
+  /**
+   * Index fields holding the model properties that can be selected for paged search results.
+   */
+  private static final Map<String, String> PROJECTED_INDEX_FIELDS = new HashMap<>();
+
+  static {
+    PROJECTED_INDEX_FIELDS.put(SearchPaging.ID, BasicIndexFieldExtractor.MODEL_ID);
+    PROJECTED_INDEX_FIELDS.put(SearchPaging.TYPE, BasicIndexFieldExtractor.MODEL_TYPE);
+    PROJECTED_INDEX_FIELDS.put(SearchPaging.STATE, BasicIndexFieldExtractor.STATE);
+    PROJECTED_INDEX_FIELDS.put(SearchPaging.VISIBILITY, BasicIndexFieldExtractor.VISIBILITY);
+    PROJECTED_INDEX_FIELDS.put(SearchPaging.AUTHOR, BasicIndexFieldExtractor.AUTHOR);
+    PROJECTED_INDEX_FIELDS.put(SearchPaging.DESCRIPTION, BasicIndexFieldExtractor.DESCRIPTION);
+    PROJECTED_INDEX_FIELDS.put(SearchPaging.DISPLAY_NAME, BasicIndexFieldExtractor.DISPLAY_NAME);
+    PROJECTED_INDEX_FIELDS.put(SearchPaging.HAS_IMAGE, BasicIndexFieldExtractor.MODEL_HASIMAGE);
+    PROJECTED_INDEX_FIELDS
+        .put(SearchPaging.CREATION_DATE, BasicIndexFieldExtractor.MODEL_CREATIONDATE);
+  }
+
   public ElasticSearchService(
       @Autowired RestHighLevelClient client,
       @Autowired IModelRepositoryFactory repositoryFactory,
@@ -185,14 +242,34 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
   ) {
     this.client = client;
     this.repositoryFactory = repositoryFactory;
-    this.userNamespaceRoleService = userNamespaceRoleService;
-    this.registry = registry;
+    this.visibilityFilters = new VisibilityFilters<>(userNamespaceRoleService, registry,
+        isPublic(),
+        workspaceIds -> buildORBoolQueryWith(isPublic(), isOwnedByTenants(workspaceIds)));
 
     this.fieldExtractors.add(new BasicIndexFieldExtractor());
+    this.fieldExtractors.add(new ReferenceIndexFieldExtractor());
 
     init();
   }
 
+  @Autowired(required = false)
+  public void setVisibleWorkspaceCache(VisibleWorkspaceCache visibleWorkspaceCache) {
+    visibilityFilters.setVisibleWorkspaceCache(visibleWorkspaceCache);
+  }
+
+  /**
+   * Without the journal, changes that other nodes of a cluster make while a reindex runs are
+   * missing from the new index, see {@link ElasticSearchService#reindexAllModels()}.
+   */
+  @Autowired(required = false)
+  public void setWorkspaceChangeJournal(WorkspaceChangeJournal workspaceChangeJournal) {
+    this.workspaceChangeJournal = workspaceChangeJournal;
+  }
+
+  void setNamespaceRequestCache(NamespaceRequestCache namespaceRequestCache) {
+    this.namespaceRequestCache = namespaceRequestCache;
+  }
+
   /**
    * Creates a Search Index, if it does not yet exist
    */
@@ -208,8 +285,9 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     LOGGER.debug("Checking index.");
     if (!indexExist(VORTO_INDEX)) {
       LOGGER.debug("Index doesn't exist. Attempting to create it.");
-      createIndexWithMapping(VORTO_INDEX, createMappingForIndex());
-      LOGGER.debug(String.format("Index '%s' created.", VORTO_INDEX));
+      String index = newIndexName();
+      createIndexWithMapping(index, createMappingForIndex(), true);
+      LOGGER.debug(String.format("Index '%s' created with alias '%s'.", index, VORTO_INDEX));
     } else {
       LOGGER.debug("Index already exists");
     }
@@ -229,113 +307,28 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
    * This forces a full reindexing of all model, and should be used in the rare occasion where
    * a change in the mapping has been created, e.g. a new searchable field, or a change in a field's
    * type.<br/>
-   * The following operations are performed in order, synchronously:
-   * <ol>
-   *   <li>
-   *     Checks if the vorto index actually exists. If it doesn't, creates it and returns (nothing
-   *     else worth doing).
-   *   </li>
-   *   <li>
-   *     Checks if the vorto temp index ({@link ElasticSearchService#VORTO_INDEX_TEMP}) exists. If
-   *     so, deletes the temp index.
-   *   </li>
-   *   <li>
-   *     Creates the temp index with the current mapping.
-   *   </li>
-   *   <li>
-   *     Uses a reindex request to merge the vorto index ({@link ElasticSearchService#VORTO_INDEX})
-   *     into the temp index.
-   *   </li>
-   *   <li>
-   *     Deletes the vorto index.
-   *   </li>
-   *   <li>
-   *     Re-creates the vorto index.
-   *   </li>
-   *   <li>
-   *     Merges back the temp index in the vorto index.
-   *   </li>
-   *   <li>
-   *     Deletes the temp index.
-   *   </li>
-   *   <li>
-   *     Reindexes all model in the vorto index - see {@link IIndexingService#reindexAllModels()}.
-   *   </li>
-   * </ol>
+   * As {@link ElasticSearchService#reindexAllModels()} always builds a new index with the current
+   * mapping, this is the same as a regular reindex.
    *
    * @return
    */
   @Override
   public IndexingResult forceReindexAllModels() {
-    // no Vorto index - nothing to do
-    if (!indexExist(VORTO_INDEX)) {
-      createIndexIfNotExisting();
-      return new IndexingResult();
-    }
-    // first delete the VORTO_INDEX_TEMP index if it exists
-    if (indexExist(VORTO_INDEX_TEMP)) {
-      DeleteIndexRequest deleteTempIndexRequest = new DeleteIndexRequest()
-          .indices(VORTO_INDEX_TEMP);
-      try {
-        client.indices().delete(deleteTempIndexRequest, RequestOptions.DEFAULT);
-      } catch (IOException ioe) {
-        throw new IndexingException(ioe.getMessage(), ioe);
-      }
-    }
-    // creates the temporary index to hold the new mapping
-    CreateIndexRequest createTempIndexRequest = new CreateIndexRequest(VORTO_INDEX_TEMP);
-    createTempIndexRequest.mapping(createMappingForIndex());
-    try {
-      client.indices().create(createTempIndexRequest, RequestOptions.DEFAULT);
-    } catch (IOException ioe) {
-      throw new IndexingException(ioe.getMessage(), ioe);
-    }
-    // copies the vorto index data to the new temp index with new mapping
-    ReindexRequest reindexRequest = new ReindexRequest().setSourceIndices(VORTO_INDEX)
-        .setDestIndex(VORTO_INDEX_TEMP);
-    reindexRequest.setConflicts("proceed");
-    reindexRequest.setRefresh(true);
-    try {
-      client.reindex(reindexRequest, RequestOptions.DEFAULT);
-    } catch (IOException ioe) {
-      throw new IndexingException(ioe.getMessage(), ioe);
-    }
-    // deletes the vorto index
-    DeleteIndexRequest deleteIndexRequest = new DeleteIndexRequest().indices(VORTO_INDEX);
-    try {
-      client.indices().delete(deleteIndexRequest, RequestOptions.DEFAULT);
-    } catch (IOException ioe) {
-      throw new IndexingException(ioe.getMessage(), ioe);
-    }
-    // re-creates the vorto index
-    createIndexIfNotExisting();
-
-    // moves data back to vorto index
-    ReindexRequest moveBackToVortoIndex = new ReindexRequest().setSourceIndices(VORTO_INDEX_TEMP)
-        .setDestIndex(VORTO_INDEX);
-    reindexRequest.setConflicts("proceed");
-    reindexRequest.setRefresh(true);
-    try {
-      client.reindex(moveBackToVortoIndex, RequestOptions.DEFAULT);
-    } catch (IOException ioe) {
-      throw new IndexingException(ioe.getMessage(), ioe);
-    }
-
-    // deletes the temp index
-    DeleteIndexRequest deleteTempIndexRequest = new DeleteIndexRequest().indices(VORTO_INDEX_TEMP);
-    try {
-      client.indices().delete(deleteTempIndexRequest, RequestOptions.DEFAULT);
-    } catch (IOException ioe) {
-      throw new IndexingException(ioe.getMessage(), ioe);
-    }
-
-    // finally, re-import all models
     return reindexAllModels();
   }
 
-  private boolean createIndexWithMapping(String index, Map<String, Object> mapping) {
+  @Override
+  public IndexingProgress getReindexProgress() {
+    return reindexProgress;
+  }
+
+  private boolean createIndexWithMapping(String index, Map<String, Object> mapping,
+      boolean searched) {
     CreateIndexRequest request = new CreateIndexRequest(index);
     request.mapping(mapping);
+    if (searched) {
+      request.alias(new Alias(VORTO_INDEX));
+    }
     try {
       CreateIndexResponse createIndexResponse =
           client.indices().create(request, RequestOptions.DEFAULT);
@@ -366,46 +359,311 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     return property;
   }
 
-  private void deleteAllModels(String index) {
-    deleteByQuery(index, QueryBuilders.matchAllQuery());
-  }
-
+  /**
+   * Reindexes all models into a new index, which replaces the searched index once it is complete,
+   * so that search keeps working on the previous index while the reindex runs.<br/>
+   * The models of each namespace are read from the repository one by one and sent to the new index
+   * in bulk requests of a fixed size, with a limited number of requests in flight. Reading blocks
+   * while that limit is reached. Changes of models made on this node while the reindex runs are
+   * applied to both indices.<br/>
+   * Once all models have been sent, the alias {@link ElasticSearchService#VORTO_INDEX} is switched
+   * over to the new index in a single request, and the previous index is deleted. If the reindex
+   * fails, the new index is deleted and the previous index stays in use.<br/>
+   * Other nodes of a cluster only apply their changes to the previous index until the switch. So
+   * afterwards, the workspaces that the {@link WorkspaceChangeJournal} recorded as changed since
+   * the reindex started are indexed once more, and the models of deleted namespaces are removed.
+   *
+   * @return a result of how many namespaces, and how many models per namespace were indexed
+   */
   @Override
   public IndexingResult reindexAllModels() {
+    if (!reindexing.compareAndSet(false, true)) {
+      throw new IndexingException("A reindex of all models is already running.", null);
+    }
+    List<Namespace> namespaces = new ArrayList<>(namespaceRequestCache.namespaces());
+    IndexingProgress progress = new IndexingProgress(namespaces.size());
+    reindexProgress = progress;
+    String index = newIndexName();
+    long startedOn = System.currentTimeMillis();
+    try {
+      createIndexWithMapping(index, createMappingForIndex(), false);
+      reindexTarget = index;
+
+      IndexingResult result = indexAllModels(index, namespaces, progress);
+
+      // removes the models that have been read before they were deleted
+      deleteModels(index, new ArrayList<>(deletedWhileReindexing));
+      refreshIndex(index);
+      switchVortoIndexTo(index);
+      reindexTarget = null;
+      replayChangesSince(startedOn, namespaces);
+      progress.finish(null);
+      return result;
+    } catch (RuntimeException e) {
+      progress.finish(e.getMessage());
+      reindexTarget = null;
+      deleteIndexQuietly(index);
+      throw e;
+    } finally {
+      reindexTarget = null;
+      deletedWhileReindexing.clear();
+      reindexing.set(false);
+    }
+  }
+
+  private IndexingResult indexAllModels(String index, List<Namespace> namespaces,
+      IndexingProgress progress) {
     IndexingResult result = new IndexingResult();
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    BulkProcessor processor = BulkProcessor
+        .builder((request, listener) -> client.bulkAsync(request, RequestOptions.DEFAULT, listener),
+            new BulkProcessor.Listener() {
+              @Override
+              public void beforeBulk(long executionId, BulkRequest request) {
+                // nothing to do
+              }
+
+              @Override
+              public void afterBulk(long executionId, BulkRequest request,
+                  BulkResponse response) {
+                long failed = 0;
+                for (BulkItemResponse item : response.getItems()) {
+                  // models changed while reindexing have been written already, and are newer
+                  if (item.isFailed() && item.status() != RestStatus.CONFLICT) {
+                    failed++;
+                    LOGGER.error(String.format("Error while reindexing '%s': %s", item.getId(),
+                        item.getFailureMessage()));
+                  }
+                }
+                progress.addIndexedModels(request.numberOfActions() - failed);
+                progress.addFailedModels(failed);
+              }
+
+              @Override
+              public void afterBulk(long executionId, BulkRequest request, Throwable t) {
+                progress.addFailedModels(request.numberOfActions());
+                failure.compareAndSet(null, t);
+              }
+            })
+        .setBulkActions(reindexBulkSize)
+        .setConcurrentRequests(reindexConcurrentRequests)
+        .setBackoffPolicy(BackoffPolicy.exponentialBackoff(TimeValue.timeValueMillis(100), 5))
+        .build();
 
-    // (1) Delete all models in the index
-    deleteAllModels(VORTO_INDEX);
+    try {
+      for (Namespace namespace : namespaces) {
+        if (failure.get() != null) {
+          break;
+        }
+        progress.startNamespace(namespace.getName());
+        String workspaceId = namespace.getWorkspaceId();
+        IModelRepository repo = this.repositoryFactory.getRepository(workspaceId);
+        int count = repo.streamSearch("", model -> {
+          processor.add(createIndexRequest(model, workspaceId, index)
+              .opType(DocWriteRequest.OpType.CREATE));
+          progress.addReadModels(1);
+        });
+        if (count > 0) {
+          result.addIndexedNamespace(namespace.getName(), count);
+        }
+        progress.finishNamespace();
+        LOGGER.debug(String.format("Read %d models of workspace '%s' for reindexing", count,
+            workspaceId));
+      }
+    } finally {
+      try {
+        if (!processor.awaitClose(10, TimeUnit.MINUTES)) {
+          failure.compareAndSet(null, new IllegalStateException("Timeout waiting for the bulk requests to complete"));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        failure.compareAndSet(null, e);
+      }
+    }
 
-    // (2) Index all models in all the namespaces
-    namespaceRequestCache.namespaces().forEach(namespace -> {
-      IModelRepository repo = this.repositoryFactory.getRepository(namespace.getWorkspaceId());
-      List<ModelInfo> modelsToIndex = repo.search("");
-      if (!modelsToIndex.isEmpty()) {
-        BulkRequest bulkRequest = new BulkRequest();
+    if (failure.get() != null) {
+      throw new IndexingException(
+          String.format("Error trying to reindex all models into '%s'.", index), failure.get());
+    }
+    return result;
+  }
 
-        modelsToIndex.forEach(model -> {
-          bulkRequest.add(createIndexRequest(model, repo.getWorkspaceId()));
-        });
+  /**
+   * Indexes the workspaces changed on any node since the given time once more, and removes the
+   * workspaces of the given namespaces that have been deleted meanwhile. As the new index is in use
+   * already, failures are logged only.
+   */
+  private void replayChangesSince(long since, Collection<Namespace> indexedNamespaces) {
+    try {
+      doReplayChangesSince(since, indexedNamespaces);
+    } catch (RuntimeException e) {
+      LOGGER.error("Error while replaying the changes made while reindexing", e);
+    }
+  }
 
-        try {
-          BulkResponse bulkResponse = client.bulk(bulkRequest, RequestOptions.DEFAULT);
-          result.addIndexedNamespace(namespace.getName(), modelsToIndex.size());
-          LOGGER.debug(
-              String.format(
-                  "Received %d replies for workspace '%s' with %d models",
-                  bulkResponse.getItems().length, repo.getWorkspaceId(), modelsToIndex.size()
-              )
-          );
-        } catch (IOException e) {
-          throw new IndexingException(
-              String.format("Error trying to index all models in '%s' workspace.",
-                  repo.getWorkspaceId()), e);
-        }
+  private void doReplayChangesSince(long since, Collection<Namespace> indexedNamespaces) {
+    Set<String> workspaceIds = namespaceRequestCache.stale().namespaces().stream()
+        .map(Namespace::getWorkspaceId).collect(Collectors.toSet());
+    indexedNamespaces.stream().map(Namespace::getWorkspaceId)
+        .filter(workspaceId -> !workspaceIds.contains(workspaceId))
+        .forEach(workspaceId -> deleteByQuery(VORTO_INDEX,
+            QueryBuilders.termQuery(WORKSPACE_ID, workspaceId)));
+
+    if (workspaceChangeJournal == null) {
+      LOGGER.warn(
+          "Cannot replay changes made on other nodes while reindexing, as there is no journal");
+    } else {
+      Set<String> changed =
+          new HashSet<>(workspaceChangeJournal.changedSince(since - REPLAY_TOLERANCE_MILLIS));
+      changed.retainAll(workspaceIds);
+      changed.forEach(this::reindexWorkspace);
+      LOGGER.debug(String.format("Replayed changes of %d workspaces made while reindexing",
+          changed.size()));
+    }
+    refreshIndex(VORTO_INDEX);
+  }
+
+  /**
+   * Indexes all models of the given workspace, replacing their documents, and deletes the
+   * documents of models no longer in the workspace.
+   */
+  private void reindexWorkspace(String workspaceId) {
+    Set<String> modelIds = new HashSet<>();
+    List<DocWriteRequest<?>> requests = new ArrayList<>();
+    this.repositoryFactory.getRepository(workspaceId).streamSearch("", model -> {
+      modelIds.add(model.getId().getPrettyFormat());
+      requests.add(createIndexRequest(model, workspaceId, VORTO_INDEX));
+      if (requests.size() >= reindexBulkSize) {
+        sendBulk(requests);
       }
     });
+    sendBulk(requests);
+    deleteByQuery(VORTO_INDEX, QueryBuilders.boolQuery()
+        .filter(QueryBuilders.termQuery(WORKSPACE_ID, workspaceId))
+        .mustNot(QueryBuilders.idsQuery().addIds(modelIds.toArray(new String[0]))));
+  }
 
-    return result;
+  private void sendBulk(List<DocWriteRequest<?>> requests) {
+    if (requests.isEmpty()) {
+      return;
+    }
+    BulkRequest request = new BulkRequest();
+    requests.forEach(request::add);
+    requests.clear();
+    try {
+      BulkResponse response = client.bulk(request, RequestOptions.DEFAULT);
+      if (response.hasFailures()) {
+        LOGGER.error(String.format("Error while replaying changes: %s",
+            response.buildFailureMessage()));
+      }
+    } catch (IOException e) {
+      throw new IndexingException(
+          String.format("Error while replaying %d index changes", request.numberOfActions()), e);
+    }
+  }
+
+  private static String newIndexName() {
+    return VORTO_INDEX + "_" + System.currentTimeMillis();
+  }
+
+  /**
+   * Points the alias {@link ElasticSearchService#VORTO_INDEX} to the given index only, and deletes
+   * the indices it pointed to before. An index named like the alias, as created by earlier
+   * versions, is replaced by the alias.
+   */
+  private void switchVortoIndexTo(String index) {
+    try {
+      GetAliasesResponse aliases = client.indices()
+          .getAlias(new GetAliasesRequest(VORTO_INDEX), RequestOptions.DEFAULT);
+      Set<String> previous = aliases.getAliases().entrySet().stream()
+          .filter(entry -> !entry.getValue().isEmpty()).map(Map.Entry::getKey)
+          .collect(Collectors.toSet());
+
+      IndicesAliasesRequest request = new IndicesAliasesRequest();
+      if (previous.isEmpty() && indexExist(VORTO_INDEX)) {
+        request.addAliasAction(AliasActions.removeIndex().index(VORTO_INDEX));
+      }
+      previous.forEach(
+          old -> request.addAliasAction(AliasActions.remove().index(old).alias(VORTO_INDEX)));
+      request.addAliasAction(AliasActions.add().index(index).alias(VORTO_INDEX));
+      client.indices().updateAliases(request, RequestOptions.DEFAULT);
+
+      LOGGER.debug(String.format("Switched alias '%s' from %s to '%s'", VORTO_INDEX, previous,
+          index));
+      previous.forEach(this::deleteIndexQuietly);
+    } catch (IOException e) {
+      throw new IndexingException(
+          String.format("Error while switching alias '%s' to '%s'.", VORTO_INDEX, index), e);
+    }
+  }
+
+  private void refreshIndex(String index) {
+    try {
+      client.indices().refresh(new RefreshRequest(index), RequestOptions.DEFAULT);
+    } catch (IOException e) {
+      throw new IndexingException(String.format("Error while refreshing '%s'.", index), e);
+    }
+  }
+
+  private void deleteModels(String index, Collection<String> modelIds) {
+    if (modelIds.isEmpty()) {
+      return;
+    }
+    BulkRequest request = new BulkRequest();
+    modelIds.forEach(id -> request.add(new DeleteRequest(index, DOC, id)));
+    try {
+      client.bulk(request, RequestOptions.DEFAULT);
+    } catch (IOException e) {
+      throw new IndexingException(
+          String.format("Error while deleting %d models from '%s'.", modelIds.size(), index), e);
+    }
+  }
+
+  private void deleteIndexQuietly(String index) {
+    try {
+      client.indices().delete(new DeleteIndexRequest(index), RequestOptions.DEFAULT);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn(String.format("Cannot delete index '%s'", index), e);
+    }
+  }
+
+  /**
+   * Applies a change to the index being built by a running reindex as well, so that it is not lost
+   * when the reindex switches over to the new index. Failures are ignored, e.g. for updates of
+   * models the reindex has not written yet.
+   */
+  private void mirrorToReindexTarget(List<IndexingOperation> operations) {
+    String target = reindexTarget;
+    if (target == null) {
+      return;
+    }
+    BulkRequest request = new BulkRequest();
+    for (IndexingOperation operation : operations) {
+      String id = operation.getModelId().getPrettyFormat();
+      if (operation.getType() == IndexingOperation.Type.DELETE) {
+        deletedWhileReindexing.add(id);
+      } else {
+        deletedWhileReindexing.remove(id);
+      }
+      request.add(createWriteRequest(operation, target));
+    }
+    try {
+      client.bulk(request, RequestOptions.DEFAULT);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn(String.format("Cannot apply index changes to '%s'", target), e);
+    }
+  }
+
+  private DocWriteRequest<?> createWriteRequest(IndexingOperation operation, String index) {
+    String id = operation.getModelId().getPrettyFormat();
+    switch (operation.getType()) {
+      case INDEX:
+        return createIndexRequest(operation.getModelInfo(), operation.getWorkspaceId(), index);
+      case UPDATE:
+        return new UpdateRequest(index, DOC, id).doc(updateMap(operation.getModelInfo()));
+      default:
+        return new DeleteRequest(index, DOC, id);
+    }
   }
 
   private void deleteByQuery(String index, QueryBuilder query) {
@@ -456,9 +714,14 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
       throw new IndexingException(
           String.format("Error while indexing '%s'", modelInfo.getId().getPrettyFormat()), e);
     }
+    mirrorToReindexTarget(Collections.singletonList(IndexingOperation.index(modelInfo, workspaceId)));
   }
 
   private IndexRequest createIndexRequest(ModelInfo modelInfo, String workspaceID) {
+    return createIndexRequest(modelInfo, workspaceID, VORTO_INDEX);
+  }
+
+  private IndexRequest createIndexRequest(ModelInfo modelInfo, String workspaceID, String index) {
     Map<String, Object> jsonMap = new HashMap<>();
     jsonMap.put(WORKSPACE_ID, workspaceID);
 
@@ -468,7 +731,7 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
       });
     }
 
-    return new IndexRequest(VORTO_INDEX, DOC, modelInfo.getId().getPrettyFormat()).source(jsonMap);
+    return new IndexRequest(index, DOC, modelInfo.getId().getPrettyFormat()).source(jsonMap);
   }
 
   @Override
@@ -491,6 +754,7 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
               modelInfo.getId().getPrettyFormat()), e
       );
     }
+    mirrorToReindexTarget(Collections.singletonList(IndexingOperation.update(modelInfo)));
   }
 
   private Map<String, Object> updateMap(ModelInfo modelInfo) {
@@ -524,11 +788,57 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
           String.format("Error while deleting the index of '%s'", modelId.getPrettyFormat()), e
       );
     }
+    mirrorToReindexTarget(Collections.singletonList(IndexingOperation.delete(modelId)));
   }
 
   @Override
   public void deleteIndexForWorkspace(String workspaceId) {
     deleteByQuery(VORTO_INDEX, QueryBuilders.termQuery(WORKSPACE_ID, workspaceId));
+    String target = reindexTarget;
+    if (target != null) {
+      deleteByQuery(target, QueryBuilders.termQuery(WORKSPACE_ID, workspaceId));
+    }
+  }
+
+  @Override
+  public List<IndexingOperation> bulkIndex(List<IndexingOperation> operations) {
+    PreConditions.notNull(operations, "operations must not be null.");
+    List<IndexingOperation> failed = new ArrayList<>();
+    if (operations.isEmpty()) {
+      return failed;
+    }
+
+    BulkRequest bulkRequest = new BulkRequest();
+    operations.forEach(operation -> bulkRequest.add(createWriteRequest(operation, VORTO_INDEX)));
+
+    BulkResponse bulkResponse;
+    try {
+      bulkResponse = client.bulk(bulkRequest, RequestOptions.DEFAULT);
+    } catch (IOException e) {
+      throw new IndexingException(
+          String.format("Error while applying %d index changes", operations.size()), e);
+    }
+
+    if (bulkResponse.hasFailures()) {
+      // items of a bulk response are in the order of the requests
+      BulkItemResponse[] items = bulkResponse.getItems();
+      for (int i = 0; i < items.length; i++) {
+        if (!items[i].isFailed()) {
+          continue;
+        }
+        RestStatus status = items[i].status();
+        if (status == RestStatus.TOO_MANY_REQUESTS || status == RestStatus.SERVICE_UNAVAILABLE) {
+          failed.add(operations.get(i));
+        } else if (status != RestStatus.NOT_FOUND) {
+          LOGGER.error(String.format("Error while applying %s to the index: %s", operations.get(i),
+              items[i].getFailureMessage()));
+        }
+      }
+    }
+    LOGGER.debug(String.format("Applied %d index changes, %d to be retried", operations.size(),
+        failed.size()));
+    mirrorToReindexTarget(operations);
+    return failed;
   }
 
   /**
@@ -641,7 +951,7 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
   public List<ModelInfo> search(String searchExpression, Authentication auth) {
     SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
     searchSourceBuilder.query(
-        toESQuery(SearchParameters.build(findWorkspaceIdsForUser(auth), searchExpression)));
+        toESQuery(SearchParameters.build(searchExpression), visibilityFilters.filterFor(auth)));
     searchSourceBuilder.from(0);
     searchSourceBuilder.size(MAX_SEARCH_RESULTS);
     searchSourceBuilder.timeout(new TimeValue(3, TimeUnit.MINUTES));
@@ -665,39 +975,53 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     }
   }
 
-  private Collection<String> findWorkspaceIdsForUser(Authentication auth) {
-    if (
-        UserDto.isAnonymous(
-            UserDto.of(
-                auth.getName(),
-                registry.getByAuthentication(auth).getId()
-            )
-        )
-    ) {
-      return Collections.emptyList();
-    }
-    else if (UserContext.isSysAdmin(auth)) {
-      return namespaceRequestCache
-          .namespaces()
-          .stream()
-          .map(Namespace::getWorkspaceId)
-          .collect(Collectors.toList());
+  /**
+   * Pages with {@literal search_after} on the creation date and model ID, so that each page only
+   * fetches its own hits, sorted by Elastic Search.
+   */
+  @Override
+  public SearchPage search(String searchExpression, int pageSize, String cursor,
+      Set<String> fields) {
+    SearchPaging.checkPageSize(pageSize);
+    SearchPaging.checkFields(fields);
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+
+    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+    searchSourceBuilder.query(
+        toESQuery(SearchParameters.build(searchExpression), visibilityFilters.filterFor(auth)));
+    // one more hit than requested tells whether there is a next page
+    searchSourceBuilder.size(pageSize + 1);
+    searchSourceBuilder.sort(BasicIndexFieldExtractor.MODEL_CREATIONDATE, SortOrder.DESC);
+    searchSourceBuilder.sort(BasicIndexFieldExtractor.MODEL_ID, SortOrder.ASC);
+    if (cursor != null) {
+      SearchPaging.Cursor after = SearchPaging.Cursor.decode(cursor);
+      searchSourceBuilder.searchAfter(
+          new Object[] {Long.toString(after.getCreationTime()), after.getModelId()});
     }
-    else {
-      try {
-        return userNamespaceRoleService
-            .getNamespaces(
-                UserDto.of(
-                    auth.getName(),
-                    registry.getByAuthentication(auth).getId()
-                )
-            ).stream()
-            .map(Namespace::getWorkspaceId)
-            .collect(Collectors.toList());
-      } catch (OperationForbiddenException | DoesNotExistException e) {
-        // TODO log
-        return Collections.emptyList();
-      }
+    if (fields != null && !fields.isEmpty()) {
+      Set<String> indexFields = new LinkedHashSet<>();
+      indexFields.add(BasicIndexFieldExtractor.MODEL_ID);
+      indexFields.add(BasicIndexFieldExtractor.MODEL_CREATIONDATE);
+      fields.forEach(field -> indexFields.add(PROJECTED_INDEX_FIELDS.get(field)));
+      searchSourceBuilder.fetchSource(indexFields.toArray(new String[0]), null);
+    }
+    searchSourceBuilder.timeout(new TimeValue(3, TimeUnit.MINUTES));
+
+    SearchRequest searchRequest = new SearchRequest(VORTO_INDEX);
+    searchRequest.source(searchSourceBuilder);
+
+    try {
+      LOGGER.debug(String.format("Search Expression: %s Elastic Search: %s", searchExpression,
+          searchRequest.toString()));
+      SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+      List<ModelInfo> models = Stream.of(response.getHits().getHits()).map(this::fromSearchHit)
+          .collect(Collectors.toList());
+      return SearchPaging.toPage(models, pageSize, fields);
+    } catch (IOException e) {
+      throw new IndexingException(
+          String.format("Error while querying the index for '%s' expression",
+              Strings.nullToEmpty(searchExpression)), e
+      );
     }
   }
 
@@ -708,8 +1032,11 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
 
     modelInfo.setId(
         ModelId.fromPrettyFormat((String) sourceAsMap.get(BasicIndexFieldExtractor.MODEL_ID)));
-    modelInfo
-        .setType(ModelType.valueOf((String) sourceAsMap.get(BasicIndexFieldExtractor.MODEL_TYPE)));
+    // the type is missing if it has not been selected for a paged search
+    String modelType = (String) sourceAsMap.get(BasicIndexFieldExtractor.MODEL_TYPE);
+    if (modelType != null) {
+      modelInfo.setType(ModelType.valueOf(modelType));
+    }
     modelInfo.setState((String) sourceAsMap.get(BasicIndexFieldExtractor.STATE));
     modelInfo.setVisibility((String) sourceAsMap.get(BasicIndexFieldExtractor.VISIBILITY));
     modelInfo.setAuthor((String) sourceAsMap.get(BasicIndexFieldExtractor.AUTHOR));
@@ -811,6 +1138,21 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     return parent;
   }
 
+  /**
+   * Model IDs contain colons, which a query string would take as field separators. Model IDs
+   * without wildcards are hence searched as phrases, so that their tokens must appear in order,
+   * while the colons of model IDs with wildcards are escaped.
+   *
+   * @param modelIds
+   * @return
+   */
+  private static Collection<String> toModelIdQueries(Collection<String> modelIds) {
+    return modelIds.stream()
+        .map(modelId -> SearchTags.containsWildcard(modelId) ? modelId.replace(":", "\\:")
+            : "\"" + modelId.replace("\"", "") + "\"")
+        .collect(Collectors.toList());
+  }
+
   /**
    * Builds a boolean query for ElasticSearch, with the following rules:
    * <ul>
@@ -843,14 +1185,23 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
    * @return
    */
   public static QueryBuilder toESQuery(SearchParameters parameters) {
-    BoolQueryBuilder result = QueryBuilders.boolQuery();
-
     // adding tenant ids
-    Set<String> tenantIds = parameters.getWorkspaceIds();
-    if (tenantIds.isEmpty()) {
-      result = result.must(isPublic());
-    } else {
-      result = result.must(buildORBoolQueryWith(isPublic(), isOwnedByTenants(tenantIds)));
+    return toESQuery(parameters, visibilityFilter(parameters.getWorkspaceIds()));
+  }
+
+  /**
+   * @param parameters the search parameters, without the workspace IDs
+   * @param visibilityFilter restricts the result to the models the user can see, null if the user
+   *        can see all models. It is applied as filter, so that it does not take part in scoring
+   *        and Elastic Search can cache its matches.
+   * @return
+   * @see ElasticSearchService#toESQuery(SearchParameters)
+   */
+  private static QueryBuilder toESQuery(SearchParameters parameters,
+      QueryBuilder visibilityFilter) {
+    BoolQueryBuilder result = QueryBuilders.boolQuery();
+    if (visibilityFilter != null) {
+      result = result.filter(visibilityFilter);
     }
 
     /*
@@ -894,6 +1245,19 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     // adding versions
     makeChildQuery(result, parameters.getVersions(), BasicIndexFieldExtractor.VERSION);
 
+    // adding model content
+    makeChildQuery(result, parameters.getProperties(), ModelContentIndexFieldExtractor.PROPERTIES);
+    makeChildQuery(result, parameters.getPropertyTypes(),
+        ModelContentIndexFieldExtractor.PROPERTY_TYPES);
+    makeChildQuery(result, parameters.getLiterals(), ModelContentIndexFieldExtractor.LITERALS);
+
+    // adding target platforms
+    makeChildQuery(result, parameters.getPlatforms(), ReferenceIndexFieldExtractor.TARGET_PLATFORM);
+
+    // adding references
+    makeChildQuery(result, toModelIdQueries(parameters.getReferences()),
+        ReferenceIndexFieldExtractor.REFERENCES);
+
     return result;
   }
 
@@ -901,6 +1265,21 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     return fieldExtractors;
   }
 
+  /**
+   * @param reindexBulkSize the number of models sent to the index in one request when reindexing
+   */
+  public void setReindexBulkSize(int reindexBulkSize) {
+    this.reindexBulkSize = reindexBulkSize;
+  }
+
+  /**
+   * @param reindexConcurrentRequests the number of requests sent to the index at the same time
+   *        when reindexing, before reading further models blocks
+   */
+  public void setReindexConcurrentRequests(int reindexConcurrentRequests) {
+    this.reindexConcurrentRequests = reindexConcurrentRequests;
+  }
+
   public void setFieldExtractors(Collection<IIndexFieldExtractor> fieldExtractors) {
     this.fieldExtractors = fieldExtractors;
   }
@@ -21,7 +21,8 @@ import org.junit.runners.Suite.SuiteClasses;
     NameSearchSimpleTest.class,
     AuthorSearchSimpleTest.class,
     UserReferenceSearchSimpleTest.class, TypeSearchSimpleTest.class, StateSearchSimpleTest.class,
-    NamespaceSearchSimpleTest.class, VersionSearchSimpleTest.class})
+    NamespaceSearchSimpleTest.class, VersionSearchSimpleTest.class, ModelContentSearchTest.class,
+    ReindexTest.class})
 public class AllSearchTests {
 
 }
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.search.extractor.IIndexFieldExtractor;
+import org.eclipse.vorto.repository.search.extractor.ModelContentIndexFieldExtractor;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests the tagged searches by model content, target platform and references, with the content
+ * extracted from an entity, an enum and a mapping.
+ */
+public class ModelContentSearchTest {
+
+  private static final String ENUM_MODEL = "ColorEnum.type";
+
+  static SearchTestInfrastructure testInfrastructure;
+
+  @BeforeClass
+  public static void beforeClass() throws Exception {
+    testInfrastructure = new SearchTestInfrastructure();
+
+    // registered like the configuration of the application does
+    ElasticSearchService searchService =
+        (ElasticSearchService) testInfrastructure.getSearchService();
+    List<IIndexFieldExtractor> fieldExtractors =
+        new ArrayList<>(searchService.getFieldExtractors());
+    fieldExtractors.add(new ModelContentIndexFieldExtractor(
+        testInfrastructure.getRepositoryFactory(), testInfrastructure.namespaceRepository));
+    searchService.setFieldExtractors(fieldExtractors);
+
+    testInfrastructure.importModel(testInfrastructure.DATATYPE_MODEL);
+    testInfrastructure.importModel(ENUM_MODEL);
+    testInfrastructure.importModel(testInfrastructure.MAPPING_MODEL);
+  }
+
+  @AfterClass
+  public static void afterClass() throws Exception {
+    testInfrastructure.terminate();
+  }
+
+  @Test
+  public void testProperty() {
+    assertFoundOnly("property:color", testInfrastructure.DATATYPE_MODEL);
+  }
+
+  @Test
+  public void testPropertyWithWildcard() {
+    assertFoundOnly("property:col*", testInfrastructure.DATATYPE_MODEL);
+  }
+
+  @Test
+  public void testPropertyType() {
+    assertFoundOnly("propertyType:string", testInfrastructure.DATATYPE_MODEL);
+  }
+
+  @Test
+  public void testLiteral() {
+    assertFoundOnly("literal:GREEN", ENUM_MODEL);
+  }
+
+  @Test
+  public void testLiteralCaseInsensitive() {
+    assertFoundOnly("literal:green", ENUM_MODEL);
+  }
+
+  @Test
+  public void testPlatform() {
+    assertFoundOnly("platform:ios", testInfrastructure.MAPPING_MODEL);
+  }
+
+  @Test
+  public void testReference() {
+    assertFoundOnly("reference:org.eclipse.vorto.examples.type:Color:1.0.0",
+        testInfrastructure.MAPPING_MODEL);
+  }
+
+  @Test
+  public void testNoMatch() {
+    assertEquals(0, search("property:potato").size());
+    assertEquals(0, search("literal:YELLOW").size());
+    assertEquals(0, search("platform:lwm2m").size());
+  }
+
+  @Test
+  public void testContentAndName() {
+    assertFoundOnly("name:Color* literal:RED", ENUM_MODEL);
+    assertEquals(0, search("name:Color_ios literal:RED").size());
+  }
+
+  private void assertFoundOnly(String query, String fileName) {
+    List<ModelInfo> models = search(query);
+    assertEquals(1, models.size());
+    assertEquals(fileName, SearchTestInfrastructure.getFileName(models.get(0)));
+  }
+
+  private List<ModelInfo> search(String query) {
+    return testInfrastructure.getSearchService()
+        .search(query, testInfrastructure.getDefaultUser());
+  }
+}
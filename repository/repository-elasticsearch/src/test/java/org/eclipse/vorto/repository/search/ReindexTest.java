@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.apache.http.HttpHost;
+import org.eclipse.vorto.repository.core.IModelRepository;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.impl.WorkspaceChangeJournal;
+import org.eclipse.vorto.repository.core.impl.cache.NamespaceRequestCache;
+import org.eclipse.vorto.repository.domain.Namespace;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.client.GetAliasesResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Reindexes all models on one node, while the models are changed on another node, which only
+ * writes to the index in use, like another node of a cluster.
+ */
+public class ReindexTest {
+
+  static SearchTestInfrastructure testInfrastructure;
+
+  static RestHighLevelClient client;
+
+  @BeforeClass
+  public static void beforeClass() throws Exception {
+    testInfrastructure = new SearchTestInfrastructure();
+    testInfrastructure.importModel(SearchTestInfrastructure.DATATYPE_MODEL,
+        testInfrastructure.getDefaultUser());
+    testInfrastructure.importModel(SearchTestInfrastructure.FUNCTIONBLOCK_MODEL,
+        testInfrastructure.getDefaultUser());
+    client = new RestHighLevelClient(RestClient.builder(
+        new HttpHost(testInfrastructure.elasticSearch.getContainerIpAddress(),
+            testInfrastructure.elasticSearch.getMappedPort(9200), "http")));
+  }
+
+  @AfterClass
+  public static void afterClass() throws Exception {
+    client.close();
+    testInfrastructure.terminate();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testReindexWithChangesOnOtherNode() throws Exception {
+    IModelRepository repository = testInfrastructure.getRepositoryFactory()
+        .getRepository("playground");
+    List<ModelInfo> models = repository.search("*");
+    assertEquals(2, models.size());
+    ModelInfo changed = models.stream()
+        .filter(model -> model.getId().getName().equals("Color")).findAny().get();
+    ModelInfo deleted = models.stream()
+        .filter(model -> model.getId().getName().equals("Switcher")).findAny().get();
+
+    // changes the models on the other node, after the reindexing node has read them
+    AtomicBoolean changesMade = new AtomicBoolean();
+    IModelRepository readingRepository = mock(IModelRepository.class);
+    when(readingRepository.streamSearch(anyString(), any())).thenAnswer(invocation -> {
+      int count = repository.streamSearch((String) invocation.getArguments()[0],
+          (Consumer<ModelInfo>) invocation.getArguments()[1]);
+      if (changesMade.compareAndSet(false, true)) {
+        repository.updateState(changed.getId(), "InReview");
+        repository.removeModel(deleted.getId());
+      }
+      return count;
+    });
+    IModelRepositoryFactory readingRepositoryFactory = mock(IModelRepositoryFactory.class);
+    when(readingRepositoryFactory.getRepository("playground")).thenReturn(readingRepository);
+
+    Namespace namespace = new Namespace();
+    namespace.setName("org.eclipse.vorto");
+    namespace.setWorkspaceId("playground");
+    NamespaceRequestCache namespaceRequestCache = mock(NamespaceRequestCache.class);
+    when(namespaceRequestCache.stale()).thenReturn(namespaceRequestCache);
+    when(namespaceRequestCache.namespaces()).thenReturn(Collections.singletonList(namespace));
+
+    WorkspaceChangeJournal journal = mock(WorkspaceChangeJournal.class);
+    when(journal.changedSince(anyLong())).thenReturn(Collections.singleton("playground"));
+
+    ElasticSearchService reindexingNode = new ElasticSearchService(client,
+        readingRepositoryFactory, testInfrastructure.userNamespaceRoleService,
+        testInfrastructure.registry);
+    reindexingNode.setNamespaceRequestCache(namespaceRequestCache);
+    reindexingNode.setWorkspaceChangeJournal(journal);
+
+    Set<String> previousIndices = indicesOfVortoIndex();
+    reindexingNode.reindexAllModels();
+
+    assertEquals(1, indicesOfVortoIndex().size());
+    assertNotEquals(previousIndices, indicesOfVortoIndex());
+    List<ModelInfo> result = reindexingNode.search("", testInfrastructure.getDefaultUser());
+    assertEquals(1, result.size());
+    assertEquals(changed.getId(), result.get(0).getId());
+    assertEquals("InReview", result.get(0).getState());
+  }
+
+  private static Set<String> indicesOfVortoIndex() throws Exception {
+    GetAliasesResponse aliases = client.indices()
+        .getAlias(new GetAliasesRequest("vorto"), RequestOptions.DEFAULT);
+    return aliases.getAliases().keySet();
+  }
+}
@@ -40,6 +40,8 @@ import org.eclipse.vorto.repository.core.impl.InMemoryTemporaryStorage;
 import org.eclipse.vorto.repository.core.impl.ModelRepositoryEventListener;
 import org.eclipse.vorto.repository.core.impl.ModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.impl.UserContext;
+import org.eclipse.vorto.repository.core.impl.cache.ClusterCacheInvalidation;
+import org.eclipse.vorto.repository.core.impl.cache.UserNamespaceRolesCache;
 import org.eclipse.vorto.repository.core.impl.cache.UserRolesRequestCache;
 import org.eclipse.vorto.repository.core.impl.parser.ModelParserFactory;
 import org.eclipse.vorto.repository.core.impl.utils.ModelValidationHelper;
@@ -209,7 +211,9 @@ public final class SearchTestInfrastructure {
   protected IOAuthProvider defaultOauthProvider = Mockito.mock(IOAuthProvider.class);
 
   protected UserRolesRequestCache userRolesRequestCache = new UserRolesRequestCache(
-      userNamespaceRoleRepository, userRepositoryRoleRepository, userRepository, registry);
+      userNamespaceRoleRepository,
+      new UserNamespaceRolesCache(0, 0, new ClusterCacheInvalidation(null, "vorto-cache-cluster")),
+      userRepositoryRoleRepository, userRepository, registry);
 
   @Mock
   protected AttachmentValidator attachmentValidator = Mockito
@@ -652,6 +656,7 @@ public final class SearchTestInfrastructure {
         .thenReturn(Optional.of("playground"));
     when(namespaceService.findNamespaceByWorkspaceId(anyString())).thenReturn(mockNamespace());
     when(namespaceRepository.findAll()).thenReturn(Arrays.asList(mockNamespace()));
+    when(namespaceRepository.findByName("org.eclipse.vorto")).thenReturn(mockNamespace());
     when(userNamespaceRoleService.getNamespaces(any(UserDto.class)))
         .thenReturn(Arrays.asList(mockNamespace()));
     List<String> workspaceIds = new ArrayList<>();
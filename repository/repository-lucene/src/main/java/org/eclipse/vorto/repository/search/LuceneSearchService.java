@@ -0,0 +1,794 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import com.google.common.base.Strings;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import org.apache.log4j.Logger;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MultiBits;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.IModelRepository;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.repository.core.IUserContext;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.impl.cache.VisibleWorkspaceCache;
+import org.eclipse.vorto.repository.domain.Namespace;
+import org.eclipse.vorto.repository.oauth.IOAuthProviderRegistry;
+import org.eclipse.vorto.repository.repositories.NamespaceRepository;
+import org.eclipse.vorto.repository.search.extractor.BasicIndexFieldExtractor;
+import org.eclipse.vorto.repository.search.extractor.IIndexFieldExtractor;
+import org.eclipse.vorto.repository.search.extractor.IIndexFieldExtractor.FieldType;
+import org.eclipse.vorto.repository.search.extractor.ModelContentIndexFieldExtractor;
+import org.eclipse.vorto.repository.search.extractor.ReferenceIndexFieldExtractor;
+import org.eclipse.vorto.repository.services.UserNamespaceRoleService;
+import org.eclipse.vorto.repository.utils.PreConditions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Search Service implementation using an embedded Lucene index on the local disk, for
+ * installations without an Elastic Search cluster.<br/>
+ * The index holds the same fields as the Elastic Search index, filled by the same
+ * {@link IIndexFieldExtractor}s, and supports the same search expressions, see
+ * {@link SearchParameters}. Values are analyzed with the standard analyzer, i.e. searched
+ * case-insensitive, and results are ranked by relevance.<br/>
+ * Changes are committed to disk and made visible to searches once they have been applied. If the
+ * index is empty when the application has started, e.g. on the first start, all models are
+ * reindexed in the background by the {@link TaskExecutor} of the application.
+ */
+public class LuceneSearchService
+    implements IIndexingService, ISearchService, ApplicationListener<ApplicationReadyEvent> {
+
+  /**
+   * Same name as in the Elastic Search index
+   */
+  private static final String WORKSPACE_ID = "tenantId";
+
+  private static final String CREATION_TIME_SORT = "createdOn.sort";
+
+  private static final String MODEL_ID_SORT = "modelId.sort";
+
+  private static final int MAX_SEARCH_RESULTS = 10000;
+
+  private static final String PUBLIC = "public";
+
+  private static final Sort NEWEST_FIRST =
+      new Sort(new SortField(CREATION_TIME_SORT, SortField.Type.LONG, true),
+          new SortField(MODEL_ID_SORT, SortField.Type.STRING));
+
+  private static final Logger LOGGER = Logger.getLogger(LuceneSearchService.class);
+
+  /**
+   * Fields searched for un-tagged names
+   */
+  private static final List<String> UNTAGGED_NAME_FIELDS =
+      Arrays.asList(BasicIndexFieldExtractor.DISPLAY_NAME, BasicIndexFieldExtractor.DESCRIPTION,
+          BasicIndexFieldExtractor.MODEL_NAME_SEARCHABLE);
+
+  /**
+   * Fields searched for values tagged {@literal name:}
+   */
+  private static final List<String> TAGGED_NAME_FIELDS =
+      Collections.singletonList(BasicIndexFieldExtractor.DISPLAY_NAME);
+
+  /**
+   * Fields searched for values tagged {@literal userReference:}
+   */
+  private static final List<String> USER_REFERENCE_FIELDS =
+      Arrays.asList(BasicIndexFieldExtractor.AUTHOR, BasicIndexFieldExtractor.MODIFIED_BY);
+
+  /**
+   * Fields stored in the index, to build the search results from. All other fields are only
+   * searched.
+   */
+  private static final Set<String> STORED_FIELDS = new HashSet<>(Arrays.asList(WORKSPACE_ID,
+      BasicIndexFieldExtractor.MODEL_ID, BasicIndexFieldExtractor.MODEL_TYPE,
+      BasicIndexFieldExtractor.STATE, BasicIndexFieldExtractor.VISIBILITY,
+      BasicIndexFieldExtractor.AUTHOR, BasicIndexFieldExtractor.DESCRIPTION,
+      BasicIndexFieldExtractor.DISPLAY_NAME, BasicIndexFieldExtractor.MODEL_HASIMAGE,
+      BasicIndexFieldExtractor.MODEL_CREATIONDATE));
+
+  private final Analyzer analyzer = new StandardAnalyzer();
+
+  private final Directory directory;
+
+  private final IndexWriter writer;
+
+  private final SearcherManager searcherManager;
+
+  private Collection<IIndexFieldExtractor> fieldExtractors = new ArrayList<>();
+
+  private Map<String, FieldType> fieldTypes = new HashMap<>();
+
+  private IModelRepositoryFactory repositoryFactory;
+
+  private NamespaceRepository namespaceRepository;
+
+  private final VisibilityFilters<Query> visibilityFilters;
+
+  private final AtomicBoolean reindexing = new AtomicBoolean();
+
+  private volatile IndexingProgress reindexProgress = new IndexingProgress();
+
+  /**
+   * Models and workspaces changed while a reindex runs, which the reindex must not overwrite with
+   * the state it has read before
+   */
+  private final Set<String> changedWhileReindexing = new HashSet<>();
+
+  private final Set<String> deletedWorkspacesWhileReindexing = ConcurrentHashMap.newKeySet();
+
+  private TaskExecutor taskExecutor;
+
+  /**
+   * @param indexDirectory the directory of the index, which is created if it does not exist
+   */
+  public LuceneSearchService(Path indexDirectory, IModelRepositoryFactory repositoryFactory,
+      NamespaceRepository namespaceRepository, UserNamespaceRoleService userNamespaceRoleService,
+      IOAuthProviderRegistry registry) {
+    this.repositoryFactory = repositoryFactory;
+    this.namespaceRepository = namespaceRepository;
+    this.visibilityFilters = new VisibilityFilters<>(userNamespaceRoleService, registry,
+        isPublic(), LuceneSearchService::publicOrInWorkspaces);
+
+    List<IIndexFieldExtractor> extractors = new ArrayList<>();
+    extractors.add(new BasicIndexFieldExtractor());
+    extractors.add(new ReferenceIndexFieldExtractor());
+    extractors.add(new ModelContentIndexFieldExtractor(repositoryFactory, namespaceRepository));
+    setFieldExtractors(extractors);
+
+    SimpleAsyncTaskExecutor reindexExecutor = new SimpleAsyncTaskExecutor("lucene-reindex-");
+    reindexExecutor.setDaemon(true);
+    this.taskExecutor = reindexExecutor;
+
+    try {
+      this.directory = FSDirectory.open(indexDirectory);
+      this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+          .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+      this.searcherManager = new SearcherManager(writer, null);
+    } catch (IOException e) {
+      throw new IndexingException(
+          String.format("Error while opening the index in '%s'.", indexDirectory), e);
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    try {
+      searcherManager.close();
+      writer.close();
+      directory.close();
+    } catch (IOException e) {
+      LOGGER.error("Not able to close the index", e);
+    }
+  }
+
+  /**
+   * Reindexes all models in the background if the index is empty, e.g. on the first start. The
+   * reindex runs on the task executor, or on a new thread if the application has none.
+   */
+  @Override
+  public void onApplicationEvent(ApplicationReadyEvent event) {
+    if (numberOfModels() > 0) {
+      return;
+    }
+    taskExecutor.execute(() -> {
+      try {
+        IndexingResult result = reindexAllModels();
+        LOGGER.info(String.format("Indexed %d models of %d namespaces, %d models failed",
+            result.getTotalNumberOfIndexedModels(), result.getNumberOfNamespaces(),
+            result.getNumberOfFailedModels()));
+      } catch (RuntimeException e) {
+        LOGGER.error("Error while indexing all models", e);
+      }
+    });
+  }
+
+  private int numberOfModels() {
+    try {
+      IndexSearcher searcher = searcherManager.acquire();
+      try {
+        return searcher.getIndexReader().numDocs();
+      } finally {
+        searcherManager.release(searcher);
+      }
+    } catch (IOException e) {
+      throw new IndexingException("Error while counting the models in the index.", e);
+    }
+  }
+
+  /**
+   * As {@link LuceneSearchService#reindexAllModels()} always writes all models with the current
+   * fields, this is the same as a regular reindex.
+   */
+  @Override
+  public IndexingResult forceReindexAllModels() {
+    return reindexAllModels();
+  }
+
+  @Override
+  public IndexingProgress getReindexProgress() {
+    return reindexProgress;
+  }
+
+  /**
+   * Writes all models of all namespaces to the index, replacing the models already indexed, and
+   * removes the models that do not exist anymore. Search keeps working on the models indexed so far
+   * while the reindex runs. Changes of models made meanwhile are applied as usual, and not
+   * overwritten by the reindex.
+   *
+   * @return a result of how many namespaces, and how many models per namespace were indexed, and
+   *         which models could not be indexed
+   */
+  @Override
+  public IndexingResult reindexAllModels() {
+    if (!reindexing.compareAndSet(false, true)) {
+      throw new IndexingException("A reindex of all models is already running.", null);
+    }
+    List<Namespace> namespaces = new ArrayList<>(namespaceRepository.findAll());
+    IndexingProgress progress = new IndexingProgress(namespaces.size());
+    reindexProgress = progress;
+    try {
+      IndexingResult result = new IndexingResult();
+      Set<String> indexed = new HashSet<>();
+      for (Namespace namespace : namespaces) {
+        progress.startNamespace(namespace.getName());
+        String workspaceId = namespace.getWorkspaceId();
+        IModelRepository repo = repositoryFactory.getRepositoryForBackgroundTask(workspaceId);
+        AtomicInteger count = new AtomicInteger();
+        repo.streamSearch("", model -> {
+          progress.addReadModels(1);
+          if (reindexModel(model, workspaceId)) {
+            indexed.add(model.getId().getPrettyFormat());
+            progress.addIndexedModels(1);
+            count.incrementAndGet();
+          } else {
+            progress.addFailedModels(1);
+            result.addFailedModel(model.getId().getPrettyFormat());
+          }
+        });
+        if (count.get() > 0) {
+          result.addIndexedNamespace(namespace.getName(), count.get());
+        }
+        progress.finishNamespace();
+        LOGGER.debug(
+            String.format("Reindexed %d models of workspace '%s'", count.get(), workspaceId));
+      }
+
+      // models of namespaces deleted meanwhile might have been read before the deletion
+      for (String workspaceId : deletedWorkspacesWhileReindexing) {
+        writer.deleteDocuments(new Term(WORKSPACE_ID, workspaceId));
+      }
+      commit();
+      deleteModelsNotIn(indexed);
+      commit();
+      progress.finish(null);
+      return result;
+    } catch (IOException | UncheckedIOException e) {
+      progress.finish(e.getMessage());
+      throw new IndexingException("Error trying to reindex all models.", e);
+    } catch (RuntimeException e) {
+      progress.finish(e.getMessage());
+      throw e;
+    } finally {
+      synchronized (changedWhileReindexing) {
+        changedWhileReindexing.clear();
+      }
+      deletedWorkspacesWhileReindexing.clear();
+      reindexing.set(false);
+    }
+  }
+
+  /**
+   * @return false if the model cannot be indexed, true if it has been indexed or has been changed
+   *         since the reindex started
+   */
+  private boolean reindexModel(ModelInfo model, String workspaceId) {
+    String id = model.getId().getPrettyFormat();
+    Document document;
+    try {
+      document = toDocument(model, workspaceId);
+    } catch (RuntimeException e) {
+      LOGGER.error(String.format("Error while reindexing '%s'", id), e);
+      return false;
+    }
+    synchronized (changedWhileReindexing) {
+      if (changedWhileReindexing.contains(id)) {
+        return true;
+      }
+      try {
+        writer.updateDocument(new Term(BasicIndexFieldExtractor.MODEL_ID, id), document);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return true;
+  }
+
+  private void deleteModelsNotIn(Set<String> indexed) throws IOException {
+    IndexSearcher searcher = searcherManager.acquire();
+    try {
+      IndexReader reader = searcher.getIndexReader();
+      Bits liveDocs = MultiBits.getLiveDocs(reader);
+      Set<String> fields = Collections.singleton(BasicIndexFieldExtractor.MODEL_ID);
+      List<Term> removed = new ArrayList<>();
+      synchronized (changedWhileReindexing) {
+        for (int i = 0; i < reader.maxDoc(); i++) {
+          if (liveDocs != null && !liveDocs.get(i)) {
+            continue;
+          }
+          String id = reader.document(i, fields).get(BasicIndexFieldExtractor.MODEL_ID);
+          if (!indexed.contains(id) && !changedWhileReindexing.contains(id)) {
+            removed.add(new Term(BasicIndexFieldExtractor.MODEL_ID, id));
+          }
+        }
+      }
+      if (!removed.isEmpty()) {
+        writer.deleteDocuments(removed.toArray(new Term[0]));
+        LOGGER.debug(String.format("Removed %d models that do not exist anymore", removed.size()));
+      }
+    } finally {
+      searcherManager.release(searcher);
+    }
+  }
+
+  /**
+   * Protects the given models from being overwritten by a running reindex. Must be called before
+   * the changes are written.
+   */
+  private void markChangedWhileReindexing(Collection<ModelId> modelIds) {
+    if (!reindexing.get()) {
+      return;
+    }
+    synchronized (changedWhileReindexing) {
+      modelIds.forEach(modelId -> changedWhileReindexing.add(modelId.getPrettyFormat()));
+    }
+  }
+
+  private void commit() throws IOException {
+    writer.commit();
+    searcherManager.maybeRefreshBlocking();
+  }
+
+  @Override
+  public void indexModel(ModelInfo modelInfo, String workspaceId) {
+    PreConditions.notNull(modelInfo, "modelInfo must not be null.");
+    PreConditions.notNullOrEmpty(workspaceId, WORKSPACE_ID);
+
+    LOGGER.debug(String.format("Indexing model '%s'", modelInfo.getId()));
+    apply(Collections.singletonList(IndexingOperation.index(modelInfo, workspaceId)));
+  }
+
+  @Override
+  public void updateIndex(ModelInfo modelInfo) {
+    PreConditions.notNull(modelInfo, "modelInfo must not be null.");
+
+    LOGGER.debug(String.format("Updating index of model '%s'", modelInfo.getId()));
+    apply(Collections.singletonList(IndexingOperation.update(modelInfo)));
+  }
+
+  @Override
+  public void deleteIndex(ModelId modelId) {
+    PreConditions.notNull(modelId, "modelId must not be null.");
+
+    LOGGER.debug(String.format("Deleting index of model '%s'", modelId));
+    apply(Collections.singletonList(IndexingOperation.delete(modelId)));
+  }
+
+  @Override
+  public void deleteIndexForWorkspace(String workspaceId) {
+    if (reindexing.get()) {
+      deletedWorkspacesWhileReindexing.add(workspaceId);
+    }
+    try {
+      writer.deleteDocuments(new Term(WORKSPACE_ID, workspaceId));
+      commit();
+    } catch (IOException e) {
+      throw new IndexingException(
+          String.format("Error deleting all models of workspace '%s' from the index.",
+              workspaceId), e);
+    }
+  }
+
+  /**
+   * Applies all changes and commits them at once. Changes that cannot be applied are logged and
+   * skipped, so none of them need to be retried.
+   */
+  @Override
+  public List<IndexingOperation> bulkIndex(List<IndexingOperation> operations) {
+    PreConditions.notNull(operations, "operations must not be null.");
+    if (!operations.isEmpty()) {
+      apply(operations);
+      LOGGER.debug(String.format("Applied %d index changes", operations.size()));
+    }
+    return new ArrayList<>();
+  }
+
+  private void apply(List<IndexingOperation> operations) {
+    markChangedWhileReindexing(
+        operations.stream().map(IndexingOperation::getModelId).collect(Collectors.toList()));
+    try {
+      for (IndexingOperation operation : operations) {
+        Term id = new Term(BasicIndexFieldExtractor.MODEL_ID,
+            operation.getModelId().getPrettyFormat());
+        switch (operation.getType()) {
+          case INDEX:
+            write(id, operation.getModelInfo(), operation.getWorkspaceId(), operation);
+            break;
+          case UPDATE:
+            // documents are always replaced as a whole, so the workspace is kept from the index
+            String workspaceId = indexedWorkspaceOf(id);
+            if (workspaceId != null) {
+              write(id, operation.getModelInfo(), workspaceId, operation);
+            }
+            break;
+          default:
+            writer.deleteDocuments(id);
+        }
+      }
+      commit();
+    } catch (IOException e) {
+      throw new IndexingException(
+          String.format("Error while applying %d index changes", operations.size()), e);
+    }
+  }
+
+  private void write(Term id, ModelInfo modelInfo, String workspaceId,
+      IndexingOperation operation) throws IOException {
+    Document document;
+    try {
+      document = toDocument(modelInfo, workspaceId);
+    } catch (RuntimeException e) {
+      LOGGER.error(String.format("Error while applying %s to the index", operation), e);
+      return;
+    }
+    writer.updateDocument(id, document);
+  }
+
+  private String indexedWorkspaceOf(Term id) throws IOException {
+    IndexSearcher searcher = searcherManager.acquire();
+    try {
+      TopDocs hits = searcher.search(new TermQuery(id), 1);
+      if (hits.scoreDocs.length == 0) {
+        return null;
+      }
+      return searcher.doc(hits.scoreDocs[0].doc, Collections.singleton(WORKSPACE_ID))
+          .get(WORKSPACE_ID);
+    } finally {
+      searcherManager.release(searcher);
+    }
+  }
+
+  private Document toDocument(ModelInfo modelInfo, String workspaceId) {
+    Document document = new Document();
+    document.add(new StringField(WORKSPACE_ID, workspaceId, Store.YES));
+
+    for (IIndexFieldExtractor extractor : fieldExtractors) {
+      extractor.extractFields(modelInfo).forEach((name, value) -> {
+        if (value == null) {
+          return;
+        }
+        Store store = STORED_FIELDS.contains(name) ? Store.YES : Store.NO;
+        if (fieldTypes.get(name) == FieldType.KEY) {
+          document.add(new StringField(name, value, store));
+        } else {
+          document.add(new TextField(name, value, store));
+        }
+      });
+    }
+
+    document.add(new NumericDocValuesField(CREATION_TIME_SORT,
+        modelInfo.getCreationDate() != null ? modelInfo.getCreationDate().getTime() : 0));
+    document.add(
+        new SortedDocValuesField(MODEL_ID_SORT, new BytesRef(modelInfo.getId().getPrettyFormat())));
+    return document;
+  }
+
+  /**
+   * @see LuceneSearchService#search(String, IUserContext)
+   */
+  @Override
+  public List<ModelInfo> search(String searchExpression) {
+    return search(searchExpression, SecurityContextHolder.getContext().getAuthentication());
+  }
+
+  /**
+   * Supports the same search expressions as the Elastic Search service, see
+   * {@link SearchParameters#build(String)}.
+   */
+  @Override
+  public List<ModelInfo> search(String searchExpression, IUserContext userContext) {
+    return search(searchExpression, userContext.getAuthentication());
+  }
+
+  @Override
+  public List<ModelInfo> search(String searchExpression, Authentication auth) {
+    Query query = toLuceneQuery(SearchParameters.build(searchExpression),
+        visibilityFilters.filterFor(auth));
+    LOGGER.debug(String.format("Search Expression: %s Lucene Search: %s", searchExpression, query));
+    try {
+      IndexSearcher searcher = searcherManager.acquire();
+      try {
+        TopDocs hits = searcher.search(query, MAX_SEARCH_RESULTS);
+        LOGGER.debug(String.format("Number of hits: %d", hits.totalHits.value));
+        return toModels(searcher, hits.scoreDocs);
+      } finally {
+        searcherManager.release(searcher);
+      }
+    } catch (IOException e) {
+      throw new IndexingException(
+          String.format("Error while querying the index for '%s' expression",
+              Strings.nullToEmpty(searchExpression)), e);
+    }
+  }
+
+  /**
+   * Pages with {@literal searchAfter} on the creation date and model ID, so that each page only
+   * collects its own hits.
+   */
+  @Override
+  public SearchPage search(String searchExpression, int pageSize, String cursor,
+      Set<String> fields) {
+    SearchPaging.checkPageSize(pageSize);
+    SearchPaging.checkFields(fields);
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+
+    Query query = toLuceneQuery(SearchParameters.build(searchExpression),
+        visibilityFilters.filterFor(auth));
+    try {
+      IndexSearcher searcher = searcherManager.acquire();
+      try {
+        // one more hit than requested tells whether there is a next page
+        TopDocs hits;
+        if (cursor != null) {
+          SearchPaging.Cursor after = SearchPaging.Cursor.decode(cursor);
+          FieldDoc afterDoc = new FieldDoc(Integer.MAX_VALUE, Float.NaN,
+              new Object[] {after.getCreationTime(), new BytesRef(after.getModelId())});
+          hits = searcher.searchAfter(afterDoc, query, pageSize + 1, NEWEST_FIRST);
+        } else {
+          hits = searcher.search(query, pageSize + 1, NEWEST_FIRST);
+        }
+        return SearchPaging.toPage(toModels(searcher, hits.scoreDocs), pageSize, fields);
+      } finally {
+        searcherManager.release(searcher);
+      }
+    } catch (IOException e) {
+      throw new IndexingException(
+          String.format("Error while querying the index for '%s' expression",
+              Strings.nullToEmpty(searchExpression)), e);
+    }
+  }
+
+  private static List<ModelInfo> toModels(IndexSearcher searcher, ScoreDoc[] hits)
+      throws IOException {
+    List<ModelInfo> models = new ArrayList<>(hits.length);
+    for (ScoreDoc hit : hits) {
+      models.add(fromDocument(searcher.doc(hit.doc, STORED_FIELDS)));
+    }
+    return models;
+  }
+
+  private static ModelInfo fromDocument(Document document) {
+    ModelInfo modelInfo = new ModelInfo();
+    modelInfo.setId(ModelId.fromPrettyFormat(document.get(BasicIndexFieldExtractor.MODEL_ID)));
+    modelInfo.setType(ModelType.valueOf(document.get(BasicIndexFieldExtractor.MODEL_TYPE)));
+    modelInfo.setState(document.get(BasicIndexFieldExtractor.STATE));
+    modelInfo.setVisibility(document.get(BasicIndexFieldExtractor.VISIBILITY));
+    modelInfo.setAuthor(document.get(BasicIndexFieldExtractor.AUTHOR));
+    modelInfo.setDescription(document.get(BasicIndexFieldExtractor.DESCRIPTION));
+    modelInfo.setDisplayName(document.get(BasicIndexFieldExtractor.DISPLAY_NAME));
+    modelInfo.setHasImage(
+        Boolean.parseBoolean(document.get(BasicIndexFieldExtractor.MODEL_HASIMAGE)));
+    modelInfo.setCreationDate(
+        new Date(Long.parseLong(document.get(BasicIndexFieldExtractor.MODEL_CREATIONDATE))));
+    return modelInfo;
+  }
+
+  private static Query publicOrInWorkspaces(Collection<String> workspaceIds) {
+    return new BooleanQuery.Builder().add(isPublic(), Occur.SHOULD)
+        .add(new TermInSetQuery(WORKSPACE_ID,
+            workspaceIds.stream().map(BytesRef::new).collect(Collectors.toList())), Occur.SHOULD)
+        .build();
+  }
+
+  private static Query isPublic() {
+    return new TermQuery(new Term(BasicIndexFieldExtractor.VISIBILITY, PUBLIC));
+  }
+
+  /**
+   * Builds a boolean query with the same rules as the Elastic Search service: different tags are
+   * all required, while multiple values of the same tag, and the fields searched for a tag, are
+   * alternatives.
+   *
+   * @param parameters the search parameters, without the workspace IDs
+   * @param visibilityFilter restricts the result to the models the user can see, null if the user
+   *        can see all models. It is applied as filter, so that it does not take part in scoring
+   *        and Lucene can cache its matches.
+   */
+  Query toLuceneQuery(SearchParameters parameters, Query visibilityFilter) {
+    BooleanQuery.Builder result = new BooleanQuery.Builder();
+    if (visibilityFilter != null) {
+      result.add(visibilityFilter, Occur.FILTER);
+    }
+
+    boolean required = false;
+    required |= addChildQuery(result, parameters.getTaggedNames(), TAGGED_NAME_FIELDS);
+    required |= addChildQuery(result, parameters.getUntaggedNames(), UNTAGGED_NAME_FIELDS);
+    required |= addChildQuery(result, parameters.getStates(), BasicIndexFieldExtractor.STATE);
+    required |= addChildQuery(result, parameters.getTypes(), BasicIndexFieldExtractor.MODEL_TYPE);
+    required |= addChildQuery(result, parameters.getAuthors(), BasicIndexFieldExtractor.AUTHOR);
+    required |= addChildQuery(result, parameters.getUserReferences(), USER_REFERENCE_FIELDS);
+    required |=
+        addChildQuery(result, parameters.getVisibilities(), BasicIndexFieldExtractor.VISIBILITY);
+    required |=
+        addChildQuery(result, parameters.getNamespaces(), BasicIndexFieldExtractor.NAMESPACE);
+    required |= addChildQuery(result, parameters.getVersions(), BasicIndexFieldExtractor.VERSION);
+    required |= addChildQuery(result, parameters.getProperties(),
+        ModelContentIndexFieldExtractor.PROPERTIES);
+    required |= addChildQuery(result, parameters.getPropertyTypes(),
+        ModelContentIndexFieldExtractor.PROPERTY_TYPES);
+    required |= addChildQuery(result, parameters.getLiterals(),
+        ModelContentIndexFieldExtractor.LITERALS);
+    required |= addChildQuery(result, parameters.getPlatforms(),
+        ReferenceIndexFieldExtractor.TARGET_PLATFORM);
+    required |= addChildQuery(result, parameters.getReferences(),
+        ReferenceIndexFieldExtractor.REFERENCES);
+
+    if (!required) {
+      result.add(new MatchAllDocsQuery(), Occur.MUST);
+    }
+    return result.build();
+  }
+
+  private boolean addChildQuery(BooleanQuery.Builder parent, Collection<String> values,
+      String field) {
+    return addChildQuery(parent, values, Collections.singletonList(field));
+  }
+
+  /**
+   * Adds a required clause to the parent, which matches any of the values in any of the fields.
+   *
+   * @return true if a clause has been added, false if there are no values
+   */
+  private boolean addChildQuery(BooleanQuery.Builder parent, Collection<String> values,
+      List<String> fields) {
+    if (values.isEmpty()) {
+      return false;
+    }
+    BooleanQuery.Builder child = new BooleanQuery.Builder();
+    for (String value : values) {
+      for (String field : fields) {
+        child.add(valueQuery(field, value), Occur.SHOULD);
+      }
+    }
+    parent.add(child.build(), Occur.MUST);
+    return true;
+  }
+
+  /**
+   * Values with wildcards are matched against the single, lower case terms of the field. Other
+   * values are analyzed like the field, and their terms must appear in order, so that e.g. model
+   * IDs are matched as a whole.
+   */
+  private Query valueQuery(String field, String value) {
+    if (SearchTags.containsWildcard(value)) {
+      return new WildcardQuery(new Term(field, value.toLowerCase(Locale.ROOT)));
+    }
+    List<String> terms = analyze(field, value);
+    if (terms.isEmpty()) {
+      return new MatchNoDocsQuery();
+    }
+    if (terms.size() == 1) {
+      return new TermQuery(new Term(field, terms.get(0)));
+    }
+    return new PhraseQuery(field, terms.toArray(new String[0]));
+  }
+
+  private List<String> analyze(String field, String value) {
+    List<String> terms = new ArrayList<>();
+    try (TokenStream stream = analyzer.tokenStream(field, value)) {
+      CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+      stream.reset();
+      while (stream.incrementToken()) {
+        terms.add(term.toString());
+      }
+      stream.end();
+    } catch (IOException e) {
+      throw new IndexingException(String.format("Error while analyzing '%s'", value), e);
+    }
+    return terms;
+  }
+
+  public Collection<IIndexFieldExtractor> getFieldExtractors() {
+    return fieldExtractors;
+  }
+
+  public void setFieldExtractors(Collection<IIndexFieldExtractor> fieldExtractors) {
+    Map<String, FieldType> types = new HashMap<>();
+    fieldExtractors.forEach(extractor -> types.putAll(extractor.getFields()));
+    this.fieldExtractors = fieldExtractors;
+    this.fieldTypes = types;
+  }
+
+  /**
+   * @param taskExecutor runs the initial reindex, instead of a new thread
+   */
+  @Autowired(required = false)
+  public void setTaskExecutor(TaskExecutor taskExecutor) {
+    this.taskExecutor = taskExecutor;
+  }
+
+  @Autowired(required = false)
+  public void setVisibleWorkspaceCache(VisibleWorkspaceCache visibleWorkspaceCache) {
+    visibilityFilters.setVisibleWorkspaceCache(visibleWorkspaceCache);
+  }
+
+}
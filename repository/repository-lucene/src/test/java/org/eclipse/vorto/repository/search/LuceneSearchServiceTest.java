@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.IModelRepository;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.domain.Namespace;
+import org.eclipse.vorto.repository.oauth.IOAuthProvider;
+import org.eclipse.vorto.repository.oauth.IOAuthProviderRegistry;
+import org.eclipse.vorto.repository.repositories.NamespaceRepository;
+import org.eclipse.vorto.repository.services.UserNamespaceRoleService;
+import org.eclipse.vorto.repository.web.account.dto.UserDto;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class LuceneSearchServiceTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private LuceneSearchService searchService;
+
+  private IModelRepositoryFactory repositoryFactory = Mockito.mock(IModelRepositoryFactory.class);
+
+  private NamespaceRepository namespaceRepository = Mockito.mock(NamespaceRepository.class);
+
+  private Authentication sysadmin = new TestingAuthenticationToken("admin", null, "sysadmin");
+
+  private Authentication alex = new TestingAuthenticationToken("alex", null, "user");
+
+  @Before
+  public void setUp() throws Exception {
+    IOAuthProvider provider = Mockito.mock(IOAuthProvider.class);
+    Mockito.when(provider.getId()).thenReturn("GITHUB");
+    IOAuthProviderRegistry registry = Mockito.mock(IOAuthProviderRegistry.class);
+    Mockito.when(registry.getByAuthentication(Mockito.any())).thenReturn(provider);
+
+    Namespace namespace = new Namespace();
+    namespace.setName("com.alex");
+    namespace.setWorkspaceId("workspaceAlex");
+    UserNamespaceRoleService roleService = Mockito.mock(UserNamespaceRoleService.class);
+    Mockito.when(roleService.getNamespaces(Mockito.any(UserDto.class)))
+        .thenReturn(Collections.singletonList(namespace));
+
+    searchService = new LuceneSearchService(folder.newFolder("index").toPath(),
+        repositoryFactory, namespaceRepository, roleService, registry);
+
+    searchService.bulkIndex(Arrays.asList(
+        IndexingOperation.index(model("org.eclipse.vorto:Color:1.0.0", ModelType.Datatype,
+            "Released", "public", 1000), "workspaceVorto"),
+        IndexingOperation.index(model("org.eclipse.vorto:Lamp:1.0.0", ModelType.Functionblock,
+            "Released", "public", 2000), "workspaceVorto"),
+        IndexingOperation.index(model("com.alex:RaspberryPi:1.0.0", ModelType.InformationModel,
+            "Draft", "private", 3000), "workspaceAlex"),
+        IndexingOperation.index(model("com.erle:Toaster:1.0.0", ModelType.InformationModel,
+            "Draft", "private", 4000), "workspaceErle")));
+  }
+
+  @After
+  public void tearDown() {
+    SecurityContextHolder.clearContext();
+    searchService.close();
+  }
+
+  @Test
+  public void testSearchByNameAndTags() {
+    assertEquals(Collections.singletonList("org.eclipse.vorto:Color:1.0.0"),
+        ids(searchService.search("col", sysadmin)));
+    assertEquals(Collections.singletonList("com.alex:RaspberryPi:1.0.0"),
+        ids(searchService.search("name:rasp*", sysadmin)));
+    assertEquals(Arrays.asList("com.alex:RaspberryPi:1.0.0", "com.erle:Toaster:1.0.0"),
+        sorted(ids(searchService.search("type:InformationModel", sysadmin))));
+    assertEquals(Collections.singletonList("org.eclipse.vorto:Lamp:1.0.0"),
+        ids(searchService.search("state:released type:Functionblock", sysadmin)));
+    assertEquals(Arrays.asList("org.eclipse.vorto:Color:1.0.0", "org.eclipse.vorto:Lamp:1.0.0"),
+        sorted(ids(searchService.search("namespace:org.eclipse.vorto", sysadmin))));
+    assertEquals(4, searchService.search("", sysadmin).size());
+  }
+
+  @Test
+  public void testSearchOnlyReturnsVisibleModels() {
+    assertEquals(
+        Arrays.asList("com.alex:RaspberryPi:1.0.0", "org.eclipse.vorto:Color:1.0.0",
+            "org.eclipse.vorto:Lamp:1.0.0"),
+        sorted(ids(searchService.search("", alex))));
+  }
+
+  @Test
+  public void testUpdateAndDelete() {
+    ModelInfo lamp = model("org.eclipse.vorto:Lamp:1.0.0", ModelType.Functionblock, "Deprecated",
+        "public", 2000);
+    searchService.updateIndex(lamp);
+    assertEquals(Collections.singletonList("org.eclipse.vorto:Lamp:1.0.0"),
+        ids(searchService.search("state:Deprecated", sysadmin)));
+
+    searchService.deleteIndex(lamp.getId());
+    assertTrue(searchService.search("state:Deprecated", sysadmin).isEmpty());
+
+    searchService.deleteIndexForWorkspace("workspaceVorto");
+    assertEquals(2, searchService.search("", sysadmin).size());
+  }
+
+  @Test
+  public void testPagesNewestFirst() {
+    SecurityContextHolder.getContext().setAuthentication(sysadmin);
+    SearchPage first = searchService.search("", 3, null, null);
+    assertEquals(Arrays.asList("com.erle:Toaster:1.0.0", "com.alex:RaspberryPi:1.0.0",
+        "org.eclipse.vorto:Lamp:1.0.0"), ids(first.getModels()));
+    assertNotNull(first.getNextCursor());
+
+    SearchPage second = searchService.search("", 3, first.getNextCursor(), null);
+    assertEquals(Collections.singletonList("org.eclipse.vorto:Color:1.0.0"),
+        ids(second.getModels()));
+    assertNull(second.getNextCursor());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testReindexReportsFailedModels() {
+    Namespace namespace = new Namespace();
+    namespace.setName("org.eclipse.vorto");
+    namespace.setWorkspaceId("workspaceVorto");
+    Mockito.when(namespaceRepository.findAll()).thenReturn(Collections.singletonList(namespace));
+    IModelRepository repository = Mockito.mock(IModelRepository.class);
+    Mockito.when(repositoryFactory.getRepositoryForBackgroundTask("workspaceVorto"))
+        .thenReturn(repository);
+    ModelInfo broken = model("org.eclipse.vorto:Broken:1.0.0", ModelType.Datatype, "Released",
+        "public", 5000);
+    // no document can be built without a creation date
+    broken.setCreationDate(null);
+    Mockito.when(repository.streamSearch(Mockito.eq(""), Mockito.any())).thenAnswer(invocation -> {
+      Consumer<ModelInfo> consumer = (Consumer<ModelInfo>) invocation.getArguments()[1];
+      consumer.accept(model("org.eclipse.vorto:Color:1.0.0", ModelType.Datatype, "Released",
+          "public", 1000));
+      consumer.accept(broken);
+      return 2;
+    });
+
+    IndexingResult result = searchService.reindexAllModels();
+
+    assertEquals(1, result.getTotalNumberOfIndexedModels());
+    assertEquals(Collections.singletonList("org.eclipse.vorto:Broken:1.0.0"),
+        result.getFailedModels());
+    assertEquals(1, searchService.getReindexProgress().getNumberOfFailedModels());
+    assertEquals(Collections.singletonList("org.eclipse.vorto:Color:1.0.0"),
+        ids(searchService.search("", sysadmin)));
+  }
+
+  private static ModelInfo model(String id, ModelType type, String state, String visibility,
+      long createdOn) {
+    ModelId modelId = ModelId.fromPrettyFormat(id);
+    ModelInfo model = new ModelInfo(modelId, type);
+    model.setDisplayName(modelId.getName());
+    model.setDescription("Model " + modelId.getName());
+    model.setAuthor("alex");
+    model.setState(state);
+    model.setVisibility(visibility);
+    model.setCreationDate(new Date(createdOn));
+    return model;
+  }
+
+  private static List<String> ids(List<ModelInfo> models) {
+    return models.stream().map(model -> model.getId().getPrettyFormat())
+        .collect(Collectors.toList());
+  }
+
+  private static List<String> sorted(List<String> ids) {
+    return ids.stream().sorted().collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.FileContent;
+import org.eclipse.vorto.repository.core.IModelRepository;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.impl.parser.ModelParserFactory;
+import org.eclipse.vorto.repository.domain.Namespace;
+import org.eclipse.vorto.repository.oauth.IOAuthProviderRegistry;
+import org.eclipse.vorto.repository.repositories.NamespaceRepository;
+import org.eclipse.vorto.repository.services.UserNamespaceRoleService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Tests the tagged searches by model content, target platform and references, with the content
+ * extracted from an entity, an enum and a mapping.
+ */
+public class ModelContentSearchTest {
+
+  private static final String COLOR = "org.eclipse.vorto.examples.type:Color:1.0.0";
+
+  private static final String COLOR_ENUM = "org.eclipse.vorto.examples.type:ColorEnum:1.0.0";
+
+  private static final String COLOR_IOS = "org.eclipse.vorto.examples.type:Color_ios:1.0.0";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private LuceneSearchService searchService;
+
+  private Authentication sysadmin = new TestingAuthenticationToken("admin", null, "sysadmin");
+
+  private IModelRepository repository = Mockito.mock(IModelRepository.class);
+
+  @BeforeClass
+  public static void initParser() {
+    new ModelParserFactory().init();
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    Namespace namespace = new Namespace();
+    namespace.setName("org.eclipse.vorto");
+    namespace.setWorkspaceId("workspaceVorto");
+    NamespaceRepository namespaceRepository = Mockito.mock(NamespaceRepository.class);
+    Mockito.when(namespaceRepository.findByName("org.eclipse.vorto")).thenReturn(namespace);
+    IModelRepositoryFactory repositoryFactory = Mockito.mock(IModelRepositoryFactory.class);
+    Mockito.when(repositoryFactory.getRepositoryForBackgroundTask("workspaceVorto"))
+        .thenReturn(repository);
+
+    searchService = new LuceneSearchService(folder.newFolder("index").toPath(),
+        repositoryFactory, namespaceRepository, Mockito.mock(UserNamespaceRoleService.class),
+        Mockito.mock(IOAuthProviderRegistry.class));
+
+    ModelInfo mapping = model(COLOR_IOS, ModelType.Mapping, "Color_ios.mapping");
+    mapping.setReferences(Collections.singletonList(ModelId.fromPrettyFormat(COLOR)));
+    mapping.setTargetPlatformKey("ios");
+
+    searchService.bulkIndex(Arrays.asList(
+        IndexingOperation.index(model(COLOR, ModelType.Datatype, "Color.type"),
+            "workspaceVorto"),
+        IndexingOperation.index(model(COLOR_ENUM, ModelType.Datatype, "ColorEnum.type"),
+            "workspaceVorto"),
+        IndexingOperation.index(mapping, "workspaceVorto")));
+  }
+
+  @After
+  public void tearDown() {
+    searchService.close();
+  }
+
+  @Test
+  public void testProperty() {
+    assertFoundOnly("property:color", COLOR);
+    assertFoundOnly("property:col*", COLOR);
+  }
+
+  @Test
+  public void testPropertyType() {
+    assertFoundOnly("propertyType:string", COLOR);
+  }
+
+  @Test
+  public void testLiteral() {
+    assertFoundOnly("literal:GREEN", COLOR_ENUM);
+    assertFoundOnly("literal:green", COLOR_ENUM);
+  }
+
+  @Test
+  public void testPlatform() {
+    assertFoundOnly("platform:ios", COLOR_IOS);
+  }
+
+  @Test
+  public void testReference() {
+    assertFoundOnly("reference:" + COLOR, COLOR_IOS);
+  }
+
+  @Test
+  public void testNoMatch() {
+    assertTrue(searchService.search("property:potato", sysadmin).isEmpty());
+    assertTrue(searchService.search("literal:YELLOW", sysadmin).isEmpty());
+    assertTrue(searchService.search("platform:lwm2m", sysadmin).isEmpty());
+  }
+
+  @Test
+  public void testContentAndName() {
+    assertFoundOnly("name:Color* literal:RED", COLOR_ENUM);
+    assertTrue(searchService.search("name:Color_ios literal:RED", sysadmin).isEmpty());
+  }
+
+  private void assertFoundOnly(String query, String id) {
+    assertEquals(Collections.singletonList(id), searchService.search(query, sysadmin).stream()
+        .map(model -> model.getId().getPrettyFormat()).collect(Collectors.toList()));
+  }
+
+  /**
+   * @return a model, whose content the repository returns from the given sample file
+   */
+  private ModelInfo model(String id, ModelType type, String fileName) throws Exception {
+    ModelId modelId = ModelId.fromPrettyFormat(id);
+    byte[] content = Files.readAllBytes(
+        Paths.get(getClass().getResource("/sample_models/" + fileName).toURI()));
+    Mockito.when(repository.getFileContent(Mockito.eq(modelId), Mockito.any()))
+        .thenReturn(Optional.of(new FileContent(fileName, content)));
+
+    ModelInfo model = new ModelInfo(modelId, type);
+    model.setDisplayName(modelId.getName());
+    model.setDescription("Model " + modelId.getName());
+    model.setAuthor("alex");
+    model.setState("Draft");
+    model.setVisibility("private");
+    model.setCreationDate(new Date());
+    return model;
+  }
+}
@@ -12,15 +12,30 @@
  */
 package org.eclipse.vorto.repository.server.config.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
- * Enables async. Only used to send e-mail notifications asynchronously when so required, at the
- * time of writing - see {@link org.eclipse.vorto.repository.notification.INotificationService}.
+ * Enables async, to send e-mail notifications asynchronously when so required - see
+ * {@link org.eclipse.vorto.repository.notification.INotificationService}. <br/>
+ * The task executor runs these notifications, and other background tasks of the application, e.g.
+ * the initial reindex of {@link org.eclipse.vorto.repository.search.LuceneSearchService}.
  */
 @Configuration
 @EnableAsync
 public class AsyncConfiguration {
 
+  @Bean
+  public ThreadPoolTaskExecutor taskExecutor(
+      @Value("${repo.tasks.poolSize:#{4}}") int poolSize) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setThreadNamePrefix("task-");
+    executor.setDaemon(true);
+    return executor;
+  }
 }
@@ -18,6 +18,8 @@ import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
 import com.amazonaws.http.AWSRequestSigningApacheInterceptor;
 import com.google.common.base.Strings;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import javax.annotation.PreDestroy;
 import javax.net.ssl.SSLContext;
@@ -32,7 +34,10 @@ import org.apache.http.ssl.SSLContextBuilder;
 import org.apache.log4j.Logger;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.oauth.IOAuthProviderRegistry;
+import org.eclipse.vorto.repository.repositories.NamespaceRepository;
 import org.eclipse.vorto.repository.search.ElasticSearchService;
+import org.eclipse.vorto.repository.search.extractor.IIndexFieldExtractor;
+import org.eclipse.vorto.repository.search.extractor.ModelContentIndexFieldExtractor;
 import org.eclipse.vorto.repository.services.UserNamespaceRoleService;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
@@ -93,12 +98,29 @@ public class ElasticSearchConfiguration {
 
   @Autowired
   private IOAuthProviderRegistry registry;
+
+  @Autowired
+  private NamespaceRepository namespaceRepository;
+
+  @Value("${repo.reindex.bulkSize:500}")
+  private int reindexBulkSize;
+
+  @Value("${repo.reindex.concurrentRequests:2}")
+  private int reindexConcurrentRequests;
   
 
   @Bean
   @Profile(value = { "prod", "int", "local-docker", "local-dev", "local-dev-mysql","local-benchmark-test"})
   public ElasticSearchService elasticSearch() {
-    return new ElasticSearchService(client, repositoryFactory, userNamespaceRoleService, registry);
+    ElasticSearchService elasticSearchService =
+        new ElasticSearchService(client, repositoryFactory, userNamespaceRoleService, registry);
+    elasticSearchService.setReindexBulkSize(reindexBulkSize);
+    elasticSearchService.setReindexConcurrentRequests(reindexConcurrentRequests);
+    List<IIndexFieldExtractor> fieldExtractors =
+        new ArrayList<>(elasticSearchService.getFieldExtractors());
+    fieldExtractors.add(new ModelContentIndexFieldExtractor(repositoryFactory, namespaceRepository));
+    elasticSearchService.setFieldExtractors(fieldExtractors);
+    return elasticSearchService;
   }
   
   @Bean
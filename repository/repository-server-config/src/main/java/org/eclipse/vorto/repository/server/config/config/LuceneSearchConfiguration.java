@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.server.config.config;
+
+import java.nio.file.Paths;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.repository.oauth.IOAuthProviderRegistry;
+import org.eclipse.vorto.repository.repositories.NamespaceRepository;
+import org.eclipse.vorto.repository.search.LuceneSearchService;
+import org.eclipse.vorto.repository.services.UserNamespaceRoleService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Embedded Lucene Search Service Configuration, for installations without Elastic Search
+ *
+ */
+@Configuration
+@Profile(value = {"local-dev-lucene"})
+public class LuceneSearchConfiguration {
+
+  @Value("${repo.search.lucene.indexDirectory:#{systemProperties['user.home'] + '/.vorto-search'}}")
+  private String indexDirectory;
+
+  @Autowired
+  private IModelRepositoryFactory repositoryFactory;
+
+  @Autowired
+  private UserNamespaceRoleService userNamespaceRoleService;
+
+  @Autowired
+  private IOAuthProviderRegistry registry;
+
+  @Autowired
+  private NamespaceRepository namespaceRepository;
+
+  @Bean
+  public LuceneSearchService luceneSearch() {
+    return new LuceneSearchService(Paths.get(indexDirectory), repositoryFactory,
+        namespaceRepository, userNamespaceRoleService, registry);
+  }
+}
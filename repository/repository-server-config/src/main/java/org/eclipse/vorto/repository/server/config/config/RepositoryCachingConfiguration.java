@@ -12,33 +12,88 @@
  */
 package org.eclipse.vorto.repository.server.config.config;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.eclipse.vorto.repository.core.impl.cache.ClusterCacheInvalidation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.guava.GuavaCache;
 import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 
+/**
+ * Caches of the role and privilege lookups. <br/>
+ * Each cache is bounded and expires its entries, as configured by a Guava cache spec, e.g.
+ * {@literal maximumSize=10000,expireAfterWrite=10m}. The spec of a cache is read from
+ * {@literal repo.cache.[cache name].spec}, and defaults to {@literal repo.cache.spec}. <br/>
+ * Evictions are sent to the other nodes of a cluster, see {@link ClusterCacheInvalidation}. <br/>
+ * Hits, misses, evictions and sizes are published as actuator metrics with the prefix
+ * {@literal repocache.}.
+ */
 @Configuration
 @EnableCaching
 public class RepositoryCachingConfiguration {
 
+  private static final List<String> CACHE_NAMES = Arrays.asList(
+      "userRepositoryRolesCache",
+      "namespaceRolesCache",
+      "repositoryRolesCache",
+      "privilegesCache",
+      "namespaceRoleCache",
+      "repositoryRoleCache",
+      "privilegeCache"
+  );
+
+  @Value("${repo.cache.spec:maximumSize=10000,expireAfterWrite=10m}")
+  private String defaultSpec;
+
+  @Autowired
+  private Environment environment;
+
+  @Autowired
+  private ClusterCacheInvalidation clusterCacheInvalidation;
+
+  private final List<GuavaCache> caches = new ArrayList<>();
+
   @Bean
   public CacheManager cacheManager() {
+    List<Cache> clusteredCaches = new ArrayList<>();
+    for (String name : CACHE_NAMES) {
+      String spec = environment.getProperty("repo.cache." + name + ".spec", defaultSpec);
+      GuavaCache cache = new GuavaCache(name, CacheBuilder.from(spec).recordStats().build());
+      caches.add(cache);
+      clusteredCaches.add(clusterCacheInvalidation.clustered(cache));
+    }
     SimpleCacheManager cacheManager = new SimpleCacheManager();
-    cacheManager.setCaches(
-        Arrays.asList(
-            new ConcurrentMapCache("userRepositoryRolesCache"),
-            new ConcurrentMapCache("namespaceRolesCache"),
-            new ConcurrentMapCache("repositoryRolesCache"),
-            new ConcurrentMapCache("privilegesCache"),
-            new ConcurrentMapCache("namespaceRoleCache"),
-            new ConcurrentMapCache("repositoryRoleCache"),
-            new ConcurrentMapCache("privilegeCache")
-        )
-    );
+    cacheManager.setCaches(clusteredCaches);
     return cacheManager;
   }
+
+  @Bean
+  public PublicMetrics repositoryCacheMetrics() {
+    return () -> {
+      Collection<Metric<?>> metrics = new ArrayList<>();
+      for (GuavaCache cache : caches) {
+        String prefix = "repocache." + cache.getName();
+        CacheStats stats = cache.getNativeCache().stats();
+        metrics.add(new Metric<>(prefix + ".hits", stats.hitCount()));
+        metrics.add(new Metric<>(prefix + ".misses", stats.missCount()));
+        metrics.add(new Metric<>(prefix + ".evictions", stats.evictionCount()));
+        metrics.add(new Metric<>(prefix + ".size", cache.getNativeCache().size()));
+      }
+      return metrics;
+    };
+  }
 }
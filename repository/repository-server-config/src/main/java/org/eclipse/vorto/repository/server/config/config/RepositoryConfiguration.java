@@ -13,6 +13,7 @@
 package org.eclipse.vorto.repository.server.config.config;
 
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.repository.core.impl.utils.WorkspaceFanOut;
 import org.eclipse.vorto.repository.oauth.internal.TokenUtils;
 import org.eclipse.vorto.repository.repositories.NamespaceRepository;
 import org.eclipse.vorto.repository.search.impl.SimpleSearchService;
@@ -73,9 +74,10 @@ public class RepositoryConfiguration extends BaseConfiguration {
   @Profile(value = {"local", "test", "local-test", "local-ui-test", "local-https", "local-dev-simplesearch" , "azure"})
   public SimpleSearchService simpleSearch(
       @Autowired NamespaceRepository namespaceRepository,
-      @Autowired IModelRepositoryFactory repositoryFactory) {
+      @Autowired IModelRepositoryFactory repositoryFactory,
+      @Autowired WorkspaceFanOut workspaceFanOut) {
 
-    return new SimpleSearchService(namespaceRepository, repositoryFactory);
+    return new SimpleSearchService(namespaceRepository, repositoryFactory, workspaceFanOut);
   }
   
   @Bean
@@ -18,7 +18,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -45,6 +48,10 @@ public class ModelWorkspaceReader {
   private List<WorkspaceZipReader> zipReaders =
       new ArrayList<ModelWorkspaceReader.WorkspaceZipReader>();
 
+  private ForkJoinPool parsingPool = null;
+
+  private ParsedModelCache cache = null;
+
   public ModelWorkspaceReader() {
     this.fileReader = new WorkspaceFileReader();
   }
@@ -69,13 +76,135 @@ public class ModelWorkspaceReader {
     return this;
   }
 
+  /**
+   * Parses the added resources concurrently on the common fork-join pool.
+   *
+   * @see #parallel(ForkJoinPool)
+   */
+  public ModelWorkspaceReader parallel() {
+    return parallel(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Parses the added resources concurrently on the given pool. Every resource is parsed into its
+   * own resource set without resolving cross references; the parsed resources are then moved into
+   * a single resource set and linked there, so the resulting workspace is the same as the one
+   * produced by the sequential mode.
+   *
+   * @param pool the pool to parse the resources on
+   * @return this reader
+   */
+  public ModelWorkspaceReader parallel(ForkJoinPool pool) {
+    this.parsingPool = pool;
+    return this;
+  }
+
+  /**
+   * Looks up the parsed models in the process-wide {@link ParsedModelCache} before parsing them.
+   */
+  public ModelWorkspaceReader cached() {
+    return cached(ParsedModelCache.getInstance());
+  }
+
+  /**
+   * Looks up the parsed models in the given cache before parsing them. Models are cached per added
+   * zip file and for all added files together, keyed by their content.
+   *
+   * @param cache the cache to read from and to add parsed models to
+   * @return this reader
+   */
+  public ModelWorkspaceReader cached(ParsedModelCache cache) {
+    this.cache = cache;
+    return this;
+  }
+
   public IModelWorkspace read() {
     DefaultModelWorkspace workspace = new DefaultModelWorkspace();
-    workspace.addModels(fileReader.read());
-    zipReaders.stream().forEach(x -> workspace.addModels(x.read()));
+    workspace.addModels(fileReader.read(parsingPool, cache));
+    zipReaders.stream().forEach(x -> workspace.addModels(x.read(parsingPool, cache)));
     return workspace;
   }
 
+  private static XtextResourceSet createResourceSet(Injector injector, boolean resolveAll) {
+    XtextResourceSet resourceSet = injector.getInstance(XtextResourceSet.class);
+    if (resolveAll) {
+      resourceSet.addLoadOption(XtextResource.OPTION_RESOLVE_ALL, Boolean.TRUE);
+    }
+    resourceSet.addLoadOption(XtextResource.OPTION_ENCODING, "UTF-8");
+    return resourceSet;
+  }
+
+  private static List<Model> load(List<ModelSource> sources, ForkJoinPool pool,
+      ParsedModelCache cache) {
+    Injector injector = new MappingStandaloneSetup().createInjectorAndDoEMFRegistration();
+    XtextResourceSet resourceSet = createResourceSet(injector, true);
+
+    String cacheKey = null;
+    if (cache != null && !sources.isEmpty()) {
+      cacheKey = createCacheKey(sources);
+      Optional<List<Resource>> cachedResources = cache.get(cacheKey, resourceSet);
+      if (cachedResources.isPresent()) {
+        return toModels(cachedResources.get());
+      }
+    }
+
+    List<Resource> infoModelResources;
+    if (pool == null) {
+      infoModelResources = new ArrayList<>();
+      for (ModelSource source : sources) {
+        infoModelResources.add(parse(resourceSet, source));
+      }
+    } else {
+      infoModelResources = parseConcurrently(injector, sources, pool);
+      // linking needs all resources in one resource set, as cross references are resolved
+      // against its index
+      resourceSet.getResources().addAll(infoModelResources);
+    }
+
+    EcoreUtil2.resolveAll(resourceSet);
+
+    if (cacheKey != null) {
+      cache.put(cacheKey, resourceSet,
+          sources.stream().mapToLong(source -> source.getContent().length).sum());
+    }
+    return toModels(infoModelResources);
+  }
+
+  private static List<Model> toModels(List<Resource> resources) {
+    return resources.stream().map(r -> (Model) r.getContents().get(0))
+        .collect(Collectors.toList());
+  }
+
+  private static String createCacheKey(List<ModelSource> sources) {
+    ParsedModelCache.KeyBuilder key = ParsedModelCache.newKey();
+    sources.forEach(source -> key.add(source.getExtension()).add(source.getContent()));
+    return key.build();
+  }
+
+  private static List<Resource> parseConcurrently(Injector injector, List<ModelSource> sources,
+      ForkJoinPool pool) {
+    try {
+      return pool.submit(() -> sources.parallelStream()
+          .map(source -> parse(createResourceSet(injector, false), source))
+          .collect(Collectors.toList())).get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while parsing models", ex);
+    } catch (ExecutionException ex) {
+      throw new RuntimeException("Problem parsing models", ex.getCause());
+    }
+  }
+
+  private static Resource parse(XtextResourceSet resourceSet, ModelSource source) {
+    Resource resource = resourceSet.createResource(URI.createURI("fake:/" + source.getName()));
+    try {
+      resource.load(new ByteArrayInputStream(source.getContent()), resourceSet.getLoadOptions());
+    } catch (IOException ex) {
+      throw new RuntimeException("Problem parsing model " + source.getName(), ex);
+    }
+    return resource;
+  }
+
   private static class WorkspaceZipReader {
     private ZipInputStream zis;
 
@@ -83,30 +212,21 @@ public class ModelWorkspaceReader {
       this.zis = zis;
     }
 
-    public List<Model> read() {
+    public List<Model> read(ForkJoinPool pool, ParsedModelCache cache) {
       ZipEntry entry = null;
 
-      Injector injector = new MappingStandaloneSetup().createInjectorAndDoEMFRegistration();
-      XtextResourceSet resourceSet = injector.getInstance(XtextResourceSet.class);
-      resourceSet.addLoadOption(XtextResource.OPTION_RESOLVE_ALL, Boolean.TRUE);
-      resourceSet.addLoadOption(XtextResource.OPTION_ENCODING, "UTF-8");
-
-      List<Resource> infoModelResources = new ArrayList<>();
+      List<ModelSource> sources = new ArrayList<>();
       try {
         while ((entry = zis.getNextEntry()) != null) {
-          Resource resource = resourceSet.createResource(URI.createURI("fake:/" + entry.getName()));
           ByteArrayOutputStream baos = new ByteArrayOutputStream();
           IOUtils.copy(zis, baos);
-          resource.load(new ByteArrayInputStream(baos.toByteArray()), resourceSet.getLoadOptions());
-          infoModelResources.add(resource);
+          sources.add(new ModelSource(entry.getName(), baos.toByteArray()));
         }
       } catch (Exception ex) {
         throw new RuntimeException("Problem reading zip file", ex);
       }
 
-      EcoreUtil2.resolveAll(resourceSet);
-      return infoModelResources.stream().map(r -> (Model) r.getContents().get(0))
-          .collect(Collectors.toList());
+      return load(sources, pool, cache);
     }
   }
 
@@ -118,30 +238,22 @@ public class ModelWorkspaceReader {
       files.add(new ModelFile(input, type));
     }
 
-    public List<Model> read() {
-      Injector injector = new MappingStandaloneSetup().createInjectorAndDoEMFRegistration();
-      XtextResourceSet resourceSet = injector.getInstance(XtextResourceSet.class);
-      resourceSet.addLoadOption(XtextResource.OPTION_RESOLVE_ALL, Boolean.TRUE);
-      resourceSet.addLoadOption(XtextResource.OPTION_ENCODING, "UTF-8");
-
-      List<Resource> infoModelResources = new ArrayList<>();
+    public List<Model> read(ForkJoinPool pool, ParsedModelCache cache) {
+      List<ModelSource> sources = new ArrayList<>();
 
       try {
         for (ModelFile modelFile : files) {
-          Resource resource = resourceSet.createResource(URI.createURI(
-              "fake:/" + UUID.randomUUID().toString() + modelFile.getType().getExtension()));
           ByteArrayOutputStream baos = new ByteArrayOutputStream();
           IOUtils.copy(modelFile.getIs(), baos);
-          resource.load(new ByteArrayInputStream(baos.toByteArray()), resourceSet.getLoadOptions());
-          infoModelResources.add(resource);
+          sources.add(new ModelSource(
+              UUID.randomUUID().toString() + modelFile.getType().getExtension(),
+              baos.toByteArray()));
         }
       } catch (IOException ex) {
         throw new RuntimeException("Problem reading zip file", ex);
       }
 
-      EcoreUtil2.resolveAll(resourceSet);
-      return infoModelResources.stream().map(r -> (Model) r.getContents().get(0))
-          .collect(Collectors.toList());
+      return load(sources, pool, cache);
     }
   }
 
@@ -164,4 +276,26 @@ public class ModelWorkspaceReader {
     }
   }
 
+  private static class ModelSource {
+    private String name;
+    private byte[] content;
+
+    public ModelSource(String name, byte[] content) {
+      this.name = name;
+      this.content = content;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public byte[] getContent() {
+      return content;
+    }
+
+    public String getExtension() {
+      return name.substring(name.lastIndexOf('.') + 1);
+    }
+  }
+
 }
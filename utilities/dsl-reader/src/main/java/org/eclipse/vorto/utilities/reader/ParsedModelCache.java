@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.utilities.reader;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.EcoreUtil2;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Process-wide cache of parsed and linked resource sets, keyed by a digest over the DSL content of
+ * a model and all of its dependencies.
+ *
+ * Cached resource sets are never handed out directly. {@link #put(String, ResourceSet, long)} takes
+ * a private snapshot of the given resource set and {@link #get(String, ResourceSet)} copies that
+ * snapshot into the caller's resource set, so callers are free to modify the models they get.
+ */
+public class ParsedModelCache {
+
+  /**
+   * System property to configure the maximum amount of DSL content (in bytes) of the default
+   * instance.
+   */
+  public static final String MAX_CONTENT_SIZE_PROPERTY = "vorto.parsedModelCache.maxContentSize";
+
+  private static final long DEFAULT_MAX_CONTENT_SIZE = 8 * 1024 * 1024;
+
+  private static final ParsedModelCache INSTANCE = new ParsedModelCache(
+      Long.getLong(MAX_CONTENT_SIZE_PROPERTY, DEFAULT_MAX_CONTENT_SIZE));
+
+  private final Cache<String, Snapshot> cache;
+
+  /**
+   * @param maxContentSize maximum summed up size of the DSL content that the cached resource sets
+   *        were parsed from. Least recently used entries are evicted first.
+   */
+  public ParsedModelCache(long maxContentSize) {
+    this.cache = CacheBuilder.newBuilder().maximumWeight(maxContentSize)
+        .weigher((String key, Snapshot snapshot) -> snapshot.getWeight()).build();
+  }
+
+  public static ParsedModelCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Copies the resource set cached for the given key into the target resource set.
+   *
+   * @param key the digest the resource set was cached with
+   * @param target resource set to add the copied resources to
+   * @return the copied resources in the order of the cached resource set, or empty if there is no
+   *         cached resource set for the key
+   */
+  public Optional<List<Resource>> get(String key, ResourceSet target) {
+    Snapshot snapshot = cache.getIfPresent(key);
+    if (snapshot == null) {
+      return Optional.empty();
+    }
+    return Optional.of(copy(snapshot.getResources(), target, false));
+  }
+
+  /**
+   * Caches a snapshot of the given resource set. All cross references are resolved before the
+   * snapshot is taken.
+   *
+   * @param key digest over the content of all resources of the resource set
+   * @param source the parsed resource set
+   * @param contentSize the size of the DSL content the resource set was parsed from
+   */
+  public void put(String key, ResourceSet source, long contentSize) {
+    EcoreUtil2.resolveAll(source);
+    List<Resource> resources = copy(source.getResources(), new ResourceSetImpl(), true);
+    cache.put(key, new Snapshot(resources, (int) Math.min(contentSize, Integer.MAX_VALUE)));
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  /**
+   * Creates a new digest builder for a cache key.
+   */
+  public static KeyBuilder newKey() {
+    return new KeyBuilder();
+  }
+
+  private static List<Resource> copy(Collection<Resource> resources, ResourceSet target,
+      boolean resolveProxies) {
+    EcoreUtil.Copier copier = new EcoreUtil.Copier(resolveProxies, true);
+    List<Collection<EObject>> copiedContents = new ArrayList<>();
+    for (Resource resource : resources) {
+      copiedContents.add(copier.copyAll(resource.getContents()));
+    }
+    copier.copyReferences();
+
+    List<Resource> copiedResources = new ArrayList<>();
+    int i = 0;
+    for (Resource resource : resources) {
+      Resource copiedResource = target.createResource(resource.getURI());
+      EList<EObject> contents = copiedResource.getContents();
+      contents.addAll(copiedContents.get(i++));
+      copiedResources.add(copiedResource);
+    }
+    return copiedResources;
+  }
+
+  private static class Snapshot {
+    private List<Resource> resources;
+    private int weight;
+
+    public Snapshot(List<Resource> resources, int weight) {
+      this.resources = resources;
+      this.weight = weight;
+    }
+
+    public List<Resource> getResources() {
+      return resources;
+    }
+
+    public int getWeight() {
+      return weight;
+    }
+  }
+
+  public static class KeyBuilder {
+    private Hasher hasher = Hashing.sha256().newHasher();
+
+    private KeyBuilder() {}
+
+    public KeyBuilder add(String value) {
+      hasher.putInt(value.length()).putUnencodedChars(value);
+      return this;
+    }
+
+    public KeyBuilder add(byte[] content) {
+      hasher.putInt(content.length).putBytes(content);
+      return this;
+    }
+
+    public String build() {
+      return hasher.hash().toString();
+    }
+  }
+}
@@ -26,6 +26,7 @@ import org.eclipse.vorto.core.api.model.model.Model;
 import org.eclipse.vorto.model.ModelType;
 import org.eclipse.vorto.utilities.reader.IModelWorkspace;
 import org.eclipse.vorto.utilities.reader.ModelWorkspaceReader;
+import org.eclipse.vorto.utilities.reader.ParsedModelCache;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -126,6 +127,66 @@ public class ModelReaderTest {
     assertEquals(10, workspace.get().size());
   }
 
+  @Test
+  public void testReadMultipleZipFilesInParallel() {
+    IModelWorkspace workspace = IModelWorkspace.newReader()
+        .addZip(new ZipInputStream(getClass().getClassLoader().getResourceAsStream("mappings.zip")))
+        .addZip(new ZipInputStream(getClass().getClassLoader().getResourceAsStream("models.zip")))
+        .parallel()
+        .read();
+
+    assertEquals(10, workspace.get().size());
+    Model model = workspace.get().stream().filter(p -> p.getName().equals("TI_SensorTag_CC2650"))
+        .findAny().get();
+    assertTrue(model instanceof InformationModel);
+  }
+
+  @Test
+  public void testFlatInheritanceFBInParallel() {
+    IModelWorkspace workspace = IModelWorkspace.newReader()
+        .addFile(getClass().getClassLoader().getResourceAsStream("dsls/SomeFb.fbmodel"),
+            ModelType.Functionblock)
+        .addFile(getClass().getClassLoader().getResourceAsStream("dsls/SuperFb.fbmodel"),
+            ModelType.Functionblock)
+        .addFile(getClass().getClassLoader().getResourceAsStream("dsls/SuperSuperFb.fbmodel"),
+            ModelType.Functionblock)
+        .parallel()
+        .read();
+
+    FunctionblockModel fbm =
+        ModelConversionUtils.convertToFlatHierarchy((FunctionblockModel) workspace.get().get(0));
+    assertEquals("SomeFb", fbm.getName());
+    assertEquals(4, fbm.getFunctionblock().getStatus().getProperties().size());
+    assertEquals(3, fbm.getFunctionblock().getConfiguration().getProperties().size());
+    assertEquals(2, fbm.getFunctionblock().getOperations().size());
+  }
+
+  @Test
+  public void testReadCachedReturnsCopies() {
+    ParsedModelCache cache = new ParsedModelCache(1024 * 1024);
+    IModelWorkspace first = IModelWorkspace.newReader()
+        .addZip(new ZipInputStream(getClass().getClassLoader().getResourceAsStream("models.zip")))
+        .cached(cache)
+        .read();
+    IModelWorkspace second = IModelWorkspace.newReader()
+        .addZip(new ZipInputStream(getClass().getClassLoader().getResourceAsStream("models.zip")))
+        .cached(cache)
+        .read();
+
+    assertEquals(1, cache.size());
+    assertEquals(first.get().size(), second.get().size());
+    for (int i = 0; i < first.get().size(); i++) {
+      assertEquals(first.get().get(i).getName(), second.get().get(i).getName());
+      assertNotSame(first.get().get(i), second.get().get(i));
+    }
+
+    InformationModel infomodel = (InformationModel) second.get().stream()
+        .filter(p -> p.getName().equals("TI_SensorTag_CC2650")).findAny().get();
+    assertFalse(infomodel.getProperties().get(0).getType().eIsProxy());
+    assertSame(infomodel.eResource().getResourceSet(),
+        infomodel.getProperties().get(0).getType().eResource().getResourceSet());
+  }
+
   @Test
   public void testFlatInheritanceFB() {
     IModelWorkspace workspace = IModelWorkspace.newReader()